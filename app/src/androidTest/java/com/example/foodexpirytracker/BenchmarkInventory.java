@@ -0,0 +1,57 @@
+package com.example.foodexpirytracker;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+/*
+ * Function: BenchmarkInventory
+ * Purpose: Synthetic rows under a benchmark's own owner partition on the app database, and the
+ *          clean-up that hands the database back to the owner it had before
+ */
+final class BenchmarkInventory {
+    private final DatabaseHelper dbHelper;
+    private final String previousOwner;
+
+    private BenchmarkInventory(DatabaseHelper dbHelper, String previousOwner) {
+        this.dbHelper = dbHelper;
+        this.previousOwner = previousOwner;
+    }
+
+    /*
+     * Function: seed
+     * Purpose: Scope the app database to owner and replace its rows with count synthetic items
+     */
+    static BenchmarkInventory seed(String owner, long seed, int count) {
+        DatabaseHelper dbHelper = DatabaseHelper.getInstance(
+                InstrumentationRegistry.getInstrumentation().getTargetContext());
+        BenchmarkInventory inventory = new BenchmarkInventory(dbHelper, dbHelper.getOwner());
+        dbHelper.setOwner(owner);
+        inventory.quietly(() -> {
+            dbHelper.clearAllData();
+            dbHelper.addFoodBulk(new SyntheticInventory(seed, System.currentTimeMillis(), count));
+        });
+        return inventory;
+    }
+
+    /* Function: db | Purpose: The app database, scoped to the benchmark owner until restore */
+    DatabaseHelper db() { return dbHelper; }
+
+    /*
+     * Function: restore
+     * Purpose: Drop the benchmark rows and scope the database back to the previous owner
+     */
+    void restore() {
+        quietly(dbHelper::clearAllData);
+        dbHelper.setOwner(previousOwner);
+    }
+
+    /*
+     * Function: quietly
+     * Purpose: Run a bulk write whose change-log entries must not reach consumers such as
+     *          reminder scheduling
+     */
+    void quietly(Runnable write) {
+        long before = dbHelper.getLatestChangeSeq();
+        write.run();
+        dbHelper.skipChanges(before, dbHelper.getLatestChangeSeq());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.foodexpirytracker;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: FuzzySearchBenchmark
+ * Purpose: Time trigram index build and fuzzy queries over 50k cached items. Runs under its own owner
+ *          partition so the device's real inventory is untouched. Results go to logcat under the
+ *          class name.
+ */
+@RunWith(AndroidJUnit4.class)
+public class FuzzySearchBenchmark {
+    private static final String TAG = "FuzzySearchBenchmark";
+    private static final String OWNER = "benchmark:fuzzy";
+    private static final int ROWS = 50_000;
+    private static final int ROUNDS = 20;
+    // Typed queries, misspelled and partial, as a user would enter them
+    private static final String[] QUERIES = {"yoghurt", "chese", "brocoli", "chiken", "tomatos", "milk", "bred", "dairy"};
+    private static final long MEDIAN_BUDGET_MICROS = 5_000;
+
+    private BenchmarkInventory inventory;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        inventory = BenchmarkInventory.seed(OWNER, 42, ROWS);
+        dbHelper = inventory.db();
+    }
+
+    @After
+    public void tearDown() {
+        inventory.restore();
+    }
+
+    @Test
+    public void fuzzyQueries_stayWithinBudget() {
+        Executor direct = Runnable::run;
+        InventoryRepository repository = new InventoryRepository(dbHelper, direct, direct);
+        repository.prime();
+
+        // Fuzzy mode builds the index on the disk executor (direct here) before the first query
+        long buildStart = SystemClock.elapsedRealtimeNanos();
+        repository.warmFuzzyIndex();
+        long buildMicros = (SystemClock.elapsedRealtimeNanos() - buildStart) / 1000;
+
+        long[] micros = new long[ROUNDS * QUERIES.length];
+        AtomicLong found = new AtomicLong();
+        int n = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            for (String query : QUERIES) {
+                long start = SystemClock.elapsedRealtimeNanos();
+                repository.fuzzySearch(query, true, hits -> found.addAndGet(hits.size()));
+                micros[n++] = (SystemClock.elapsedRealtimeNanos() - start) / 1000;
+            }
+        }
+        Arrays.sort(micros);
+        long median = micros[micros.length / 2];
+        long p95 = micros[micros.length * 95 / 100];
+
+        Log.i(TAG, "rows=" + ROWS + " build=" + buildMicros / 1000 + "ms"
+                + " query: median=" + median + "us p95=" + p95 + "us max=" + micros[micros.length - 1] + "us"
+                + " hits=" + found.get());
+        assertTrue("median fuzzy query took " + median + "us", median < MEDIAN_BUDGET_MICROS);
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.foodexpirytracker;
+
+import android.database.Cursor;
+import android.os.Debug;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: ListModeHeapBenchmark
+ * Purpose: Compare retained Java heap and GC count of list mode (cached FoodItems in index order) against
+ *          cursor mode (FoodCursorAdapter) at 100k rows. Runs under its own owner partition so the
+ *          device's real inventory is untouched. Results go to logcat under the class name.
+ */
+@RunWith(AndroidJUnit4.class)
+public class ListModeHeapBenchmark {
+    private static final String TAG = "ListModeHeapBenchmark";
+    private static final String OWNER = "benchmark:heap";
+    private static final int ROWS = 100_000;
+    // Rows read per simulated screen while scrolling the cursor end to end
+    private static final int SCREEN = 12;
+
+    private BenchmarkInventory inventory;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        inventory = BenchmarkInventory.seed(OWNER, 42, ROWS);
+        dbHelper = inventory.db();
+    }
+
+    @After
+    public void tearDown() {
+        inventory.restore();
+    }
+
+    @Test
+    public void cursorMode_retainsLessHeapThanListMode() {
+        Executor direct = Runnable::run;
+        long base = usedHeapAfterGc();
+        long gcBefore = gcCount();
+        // The list path MainActivity takes: cache the inventory, then order it by the mode's index
+        InventoryRepository repository = new InventoryRepository(dbHelper, direct, direct);
+        AtomicReference<List<FoodItem>> items = new AtomicReference<>();
+        repository.arrange(null, "", SortMode.DEFAULT, true, items::set);
+        long listRetained = usedHeapAfterGc() - base;
+        long listGcs = gcCount() - gcBefore;
+        assertEquals(ROWS, items.get().size());
+        items = null;
+        repository = null;
+
+        base = usedHeapAfterGc();
+        gcBefore = gcCount();
+        long checksum = 0;
+        long cursorRetained;
+        try (Cursor c = dbHelper.openFoodCursor("", null, SortMode.DEFAULT, true)) {
+            assertEquals(ROWS, c.getCount());
+            // Read every row the way onBindViewHolder does, one screen at a time
+            for (int first = 0; first < ROWS; first += SCREEN) {
+                for (int p = first; p < Math.min(first + SCREEN, ROWS); p++) {
+                    c.moveToPosition(p);
+                    checksum += c.getString(1).length() + c.getInt(5) + c.getInt(7);
+                    String expiry = c.getString(4);
+                    if (expiry != null) checksum += expiry.length();
+                }
+            }
+            cursorRetained = usedHeapAfterGc() - base;
+        }
+        long cursorGcs = gcCount() - gcBefore;
+
+        Log.i(TAG, "rows=" + ROWS
+                + " list: retained=" + listRetained / 1024 + "KiB gcs=" + listGcs
+                + " cursor: retained=" + cursorRetained / 1024 + "KiB gcs=" + cursorGcs
+                + " checksum=" + checksum);
+        assertTrue("cursor mode retained " + cursorRetained + " bytes vs list " + listRetained,
+                cursorRetained < listRetained / 4);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            runtime.gc();
+            runtime.runFinalization();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long gcCount() {
+        String count = Debug.getRuntimeStat("art.gc.gc-count");
+        return count == null ? 0 : Long.parseLong(count);
+    }
+}
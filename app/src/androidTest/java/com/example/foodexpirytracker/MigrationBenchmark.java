@@ -0,0 +1,66 @@
+package com.example.foodexpirytracker;
+
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.example.foodexpirytracker.migration.DatabaseMigrationStore;
+import com.example.foodexpirytracker.migration.MigrationRunner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: MigrationBenchmark
+ * Purpose: Time the v4 and v8 backfills over 1M rows in MigrationRunner chunks and report
+ *          throughput and the longest chunk, which bounds how long a foreground write can wait.
+ *          Rows live under their own owner partition; results go to logcat under the class name.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MigrationBenchmark {
+    private static final String TAG = "MigrationBenchmark";
+    private static final String OWNER = "benchmark:migration";
+    private static final int ROWS = 1_000_000;
+    private static final long MAX_CHUNK_MILLIS = 1000;
+
+    private BenchmarkInventory inventory;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        inventory = BenchmarkInventory.seed(OWNER, 46, ROWS);
+        dbHelper = inventory.db();
+    }
+
+    @After
+    public void tearDown() {
+        inventory.restore();
+    }
+
+    @Test
+    public void backfill_millionRows_inBoundedChunks() {
+        // Derived columns are rewritten in place, firing the same triggers as a real backfill
+        dbHelper.restartBackfill(DatabaseHelper.BACKFILL_BUCKETS);
+        dbHelper.restartBackfill(DatabaseHelper.BACKFILL_EXPIRY_MILLIS);
+
+        long t0 = System.nanoTime();
+        MigrationRunner.Result result = new MigrationRunner(new DatabaseMigrationStore(dbHelper),
+                MigrationRunner.DEFAULT_CHUNK_ROWS).run(TimeUnit.HOURS.toMillis(1), () -> false);
+        long millis = (System.nanoTime() - t0) / 1_000_000;
+
+        Log.i(TAG, "rows=" + result.getRows() + " chunks=" + result.getChunks()
+                + " total=" + millis + "ms rows/s=" + result.getRows() * 1000 / Math.max(1, millis)
+                + " maxChunk=" + result.getMaxChunkMillis() + "ms");
+        assertTrue(result.isComplete());
+        // Both backfills cover every row, the device's own inventory included
+        assertTrue(result.getRows() >= 2L * ROWS);
+        assertTrue("longest chunk " + result.getMaxChunkMillis() + "ms",
+                result.getMaxChunkMillis() < MAX_CHUNK_MILLIS);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.example.foodexpirytracker.backup.SnapshotFiles;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: SnapshotRestoreBenchmark
+ * Purpose: Time a snapshot restore (memory-mapped read, one bulk-insert transaction) against
+ *          replaying the same rows through addFood, and require the restore to be much faster.
+ *          Rows live under their own owner partition; results go to logcat under the class name.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SnapshotRestoreBenchmark {
+    private static final String TAG = "SnapshotRestoreBenchmark";
+    private static final String OWNER = "benchmark:snapshot";
+    private static final int ROWS = 20_000;
+    private static final int MIN_SPEEDUP = 10;
+
+    private BenchmarkInventory inventory;
+    private DatabaseHelper dbHelper;
+    private Context context;
+    private File file;
+
+    @Before
+    public void setUp() {
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        inventory = BenchmarkInventory.seed(OWNER, 35, ROWS);
+        dbHelper = inventory.db();
+        file = new File(context.getCacheDir(), "benchmark." + SnapshotFiles.EXTENSION);
+    }
+
+    @After
+    public void tearDown() {
+        inventory.restore();
+        file.delete();
+    }
+
+    @Test
+    public void restore_isFarFasterThanAddFoodReplay() throws IOException {
+        Uri uri = Uri.fromFile(file);
+        assertEquals(ROWS, SnapshotFiles.backup(context.getContentResolver(), uri, dbHelper, false));
+        List<FoodItem> rows = dbHelper.getAllFood();
+
+        long[] replayNanos = new long[1];
+        inventory.quietly(() -> {
+            dbHelper.clearAllData();
+            long t0 = System.nanoTime();
+            for (FoodItem item : rows) dbHelper.addFood(item);
+            replayNanos[0] = System.nanoTime() - t0;
+        });
+        assertEquals(ROWS, dbHelper.getAllFood().size());
+
+        long[] restoreNanos = new long[1];
+        int[] restored = new int[1];
+        // Replaces the replayed rows, as a restore over an existing inventory does
+        inventory.quietly(() -> {
+            long t0 = System.nanoTime();
+            try {
+                restored[0] = SnapshotFiles.restore(context.getContentResolver(), uri, dbHelper);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            restoreNanos[0] = System.nanoTime() - t0;
+        });
+        assertEquals(ROWS, restored[0]);
+        assertEquals(ROWS, dbHelper.getAllFood().size());
+
+        long replayMillis = replayNanos[0] / 1_000_000;
+        long restoreMillis = restoreNanos[0] / 1_000_000;
+        Log.i(TAG, "rows=" + ROWS + " bytes=" + file.length()
+                + " replay=" + replayMillis + "ms restore=" + restoreMillis + "ms"
+                + " speedup=" + replayNanos[0] / Math.max(1, restoreNanos[0]) + "x");
+        assertTrue("restore " + restoreMillis + "ms vs addFood replay " + replayMillis + "ms",
+                restoreNanos[0] * MIN_SPEEDUP < replayNanos[0]);
+    }
+}
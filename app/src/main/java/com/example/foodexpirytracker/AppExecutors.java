@@ -0,0 +1,39 @@
+package com.example.foodexpirytracker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Function: AppExecutors
+ * Purpose: Shared executors for database I/O and posting results back to the main thread
+ */
+public final class AppExecutors {
+    private static final ExecutorService DISK_IO = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "food-db");
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+
+    private AppExecutors() {}
+
+    /*
+     * Function: diskIO
+     * Purpose: Serial executor for all database work
+     */
+    public static ExecutorService diskIO() {
+        return DISK_IO;
+    }
+
+    /*
+     * Function: mainThread
+     * Purpose: Executor that posts to the main looper
+     */
+    public static Executor mainThread() {
+        return MAIN::post;
+    }
+}
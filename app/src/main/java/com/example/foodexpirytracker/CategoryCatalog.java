@@ -0,0 +1,125 @@
+package com.example.foodexpirytracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/*
+ * Function: CategoryCatalog
+ * Purpose: Immutable snapshot of the categories table indexed by id, so sorting, grouping and icon
+ *          lookup are array reads on small integer ids. Id 0 means "no category".
+ */
+public final class CategoryCatalog {
+    public static final int ICON_OTHER = 0;
+    public static final int ICON_FRUIT = 1;
+    public static final int ICON_VEGETABLE = 2;
+    public static final int ICON_MEAT = 3;
+    public static final int ICON_DAIRY = 4;
+
+    public static final int NONE = 0;
+
+    public static final CategoryCatalog EMPTY = new CategoryCatalog(new int[0], new String[0], new int[0], new int[0]);
+
+    private final String[] names;
+    private final int[] iconKinds;
+    private final int[] sortKeys;
+    private final Map<String, Integer> idsByKey;
+    private final List<String> sortedNames;
+
+    /*
+     * Function: CategoryCatalog constructor
+     * Purpose: Build from parallel arrays of rows (ids are AUTOINCREMENT, so dense and small)
+     */
+    CategoryCatalog(int[] ids, String[] rowNames, int[] rowIcons, int[] rowSortKeys) {
+        int size = 1;
+        for (int id : ids) size = Math.max(size, id + 1);
+        names = new String[size];
+        iconKinds = new int[size];
+        sortKeys = new int[size];
+        Arrays.fill(sortKeys, -1);
+        idsByKey = new HashMap<>(ids.length * 2);
+        Integer[] order = new Integer[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            names[ids[i]] = rowNames[i];
+            iconKinds[ids[i]] = rowIcons[i];
+            sortKeys[ids[i]] = rowSortKeys[i];
+            idsByKey.put(normalizeKey(rowNames[i]), ids[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(rowSortKeys[a], rowSortKeys[b]));
+        List<String> sorted = new ArrayList<>(ids.length);
+        for (Integer i : order) sorted.add(rowNames[i]);
+        sortedNames = Collections.unmodifiableList(sorted);
+    }
+
+    /*
+     * Function: normalizeKey
+     * Purpose: Case- and whitespace-insensitive identity of a category ("" for none)
+     */
+    public static String normalizeKey(String category) {
+        return displayName(category).toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Function: displayName
+     * Purpose: Trim and collapse inner whitespace of user input ("" for null)
+     */
+    public static String displayName(String category) {
+        if (category == null) return "";
+        return category.trim().replaceAll("\\s+", " ");
+    }
+
+    /*
+     * Function: iconKindFor
+     * Purpose: Classify a category by keyword; done once when the category is created, never per bind
+     */
+    public static int iconKindFor(String category) {
+        String c = normalizeKey(category);
+        if (c.contains("fruit") || c.contains("apple") || c.contains("banana") || c.contains("orange")) return ICON_FRUIT;
+        if (c.contains("vegetable") || c.contains("veg")) return ICON_VEGETABLE;
+        if (c.contains("meat") || c.contains("chicken") || c.contains("beef") || c.contains("pork")) return ICON_MEAT;
+        if (c.contains("dairy") || c.contains("milk") || c.contains("cheese") || c.contains("yogurt")) return ICON_DAIRY;
+        return ICON_OTHER;
+    }
+
+    /*
+     * Function: idFor
+     * Purpose: Id of the category matching free text (NONE when blank or not in the table)
+     */
+    public int idFor(String category) {
+        Integer id = idsByKey.get(normalizeKey(category));
+        return id == null ? NONE : id;
+    }
+
+    /*
+     * Function: resolve
+     * Purpose: Point an item at its category id and canonical spelling
+     */
+    public void resolve(FoodItem item) {
+        int id = idFor(item.getCategory());
+        item.setCategoryId(id);
+        if (id != NONE) item.setCategory(names[id]);
+    }
+
+    /* Function: getName | Purpose: Return the display name ("" for NONE or unknown ids) */
+    public String getName(int id) {
+        return id > 0 && id < names.length && names[id] != null ? names[id] : "";
+    }
+
+    /* Function: getIconKind | Purpose: Return the ICON_* kind (ICON_OTHER for NONE or unknown ids) */
+    public int getIconKind(int id) {
+        return id > 0 && id < iconKinds.length ? iconKinds[id] : ICON_OTHER;
+    }
+
+    /* Function: getSortKey | Purpose: Return the alphabetical rank (-1 for NONE, sorting it first) */
+    public int getSortKey(int id) {
+        return id > 0 && id < sortKeys.length ? sortKeys[id] : -1;
+    }
+
+    /* Function: getNames | Purpose: Return every category name in sort order (autocomplete source) */
+    public List<String> getNames() { return sortedNames; }
+}
@@ -2,12 +2,34 @@ package com.example.foodexpirytracker;
 
 import android.content.ContentValues;
 import android.content.Context;
+import android.content.SharedPreferences;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteConstraintException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 
+import com.example.foodexpirytracker.backup.SnapshotReader;
+import com.example.foodexpirytracker.backup.SnapshotWriter;
+import com.example.foodexpirytracker.backup.UserRecord;
+import com.example.foodexpirytracker.metrics.Metrics;
+import com.example.foodexpirytracker.sync.SyncBatch;
+import com.example.foodexpirytracker.sync.SyncRecord;
+
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
 
 /*
  * Function: DatabaseHelper
@@ -15,7 +37,7 @@ import java.util.List;
  */
 public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String DATABASE_NAME = "food_tracker.db";
-    private static final int DATABASE_VERSION = 3;
+    private static final int DATABASE_VERSION = 13;
 
     private static final String TABLE_FOOD = "food";
     private static final String COLUMN_ID = "id";
@@ -25,6 +47,108 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String COLUMN_EXPIRY_DATE = "expiry_date";
     private static final String COLUMN_QUANTITY = "quantity";
     private static final String COLUMN_NOTES = "notes";
+    // v4: urgency bucket and the instant it next changes, kept in step with expiry_date
+    private static final String COLUMN_BUCKET = "bucket";
+    private static final String COLUMN_BUCKET_UNTIL = "bucket_until";
+    // v5: partition key (Firebase uid, or LOCAL_OWNER when nobody is signed in); NULL marks legacy rows
+    private static final String COLUMN_OWNER = "owner";
+    // v8: parsed expiry instant for index range scans; NULL when the date is missing or malformed
+    private static final String COLUMN_EXPIRY_MILLIS = "expiry_millis";
+    // v9: normalized categories; food.category keeps the canonical spelling for export and sync
+    private static final String TABLE_CATEGORIES = "categories";
+    private static final String COLUMN_CATEGORY_ID = "category_id";
+    private static final String COLUMN_NAME_KEY = "name_key";
+    private static final String COLUMN_ICON_KIND = "icon_kind";
+    private static final String COLUMN_SORT_KEY = "sort_key";
+    public static final String LOCAL_OWNER = "local";
+
+    // v4: aggregates maintained by triggers on food; kind is 'bucket' or 'category'
+    private static final String TABLE_SUMMARY = "food_summary";
+    private static final String COLUMN_KIND = "kind";
+    private static final String COLUMN_KEY = "key";
+    private static final String COLUMN_COUNT = "count";
+    private static final String KIND_BUCKET = "bucket";
+    private static final String KIND_CATEGORY = "category";
+
+    // v6: change-data-capture log filled by triggers, plus per-consumer read positions
+    private static final String TABLE_CHANGES = "food_changes";
+    private static final String COLUMN_SEQ = "seq";
+    private static final String COLUMN_OP = "op";
+    private static final String COLUMN_ITEM_ID = "item_id";
+    private static final String COLUMN_CHANGED_AT = "changed_at";
+    private static final String TABLE_CURSORS = "change_cursors";
+    private static final String COLUMN_CONSUMER = "consumer";
+    private static final long CHANGE_RETENTION_MILLIS = 30L * 24 * 60 * 60 * 1000;
+    // v7: sync identity and per-row versions
+    private static final String COLUMN_SYNC_ID = "sync_id";
+    private static final String COLUMN_VERSION = "version";
+    private static final String COLUMN_SYNCED_VERSION = "synced_version";
+    private static final String COLUMN_UPDATED_AT = "updated_at";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+    private static final String COLUMN_PULL_WATERMARK = "pull_watermark";
+    // v10: checkpoints of chunked data backfills, advanced by MigrationWorker after an upgrade
+    private static final String TABLE_MIGRATIONS = "schema_migrations";
+    private static final String COLUMN_SCHEMA_VERSION = "schema_version";
+    private static final String COLUMN_CHECKPOINT = "checkpoint";
+    private static final String COLUMN_DONE_AT = "done_at";
+    static final String BACKFILL_BUCKETS = "v4_buckets";
+    static final String BACKFILL_SYNC_IDS = "v7_sync_ids";
+    static final String BACKFILL_EXPIRY_MILLIS = "v8_expiry_millis";
+    // Derived from expiry_date or category; recomputed rather than copied when rows are carried across a downgrade
+    private static final Set<String> DERIVED_COLUMNS = new HashSet<>(Arrays.asList(
+            COLUMN_BUCKET, COLUMN_BUCKET_UNTIL, COLUMN_EXPIRY_MILLIS, COLUMN_CATEGORY_ID));
+    private static final String DOWNGRADE_PREFIX = "downgrade_";
+    // v11: rows moved out of food by the retention policy; item_id is the id the row had in food
+    private static final String TABLE_ARCHIVE = "food_archive";
+    private static final String COLUMN_ARCHIVED_AT = "archived_at";
+    private static final String[] ARCHIVE_COLUMNS = {
+            COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PURCHASE_DATE, COLUMN_EXPIRY_DATE, COLUMN_QUANTITY,
+            COLUMN_NOTES, COLUMN_OWNER, COLUMN_SYNC_ID, COLUMN_CATEGORY_ID, COLUMN_EXPIRY_MILLIS
+    };
+    // v12: append-only consumption/expiry events and their daily totals per owner, kind and category
+    private static final String TABLE_EVENTS = "food_events";
+    private static final String COLUMN_EVENT_KIND = "kind";
+    private static final String COLUMN_OCCURRED_AT = "occurred_at";
+    private static final String TABLE_WASTE_DAILY = "food_waste_daily";
+    private static final String COLUMN_DAY = "day";
+    private static final String COLUMN_ITEMS = "items";
+    private static final String TABLE_ROLLUP_STATE = "rollup_state";
+    private static final String ROLLUP_WASTE_DAILY = "waste_daily";
+    private static final String EVENT_COLUMNS = COLUMN_OWNER + "," + COLUMN_EVENT_KIND + "," + COLUMN_ITEM_ID + ","
+            + COLUMN_CATEGORY_ID + "," + COLUMN_QUANTITY + "," + COLUMN_OCCURRED_AT;
+    // v13: one index per SortMode on (owner, sort terms); the rowid is every index's implicit last
+    // column, so "ORDER BY <terms>, id" is read off the index in either direction without a sort
+    private static final String SORT_INDEX_PREFIX = "idx_food_owner_sort_";
+    // SQLite's auto_vacuum value for INCREMENTAL
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+    // Half-open [start, end) range on the (owner, expiry_millis) index; NULL expiries never match
+    private static final String WHERE_EXPIRING_BETWEEN = COLUMN_OWNER + " = ? AND "
+            + COLUMN_EXPIRY_MILLIS + " >= ? AND " + COLUMN_EXPIRY_MILLIS + " < ?";
+    // Cache/list reads: export columns plus the category id
+    private static final String[] ITEM_COLUMNS = {
+            COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PURCHASE_DATE, COLUMN_EXPIRY_DATE,
+            COLUMN_QUANTITY, COLUMN_NOTES, COLUMN_CATEGORY_ID
+    };
+    static final String SQL_FOOD_EXPIRING_BETWEEN = "SELECT " + String.join(",", ITEM_COLUMNS)
+            + " FROM " + TABLE_FOOD + " WHERE " + WHERE_EXPIRING_BETWEEN + " ORDER BY " + COLUMN_EXPIRY_MILLIS + " LIMIT ?";
+    static final String SQL_COUNT_EXPIRING_BETWEEN = "SELECT COUNT(*) FROM " + TABLE_FOOD + " WHERE " + WHERE_EXPIRING_BETWEEN;
+    private static final String SYNC_CONSUMER_PREFIX = "sync:";
+    private static final String[] SYNC_COLUMNS = {
+            COLUMN_SYNC_ID, COLUMN_VERSION, COLUMN_UPDATED_AT, COLUMN_NAME, COLUMN_CATEGORY,
+            COLUMN_PURCHASE_DATE, COLUMN_EXPIRY_DATE, COLUMN_QUANTITY, COLUMN_NOTES
+    };
+    private static final String NOW_MILLIS = "CAST((julianday('now') - 2440587.5) * 86400000 AS INTEGER)";
+
+    // Column order used by streaming readers such as InventoryExporter
+    public static final String[] EXPORT_COLUMNS = {
+            COLUMN_ID, COLUMN_NAME, COLUMN_CATEGORY, COLUMN_PURCHASE_DATE,
+            COLUMN_EXPIRY_DATE, COLUMN_QUANTITY, COLUMN_NOTES
+    };
+
+    // Rows per transaction for bulk inserts; bounds WAL growth and lock hold time
+    private static final int BULK_BATCH = 5000;
+    // Stay below SQLite's default host-parameter limit (999 on older builds)
+    private static final int MAX_SQL_ARGS = 500;
 
     // Users table
     private static final String TABLE_USERS = "users";
@@ -33,8 +157,72 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String COLUMN_SALT = "salt";
     private static final String COLUMN_CREATED_AT = "created_at";
 
+    private static final String OWNER_PREFS = "owner_prefs";
+    private static final String KEY_ACCOUNT = "account";
+
+    private static DatabaseHelper instance;
+    // Signed-in account as of the last sign-in or sign-out; survives the process
+    private final SharedPreferences ownerPrefs;
+    // Every food read and write is scoped to this owner
+    private volatile String owner;
+    // Loaded lazily; replaced (never mutated) when a category is added
+    private volatile CategoryCatalog categories;
+    private static volatile QueryObserver queryObserver;
+
+    /*
+     * Function: QueryObserver
+     * Purpose: Test hook notified of every read, write and transaction on the calling thread
+     */
+    public interface QueryObserver {
+        void onRead(int rows);
+        void onWrite();
+        void onTransaction();
+    }
+
+    /*
+     * Function: setQueryObserver
+     * Purpose: Install (or clear with null) the query observer used by the query-budget tests
+     */
+    public static void setQueryObserver(QueryObserver observer) {
+        queryObserver = observer;
+    }
+
+    /*
+     * Function: getInstance
+     * Purpose: Return the process-wide helper so the connection opened during warm-up stays open
+     */
+    public static synchronized DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new DatabaseHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /*
+     * Function: resetInstance
+     * Purpose: Test hook: close and drop the process-wide helper so the next getInstance opens the file afresh
+     */
+    static synchronized void resetInstance() {
+        if (instance != null) instance.close();
+        instance = null;
+    }
+
     public DatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        // Resolved here, not by warm-up, so workers started in a cold process see the same rows
+        ownerPrefs = context.getSharedPreferences(OWNER_PREFS, Context.MODE_PRIVATE);
+        owner = ownerPrefs.getString(KEY_ACCOUNT, LOCAL_OWNER);
+    }
+
+    /*
+     * Function: onConfigure
+     * Purpose: Enable WAL so background warm-up and reads do not block writers
+     */
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        // Only takes effect before the first table exists; older files are converted by incrementalVacuum
+        db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+        db.enableWriteAheadLogging();
     }
 
     /*
@@ -62,15 +250,32 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                 + COLUMN_CREATED_AT + " INTEGER"
                 + ")";
         db.execSQL(CREATE_USERS);
+
+        // Everything after v3 is added by the migration steps so fresh installs and upgrades match
+        onUpgrade(db, 3, DATABASE_VERSION);
     }
 
     /*
      * Function: onUpgrade
-     * Purpose: Incremental migrations; adds users table for versions < 2 without data loss
+     * Purpose: Incremental migrations without data loss; triggers and aggregates are rebuilt last
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // Migrate without dropping existing data
+        // Migrate without dropping existing data. Per-row backfills (buckets, sync ids, expiry
+        // instants) are queued here and run in bounded chunks by MigrationWorker. Two set-based
+        // passes stay inline because later steps depend on them being complete: dedupeCategories
+        // (one statement per distinct spelling, so categories resolve against a finished catalog)
+        // and rebuildSummary (two GROUP BY scans writing only aggregate rows, which must agree with
+        // the triggers created in the same transaction).
+        if (oldVersion < 10) {
+            // Created first so that older steps can queue their backfills
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_MIGRATIONS + "("
+                    + COLUMN_NAME + " TEXT PRIMARY KEY,"
+                    + COLUMN_SCHEMA_VERSION + " INTEGER NOT NULL,"
+                    + COLUMN_CHECKPOINT + " INTEGER NOT NULL,"
+                    + COLUMN_DONE_AT + " INTEGER"
+                    + ") WITHOUT ROWID");
+        }
         if (oldVersion < 2) {
             db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_USERS + "("
                     + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
@@ -80,170 +285,2131 @@ public class DatabaseHelper extends SQLiteOpenHelper {
                     + COLUMN_CREATED_AT + " INTEGER"
                     + ")");
         }
+        if (oldVersion < 4) {
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_BUCKET + " INTEGER");
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_BUCKET_UNTIL + " INTEGER");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_food_bucket_until ON " + TABLE_FOOD
+                    + "(" + COLUMN_BUCKET_UNTIL + ")");
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_SUMMARY + "("
+                    + COLUMN_KIND + " TEXT NOT NULL,"
+                    + COLUMN_KEY + " TEXT NOT NULL,"
+                    + COLUMN_COUNT + " INTEGER NOT NULL,"
+                    + "PRIMARY KEY(" + COLUMN_KIND + "," + COLUMN_KEY + ")"
+                    + ") WITHOUT ROWID");
+            // Until the backfill reaches a row it counts as BUCKET_UNKNOWN; the summary triggers
+            // move it to its bucket when the chunk writes it
+            queueBackfill(db, 4, BACKFILL_BUCKETS);
+        }
+        if (oldVersion < 5) {
+            // Existing rows stay unowned (NULL) until the first signed-in owner claims them in setAccount
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_OWNER + " TEXT");
+            db.execSQL("DROP INDEX IF EXISTS idx_food_bucket_until");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_food_owner_expiry ON " + TABLE_FOOD
+                    + "(" + COLUMN_OWNER + "," + COLUMN_EXPIRY_DATE + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_food_owner_bucket_until ON " + TABLE_FOOD
+                    + "(" + COLUMN_OWNER + "," + COLUMN_BUCKET_UNTIL + ")");
+            // Aggregates gain the owner in their key; contents are rebuilt below
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_SUMMARY);
+            db.execSQL("CREATE TABLE " + TABLE_SUMMARY + "("
+                    + COLUMN_OWNER + " TEXT NOT NULL,"
+                    + COLUMN_KIND + " TEXT NOT NULL,"
+                    + COLUMN_KEY + " TEXT NOT NULL,"
+                    + COLUMN_COUNT + " INTEGER NOT NULL,"
+                    + "PRIMARY KEY(" + COLUMN_OWNER + "," + COLUMN_KIND + "," + COLUMN_KEY + ")"
+                    + ") WITHOUT ROWID");
+        }
+        if (oldVersion < 6) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CHANGES + "("
+                    + COLUMN_SEQ + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + COLUMN_OP + " INTEGER NOT NULL,"
+                    + COLUMN_ITEM_ID + " INTEGER NOT NULL,"
+                    + COLUMN_OWNER + " TEXT,"
+                    + COLUMN_CHANGED_AT + " INTEGER NOT NULL"
+                    + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_changes_owner_seq ON " + TABLE_CHANGES
+                    + "(" + COLUMN_OWNER + "," + COLUMN_SEQ + ")");
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CURSORS + "("
+                    + COLUMN_CONSUMER + " TEXT PRIMARY KEY,"
+                    + COLUMN_SEQ + " INTEGER NOT NULL"
+                    + ") WITHOUT ROWID");
+        }
+        if (oldVersion < 7) {
+            // version counts local edits (bumped by trigger); synced_version is the last one the server has
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_SYNC_ID + " TEXT");
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_VERSION + " INTEGER NOT NULL DEFAULT 1");
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_SYNCED_VERSION + " INTEGER NOT NULL DEFAULT 0");
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_UPDATED_AT + " INTEGER");
+            // Existing rows get their identity from the backfill; sync waits for it (isSyncReady).
+            // NULLs are distinct, so the unique index accepts rows not reached yet.
+            queueBackfill(db, 7, BACKFILL_SYNC_IDS);
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_food_owner_sync ON " + TABLE_FOOD
+                    + "(" + COLUMN_OWNER + "," + COLUMN_SYNC_ID + ")");
+            // Deleted rows are gone by the time sync reads the log, so the log keeps their identity
+            db.execSQL("ALTER TABLE " + TABLE_CHANGES + " ADD COLUMN " + COLUMN_SYNC_ID + " TEXT");
+            db.execSQL("ALTER TABLE " + TABLE_CHANGES + " ADD COLUMN " + COLUMN_VERSION + " INTEGER");
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_SYNC_STATE + "("
+                    + COLUMN_OWNER + " TEXT PRIMARY KEY,"
+                    + COLUMN_PULL_WATERMARK + " INTEGER NOT NULL"
+                    + ") WITHOUT ROWID");
+        }
+        if (oldVersion < 8) {
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_EXPIRY_MILLIS + " INTEGER");
+            // Range queries skip rows the backfill has not reached yet (NULL never matches)
+            queueBackfill(db, 8, BACKFILL_EXPIRY_MILLIS);
+            // The text expiry index could not serve instant ranges (mixed formats); the numeric one replaces it
+            db.execSQL("DROP INDEX IF EXISTS idx_food_owner_expiry");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_food_owner_expiry_millis ON " + TABLE_FOOD
+                    + "(" + COLUMN_OWNER + "," + COLUMN_EXPIRY_MILLIS + ")");
+        }
+        if (oldVersion < 9) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_CATEGORIES + "("
+                    + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + COLUMN_NAME + " TEXT NOT NULL,"
+                    + COLUMN_NAME_KEY + " TEXT NOT NULL UNIQUE,"
+                    + COLUMN_ICON_KIND + " INTEGER NOT NULL,"
+                    + COLUMN_SORT_KEY + " INTEGER NOT NULL"
+                    + ")");
+            db.execSQL("ALTER TABLE " + TABLE_FOOD + " ADD COLUMN " + COLUMN_CATEGORY_ID
+                    + " INTEGER REFERENCES " + TABLE_CATEGORIES + "(" + COLUMN_ID + ")");
+            dedupeCategories(db);
+        }
+        if (oldVersion < 11) {
+            // Own id: food ids are reused once clearAllData resets the sequence
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_ARCHIVE + "("
+                    + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + COLUMN_ITEM_ID + " INTEGER NOT NULL,"
+                    + COLUMN_NAME + " TEXT,"
+                    + COLUMN_CATEGORY + " TEXT,"
+                    + COLUMN_PURCHASE_DATE + " TEXT,"
+                    + COLUMN_EXPIRY_DATE + " TEXT,"
+                    + COLUMN_QUANTITY + " INTEGER,"
+                    + COLUMN_NOTES + " TEXT,"
+                    + COLUMN_OWNER + " TEXT,"
+                    + COLUMN_SYNC_ID + " TEXT,"
+                    + COLUMN_CATEGORY_ID + " INTEGER,"
+                    + COLUMN_EXPIRY_MILLIS + " INTEGER,"
+                    + COLUMN_ARCHIVED_AT + " INTEGER NOT NULL"
+                    + ")");
+            db.execSQL("CREATE INDEX IF NOT EXISTS idx_archive_owner_expiry_millis ON " + TABLE_ARCHIVE
+                    + "(" + COLUMN_OWNER + "," + COLUMN_EXPIRY_MILLIS + ")");
+        }
+        if (oldVersion < 12) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_EVENTS + "("
+                    + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                    + COLUMN_OWNER + " TEXT,"
+                    + COLUMN_EVENT_KIND + " INTEGER NOT NULL,"
+                    + COLUMN_ITEM_ID + " INTEGER NOT NULL,"
+                    + COLUMN_CATEGORY_ID + " INTEGER,"
+                    + COLUMN_QUANTITY + " INTEGER NOT NULL,"
+                    + COLUMN_OCCURRED_AT + " INTEGER NOT NULL"
+                    + ")");
+            // An item expires once per expiry instant, whether the worker or a later delete notices first
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS idx_events_expired ON " + TABLE_EVENTS
+                    + "(" + COLUMN_OWNER + "," + COLUMN_ITEM_ID + "," + COLUMN_OCCURRED_AT + ")"
+                    + " WHERE " + COLUMN_EVENT_KIND + " = " + FoodEvent.KIND_EXPIRED);
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_WASTE_DAILY + "("
+                    + COLUMN_OWNER + " TEXT NOT NULL,"
+                    + COLUMN_DAY + " INTEGER NOT NULL,"
+                    + COLUMN_EVENT_KIND + " INTEGER NOT NULL,"
+                    + COLUMN_CATEGORY_ID + " INTEGER NOT NULL,"
+                    + COLUMN_ITEMS + " INTEGER NOT NULL,"
+                    + COLUMN_QUANTITY + " INTEGER NOT NULL,"
+                    + "PRIMARY KEY(" + COLUMN_OWNER + "," + COLUMN_DAY + "," + COLUMN_EVENT_KIND + "," + COLUMN_CATEGORY_ID + ")"
+                    + ") WITHOUT ROWID");
+            db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_ROLLUP_STATE + "("
+                    + COLUMN_NAME + " TEXT PRIMARY KEY,"
+                    + COLUMN_SEQ + " INTEGER NOT NULL"
+                    + ") WITHOUT ROWID");
+        }
+        if (oldVersion < 13) {
+            // A mode added later needs its own version step
+            for (SortMode mode : SortMode.values()) {
+                db.execSQL("CREATE INDEX IF NOT EXISTS " + sortIndex(mode) + " ON " + TABLE_FOOD
+                        + "(" + COLUMN_OWNER + "," + String.join(",", sortTerms(mode)) + ")");
+            }
+        }
+        createTriggers(db);
+        rebuildSummary(db);
     }
 
     /*
-     * Function: onDowngrade
-     * Purpose: Gracefully handle downgrades by recreating schema to avoid crashes
+     * Function: createTriggers
+     * Purpose: (Re)create the triggers that keep food_summary in step with every insert, update and delete
      */
-    @Override
-    public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        // If a downgrade happens (e.g., device has DB v3 but app declares v2),
-        // default SQLiteOpenHelper throws. We avoid crash by recreating tables.
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_FOOD);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_USERS);
-        onCreate(db);
+    private static void createTriggers(SQLiteDatabase db) {
+        String bucketNew = "CAST(COALESCE(NEW." + COLUMN_BUCKET + "," + FoodSummary.BUCKET_UNKNOWN + ") AS TEXT)";
+        String bucketOld = "CAST(COALESCE(OLD." + COLUMN_BUCKET + "," + FoodSummary.BUCKET_UNKNOWN + ") AS TEXT)";
+        String categoryNew = "CAST(COALESCE(NEW." + COLUMN_CATEGORY_ID + "," + CategoryCatalog.NONE + ") AS TEXT)";
+        String categoryOld = "CAST(COALESCE(OLD." + COLUMN_CATEGORY_ID + "," + CategoryCatalog.NONE + ") AS TEXT)";
+        String ownerNew = "COALESCE(NEW." + COLUMN_OWNER + ",'')";
+        String ownerOld = "COALESCE(OLD." + COLUMN_OWNER + ",'')";
+
+        db.execSQL("DROP TRIGGER IF EXISTS food_summary_insert");
+        db.execSQL("DROP TRIGGER IF EXISTS food_summary_update");
+        db.execSQL("DROP TRIGGER IF EXISTS food_summary_delete");
+        db.execSQL("DROP TRIGGER IF EXISTS food_changes_insert");
+        db.execSQL("DROP TRIGGER IF EXISTS food_changes_update");
+        db.execSQL("DROP TRIGGER IF EXISTS food_changes_delete");
+        db.execSQL("DROP TRIGGER IF EXISTS food_sync_insert");
+        db.execSQL("DROP TRIGGER IF EXISTS food_sync_version");
+
+        db.execSQL("CREATE TRIGGER food_summary_insert AFTER INSERT ON " + TABLE_FOOD + " BEGIN "
+                + summaryIncrement(ownerNew, KIND_BUCKET, bucketNew)
+                + summaryIncrement(ownerNew, KIND_CATEGORY, categoryNew)
+                + "END");
+        db.execSQL("CREATE TRIGGER food_summary_update AFTER UPDATE OF "
+                + COLUMN_BUCKET + "," + COLUMN_CATEGORY_ID + "," + COLUMN_OWNER + " ON " + TABLE_FOOD
+                + " WHEN OLD." + COLUMN_BUCKET + " IS NOT NEW." + COLUMN_BUCKET
+                + " OR OLD." + COLUMN_CATEGORY_ID + " IS NOT NEW." + COLUMN_CATEGORY_ID
+                + " OR OLD." + COLUMN_OWNER + " IS NOT NEW." + COLUMN_OWNER + " BEGIN "
+                + summaryDecrement(ownerOld, KIND_BUCKET, bucketOld)
+                + summaryDecrement(ownerOld, KIND_CATEGORY, categoryOld)
+                + summaryIncrement(ownerNew, KIND_BUCKET, bucketNew)
+                + summaryIncrement(ownerNew, KIND_CATEGORY, categoryNew)
+                + "END");
+        db.execSQL("CREATE TRIGGER food_summary_delete AFTER DELETE ON " + TABLE_FOOD + " BEGIN "
+                + summaryDecrement(ownerOld, KIND_BUCKET, bucketOld)
+                + summaryDecrement(ownerOld, KIND_CATEGORY, categoryOld)
+                + "END");
+
+        // Change log: bucket columns are derived state and deliberately not listed
+        db.execSQL("CREATE TRIGGER food_changes_insert AFTER INSERT ON " + TABLE_FOOD + " BEGIN "
+                + changeLog(String.valueOf(FoodChange.OP_INSERT), "NEW")
+                + "END");
+        db.execSQL("CREATE TRIGGER food_changes_update AFTER UPDATE OF "
+                + COLUMN_NAME + "," + COLUMN_CATEGORY + "," + COLUMN_PURCHASE_DATE + "," + COLUMN_EXPIRY_DATE + ","
+                + COLUMN_QUANTITY + "," + COLUMN_NOTES + "," + COLUMN_OWNER + " ON " + TABLE_FOOD + " BEGIN "
+                + changeLog("CASE WHEN OLD." + COLUMN_EXPIRY_DATE + " IS NOT NEW." + COLUMN_EXPIRY_DATE
+                        + " THEN " + FoodChange.OP_EXPIRY + " ELSE " + FoodChange.OP_UPDATE + " END", "NEW")
+                + "END");
+        db.execSQL("CREATE TRIGGER food_changes_delete AFTER DELETE ON " + TABLE_FOOD + " BEGIN "
+                + changeLog(String.valueOf(FoodChange.OP_DELETE), "OLD")
+                + "END");
+
+        // Sync identity for rows inserted locally; rows arriving from sync carry their own
+        db.execSQL("CREATE TRIGGER food_sync_insert AFTER INSERT ON " + TABLE_FOOD
+                + " WHEN NEW." + COLUMN_SYNC_ID + " IS NULL BEGIN "
+                + "UPDATE " + TABLE_FOOD + " SET " + COLUMN_SYNC_ID + " = lower(hex(randomblob(16))), "
+                + COLUMN_UPDATED_AT + " = " + NOW_MILLIS + " WHERE " + COLUMN_ID + " = NEW." + COLUMN_ID + "; "
+                + "END");
+        // Local edits bump the version; sync writes set version/updated_at themselves and are left alone
+        db.execSQL("CREATE TRIGGER food_sync_version AFTER UPDATE OF "
+                + COLUMN_NAME + "," + COLUMN_CATEGORY + "," + COLUMN_PURCHASE_DATE + "," + COLUMN_EXPIRY_DATE + ","
+                + COLUMN_QUANTITY + "," + COLUMN_NOTES + " ON " + TABLE_FOOD
+                + " WHEN NEW." + COLUMN_VERSION + " IS OLD." + COLUMN_VERSION
+                + " AND NEW." + COLUMN_UPDATED_AT + " IS OLD." + COLUMN_UPDATED_AT + " BEGIN "
+                + "UPDATE " + TABLE_FOOD + " SET " + COLUMN_VERSION + " = OLD." + COLUMN_VERSION + " + 1, "
+                + COLUMN_UPDATED_AT + " = " + NOW_MILLIS + " WHERE " + COLUMN_ID + " = NEW." + COLUMN_ID + "; "
+                + "END");
+    }
+
+    private static String changeLog(String opExpr, String row) {
+        return "INSERT INTO " + TABLE_CHANGES + "(" + COLUMN_OP + "," + COLUMN_ITEM_ID + ","
+                + COLUMN_OWNER + "," + COLUMN_CHANGED_AT + "," + COLUMN_SYNC_ID + "," + COLUMN_VERSION
+                + ") VALUES(" + opExpr + "," + row + "." + COLUMN_ID + "," + row + "." + COLUMN_OWNER + ","
+                + NOW_MILLIS + "," + row + "." + COLUMN_SYNC_ID + "," + row + "." + COLUMN_VERSION + "); ";
+    }
+
+    private static String summaryIncrement(String ownerExpr, String kind, String keyExpr) {
+        return "INSERT INTO " + TABLE_SUMMARY + "(" + COLUMN_OWNER + "," + COLUMN_KIND + "," + COLUMN_KEY + "," + COLUMN_COUNT + ")"
+                + " VALUES(" + ownerExpr + ",'" + kind + "'," + keyExpr + ",1)"
+                + " ON CONFLICT(" + COLUMN_OWNER + "," + COLUMN_KIND + "," + COLUMN_KEY + ") DO UPDATE SET "
+                + COLUMN_COUNT + " = " + COLUMN_COUNT + " + 1; ";
+    }
+
+    private static String summaryDecrement(String ownerExpr, String kind, String keyExpr) {
+        return "UPDATE " + TABLE_SUMMARY + " SET " + COLUMN_COUNT + " = " + COLUMN_COUNT + " - 1"
+                + " WHERE " + COLUMN_OWNER + " = " + ownerExpr + " AND " + COLUMN_KIND + " = '" + kind + "'"
+                + " AND " + COLUMN_KEY + " = " + keyExpr + "; ";
     }
 
     /*
-     * Function: addFood
-     * Purpose: Insert a FoodItem into the database
-     * Returns: row id (>0) or -1 on failure
+     * Function: rebuildSummary
+     * Purpose: Recompute food_summary from scratch with two GROUP BY scans (migrations only)
      */
-    public long addFood(FoodItem foodItem) {
-        SQLiteDatabase db = this.getWritableDatabase();
+    private static void rebuildSummary(SQLiteDatabase db) {
+        db.execSQL("DELETE FROM " + TABLE_SUMMARY);
+        db.execSQL("INSERT INTO " + TABLE_SUMMARY + " SELECT COALESCE(" + COLUMN_OWNER + ",''), '" + KIND_BUCKET + "',"
+                + " CAST(COALESCE(" + COLUMN_BUCKET + "," + FoodSummary.BUCKET_UNKNOWN + ") AS TEXT), COUNT(*)"
+                + " FROM " + TABLE_FOOD + " GROUP BY 1, 3");
+        db.execSQL("INSERT INTO " + TABLE_SUMMARY + " SELECT COALESCE(" + COLUMN_OWNER + ",''), '" + KIND_CATEGORY + "',"
+                + " CAST(COALESCE(" + COLUMN_CATEGORY_ID + "," + CategoryCatalog.NONE + ") AS TEXT), COUNT(*)"
+                + " FROM " + TABLE_FOOD + " GROUP BY 1, 3");
+    }
+
+    /*
+     * Function: dedupeCategories
+     * Purpose: v9 migration: one categories row per case/whitespace-insensitive spelling, named after
+     *          the most common spelling; rows using another spelling are rewritten to it
+     */
+    private static void dedupeCategories(SQLiteDatabase db) {
+        Map<String, Long> idsByKey = new HashMap<>();
+        Map<Long, String> names = new HashMap<>();
+        List<String> spellings = new ArrayList<>();
+        List<Long> spellingIds = new ArrayList<>();
+        try (Cursor c = db.rawQuery("SELECT " + COLUMN_CATEGORY + ", COUNT(*) FROM " + TABLE_FOOD
+                + " WHERE " + COLUMN_CATEGORY + " IS NOT NULL GROUP BY " + COLUMN_CATEGORY
+                + " ORDER BY COUNT(*) DESC, " + COLUMN_CATEGORY, null)) {
+            while (c.moveToNext()) {
+                String raw = c.getString(0);
+                String key = CategoryCatalog.normalizeKey(raw);
+                if (key.isEmpty()) continue;
+                Long id = idsByKey.get(key);
+                if (id == null) {
+                    id = insertCategory(db, raw);
+                    idsByKey.put(key, id);
+                    names.put(id, CategoryCatalog.displayName(raw));
+                }
+                spellings.add(raw);
+                spellingIds.add(id);
+            }
+        }
+        renumberCategories(db);
+        // Linking only touches category_id (not logged); respelling is a real edit and is logged/synced
+        SQLiteStatement link = db.compileStatement("UPDATE " + TABLE_FOOD + " SET " + COLUMN_CATEGORY_ID + " = ?"
+                + " WHERE " + COLUMN_CATEGORY + " = ?");
+        SQLiteStatement respell = db.compileStatement("UPDATE " + TABLE_FOOD + " SET " + COLUMN_CATEGORY_ID + " = ?, "
+                + COLUMN_CATEGORY + " = ? WHERE " + COLUMN_CATEGORY + " = ?");
+        try {
+            for (int i = 0; i < spellings.size(); i++) {
+                long id = spellingIds.get(i);
+                String canonical = names.get(id);
+                if (canonical.equals(spellings.get(i))) {
+                    link.bindLong(1, id);
+                    link.bindString(2, spellings.get(i));
+                    link.executeUpdateDelete();
+                } else {
+                    respell.bindLong(1, id);
+                    respell.bindString(2, canonical);
+                    respell.bindString(3, spellings.get(i));
+                    respell.executeUpdateDelete();
+                }
+            }
+        } finally {
+            link.close();
+            respell.close();
+        }
+    }
+
+    /*
+     * Function: insertCategory
+     * Purpose: Add a category (no-op if its key exists) and return its id; call renumberCategories after
+     */
+    private static long insertCategory(SQLiteDatabase db, String category) {
+        String name = CategoryCatalog.displayName(category);
         ContentValues values = new ContentValues();
-        values.put(COLUMN_NAME, foodItem.getName());
-        values.put(COLUMN_CATEGORY, foodItem.getCategory());
-        values.put(COLUMN_PURCHASE_DATE, foodItem.getPurchaseDate());
-        values.put(COLUMN_EXPIRY_DATE, foodItem.getExpiryDate());
-        values.put(COLUMN_QUANTITY, foodItem.getQuantity());
-        values.put(COLUMN_NOTES, foodItem.getNotes());
-
-        long id = db.insert(TABLE_FOOD, null, values);
-        db.close();
+        values.put(COLUMN_NAME, name);
+        values.put(COLUMN_NAME_KEY, CategoryCatalog.normalizeKey(name));
+        values.put(COLUMN_ICON_KIND, CategoryCatalog.iconKindFor(name));
+        values.put(COLUMN_SORT_KEY, 0);
+        db.insertWithOnConflict(TABLE_CATEGORIES, null, values, SQLiteDatabase.CONFLICT_IGNORE);
+        return DatabaseUtils.longForQuery(db, "SELECT " + COLUMN_ID + " FROM " + TABLE_CATEGORIES
+                + " WHERE " + COLUMN_NAME_KEY + " = ?", new String[]{CategoryCatalog.normalizeKey(name)});
+    }
+
+    /*
+     * Function: renumberCategories
+     * Purpose: Set sort_key to each category's alphabetical rank (categories number in the tens)
+     */
+    private static void renumberCategories(SQLiteDatabase db) {
+        db.execSQL("UPDATE " + TABLE_CATEGORIES + " SET " + COLUMN_SORT_KEY + " = (SELECT COUNT(*) FROM "
+                + TABLE_CATEGORIES + " c WHERE c." + COLUMN_NAME_KEY + " < " + TABLE_CATEGORIES + "." + COLUMN_NAME_KEY + ")");
+    }
+
+    /*
+     * Function: loadCategories
+     * Purpose: Read the categories table into an id-indexed catalog
+     */
+    private CategoryCatalog loadCategories(SQLiteDatabase db) {
+        long start = Metrics.DB_READ.begin();
+        List<int[]> rows = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Cursor c = db.query(TABLE_CATEGORIES, new String[]{COLUMN_ID, COLUMN_NAME, COLUMN_ICON_KIND, COLUMN_SORT_KEY},
+                null, null, null, null, null)) {
+            while (c.moveToNext()) {
+                rows.add(new int[]{c.getInt(0), c.getInt(2), c.getInt(3)});
+                names.add(c.getString(1));
+            }
+        } finally {
+            readDone(start, rows.size());
+        }
+        int n = rows.size();
+        int[] ids = new int[n];
+        int[] icons = new int[n];
+        int[] sortKeys = new int[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = rows.get(i)[0];
+            icons[i] = rows.get(i)[1];
+            sortKeys[i] = rows.get(i)[2];
+        }
+        return new CategoryCatalog(ids, names.toArray(new String[0]), icons, sortKeys);
+    }
+
+    /*
+     * Function: getCategories
+     * Purpose: Current category catalog, read from the table on first use (call off the main thread)
+     */
+    public CategoryCatalog getCategories() {
+        CategoryCatalog catalog = categories;
+        if (catalog != null) return catalog;
+        synchronized (this) {
+            if (categories == null) categories = loadCategories(this.getReadableDatabase());
+            return categories;
+        }
+    }
+
+    /*
+     * Function: getLoadedCategories
+     * Purpose: Catalog for the main thread: never touches the database (EMPTY until first loaded)
+     */
+    public CategoryCatalog getLoadedCategories() {
+        CategoryCatalog catalog = categories;
+        return catalog == null ? CategoryCatalog.EMPTY : catalog;
+    }
+
+    /*
+     * Function: categoryIdFor
+     * Purpose: Id for free-text category input, creating the category on first use (NONE when blank)
+     */
+    private int categoryIdFor(SQLiteDatabase db, String category) {
+        if (CategoryCatalog.normalizeKey(category).isEmpty()) return CategoryCatalog.NONE;
+        int id = getCategories().idFor(category);
+        if (id != CategoryCatalog.NONE) return id;
+        synchronized (this) {
+            id = (int) insertCategory(db, category);
+            renumberCategories(db);
+            categories = loadCategories(db);
+        }
         return id;
     }
 
     /*
-     * Function: getAllFood
-     * Purpose: Retrieve all stored FoodItem records
-     * Returns: List<FoodItem>
+     * Function: putCategory
+     * Purpose: Add category_id and the canonical spelling for free-text input to a write
+     * Returns: the category id (NONE when blank)
      */
-    public List<FoodItem> getAllFood() {
-        List<FoodItem> foodItemList = new ArrayList<>();
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.rawQuery("SELECT * FROM " + TABLE_FOOD, null);
-
-        if (cursor.moveToFirst()) {
-            do {
-                FoodItem foodItem = new FoodItem(
-                        cursor.getInt(0),
-                        cursor.getString(1),
-                        cursor.getString(2),
-                        cursor.getString(3),
-                        cursor.getString(4),
-                        cursor.getInt(5),
-                        cursor.getString(6)
-                );
-                foodItemList.add(foodItem);
-            } while (cursor.moveToNext());
-        }
-        cursor.close();
-        db.close();
-        return foodItemList;
+    private int putCategory(SQLiteDatabase db, ContentValues values, String category) {
+        int id = categoryIdFor(db, category);
+        if (id == CategoryCatalog.NONE) {
+            values.put(COLUMN_CATEGORY, category);
+            values.putNull(COLUMN_CATEGORY_ID);
+        } else {
+            values.put(COLUMN_CATEGORY, getCategories().getName(id));
+            values.put(COLUMN_CATEGORY_ID, id);
+        }
+        return id;
+    }
+
+    private void bindCategory(SQLiteDatabase db, SQLiteStatement statement, int textIndex, int idIndex, String category) {
+        int id = categoryIdFor(db, category);
+        if (id == CategoryCatalog.NONE) {
+            bindNullable(statement, textIndex, category);
+            statement.bindNull(idIndex);
+        } else {
+            statement.bindString(textIndex, getCategories().getName(id));
+            statement.bindLong(idIndex, id);
+        }
+    }
+
+    private static FoodItem itemAt(Cursor c) {
+        FoodItem item = new FoodItem(c.getInt(0), c.getString(1), c.getString(2),
+                c.getString(3), c.getString(4), c.getInt(5), c.getString(6));
+        item.setCategoryId(c.getInt(7));
+        return item;
     }
 
     /*
-     * Function: deleteFood
-     * Purpose: Remove a FoodItem by id
+     * Function: rebucketRows
+     * Purpose: Recompute bucket columns for one owner's rows whose bucket_until has passed
+     * Returns: number of rows rewritten
      */
-    public void deleteFood(int id) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_FOOD, COLUMN_ID + "=?", new String[]{String.valueOf(id)});
-        db.close();
+    private static int rebucketRows(SQLiteDatabase db, String owner, long dueBefore, long now) {
+        String where = COLUMN_OWNER + " = ? AND " + COLUMN_BUCKET_UNTIL + " <= ?";
+        String[] args = {owner, String.valueOf(dueBefore)};
+        // Read first, then write: rewriting rows under an open cursor can make window refills skip rows
+        List<Long> ids = new ArrayList<>();
+        List<String> expiries = new ArrayList<>();
+        try (Cursor c = db.query(TABLE_FOOD, new String[]{COLUMN_ID, COLUMN_EXPIRY_DATE}, where, args,
+                null, null, null)) {
+            while (c.moveToNext()) {
+                ids.add(c.getLong(0));
+                expiries.add(c.getString(1));
+            }
+        }
+        SQLiteStatement update = db.compileStatement("UPDATE " + TABLE_FOOD + " SET "
+                + COLUMN_BUCKET + " = ?, " + COLUMN_BUCKET_UNTIL + " = ? WHERE " + COLUMN_ID + " = ?");
+        int rows = 0;
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                bindBucket(update, 1, expiries.get(i), now);
+                update.bindLong(3, ids.get(i));
+                rows += update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+        }
+        return rows;
     }
 
     /*
-     * Function: addUser
-     * Purpose: Create a user with PBKDF2 hashed password and random salt
-     * Returns: row id (>0) or -1 on failure
+     * Function: queueBackfill
+     * Purpose: Register a chunked backfill of every existing food row; nothing is queued when the
+     *          table is empty (fresh installs), since new rows are written complete
      */
-    public long addUser(String email, String passwordPlain) {
-        SQLiteDatabase db = this.getWritableDatabase();
+    private static void queueBackfill(SQLiteDatabase db, int schemaVersion, String name) {
+        if (DatabaseUtils.queryNumEntries(db, TABLE_FOOD) == 0) return;
         ContentValues values = new ContentValues();
-        String salt = PasswordHelper.generateSalt();
-        String hash = PasswordHelper.hashPassword(passwordPlain.toCharArray(), salt);
-        values.put(COLUMN_EMAIL, email);
-        values.put(COLUMN_PASSWORD_HASH, hash);
-        values.put(COLUMN_SALT, salt);
-        values.put(COLUMN_CREATED_AT, System.currentTimeMillis());
-        long id = db.insert(TABLE_USERS, null, values);
-        db.close();
-        return id; // returns -1 on constraint violation (e.g., duplicate email)
+        values.put(COLUMN_NAME, name);
+        values.put(COLUMN_SCHEMA_VERSION, schemaVersion);
+        values.put(COLUMN_CHECKPOINT, 0);
+        values.putNull(COLUMN_DONE_AT);
+        db.insertWithOnConflict(TABLE_MIGRATIONS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
     }
 
     /*
-     * Function: userExists
-     * Purpose: Determine if a user is present by email
-     * Returns: true if exists
+     * Function: restartBackfill
+     * Purpose: Queue a backfill again from the first row (benchmarks); rows keep their current
+     *          values until a chunk rewrites them
      */
-    public boolean userExists(String email) {
-        SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_USERS, new String[]{COLUMN_ID}, COLUMN_EMAIL + "=?", new String[]{email}, null, null, null);
-        boolean exists = cursor.moveToFirst();
-        cursor.close();
-        db.close();
-        return exists;
+    void restartBackfill(String name) {
+        queueBackfill(this.getWritableDatabase(), BACKFILL_BUCKETS.equals(name) ? 4
+                : BACKFILL_SYNC_IDS.equals(name) ? 7 : 8, name);
     }
 
     /*
-     * Function: verifyUser
-     * Purpose: Validate plaintext password against stored hash for email
-     * Returns: true if credentials match
+     * Function: isSyncReady
+     * Purpose: False while rows from before v7 are still waiting for their sync id
      */
-    public boolean verifyUser(String email, String passwordPlain) {
+    public boolean isSyncReady() {
+        return !getPendingBackfills().contains(BACKFILL_SYNC_IDS);
+    }
+
+    /*
+     * Function: getPendingBackfills
+     * Purpose: Names of unfinished backfills in schema-version order
+     */
+    public List<String> getPendingBackfills() {
+        long start = Metrics.DB_READ.begin();
         SQLiteDatabase db = this.getReadableDatabase();
-        Cursor cursor = db.query(TABLE_USERS,
-                new String[]{COLUMN_PASSWORD_HASH, COLUMN_SALT},
-                COLUMN_EMAIL + "=?",
-                new String[]{email},
-                null, null, null);
-        boolean valid = false;
-        if (cursor.moveToFirst()) {
-            String hash = cursor.getString(0);
-            String salt = cursor.getString(1);
-            valid = PasswordHelper.verifyPassword(passwordPlain.toCharArray(), salt, hash);
+        List<String> names = new ArrayList<>();
+        try (Cursor c = db.query(TABLE_MIGRATIONS, new String[]{COLUMN_NAME}, COLUMN_DONE_AT + " IS NULL",
+                null, null, null, COLUMN_SCHEMA_VERSION + ", " + COLUMN_NAME)) {
+            while (c.moveToNext()) names.add(c.getString(0));
+        } finally {
+            readDone(start, names.size());
         }
-        cursor.close();
-        db.close();
-        return valid;
+        return names;
     }
 
     /*
-     * Function: updateUserPassword
-     * Purpose: Update password (hash+salt) for a given email
-     * Returns: true if at least one row updated
+     * Function: runBackfillChunk
+     * Purpose: Advance one backfill by up to limit rows in id order. Rows and the new checkpoint
+     *          commit in the same transaction, so an interrupted run resumes after the last chunk.
+     *          Every food row is processed regardless of owner; derived columns are not change-log
+     *          columns, so chunks reach neither sync nor reminder consumers.
+     * Returns: rows processed; 0 when the backfill is complete or unknown
      */
-    public boolean updateUserPassword(String email, String newPasswordPlain) {
+    public int runBackfillChunk(String name, int limit) {
+        long start = Metrics.DB_WRITE.begin();
         SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        String newSalt = PasswordHelper.generateSalt();
-        String newHash = PasswordHelper.hashPassword(newPasswordPlain.toCharArray(), newSalt);
-        values.put(COLUMN_PASSWORD_HASH, newHash);
-        values.put(COLUMN_SALT, newSalt);
-        int rows = db.update(TABLE_USERS, values, COLUMN_EMAIL + "=?", new String[]{email});
-        db.close();
-        return rows > 0;
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            long checkpoint;
+            try (Cursor c = db.query(TABLE_MIGRATIONS, new String[]{COLUMN_CHECKPOINT},
+                    COLUMN_NAME + " = ? AND " + COLUMN_DONE_AT + " IS NULL", new String[]{name},
+                    null, null, null)) {
+                if (!c.moveToFirst()) return 0;
+                checkpoint = c.getLong(0);
+            }
+            List<Long> ids = new ArrayList<>();
+            List<String> expiries = new ArrayList<>();
+            try (Cursor c = db.query(TABLE_FOOD, new String[]{COLUMN_ID, COLUMN_EXPIRY_DATE},
+                    COLUMN_ID + " > ?", new String[]{String.valueOf(checkpoint)},
+                    null, null, COLUMN_ID, String.valueOf(limit))) {
+                while (c.moveToNext()) {
+                    ids.add(c.getLong(0));
+                    expiries.add(c.getString(1));
+                }
+            }
+            ContentValues progress = new ContentValues();
+            if (ids.isEmpty()) {
+                progress.put(COLUMN_DONE_AT, System.currentTimeMillis());
+            } else {
+                backfillRows(db, name, ids, expiries);
+                progress.put(COLUMN_CHECKPOINT, ids.get(ids.size() - 1));
+            }
+            db.update(TABLE_MIGRATIONS, progress, COLUMN_NAME + " = ?", new String[]{name});
+            db.setTransactionSuccessful();
+            return ids.size();
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
     }
 
     /*
-     * Function: clearAllData
-     * Purpose: Wipe all rows from app tables and reset autoincrement counters
+     * Function: backfillRows
+     * Purpose: Recompute one backfill's columns for the given rows from their expiry strings, or
+     *          give rows without one a sync id
      */
-    public void clearAllData() {
+    private static void backfillRows(SQLiteDatabase db, String name, List<Long> ids, List<String> expiries) {
+        if (BACKFILL_SYNC_IDS.equals(name)) {
+            assignSyncIds(db, ids);
+            return;
+        }
+        boolean buckets = BACKFILL_BUCKETS.equals(name);
+        if (!buckets && !BACKFILL_EXPIRY_MILLIS.equals(name)) {
+            throw new IllegalArgumentException("Unknown backfill " + name);
+        }
+        SQLiteStatement update = db.compileStatement(buckets
+                ? "UPDATE " + TABLE_FOOD + " SET " + COLUMN_BUCKET + " = ?, " + COLUMN_BUCKET_UNTIL + " = ? WHERE " + COLUMN_ID + " = ?"
+                : "UPDATE " + TABLE_FOOD + " SET " + COLUMN_EXPIRY_MILLIS + " = ? WHERE " + COLUMN_ID + " = ?");
+        long now = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                if (buckets) {
+                    bindBucket(update, 1, expiries.get(i), now);
+                    update.bindLong(3, ids.get(i));
+                } else {
+                    bindExpiry(update, 1, expiries.get(i));
+                    update.bindLong(2, ids.get(i));
+                }
+                update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+        }
+    }
+
+    /*
+     * Function: assignSyncIds
+     * Purpose: v7 backfill: a random sync id for each of the given rows that has none. Neither
+     *          column is logged, so the chunk reaches no change consumer.
+     */
+    private static void assignSyncIds(SQLiteDatabase db, List<Long> ids) {
+        SQLiteStatement update = db.compileStatement("UPDATE " + TABLE_FOOD + " SET "
+                + COLUMN_SYNC_ID + " = lower(hex(randomblob(16))), " + COLUMN_UPDATED_AT + " = " + NOW_MILLIS
+                + " WHERE " + COLUMN_ID + " = ? AND " + COLUMN_SYNC_ID + " IS NULL");
+        try {
+            for (long id : ids) {
+                update.bindLong(1, id);
+                update.executeUpdateDelete();
+            }
+        } finally {
+            update.close();
+        }
+    }
+
+    /*
+     * Function: putBucket
+     * Purpose: Add the columns derived from an expiry string (bucket, bucket_until, expiry_millis) to a write
+     */
+    private static void putBucket(ContentValues values, String expiryDate, long now) {
+        long expiry = ExpiryDates.parseMillis(expiryDate);
+        int bucket = FoodSummary.bucketFor(expiry, now);
+        values.put(COLUMN_BUCKET, bucket);
+        values.put(COLUMN_BUCKET_UNTIL, FoodSummary.bucketUntil(expiry, bucket));
+        if (expiry == ExpiryDates.UNKNOWN) {
+            values.putNull(COLUMN_EXPIRY_MILLIS);
+        } else {
+            values.put(COLUMN_EXPIRY_MILLIS, expiry);
+        }
+    }
+
+    private static void bindExpiry(SQLiteStatement statement, int index, String expiryDate) {
+        long expiry = ExpiryDates.parseMillis(expiryDate);
+        if (expiry == ExpiryDates.UNKNOWN) {
+            statement.bindNull(index);
+        } else {
+            statement.bindLong(index, expiry);
+        }
+    }
+
+    private static void bindBucket(SQLiteStatement statement, int index, String expiryDate, long now) {
+        long expiry = ExpiryDates.parseMillis(expiryDate);
+        int bucket = FoodSummary.bucketFor(expiry, now);
+        statement.bindLong(index, bucket);
+        statement.bindLong(index + 1, FoodSummary.bucketUntil(expiry, bucket));
+    }
+
+    /*
+     * Function: archiveExpired
+     * Purpose: Retention step: move up to limit rows of any owner (legacy unowned rows included)
+     *          that expired before cutoffMillis into food_archive, oldest first per owner, in one
+     *          transaction. The deletes are logged as OP_ARCHIVE so caches and reminders drop the
+     *          rows while sync leaves the server copy alone.
+     * Returns: number of rows archived
+     */
+    public int archiveExpired(long cutoffMillis, int limit) {
+        long start = Metrics.DB_WRITE.begin();
         SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        transactionStarted();
         try {
-            db.beginTransaction();
-            db.delete(TABLE_FOOD, null, null);
-            db.delete(TABLE_USERS, null, null);
-            // Reset autoincrement counters (if present)
-            db.execSQL("DELETE FROM sqlite_sequence WHERE name=?", new Object[]{TABLE_FOOD});
-            db.execSQL("DELETE FROM sqlite_sequence WHERE name=?", new Object[]{TABLE_USERS});
+            // The worker runs for the device, not the signed-in account: visit every owner partition
+            List<String> owners = new ArrayList<>();
+            try (Cursor c = db.query(true, TABLE_FOOD, new String[]{COLUMN_OWNER}, null, null,
+                    null, null, null, null)) {
+                while (c.moveToNext()) owners.add(c.isNull(0) ? null : c.getString(0));
+            }
+            List<Long> ids = new ArrayList<>();
+            for (String rowOwner : owners) {
+                if (ids.size() >= limit) break;
+                // (owner, expiry_millis) index range; unknown expiries are never archived
+                String where = (rowOwner == null ? COLUMN_OWNER + " IS NULL" : COLUMN_OWNER + " = ?")
+                        + " AND " + COLUMN_EXPIRY_MILLIS + " < ?";
+                String[] args = rowOwner == null
+                        ? new String[]{String.valueOf(cutoffMillis)}
+                        : new String[]{rowOwner, String.valueOf(cutoffMillis)};
+                try (Cursor c = db.query(TABLE_FOOD, new String[]{COLUMN_ID}, where, args, null, null,
+                        COLUMN_EXPIRY_MILLIS, String.valueOf(limit - ids.size()))) {
+                    while (c.moveToNext()) ids.add(c.getLong(0));
+                }
+            }
+            if (ids.isEmpty()) return 0;
+            long seqBefore = DatabaseUtils.longForQuery(db,
+                    "SELECT IFNULL((SELECT seq FROM sqlite_sequence WHERE name = ?), 0)", new String[]{TABLE_CHANGES});
+            String columns = String.join(",", ARCHIVE_COLUMNS);
+            long now = System.currentTimeMillis();
+            for (int from = 0; from < ids.size(); from += MAX_SQL_ARGS) {
+                int to = Math.min(ids.size(), from + MAX_SQL_ARGS);
+                StringBuilder placeholders = new StringBuilder((to - from) * 2);
+                Object[] args = new Object[to - from];
+                for (int i = from; i < to; i++) {
+                    placeholders.append(i == from ? "?" : ",?");
+                    args[i - from] = ids.get(i);
+                }
+                String inIds = COLUMN_ID + " IN (" + placeholders + ")";
+                logRemoval(db, inIds, args, now);
+                db.execSQL("INSERT INTO " + TABLE_ARCHIVE + "(" + COLUMN_ITEM_ID + "," + columns + "," + COLUMN_ARCHIVED_AT + ")"
+                        + " SELECT " + COLUMN_ID + "," + columns + "," + now + " FROM " + TABLE_FOOD + " WHERE " + inIds, args);
+                db.execSQL("DELETE FROM " + TABLE_FOOD + " WHERE " + inIds, args);
+            }
+            db.execSQL("UPDATE " + TABLE_CHANGES + " SET " + COLUMN_OP + " = " + FoodChange.OP_ARCHIVE
+                    + " WHERE " + COLUMN_SEQ + " > ? AND " + COLUMN_OP + " = " + FoodChange.OP_DELETE,
+                    new Object[]{seqBefore});
+            db.setTransactionSuccessful();
+            Metrics.DB_ARCHIVED.add(ids.size());
+            return ids.size();
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: logRemoval
+     * Purpose: Before rows matching where are removed, log their remaining quantity: as expired
+     *          (at the expiry instant, unless the expired worker already did) or as discarded now
+     */
+    private static void logRemoval(SQLiteDatabase db, String where, Object[] args, long now) {
+        db.execSQL("INSERT OR IGNORE INTO " + TABLE_EVENTS + "(" + EVENT_COLUMNS + ") SELECT " + COLUMN_OWNER + ","
+                + FoodEvent.KIND_EXPIRED + "," + COLUMN_ID + "," + COLUMN_CATEGORY_ID + "," + COLUMN_QUANTITY + ","
+                + COLUMN_EXPIRY_MILLIS + " FROM " + TABLE_FOOD + " WHERE " + where + " AND " + COLUMN_QUANTITY + " > 0"
+                + " AND " + COLUMN_EXPIRY_MILLIS + " <= " + now, args);
+        db.execSQL("INSERT INTO " + TABLE_EVENTS + "(" + EVENT_COLUMNS + ") SELECT " + COLUMN_OWNER + ","
+                + FoodEvent.KIND_DISCARDED + "," + COLUMN_ID + "," + COLUMN_CATEGORY_ID + "," + COLUMN_QUANTITY + ","
+                + now + " FROM " + TABLE_FOOD + " WHERE " + where + " AND " + COLUMN_QUANTITY + " > 0"
+                + " AND (" + COLUMN_EXPIRY_MILLIS + " IS NULL OR " + COLUMN_EXPIRY_MILLIS + " > " + now + ")", args);
+    }
+
+    /*
+     * Function: recordExpired
+     * Purpose: Log that an item reached its expiry with quantity left (expired worker); a second
+     *          call for the same expiry instant is ignored
+     * Returns: true if an event was written
+     */
+    public boolean recordExpired(int id) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteStatement statement = this.getWritableDatabase().compileStatement("INSERT OR IGNORE INTO "
+                + TABLE_EVENTS + "(" + EVENT_COLUMNS + ") SELECT " + COLUMN_OWNER + "," + FoodEvent.KIND_EXPIRED + ","
+                + COLUMN_ID + "," + COLUMN_CATEGORY_ID + "," + COLUMN_QUANTITY + "," + COLUMN_EXPIRY_MILLIS
+                + " FROM " + TABLE_FOOD + " WHERE " + COLUMN_ID + " = ? AND " + COLUMN_QUANTITY + " > 0"
+                + " AND " + COLUMN_EXPIRY_MILLIS + " <= ?");
+        try {
+            statement.bindLong(1, id);
+            statement.bindLong(2, System.currentTimeMillis());
+            return statement.executeInsert() != -1;
+        } finally {
+            statement.close();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: rollUpEvents
+     * Purpose: Fold up to limit events after the rollup watermark into food_waste_daily (all owners),
+     *          bucketed by local day in zone. Totals and watermark commit together, so a rerun after
+     *          a crash never counts an event twice.
+     * Returns: events rolled up; 0 when caught up
+     */
+    public int rollUpEvents(int limit, TimeZone zone) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            long watermark = DatabaseUtils.longForQuery(db, "SELECT IFNULL((SELECT " + COLUMN_SEQ + " FROM "
+                    + TABLE_ROLLUP_STATE + " WHERE " + COLUMN_NAME + " = ?), 0)", new String[]{ROLLUP_WASTE_DAILY});
+            // owner, day, kind, category -> {items, quantity}
+            Map<List<Object>, long[]> totals = new LinkedHashMap<>();
+            long last = watermark;
+            int events = 0;
+            try (Cursor c = db.query(TABLE_EVENTS, new String[]{COLUMN_ID, COLUMN_OWNER, COLUMN_EVENT_KIND,
+                            COLUMN_CATEGORY_ID, COLUMN_QUANTITY, COLUMN_OCCURRED_AT},
+                    COLUMN_ID + " > ?", new String[]{String.valueOf(watermark)}, null, null, COLUMN_ID,
+                    String.valueOf(limit))) {
+                while (c.moveToNext()) {
+                    events++;
+                    last = c.getLong(0);
+                    List<Object> key = Arrays.asList(c.isNull(1) ? "" : c.getString(1),
+                            WasteReport.localEpochDay(c.getLong(5), zone), c.getInt(2), c.getInt(3));
+                    long[] sum = totals.get(key);
+                    if (sum == null) totals.put(key, sum = new long[2]);
+                    sum[0]++;
+                    sum[1] += c.getLong(4);
+                }
+            }
+            if (events == 0) return 0;
+            SQLiteStatement upsert = db.compileStatement("INSERT INTO " + TABLE_WASTE_DAILY + "(" + COLUMN_OWNER + ","
+                    + COLUMN_DAY + "," + COLUMN_EVENT_KIND + "," + COLUMN_CATEGORY_ID + "," + COLUMN_ITEMS + "," + COLUMN_QUANTITY
+                    + ") VALUES(?,?,?,?,?,?) ON CONFLICT(" + COLUMN_OWNER + "," + COLUMN_DAY + "," + COLUMN_EVENT_KIND + ","
+                    + COLUMN_CATEGORY_ID + ") DO UPDATE SET " + COLUMN_ITEMS + " = " + COLUMN_ITEMS + " + excluded." + COLUMN_ITEMS
+                    + ", " + COLUMN_QUANTITY + " = " + COLUMN_QUANTITY + " + excluded." + COLUMN_QUANTITY);
+            try {
+                for (Map.Entry<List<Object>, long[]> e : totals.entrySet()) {
+                    List<Object> key = e.getKey();
+                    upsert.bindString(1, (String) key.get(0));
+                    upsert.bindLong(2, (Long) key.get(1));
+                    upsert.bindLong(3, (Integer) key.get(2));
+                    upsert.bindLong(4, (Integer) key.get(3));
+                    upsert.bindLong(5, e.getValue()[0]);
+                    upsert.bindLong(6, e.getValue()[1]);
+                    upsert.executeInsert();
+                }
+            } finally {
+                upsert.close();
+            }
+            ContentValues state = new ContentValues();
+            state.put(COLUMN_NAME, ROLLUP_WASTE_DAILY);
+            state.put(COLUMN_SEQ, last);
+            db.insertWithOnConflict(TABLE_ROLLUP_STATE, null, state, SQLiteDatabase.CONFLICT_REPLACE);
             db.setTransactionSuccessful();
+            return events;
         } finally {
             db.endTransaction();
-            db.close();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: getWasteReport
+     * Purpose: The current owner's event totals per week or month, kind and category for local days
+     *          fromDay..toDay (inclusive); reads only daily rollups, so events not yet rolled up are
+     *          missing
+     */
+    public WasteReport getWasteReport(long fromDay, long toDay, int period) {
+        long start = Metrics.DB_READ.begin();
+        WasteReport report = new WasteReport(period);
+        int rows = 0;
+        try (Cursor c = this.getReadableDatabase().query(TABLE_WASTE_DAILY,
+                new String[]{COLUMN_DAY, COLUMN_EVENT_KIND, COLUMN_CATEGORY_ID, COLUMN_ITEMS, COLUMN_QUANTITY},
+                COLUMN_OWNER + " = ? AND " + COLUMN_DAY + " BETWEEN ? AND ?",
+                new String[]{owner, String.valueOf(fromDay), String.valueOf(toDay)}, null, null, COLUMN_DAY)) {
+            while (c.moveToNext()) {
+                rows++;
+                report.addDay(c.getLong(0), c.getInt(1), c.getInt(2), c.getLong(3), c.getLong(4));
+            }
+        } finally {
+            readDone(start, rows);
+        }
+        return report;
+    }
+
+    /*
+     * Function: getArchivedCount
+     * Purpose: Number of the current owner's archived rows
+     */
+    public long getArchivedCount() {
+        long start = Metrics.DB_READ.begin();
+        try {
+            return DatabaseUtils.queryNumEntries(this.getReadableDatabase(), TABLE_ARCHIVE,
+                    COLUMN_OWNER + " = ?", new String[]{owner});
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: getStorageStats
+     * Purpose: Current file size and free (reclaimable) space, from the page counters
+     */
+    public StorageStats getStorageStats() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        return new StorageStats(DatabaseUtils.longForQuery(db, "PRAGMA page_size", null),
+                DatabaseUtils.longForQuery(db, "PRAGMA page_count", null),
+                DatabaseUtils.longForQuery(db, "PRAGMA freelist_count", null));
+    }
+
+    /*
+     * Function: incrementalVacuum
+     * Purpose: Return up to maxPages free pages to the file system. A file created before
+     *          auto_vacuum was enabled is converted first with one full VACUUM, so call this only
+     *          from maintenance windows (it must not run inside a transaction).
+     * Returns: pages released
+     */
+    public long incrementalVacuum(int maxPages) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            long freeBefore = DatabaseUtils.longForQuery(db, "PRAGMA freelist_count", null);
+            if (DatabaseUtils.longForQuery(db, "PRAGMA auto_vacuum", null) != AUTO_VACUUM_INCREMENTAL) {
+                db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+                db.execSQL("VACUUM");
+            } else {
+                // Each step of the pragma frees one page; getCount() steps it to completion
+                try (Cursor c = db.rawQuery("PRAGMA incremental_vacuum(" + maxPages + ")", null)) {
+                    c.getCount();
+                }
+            }
+            return freeBefore - DatabaseUtils.longForQuery(db, "PRAGMA freelist_count", null);
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: analyze
+     * Purpose: Refresh the query planner's statistics after bulk changes such as archival
+     */
+    public void analyze() {
+        long start = Metrics.DB_WRITE.begin();
+        try {
+            this.getWritableDatabase().execSQL("ANALYZE");
+        } finally {
+            writeDone(start);
         }
     }
+
+    /*
+     * Function: rebucket
+     * Purpose: Time-based step: move items whose day threshold has passed into their new bucket.
+     *          Uses the (owner, bucket_until) index, so it only touches rows that actually changed.
+     * Returns: number of rows moved
+     */
+    public int rebucket(long now) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            int rows = rebucketRows(db, owner, now, now);
+            db.setTransactionSuccessful();
+            return rows;
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: getSummary
+     * Purpose: Read dashboard counts from food_summary; cost depends on the number of categories,
+     *          not on the number of items
+     */
+    public FoodSummary getSummary() {
+        long start = Metrics.DB_READ.begin();
+        SQLiteDatabase db = this.getReadableDatabase();
+        FoodSummary summary = new FoodSummary();
+        int rows = 0;
+        try (Cursor c = db.query(TABLE_SUMMARY, new String[]{COLUMN_KIND, COLUMN_KEY, COLUMN_COUNT},
+                COLUMN_OWNER + " = ? AND " + COLUMN_COUNT + " > 0", new String[]{owner},
+                null, null, COLUMN_COUNT + " DESC")) {
+            while (c.moveToNext()) {
+                rows++;
+                if (KIND_BUCKET.equals(c.getString(0))) {
+                    summary.addBucket(Integer.parseInt(c.getString(1)), c.getInt(2));
+                } else {
+                    summary.addCategory(getCategories().getName(Integer.parseInt(c.getString(1))), c.getInt(2));
+                }
+            }
+        } finally {
+            readDone(start, rows);
+        }
+        return summary;
+    }
+
+    /*
+     * Function: getLatestChangeSeq
+     * Purpose: Highest sequence number in the change log (0 when empty); a consumer that has read
+     *          everything up to here is caught up
+     */
+    public long getLatestChangeSeq() {
+        long start = Metrics.DB_READ.begin();
+        try {
+            // AUTOINCREMENT's high-water mark survives compaction, unlike MAX(seq)
+            return DatabaseUtils.longForQuery(this.getReadableDatabase(),
+                    "SELECT IFNULL((SELECT seq FROM sqlite_sequence WHERE name = ?), 0)", new String[]{TABLE_CHANGES});
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: getChangesSince
+     * Purpose: Read up to limit of the current owner's changes with seq > afterSeq, oldest first
+     * Returns: List<FoodChange>; empty when caught up. Callers must check isChangeLogGap first
+     *          if they may have fallen behind a compaction.
+     */
+    public List<FoodChange> getChangesSince(long afterSeq, int limit) {
+        long start = Metrics.DB_READ.begin();
+        List<FoodChange> changes = new ArrayList<>();
+        try (Cursor c = this.getReadableDatabase().query(TABLE_CHANGES,
+                new String[]{COLUMN_SEQ, COLUMN_OP, COLUMN_ITEM_ID, COLUMN_CHANGED_AT},
+                COLUMN_OWNER + " = ? AND " + COLUMN_SEQ + " > ?",
+                new String[]{owner, String.valueOf(afterSeq)}, null, null, COLUMN_SEQ, String.valueOf(limit))) {
+            while (c.moveToNext()) {
+                changes.add(new FoodChange(c.getLong(0), c.getInt(1), c.getInt(2), c.getLong(3)));
+            }
+        } finally {
+            readDone(start, changes.size());
+        }
+        return changes;
+    }
+
+    /*
+     * Function: isChangeLogGap
+     * Purpose: True when entries after afterSeq were already compacted away, so the consumer must
+     *          rescan once instead of applying deltas
+     */
+    public boolean isChangeLogGap(long afterSeq) {
+        long start = Metrics.DB_READ.begin();
+        try {
+            // First retained entry, or one past the high-water mark when everything was compacted
+            long firstRetained = DatabaseUtils.longForQuery(this.getReadableDatabase(),
+                    "SELECT IFNULL((SELECT MIN(" + COLUMN_SEQ + ") FROM " + TABLE_CHANGES + "),"
+                            + " IFNULL((SELECT seq FROM sqlite_sequence WHERE name = ?), 0) + 1)",
+                    new String[]{TABLE_CHANGES});
+            return firstRetained > afterSeq + 1;
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: getChangeCursor
+     * Purpose: Last sequence number a named consumer has applied (-1 if it never registered)
+     */
+    public long getChangeCursor(String consumer) {
+        long start = Metrics.DB_READ.begin();
+        try {
+            return DatabaseUtils.longForQuery(this.getReadableDatabase(),
+                    "SELECT IFNULL((SELECT " + COLUMN_SEQ + " FROM " + TABLE_CURSORS
+                            + " WHERE " + COLUMN_CONSUMER + " = ?), -1)", new String[]{consumer});
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: saveChangeCursor
+     * Purpose: Persist a consumer's position; entries at or below the slowest consumer can be compacted
+     */
+    public void saveChangeCursor(String consumer, long seq) {
+        long start = Metrics.DB_WRITE.begin();
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_CONSUMER, consumer);
+        values.put(COLUMN_SEQ, seq);
+        try {
+            this.getWritableDatabase().insertWithOnConflict(TABLE_CURSORS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: skipChanges
+     * Purpose: Move consumers that were caught up at fromSeq straight to toSeq (bulk seeding that
+     *          must not be replayed, e.g. into reminder scheduling). Consumers without a cursor are
+     *          not registered here; their first full pass would see the rows, so register them first.
+     */
+    public void skipChanges(long fromSeq, long toSeq) {
+        long start = Metrics.DB_WRITE.begin();
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_SEQ, toSeq);
+        try {
+            // Sync still has to upload seeded rows, so its cursors stay put
+            this.getWritableDatabase().update(TABLE_CURSORS, values,
+                    COLUMN_SEQ + " >= ? AND " + COLUMN_CONSUMER + " NOT LIKE '" + SYNC_CONSUMER_PREFIX + "%'",
+                    new String[]{String.valueOf(fromSeq)});
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: compactChanges
+     * Purpose: Delete log entries every registered consumer has applied, plus anything older than
+     *          CHANGE_RETENTION_MILLIS so an abandoned consumer cannot pin the log (it rescans on return)
+     * Returns: number of entries removed
+     */
+    public int compactChanges() {
+        long start = Metrics.DB_WRITE.begin();
+        long cutoff = System.currentTimeMillis() - CHANGE_RETENTION_MILLIS;
+        try {
+            return this.getWritableDatabase().delete(TABLE_CHANGES,
+                    COLUMN_SEQ + " <= (SELECT IFNULL(MIN(" + COLUMN_SEQ + "), 0) FROM " + TABLE_CURSORS + ")"
+                            + " OR " + COLUMN_CHANGED_AT + " < ?", new String[]{String.valueOf(cutoff)});
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: getFoodByIds
+     * Purpose: Load specific rows of the current owner (applying change-log deltas); missing ids are skipped
+     */
+    public List<FoodItem> getFoodByIds(int[] ids) {
+        long start = Metrics.DB_READ.begin();
+        List<FoodItem> items = new ArrayList<>(ids.length);
+        SQLiteDatabase db = this.getReadableDatabase();
+        try {
+            for (int from = 0; from < ids.length; from += MAX_SQL_ARGS) {
+                int to = Math.min(ids.length, from + MAX_SQL_ARGS);
+                StringBuilder placeholders = new StringBuilder((to - from) * 2);
+                String[] args = new String[to - from + 1];
+                args[0] = owner;
+                for (int i = from; i < to; i++) {
+                    placeholders.append(i == from ? "?" : ",?");
+                    args[i - from + 1] = String.valueOf(ids[i]);
+                }
+                try (Cursor c = db.query(TABLE_FOOD, ITEM_COLUMNS,
+                        COLUMN_OWNER + " = ? AND " + COLUMN_ID + " IN (" + placeholders + ")", args,
+                        null, null, null)) {
+                    while (c.moveToNext()) items.add(itemAt(c));
+                }
+            }
+        } finally {
+            readDone(start, items.size());
+        }
+        return items;
+    }
+
+    /*
+     * Function: readSyncPending
+     * Purpose: Next batch of the current owner's rows the server has not seen, found through the
+     *          change log since the sync cursor. Entries whose row is already in sync (echoes of
+     *          applied remote records) are skipped. Falls back to scanning for unsynced rows on the
+     *          first run or after a compaction gap.
+     * Returns: SyncBatch whose position is the change-log seq to save once the batch is acknowledged
+     *          (-1 while a fallback scan still has more pages)
+     */
+    public SyncBatch readSyncPending(int limit) {
+        String consumer = SYNC_CONSUMER_PREFIX + owner;
+        long cursor = getChangeCursor(consumer);
+        if (cursor < 0 || isChangeLogGap(cursor)) return readSyncUnsent(limit);
+
+        long start = Metrics.DB_READ.begin();
+        SQLiteDatabase db = this.getReadableDatabase();
+        List<SyncRecord> records = new ArrayList<>();
+        long position = cursor;
+        int read = 0;
+        try {
+            while (records.isEmpty()) {
+                Set<Integer> liveIds = new LinkedHashSet<>();
+                Map<String, SyncRecord> tombstones = new LinkedHashMap<>();
+                int entries = 0;
+                try (Cursor c = db.query(TABLE_CHANGES,
+                        new String[]{COLUMN_SEQ, COLUMN_OP, COLUMN_ITEM_ID, COLUMN_SYNC_ID, COLUMN_VERSION, COLUMN_CHANGED_AT},
+                        COLUMN_OWNER + " = ? AND " + COLUMN_SEQ + " > ?",
+                        new String[]{owner, String.valueOf(position)}, null, null, COLUMN_SEQ, String.valueOf(limit))) {
+                    while (c.moveToNext()) {
+                        entries++;
+                        position = c.getLong(0);
+                        // Archiving is local housekeeping and remote deletes are already on the server
+                        if (c.getInt(1) == FoodChange.OP_ARCHIVE || c.getInt(1) == FoodChange.OP_REMOTE_DELETE) continue;
+                        if (c.getInt(1) != FoodChange.OP_DELETE) {
+                            liveIds.add(c.getInt(2));
+                        } else if (!c.isNull(3)) {
+                            tombstones.put(c.getString(3), SyncRecord.tombstone(c.getString(3), c.getLong(4) + 1, c.getLong(5)));
+                        }
+                    }
+                }
+                read += entries;
+                if (entries == 0) break;
+                records.addAll(readUnsyncedRows(db, new ArrayList<>(liveIds)));
+                records.addAll(tombstones.values());
+            }
+        } finally {
+            readDone(start, read);
+        }
+        return new SyncBatch(records, position);
+    }
+
+    /*
+     * Function: readSyncUnsent
+     * Purpose: Fallback for readSyncPending: rows whose version is ahead of synced_version, by id.
+     *          Deletions lost to a compaction gap cannot be recovered here.
+     */
+    private SyncBatch readSyncUnsent(int limit) {
+        long seq = getLatestChangeSeq();
+        long start = Metrics.DB_READ.begin();
+        List<SyncRecord> records = new ArrayList<>();
+        try (Cursor c = this.getReadableDatabase().query(TABLE_FOOD, SYNC_COLUMNS,
+                COLUMN_OWNER + " = ? AND " + COLUMN_VERSION + " > " + COLUMN_SYNCED_VERSION,
+                new String[]{owner}, null, null, COLUMN_ID, String.valueOf(limit))) {
+            while (c.moveToNext()) records.add(syncRecordAt(c));
+        } finally {
+            readDone(start, records.size());
+        }
+        // A full page may have more behind it: keep the cursor unset until the scan is exhausted
+        return new SyncBatch(records, records.size() < limit ? seq : -1);
+    }
+
+    private List<SyncRecord> readUnsyncedRows(SQLiteDatabase db, List<Integer> ids) {
+        List<SyncRecord> records = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += MAX_SQL_ARGS) {
+            int to = Math.min(ids.size(), from + MAX_SQL_ARGS);
+            StringBuilder placeholders = new StringBuilder((to - from) * 2);
+            String[] args = new String[to - from + 1];
+            args[0] = owner;
+            for (int i = from; i < to; i++) {
+                placeholders.append(i == from ? "?" : ",?");
+                args[i - from + 1] = String.valueOf(ids.get(i));
+            }
+            try (Cursor c = db.query(TABLE_FOOD, SYNC_COLUMNS,
+                    COLUMN_OWNER + " = ? AND " + COLUMN_ID + " IN (" + placeholders + ")"
+                            + " AND " + COLUMN_VERSION + " > " + COLUMN_SYNCED_VERSION, args,
+                    null, null, null)) {
+                while (c.moveToNext()) records.add(syncRecordAt(c));
+            }
+        }
+        return records;
+    }
+
+    private static SyncRecord syncRecordAt(Cursor c) {
+        return new SyncRecord(c.getString(0), c.getLong(1), c.getLong(2), c.getString(3), c.getString(4),
+                c.getString(5), c.getString(6), c.getInt(7), c.getString(8));
+    }
+
+    /*
+     * Function: markSyncPushed
+     * Purpose: Record that the server has the pushed versions and move the sync cursor past the batch.
+     *          Rows edited again since the read keep their newer version pending.
+     */
+    public void markSyncPushed(SyncBatch batch) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteStatement mark = db.compileStatement("UPDATE " + TABLE_FOOD + " SET " + COLUMN_SYNCED_VERSION + " = ?"
+                + " WHERE " + COLUMN_OWNER + " = ? AND " + COLUMN_SYNC_ID + " = ? AND " + COLUMN_VERSION + " = ?");
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            for (SyncRecord r : batch.getRecords()) {
+                if (r.isDeleted()) continue;
+                mark.bindLong(1, r.getVersion());
+                mark.bindString(2, owner);
+                mark.bindString(3, r.getSyncId());
+                mark.bindLong(4, r.getVersion());
+                mark.executeUpdateDelete();
+            }
+            if (batch.getPosition() >= 0) {
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_CONSUMER, SYNC_CONSUMER_PREFIX + owner);
+                values.put(COLUMN_SEQ, batch.getPosition());
+                db.insertWithOnConflict(TABLE_CURSORS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            mark.close();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: applySyncRecords
+     * Purpose: Apply remote records that win last-writer-wins against the current owner's rows in one
+     *          transaction. Applied rows are marked synced and applied deletes are logged as
+     *          OP_REMOTE_DELETE, so none of their change-log entries are pushed back.
+     * Returns: number of rows inserted, updated or deleted
+     */
+    public int applySyncRecords(List<SyncRecord> records) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        long now = System.currentTimeMillis();
+        int applied = 0;
+        int deleted = 0;
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            long seqBefore = DatabaseUtils.longForQuery(db,
+                    "SELECT IFNULL((SELECT seq FROM sqlite_sequence WHERE name = ?), 0)", new String[]{TABLE_CHANGES});
+            for (SyncRecord remote : records) {
+                long localId = -1;
+                try (Cursor c = db.query(TABLE_FOOD, new String[]{COLUMN_ID, COLUMN_VERSION, COLUMN_UPDATED_AT},
+                        COLUMN_OWNER + " = ? AND " + COLUMN_SYNC_ID + " = ?", new String[]{owner, remote.getSyncId()},
+                        null, null, null)) {
+                    if (c.moveToFirst()) {
+                        if (!remote.wins(c.getLong(1), c.getLong(2))) continue;
+                        localId = c.getLong(0);
+                    }
+                }
+                if (remote.isDeleted()) {
+                    if (localId >= 0) {
+                        db.delete(TABLE_FOOD, COLUMN_ID + " = ?", new String[]{String.valueOf(localId)});
+                        applied++;
+                        deleted++;
+                    }
+                    continue;
+                }
+                ContentValues values = new ContentValues();
+                values.put(COLUMN_NAME, remote.getName());
+                putCategory(db, values, remote.getCategory());
+                values.put(COLUMN_PURCHASE_DATE, remote.getPurchaseDate());
+                values.put(COLUMN_EXPIRY_DATE, remote.getExpiryDate());
+                values.put(COLUMN_QUANTITY, remote.getQuantity());
+                values.put(COLUMN_NOTES, remote.getNotes());
+                putBucket(values, remote.getExpiryDate(), now);
+                values.put(COLUMN_VERSION, remote.getVersion());
+                values.put(COLUMN_SYNCED_VERSION, remote.getVersion());
+                values.put(COLUMN_UPDATED_AT, remote.getUpdatedAt());
+                if (localId < 0) {
+                    values.put(COLUMN_OWNER, owner);
+                    values.put(COLUMN_SYNC_ID, remote.getSyncId());
+                    db.insert(TABLE_FOOD, null, values);
+                } else {
+                    db.update(TABLE_FOOD, values, COLUMN_ID + " = ?", new String[]{String.valueOf(localId)});
+                }
+                applied++;
+            }
+            if (deleted > 0) {
+                // Same relabelling as archiveExpired: the deletes came from the server
+                db.execSQL("UPDATE " + TABLE_CHANGES + " SET " + COLUMN_OP + " = " + FoodChange.OP_REMOTE_DELETE
+                        + " WHERE " + COLUMN_SEQ + " > ? AND " + COLUMN_OP + " = " + FoodChange.OP_DELETE,
+                        new Object[]{seqBefore});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
+        return applied;
+    }
+
+    /*
+     * Function: getSyncWatermark
+     * Purpose: Server position the current owner has pulled through (0 before the first pull)
+     */
+    public long getSyncWatermark() {
+        long start = Metrics.DB_READ.begin();
+        try {
+            return DatabaseUtils.longForQuery(this.getReadableDatabase(),
+                    "SELECT IFNULL((SELECT " + COLUMN_PULL_WATERMARK + " FROM " + TABLE_SYNC_STATE
+                            + " WHERE " + COLUMN_OWNER + " = ?), 0)", new String[]{owner});
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: saveSyncWatermark
+     * Purpose: Persist the server position the current owner has pulled through
+     */
+    public void saveSyncWatermark(long watermark) {
+        long start = Metrics.DB_WRITE.begin();
+        ContentValues values = new ContentValues();
+        values.put(COLUMN_OWNER, owner);
+        values.put(COLUMN_PULL_WATERMARK, watermark);
+        try {
+            this.getWritableDatabase().insertWithOnConflict(TABLE_SYNC_STATE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: setAccount
+     * Purpose: Scope the inventory to the signed-in account (null after sign-out) and remember it
+     *          for cold starts; the first account to sign in also claims rows left unowned by the
+     *          v5 migration
+     * Params: uid - auth provider user id, never a synthetic owner
+     */
+    public void setAccount(String uid) {
+        if (uid != null) {
+            long start = Metrics.DB_WRITE.begin();
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_OWNER, uid);
+            try {
+                this.getWritableDatabase().update(TABLE_FOOD, values, COLUMN_OWNER + " IS NULL", null);
+            } finally {
+                writeDone(start);
+            }
+        }
+        ownerPrefs.edit().putString(KEY_ACCOUNT, uid == null ? LOCAL_OWNER : uid).apply();
+        setOwner(uid);
+    }
+
+    /*
+     * Function: setOwner
+     * Purpose: Scope all food reads and writes to an owner for this process only (tests and
+     *          benchmarks use synthetic owners); claims nothing and is not remembered
+     */
+    public void setOwner(String newOwner) {
+        owner = newOwner == null ? LOCAL_OWNER : newOwner;
+    }
+
+    /* Function: getOwner | Purpose: Return the owner all food queries are scoped to */
+    public String getOwner() { return owner; }
+
+    /*
+     * Function: onDowngrade
+     * Purpose: Rebuild the schema this version knows while keeping inventory and accounts. food and
+     *          users are renamed aside as snapshots, the schema is recreated, and every column both
+     *          versions share is copied back; derived columns are recomputed. Everything runs in
+     *          the open-helper's transaction, so a failure leaves the newer database untouched.
+     */
+    @Override
+    public void onDowngrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Triggers and indexes of the newer schema would follow the renamed tables or clash with ours
+        for (String trigger : schemaNames(db, "trigger", null)) {
+            db.execSQL("DROP TRIGGER IF EXISTS \"" + trigger + "\"");
+        }
+        String[] kept = {TABLE_FOOD, TABLE_USERS};
+        for (String table : kept) {
+            if (!tableExists(db, table)) continue;
+            for (String index : schemaNames(db, "index", table)) {
+                db.execSQL("DROP INDEX IF EXISTS \"" + index + "\"");
+            }
+            db.execSQL("DROP TABLE IF EXISTS " + DOWNGRADE_PREFIX + table);
+            db.execSQL("ALTER TABLE " + table + " RENAME TO " + DOWNGRADE_PREFIX + table);
+        }
+        // Rebuilt from food (summary, categories) or restarted (change log, cursors, sync watermark,
+        // backfill checkpoints); a full pull re-establishes sync state
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SUMMARY);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CHANGES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CURSORS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_CATEGORIES);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_MIGRATIONS);
+        categories = null;
+        onCreate(db);
+
+        for (String table : kept) {
+            String snapshot = DOWNGRADE_PREFIX + table;
+            if (!tableExists(db, snapshot)) continue;
+            List<String> columns = tableColumns(db, table);
+            columns.retainAll(tableColumns(db, snapshot));
+            columns.removeAll(DERIVED_COLUMNS);
+            String list = String.join(",", columns);
+            db.execSQL("INSERT INTO " + table + "(" + list + ") SELECT " + list + " FROM " + snapshot);
+            db.execSQL("DROP TABLE " + snapshot);
+        }
+        // Copies are not edits: keep them out of the change log, then link categories and queue the
+        // derived columns exactly as an upgrade would (sync ids are copied, so none are queued).
+        // As in onUpgrade, the category links and aggregates are set-based passes kept inline.
+        db.execSQL("DELETE FROM " + TABLE_CHANGES);
+        db.execSQL("DELETE FROM sqlite_sequence WHERE name=?", new Object[]{TABLE_CHANGES});
+        dedupeCategories(db);
+        queueBackfill(db, 4, BACKFILL_BUCKETS);
+        queueBackfill(db, 8, BACKFILL_EXPIRY_MILLIS);
+        rebuildSummary(db);
+    }
+
+    private static boolean tableExists(SQLiteDatabase db, String table) {
+        return !schemaNames(db, "table", table).isEmpty();
+    }
+
+    /*
+     * Function: schemaNames
+     * Purpose: Names of schema objects of one type, optionally only those on a table; SQLite's
+     *          automatic indexes are skipped because they cannot be dropped on their own
+     */
+    private static List<String> schemaNames(SQLiteDatabase db, String type, String table) {
+        List<String> names = new ArrayList<>();
+        String where = "type = ? AND name NOT LIKE 'sqlite_%'";
+        String[] args = {type};
+        if (table != null) {
+            where += "table".equals(type) ? " AND name = ?" : " AND tbl_name = ?";
+            args = new String[]{type, table};
+        }
+        try (Cursor c = db.query("sqlite_master", new String[]{"name"}, where, args, null, null, null)) {
+            while (c.moveToNext()) names.add(c.getString(0));
+        }
+        return names;
+    }
+
+    private static List<String> tableColumns(SQLiteDatabase db, String table) {
+        List<String> columns = new ArrayList<>();
+        try (Cursor c = db.rawQuery("PRAGMA table_info(" + table + ")", null)) {
+            int name = c.getColumnIndexOrThrow("name");
+            while (c.moveToNext()) columns.add(c.getString(name));
+        }
+        return columns;
+    }
+
+    /*
+     * Function: addFood
+     * Purpose: Insert a FoodItem into the database
+     * Returns: row id (>0) or -1 on failure
+     */
+    public long addFood(FoodItem foodItem) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_NAME, foodItem.getName());
+            putCategory(db, values, foodItem.getCategory());
+            values.put(COLUMN_PURCHASE_DATE, foodItem.getPurchaseDate());
+            values.put(COLUMN_EXPIRY_DATE, foodItem.getExpiryDate());
+            values.put(COLUMN_QUANTITY, foodItem.getQuantity());
+            values.put(COLUMN_NOTES, foodItem.getNotes());
+            putBucket(values, foodItem.getExpiryDate(), System.currentTimeMillis());
+            values.put(COLUMN_OWNER, owner);
+
+            long id = db.insert(TABLE_FOOD, null, values);
+            // Callers cache the item: give it the id and spelling that were stored
+            if (id > 0) getCategories().resolve(foodItem);
+            return id;
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: addFoodBulk
+     * Purpose: Insert many FoodItems with one compiled statement, committing every BULK_BATCH rows
+     * Returns: number of rows inserted
+     */
+    public int addFoodBulk(Iterator<FoodItem> items) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + TABLE_FOOD + "("
+                + COLUMN_NAME + "," + COLUMN_CATEGORY + "," + COLUMN_PURCHASE_DATE + ","
+                + COLUMN_EXPIRY_DATE + "," + COLUMN_QUANTITY + "," + COLUMN_NOTES + ","
+                + COLUMN_BUCKET + "," + COLUMN_BUCKET_UNTIL + "," + COLUMN_OWNER + "," + COLUMN_EXPIRY_MILLIS + ","
+                + COLUMN_CATEGORY_ID + ") VALUES (?,?,?,?,?,?,?,?,?,?,?)");
+        long now = System.currentTimeMillis();
+        int inserted = 0;
+        try {
+            while (items.hasNext()) {
+                long start = Metrics.DB_WRITE.begin();
+                db.beginTransaction();
+                transactionStarted();
+                try {
+                    for (int i = 0; i < BULK_BATCH && items.hasNext(); i++) {
+                        FoodItem f = items.next();
+                        bindNullable(insert, 1, f.getName());
+                        bindCategory(db, insert, 2, 11, f.getCategory());
+                        bindNullable(insert, 3, f.getPurchaseDate());
+                        bindNullable(insert, 4, f.getExpiryDate());
+                        insert.bindLong(5, f.getQuantity());
+                        bindNullable(insert, 6, f.getNotes());
+                        bindBucket(insert, 7, f.getExpiryDate(), now);
+                        insert.bindString(9, owner);
+                        bindExpiry(insert, 10, f.getExpiryDate());
+                        if (insert.executeInsert() > 0) inserted++;
+                    }
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                    writeDone(start);
+                }
+            }
+        } finally {
+            insert.close();
+        }
+        return inserted;
+    }
+
+    private static void bindNullable(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
+    /*
+     * Function: getAllFood
+     * Purpose: Retrieve all stored FoodItem records
+     * Returns: List<FoodItem>
+     */
+    public List<FoodItem> getAllFood() {
+        long start = Metrics.DB_READ.begin();
+        List<FoodItem> foodItemList = new ArrayList<>();
+        SQLiteDatabase db = this.getReadableDatabase();
+        try (Cursor cursor = db.rawQuery("SELECT * FROM " + TABLE_FOOD + " WHERE " + COLUMN_OWNER + " = ?",
+                new String[]{owner})) {
+            int categoryIdIndex = cursor.getColumnIndexOrThrow(COLUMN_CATEGORY_ID);
+            if (cursor.moveToFirst()) {
+                do {
+                    FoodItem foodItem = new FoodItem(
+                            cursor.getInt(0),
+                            cursor.getString(1),
+                            cursor.getString(2),
+                            cursor.getString(3),
+                            cursor.getString(4),
+                            cursor.getInt(5),
+                            cursor.getString(6)
+                    );
+                    foodItem.setCategoryId(cursor.getInt(categoryIdIndex));
+                    foodItemList.add(foodItem);
+                } while (cursor.moveToNext());
+            }
+        } finally {
+            readDone(start, foodItemList.size());
+        }
+        return foodItemList;
+    }
+
+    /*
+     * Function: updateFood
+     * Purpose: Update only the columns set in the patch
+     * Returns: true if the row exists and was updated
+     */
+    public boolean updateFood(int id, FoodPatch patch) {
+        if (patch.isEmpty()) return false;
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            ContentValues values = new ContentValues();
+            if (patch.getName() != null) values.put(COLUMN_NAME, patch.getName());
+            if (patch.getCategory() != null) putCategory(db, values, patch.getCategory());
+            if (patch.getPurchaseDate() != null) values.put(COLUMN_PURCHASE_DATE, patch.getPurchaseDate());
+            if (patch.getExpiryDate() != null) {
+                values.put(COLUMN_EXPIRY_DATE, patch.getExpiryDate());
+                putBucket(values, patch.getExpiryDate(), System.currentTimeMillis());
+            }
+            if (patch.getQuantity() != null) values.put(COLUMN_QUANTITY, patch.getQuantity());
+            if (patch.getNotes() != null) values.put(COLUMN_NOTES, patch.getNotes());
+
+            int rows = db.update(TABLE_FOOD, values, COLUMN_ID + "=? AND " + COLUMN_OWNER + "=?",
+                    new String[]{String.valueOf(id), owner});
+            return rows > 0;
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: consumeFood
+     * Purpose: Atomically decrement quantity (never below zero) without reading the row first, and
+     *          log the quantity taken as a consumption event in the same transaction
+     * Returns: true if the row exists
+     */
+    public boolean consumeFood(int id, int amount) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteStatement statement = db.compileStatement("UPDATE " + TABLE_FOOD
+                + " SET " + COLUMN_QUANTITY + " = MAX(" + COLUMN_QUANTITY + " - ?, 0)"
+                + " WHERE " + COLUMN_ID + " = ? AND " + COLUMN_OWNER + " = ?");
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            // The event records what was actually taken, never more than was left
+            db.execSQL("INSERT INTO " + TABLE_EVENTS + "(" + EVENT_COLUMNS + ") SELECT " + COLUMN_OWNER + ","
+                    + FoodEvent.KIND_CONSUMED + "," + COLUMN_ID + "," + COLUMN_CATEGORY_ID + ", MIN(" + COLUMN_QUANTITY + ", ?), "
+                    + System.currentTimeMillis() + " FROM " + TABLE_FOOD + " WHERE " + COLUMN_ID + " = ? AND "
+                    + COLUMN_OWNER + " = ? AND " + COLUMN_QUANTITY + " > 0", new Object[]{amount, id, owner});
+            statement.bindLong(1, amount);
+            statement.bindLong(2, id);
+            statement.bindString(3, owner);
+            boolean found = statement.executeUpdateDelete() > 0;
+            db.setTransactionSuccessful();
+            return found;
+        } finally {
+            db.endTransaction();
+            statement.close();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: openFoodCursor
+     * Purpose: Open a forward-only cursor over every food row in id order for streaming readers
+     * Returns: Cursor the caller must close; columns follow EXPORT_COLUMNS
+     */
+    public Cursor openFoodCursor() {
+        SQLiteDatabase db = this.getReadableDatabase();
+        return db.query(TABLE_FOOD, EXPORT_COLUMNS, COLUMN_OWNER + " = ?", new String[]{owner},
+                null, null, COLUMN_ID);
+    }
+
+    /*
+     * Function: countFood
+     * Purpose: Return the number of food rows (progress totals)
+     */
+    public int countFood() {
+        long start = Metrics.DB_READ.begin();
+        try {
+            return (int) DatabaseUtils.queryNumEntries(this.getReadableDatabase(), TABLE_FOOD,
+                    COLUMN_OWNER + " = ?", new String[]{owner});
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: getFoodExpiringBetween
+     * Purpose: Current owner's items expiring in [startMillis, endMillis), soonest first, via an index
+     *          range scan on (owner, expiry_millis); items without a parseable expiry never match
+     * Returns: at most limit items
+     */
+    public List<FoodItem> getFoodExpiringBetween(long startMillis, long endMillis, int limit) {
+        long start = Metrics.DB_READ.begin();
+        List<FoodItem> items = new ArrayList<>();
+        try (Cursor c = this.getReadableDatabase().rawQuery(SQL_FOOD_EXPIRING_BETWEEN, new String[]{
+                owner, String.valueOf(startMillis), String.valueOf(endMillis), String.valueOf(limit)})) {
+            while (c.moveToNext()) items.add(itemAt(c));
+        } finally {
+            readDone(start, items.size());
+        }
+        return items;
+    }
+
+    /*
+     * Function: countFoodExpiringBetween
+     * Purpose: Number of the current owner's items expiring in [startMillis, endMillis); answered from
+     *          the index alone
+     */
+    public int countFoodExpiringBetween(long startMillis, long endMillis) {
+        long start = Metrics.DB_READ.begin();
+        try {
+            return (int) DatabaseUtils.longForQuery(this.getReadableDatabase(), SQL_COUNT_EXPIRING_BETWEEN,
+                    new String[]{owner, String.valueOf(startMillis), String.valueOf(endMillis)});
+        } finally {
+            readDone(start, 1);
+        }
+    }
+
+    /*
+     * Function: sortTerms
+     * Purpose: Ascending ORDER BY terms of a mode (also its index columns after owner). Names and
+     *          categories compare case-insensitively; unknown expiries sort after every known one,
+     *          as ExpiryDates.UNKNOWN does.
+     */
+    private static String[] sortTerms(SortMode mode) {
+        String unknownLast = COLUMN_EXPIRY_MILLIS + " IS NULL";
+        switch (mode) {
+            case NAME:
+                return new String[]{COLUMN_NAME + " COLLATE NOCASE"};
+            case QUANTITY:
+                return new String[]{COLUMN_QUANTITY};
+            case PURCHASE_DATE:
+                return new String[]{COLUMN_PURCHASE_DATE};
+            case TIME_LEFT:
+                return new String[]{unknownLast, COLUMN_EXPIRY_MILLIS};
+            case CATEGORY_TIME_LEFT:
+            default:
+                return new String[]{COLUMN_CATEGORY + " COLLATE NOCASE", unknownLast, COLUMN_EXPIRY_MILLIS};
+        }
+    }
+
+    /* Function: sortIndex | Purpose: Return the name of the index serving a mode */
+    static String sortIndex(SortMode mode) {
+        return SORT_INDEX_PREFIX + mode.name().toLowerCase(Locale.ROOT);
+    }
+
+    /*
+     * Function: orderBy
+     * Purpose: ORDER BY clause of a mode, ending in id so rows never tie; descending flips every
+     *          term, which makes it the exact reverse of ascending and lets SQLite scan the index backwards
+     */
+    static String orderBy(SortMode mode, boolean ascending) {
+        String direction = ascending ? "" : " DESC";
+        StringBuilder sql = new StringBuilder();
+        for (String term : sortTerms(mode)) sql.append(term).append(direction).append(", ");
+        return sql.append(COLUMN_ID).append(direction).toString();
+    }
+
+    /*
+     * Function: sqlSortedFoodIds
+     * Purpose: Id-only scan of the current owner's rows in a mode's order; answered from the index alone
+     */
+    static String sqlSortedFoodIds(SortMode mode) {
+        return "SELECT " + COLUMN_ID + " FROM " + TABLE_FOOD + " WHERE " + COLUMN_OWNER + " = ?"
+                + " ORDER BY " + orderBy(mode, true);
+    }
+
+    /*
+     * Function: sqlFoodCursor
+     * Purpose: SELECT behind openFoodCursor. Args: owner, then {start, end} when ranged, then the
+     *          name substring when named.
+     */
+    static String sqlFoodCursor(boolean ranged, boolean named, SortMode mode, boolean ascending) {
+        StringBuilder sql = new StringBuilder("SELECT " + String.join(",", ITEM_COLUMNS) + " FROM " + TABLE_FOOD
+                + " WHERE " + (ranged ? WHERE_EXPIRING_BETWEEN : COLUMN_OWNER + " = ?"));
+        // instr() instead of LIKE: no wildcard escaping; lower() folds ASCII only
+        if (named) sql.append(" AND instr(lower(" + COLUMN_NAME + "), lower(?)) > 0");
+        return sql.append(" ORDER BY ").append(orderBy(mode, ascending)).toString();
+    }
+
+    /*
+     * Function: getSortedFoodIds
+     * Purpose: The current owner's item ids in a mode's ascending order (reverse for descending)
+     */
+    public int[] getSortedFoodIds(SortMode mode) {
+        long start = Metrics.DB_READ.begin();
+        int rows = 0;
+        try (Cursor c = this.getReadableDatabase().rawQuery(sqlSortedFoodIds(mode), new String[]{owner})) {
+            int[] ids = new int[c.getCount()];
+            for (; c.moveToNext(); rows++) ids[rows] = c.getInt(0);
+            return ids;
+        } finally {
+            readDone(start, rows);
+        }
+    }
+
+    /*
+     * Function: openFoodCursor
+     * Purpose: Cursor over the current owner's items in ITEM_COLUMNS order, in a mode's order,
+     *          optionally narrowed to a name substring and an expiry range. Without a range the order
+     *          comes off the mode's index; with one, the expiry index finds the rows and SQLite sorts
+     *          that (narrow) window.
+     *          The first window is filled here so the caller's thread pays for the scan; the
+     *          caller owns and must close the cursor.
+     * Params: nameQuery - substring, "" for all; range - {start, end} as for getFoodExpiringBetween, or null
+     */
+    public Cursor openFoodCursor(String nameQuery, long[] range, SortMode mode, boolean ascending) {
+        long start = Metrics.DB_READ.begin();
+        List<String> args = new ArrayList<>();
+        args.add(owner);
+        if (range != null) {
+            args.add(String.valueOf(range[0]));
+            args.add(String.valueOf(range[1]));
+        }
+        String q = nameQuery == null ? "" : nameQuery.trim();
+        if (!q.isEmpty()) args.add(q);
+        int rows = 0;
+        try {
+            Cursor c = this.getReadableDatabase().rawQuery(sqlFoodCursor(range != null, !q.isEmpty(), mode, ascending),
+                    args.toArray(new String[0]));
+            rows = c.getCount();
+            return c;
+        } finally {
+            readDone(start, rows);
+        }
+    }
+
+    /*
+     * Function: foodExists
+     * Purpose: Primary-key probe used by reminder workers to drop jobs for deleted rows
+     */
+    public boolean foodExists(int id) {
+        long start = Metrics.DB_READ.begin();
+        long n = 0;
+        try {
+            n = DatabaseUtils.longForQuery(this.getReadableDatabase(),
+                    "SELECT COUNT(*) FROM " + TABLE_FOOD + " WHERE " + COLUMN_ID + " = ?",
+                    new String[]{String.valueOf(id)});
+            return n > 0;
+        } finally {
+            readDone(start, (int) n);
+        }
+    }
+
+    /*
+     * Function: deleteFood
+     * Purpose: Remove a FoodItem by id, logging any quantity left as expired or discarded
+     */
+    public void deleteFood(int id) {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        String where = COLUMN_ID + "=? AND " + COLUMN_OWNER + "=?";
+        String[] args = {String.valueOf(id), owner};
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            logRemoval(db, where, args, System.currentTimeMillis());
+            db.delete(TABLE_FOOD, where, args);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: deleteFoods
+     * Purpose: Remove many rows in one transaction using chunked IN (...) lists; quantity left is
+     *          logged as expired or discarded like in deleteFood
+     * Returns: number of rows deleted
+     */
+    public int deleteFoods(int[] ids) {
+        if (ids.length == 0) return 0;
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        int deleted = 0;
+        long now = System.currentTimeMillis();
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            for (int from = 0; from < ids.length; from += MAX_SQL_ARGS) {
+                int to = Math.min(ids.length, from + MAX_SQL_ARGS);
+                StringBuilder placeholders = new StringBuilder((to - from) * 2);
+                String[] args = new String[to - from + 1];
+                args[0] = owner;
+                for (int i = from; i < to; i++) {
+                    placeholders.append(i == from ? "?" : ",?");
+                    args[i - from + 1] = String.valueOf(ids[i]);
+                }
+                String where = COLUMN_OWNER + " = ? AND " + COLUMN_ID + " IN (" + placeholders + ")";
+                logRemoval(db, where, args, now);
+                deleted += db.delete(TABLE_FOOD, where, args);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
+        return deleted;
+    }
+
+    /*
+     * Function: addUser
+     * Purpose: Create a user with PBKDF2 hashed password and random salt
+     * Returns: row id (>0) or -1 on failure
+     */
+    public long addUser(String email, String passwordPlain) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        ContentValues values = new ContentValues();
+        String salt = PasswordHelper.generateSalt();
+        String hash = PasswordHelper.hashPassword(passwordPlain.toCharArray(), salt);
+        values.put(COLUMN_EMAIL, email);
+        values.put(COLUMN_PASSWORD_HASH, hash);
+        values.put(COLUMN_SALT, salt);
+        values.put(COLUMN_CREATED_AT, System.currentTimeMillis());
+        long start = Metrics.DB_WRITE.begin();
+        try {
+            return db.insert(TABLE_USERS, null, values); // returns -1 on constraint violation (e.g., duplicate email)
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: userExists
+     * Purpose: Determine if a user is present by email
+     * Returns: true if exists
+     */
+    public boolean userExists(String email) {
+        long start = Metrics.DB_READ.begin();
+        SQLiteDatabase db = this.getReadableDatabase();
+        boolean exists = false;
+        try (Cursor cursor = db.query(TABLE_USERS, new String[]{COLUMN_ID}, COLUMN_EMAIL + "=?", new String[]{email}, null, null, null)) {
+            exists = cursor.moveToFirst();
+        } finally {
+            readDone(start, exists ? 1 : 0);
+        }
+        return exists;
+    }
+
+    /*
+     * Function: verifyUser
+     * Purpose: Validate plaintext password against stored hash for email
+     * Returns: true if credentials match
+     */
+    public boolean verifyUser(String email, String passwordPlain) {
+        long start = Metrics.DB_READ.begin();
+        SQLiteDatabase db = this.getReadableDatabase();
+        boolean valid = false;
+        String hash = null;
+        String salt = null;
+        try (Cursor cursor = db.query(TABLE_USERS,
+                new String[]{COLUMN_PASSWORD_HASH, COLUMN_SALT},
+                COLUMN_EMAIL + "=?",
+                new String[]{email},
+                null, null, null)) {
+            if (cursor.moveToFirst()) {
+                hash = cursor.getString(0);
+                salt = cursor.getString(1);
+            }
+        } finally {
+            readDone(start, hash != null ? 1 : 0);
+        }
+        // Hash outside the read section so PBKDF2 cost is not reported as DB latency
+        if (hash != null) {
+            valid = PasswordHelper.verifyPassword(passwordPlain.toCharArray(), salt, hash);
+        }
+        return valid;
+    }
+
+    /*
+     * Function: updateUserPassword
+     * Purpose: Update password (hash+salt) for a given email
+     * Returns: true if at least one row updated
+     */
+    public boolean updateUserPassword(String email, String newPasswordPlain) {
+        SQLiteDatabase db = this.getWritableDatabase();
+        ContentValues values = new ContentValues();
+        String newSalt = PasswordHelper.generateSalt();
+        String newHash = PasswordHelper.hashPassword(newPasswordPlain.toCharArray(), newSalt);
+        values.put(COLUMN_PASSWORD_HASH, newHash);
+        values.put(COLUMN_SALT, newSalt);
+        long start = Metrics.DB_WRITE.begin();
+        try {
+            return db.update(TABLE_USERS, values, COLUMN_EMAIL + "=?", new String[]{email}) > 0;
+        } finally {
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: clearAllData
+     * Purpose: Wipe the current owner's items, archive, waste history and aggregates; other accounts on the device are untouched
+     */
+    public void clearAllData() {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        try {
+            db.beginTransaction();
+            transactionStarted();
+            String[] args = new String[]{owner};
+            db.delete(TABLE_FOOD, COLUMN_OWNER + " = ?", args);
+            db.delete(TABLE_ARCHIVE, COLUMN_OWNER + " = ?", args);
+            db.delete(TABLE_EVENTS, COLUMN_OWNER + " = ?", args);
+            db.delete(TABLE_WASTE_DAILY, COLUMN_OWNER + " = ?", args);
+            db.delete(TABLE_SUMMARY, COLUMN_OWNER + " = ?", args);
+            // Reset the autoincrement counter only once nobody has rows left
+            if (DatabaseUtils.queryNumEntries(db, TABLE_FOOD) == 0) {
+                db.execSQL("DELETE FROM sqlite_sequence WHERE name=?", new Object[]{TABLE_FOOD});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            writeDone(start);
+        }
+    }
+
+    /*
+     * Function: writeSnapshot
+     * Purpose: Stream food rows (and users when the writer asks for them) into a snapshot in id order
+     */
+    public void writeSnapshot(SnapshotWriter writer) throws IOException {
+        long start = Metrics.DB_READ.begin();
+        SQLiteDatabase db = this.getReadableDatabase();
+        try {
+            try (Cursor c = openFoodCursor()) {
+                while (c.moveToNext()) {
+                    writer.writeFood(new FoodItem(c.getInt(0), c.getString(1), c.getString(2),
+                            c.getString(3), c.getString(4), c.getInt(5), c.getString(6)));
+                }
+            }
+            if (writer.includesUsers()) {
+                try (Cursor c = db.query(TABLE_USERS, new String[]{COLUMN_ID, COLUMN_EMAIL,
+                        COLUMN_PASSWORD_HASH, COLUMN_SALT, COLUMN_CREATED_AT}, null, null, null, null, COLUMN_ID)) {
+                    while (c.moveToNext()) {
+                        writer.writeUser(new UserRecord(c.getInt(0), c.getString(1), c.getString(2),
+                                c.getString(3), c.isNull(4) ? null : c.getLong(4)));
+                    }
+                }
+            }
+        } finally {
+            readDone(start, writer.getFoodCount() + writer.getUserCount());
+        }
+    }
+
+    /*
+     * Function: restoreSnapshot
+     * Purpose: Replace the current owner's items (and users, if the snapshot has them) in a single
+     *          transaction, keeping original row ids unless another owner already uses them
+     * Returns: number of food rows restored
+     */
+    public int restoreSnapshot(SnapshotReader reader) throws IOException {
+        long start = Metrics.DB_WRITE.begin();
+        SQLiteDatabase db = this.getWritableDatabase();
+        SQLiteStatement food = db.compileStatement("INSERT INTO " + TABLE_FOOD + "("
+                + COLUMN_ID + "," + COLUMN_NAME + "," + COLUMN_CATEGORY + "," + COLUMN_PURCHASE_DATE + ","
+                + COLUMN_EXPIRY_DATE + "," + COLUMN_QUANTITY + "," + COLUMN_NOTES + ","
+                + COLUMN_BUCKET + "," + COLUMN_BUCKET_UNTIL + "," + COLUMN_OWNER + "," + COLUMN_EXPIRY_MILLIS + ","
+                + COLUMN_CATEGORY_ID + ") VALUES (?,?,?,?,?,?,?,?,?,?,?,?)");
+        final long now = System.currentTimeMillis();
+        SQLiteStatement user = db.compileStatement("INSERT INTO " + TABLE_USERS + "("
+                + COLUMN_ID + "," + COLUMN_EMAIL + "," + COLUMN_PASSWORD_HASH + ","
+                + COLUMN_SALT + "," + COLUMN_CREATED_AT + ") VALUES (?,?,?,?,?)");
+        final int[] restored = new int[1];
+        db.beginTransaction();
+        transactionStarted();
+        try {
+            db.delete(TABLE_FOOD, COLUMN_OWNER + " = ?", new String[]{owner});
+            if (reader.hasUsers()) {
+                db.delete(TABLE_USERS, null, null);
+                db.execSQL("DELETE FROM sqlite_sequence WHERE name=?", new Object[]{TABLE_USERS});
+            }
+            reader.read(new SnapshotReader.Visitor() {
+                @Override
+                public void onFood(FoodItem f) {
+                    food.bindLong(1, f.getId());
+                    bindNullable(food, 2, f.getName());
+                    bindCategory(db, food, 3, 12, f.getCategory());
+                    bindNullable(food, 4, f.getPurchaseDate());
+                    bindNullable(food, 5, f.getExpiryDate());
+                    food.bindLong(6, f.getQuantity());
+                    bindNullable(food, 7, f.getNotes());
+                    bindBucket(food, 8, f.getExpiryDate(), now);
+                    food.bindString(10, owner);
+                    bindExpiry(food, 11, f.getExpiryDate());
+                    try {
+                        food.executeInsert();
+                    } catch (SQLiteConstraintException taken) {
+                        // Id belongs to another owner's row: let SQLite assign a fresh one
+                        food.bindNull(1);
+                        food.executeInsert();
+                    }
+                    restored[0]++;
+                }
+
+                @Override
+                public void onUser(UserRecord u) {
+                    user.bindLong(1, u.getId());
+                    bindNullable(user, 2, u.getEmail());
+                    bindNullable(user, 3, u.getPasswordHash());
+                    bindNullable(user, 4, u.getSalt());
+                    if (u.getCreatedAt() == null) user.bindNull(5); else user.bindLong(5, u.getCreatedAt());
+                    user.executeInsert();
+                }
+            });
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            food.close();
+            user.close();
+            writeDone(start);
+        }
+        return restored[0];
+    }
+
+    /*
+     * Function: readDone
+     * Purpose: Record latency and row count of a completed read
+     */
+    private void readDone(long startNanos, int rows) {
+        QueryObserver observer = queryObserver;
+        if (observer != null) observer.onRead(rows);
+        Metrics.DB_QUERIES.inc();
+        Metrics.DB_ROWS_READ.add(rows);
+        Metrics.DB_READ.end(startNanos);
+    }
+
+    /*
+     * Function: writeDone
+     * Purpose: Record latency of a completed write
+     */
+    private void writeDone(long startNanos) {
+        QueryObserver observer = queryObserver;
+        if (observer != null) observer.onWrite();
+        Metrics.DB_WRITES.inc();
+        Metrics.DB_WRITE.end(startNanos);
+    }
+
+    /*
+     * Function: transactionStarted
+     * Purpose: Count an explicit transaction
+     */
+    private void transactionStarted() {
+        QueryObserver observer = queryObserver;
+        if (observer != null) observer.onTransaction();
+        Metrics.DB_TRANSACTIONS.inc();
+    }
 }
\ No newline at end of file
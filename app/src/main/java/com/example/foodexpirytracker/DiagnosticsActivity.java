@@ -0,0 +1,93 @@
+package com.example.foodexpirytracker;
+
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.EdgeToEdge;
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.graphics.Insets;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.WindowInsetsCompat;
+
+import com.example.foodexpirytracker.metrics.Metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/*
+ * Function: DiagnosticsActivity
+ * Purpose: Hidden screen showing hot-path metrics percentiles with snapshot export
+ */
+public class DiagnosticsActivity extends AppCompatActivity {
+    private TextView tvMetrics;
+
+    /*
+     * Function: onCreate
+     * Purpose: Show current metrics and wire refresh/export/reset actions
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        EdgeToEdge.enable(this);
+        setContentView(R.layout.activity_diagnostics);
+        ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.diagnosticsRoot), (v, insets) -> {
+            Insets systemBars = insets.getInsets(WindowInsetsCompat.Type.systemBars());
+            v.setPadding(systemBars.left, systemBars.top, systemBars.right, systemBars.bottom);
+            return insets;
+        });
+
+        tvMetrics = findViewById(R.id.tvMetrics);
+        Button btnRefresh = findViewById(R.id.btnRefreshMetrics);
+        Button btnExport = findViewById(R.id.btnExportMetrics);
+        Button btnReset = findViewById(R.id.btnResetMetrics);
+
+        btnRefresh.setOnClickListener(v -> refresh());
+        btnExport.setOnClickListener(v -> exportSnapshot());
+        btnReset.setOnClickListener(v -> {
+            Metrics.reset();
+            refresh();
+        });
+        refresh();
+    }
+
+    /*
+     * Function: refresh
+     * Purpose: Re-render the metrics snapshot
+     */
+    private void refresh() {
+        tvMetrics.setText(Metrics.snapshot());
+    }
+
+    /*
+     * Function: exportSnapshot
+     * Purpose: Write the snapshot to app-specific external storage for field reports
+     */
+    private void exportSnapshot() {
+        File dir = new File(getExternalFilesDir(null) != null ? getExternalFilesDir(null) : getFilesDir(), "diagnostics");
+        if (!dir.exists() && !dir.mkdirs()) {
+            Toast.makeText(this, R.string.diagnostics_export_failed, Toast.LENGTH_SHORT).show();
+            return;
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        File out = new File(dir, "metrics-" + stamp + ".txt");
+        try (Writer w = new OutputStreamWriter(new FileOutputStream(out), StandardCharsets.UTF_8)) {
+            w.write("device=" + android.os.Build.MODEL + " sdk=" + android.os.Build.VERSION.SDK_INT + "\n");
+            w.write("captured=" + stamp + "\n\n");
+            w.write(Metrics.snapshot());
+            Toast.makeText(this, getString(R.string.diagnostics_exported, out.getAbsolutePath()), Toast.LENGTH_LONG).show();
+        } catch (IOException e) {
+            Log.e("DiagnosticsActivity", "export failed", e);
+            Toast.makeText(this, R.string.diagnostics_export_failed, Toast.LENGTH_SHORT).show();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.foodexpirytracker;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/*
+ * Function: ExpiryDates
+ * Purpose: Parse stored purchase/expiry strings without a Context so background code can use them
+ */
+public final class ExpiryDates {
+    // Mirror R.string.date_format / R.string.date_time_format
+    public static final String DATE_FORMAT = "yyyy-MM-dd";
+    public static final String DATE_TIME_FORMAT = "yyyy-MM-dd HH:mm";
+
+    // Sentinel for missing or malformed dates; sorts after every real date
+    public static final long UNKNOWN = Long.MAX_VALUE;
+
+    private static final ThreadLocal<SimpleDateFormat> DATE_TIME = ThreadLocal.withInitial(() -> strict(DATE_TIME_FORMAT));
+    private static final ThreadLocal<SimpleDateFormat> DATE = ThreadLocal.withInitial(() -> strict(DATE_FORMAT));
+
+    private ExpiryDates() {}
+
+    /*
+     * Function: parseMillis
+     * Purpose: Parse using HH:mm if present, else date-only at local midnight
+     * Returns: epoch millis or UNKNOWN
+     */
+    public static long parseMillis(String text) {
+        if (text == null || text.trim().isEmpty()) return UNKNOWN;
+        try {
+            return DATE_TIME.get().parse(text).getTime();
+        } catch (ParseException e) {
+            try {
+                Date dateOnly = DATE.get().parse(text);
+                return dateOnly.getTime();
+            } catch (ParseException e2) {
+                return UNKNOWN;
+            }
+        }
+    }
+
+    /*
+     * Function: hasTime
+     * Purpose: True when the stored value carries HH:mm precision
+     */
+    public static boolean hasTime(String text) {
+        if (text == null) return false;
+        try {
+            DATE_TIME.get().parse(text);
+            return true;
+        } catch (ParseException e) {
+            return false;
+        }
+    }
+
+    /*
+     * Function: timeLeftMillis
+     * Purpose: Milliseconds remaining until expiry; UNKNOWN on parse errors
+     */
+    public static long timeLeftMillis(String expiry, long now) {
+        long at = parseMillis(expiry);
+        return at == UNKNOWN ? UNKNOWN : at - now;
+    }
+
+    private static SimpleDateFormat strict(String pattern) {
+        SimpleDateFormat f = new SimpleDateFormat(pattern, Locale.getDefault());
+        f.setLenient(false);
+        return f;
+    }
+}
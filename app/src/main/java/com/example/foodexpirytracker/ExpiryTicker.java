@@ -0,0 +1,70 @@
+package com.example.foodexpirytracker;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/*
+ * Function: ExpiryTicker
+ * Purpose: One shared main-thread tick on every wall-clock minute boundary, for countdown text.
+ *          Runs only between start() and stop(), so nothing wakes while the screen is stopped.
+ */
+public final class ExpiryTicker {
+    static final long MINUTE_MILLIS = 60_000L;
+
+    /*
+     * Function: Listener
+     * Purpose: Receive ticks on the main thread
+     */
+    public interface Listener {
+        void onTick(long nowMillis);
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Listener listener;
+    private boolean running;
+
+    private final Runnable tick = new Runnable() {
+        @Override
+        public void run() {
+            if (!running) return;
+            long now = System.currentTimeMillis();
+            listener.onTick(now);
+            handler.postDelayed(this, delayToNextMinute(now));
+        }
+    };
+
+    /*
+     * Function: ExpiryTicker constructor
+     * Purpose: Create a stopped ticker
+     */
+    public ExpiryTicker(Listener listener) {
+        this.listener = listener;
+    }
+
+    /*
+     * Function: start
+     * Purpose: Tick once now (text may be stale after a stop) and then on each minute boundary
+     */
+    public void start() {
+        if (running) return;
+        running = true;
+        handler.post(tick);
+    }
+
+    /*
+     * Function: stop
+     * Purpose: Cancel the pending tick
+     */
+    public void stop() {
+        running = false;
+        handler.removeCallbacks(tick);
+    }
+
+    /*
+     * Function: delayToNextMinute
+     * Purpose: Millis until the next whole minute (a full minute when exactly on one)
+     */
+    static long delayToNextMinute(long nowMillis) {
+        return MINUTE_MILLIS - Math.floorMod(nowMillis, MINUTE_MILLIS);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.foodexpirytracker;
+
+/*
+ * Function: FoodChange
+ * Purpose: One entry of the food_changes log written by triggers on every insert, update and delete
+ */
+public final class FoodChange {
+    public static final int OP_INSERT = 1;
+    // Update that left expiry_date unchanged (quantity, notes, name, category, owner)
+    public static final int OP_UPDATE = 2;
+    public static final int OP_DELETE = 3;
+    // Update that changed expiry_date; reminder consumers reschedule only on these
+    public static final int OP_EXPIRY = 4;
+    // Row moved to food_archive by the retention policy: gone locally, but not a delete to sync
+    public static final int OP_ARCHIVE = 5;
+    // Row deleted by a tombstone pulled from the sync server: gone locally, nothing to push back
+    public static final int OP_REMOTE_DELETE = 6;
+
+    private final long seq;
+    private final int op;
+    private final int itemId;
+    private final long changedAt;
+
+    /*
+     * Function: FoodChange constructor
+     * Purpose: Initialize a decoded log entry
+     */
+    public FoodChange(long seq, int op, int itemId, long changedAt) {
+        this.seq = seq;
+        this.op = op;
+        this.itemId = itemId;
+        this.changedAt = changedAt;
+    }
+
+    /* Function: getSeq | Purpose: Return the monotonically increasing sequence number */
+    public long getSeq() { return seq; }
+    /* Function: getOp | Purpose: Return the operation (OP_*) */
+    public int getOp() { return op; }
+    /* Function: getItemId | Purpose: Return the id of the changed food row */
+    public int getItemId() { return itemId; }
+    /* Function: getChangedAt | Purpose: Return the wall-clock time of the change in epoch millis */
+    public long getChangedAt() { return changedAt; }
+    /* Function: isDelete | Purpose: True when the row no longer exists */
+    public boolean isDelete() { return op == OP_DELETE || op == OP_ARCHIVE || op == OP_REMOTE_DELETE; }
+}
@@ -0,0 +1,219 @@
+package com.example.foodexpirytracker;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.database.Cursor;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.foodexpirytracker.metrics.Metrics;
+
+import java.util.List;
+
+/*
+ * Function: FoodCursorAdapter
+ * Purpose: Low-heap alternative to FoodListAdapter: rows are bound straight from a SQLite cursor
+ *          window and no FoodItem exists for a row until it is tapped. Queries run on the disk
+ *          executor; moving into a position outside the current window refills it on the main
+ *          thread, which is the price of not holding the list in memory.
+ */
+public class FoodCursorAdapter extends RecyclerView.Adapter<FoodListAdapter.FoodViewHolder> {
+    // Column positions of DatabaseHelper.openFoodCursor (ITEM_COLUMNS order)
+    private static final int COL_ID = 0;
+    private static final int COL_NAME = 1;
+    private static final int COL_CATEGORY = 2;
+    private static final int COL_PURCHASE_DATE = 3;
+    private static final int COL_EXPIRY_DATE = 4;
+    private static final int COL_QUANTITY = 5;
+    private static final int COL_NOTES = 6;
+    private static final int COL_CATEGORY_ID = 7;
+
+    /*
+     * Function: ItemClickListener
+     * Purpose: Receive the tapped row, materialized as a FoodItem
+     */
+    public interface ItemClickListener {
+        void onItemClick(FoodItem item, int position);
+    }
+
+    private final Context context;
+    private final InventoryRepository repository;
+    private ItemClickListener clickListener;
+    private Cursor cursor;
+    private String nameQuery = "";
+    private long[] range;
+    private SortMode sortMode = SortMode.DEFAULT;
+    private boolean ascending = true;
+    // Incremented per query; results of superseded queries are closed unseen
+    private int generation;
+    private boolean closed;
+
+    /*
+     * Function: FoodCursorAdapter constructor
+     * Purpose: Create an empty adapter; call query() to load rows
+     */
+    public FoodCursorAdapter(Context context, InventoryRepository repository) {
+        this.context = context;
+        this.repository = repository;
+        setHasStableIds(true);
+    }
+
+    /* Function: setItemClickListener | Purpose: Register the receiver of row taps */
+    public void setItemClickListener(ItemClickListener listener) {
+        this.clickListener = listener;
+    }
+
+    /*
+     * Function: query
+     * Purpose: Show items matching a name substring and optional expiry range, in a sort mode's
+     *          order (loaded asynchronously)
+     */
+    public void query(String nameQuery, long[] range, SortMode sortMode, boolean ascending) {
+        this.nameQuery = nameQuery == null ? "" : nameQuery;
+        this.range = range;
+        this.sortMode = sortMode;
+        this.ascending = ascending;
+        requery();
+    }
+
+    /*
+     * Function: requery
+     * Purpose: Re-run the current query after the data changed; the old cursor stays bound until
+     *          the new one arrives
+     */
+    public void requery() {
+        if (closed) return;
+        final int requested = ++generation;
+        repository.openCursor(nameQuery, range, sortMode, ascending, next -> {
+            if (closed || requested != generation) {
+                next.close();
+                return;
+            }
+            swapCursor(next);
+        });
+    }
+
+    /*
+     * Function: close
+     * Purpose: Release the cursor; later query results are discarded
+     */
+    public void close() {
+        closed = true;
+        swapCursor(null);
+    }
+
+    @SuppressLint("NotifyDataSetChanged")
+    private void swapCursor(Cursor next) {
+        Cursor old = cursor;
+        cursor = next;
+        // Stable ids let RecyclerView keep views and scroll position across the swap
+        notifyDataSetChanged();
+        if (old != null) old.close();
+    }
+
+    @Override
+    public int getItemCount() {
+        return cursor == null ? 0 : cursor.getCount();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return cursor != null && cursor.moveToPosition(position) ? cursor.getLong(COL_ID) : RecyclerView.NO_ID;
+    }
+
+    /*
+     * Function: itemAt
+     * Purpose: Materialize one row (on tap); null if the position is gone
+     */
+    public FoodItem itemAt(int position) {
+        if (cursor == null || !cursor.moveToPosition(position)) return null;
+        FoodItem item = new FoodItem(cursor.getInt(COL_ID), cursor.getString(COL_NAME), cursor.getString(COL_CATEGORY),
+                cursor.getString(COL_PURCHASE_DATE), cursor.getString(COL_EXPIRY_DATE), cursor.getInt(COL_QUANTITY),
+                cursor.getString(COL_NOTES));
+        item.setCategoryId(cursor.getInt(COL_CATEGORY_ID));
+        return item;
+    }
+
+    @NonNull
+    @Override
+    public FoodListAdapter.FoodViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(context).inflate(R.layout.item_food, parent, false);
+        FoodListAdapter.FoodViewHolder holder = new FoodListAdapter.FoodViewHolder(view);
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION || clickListener == null) return;
+            FoodItem item = itemAt(position);
+            if (item != null) clickListener.onItemClick(item, position);
+        });
+        return holder;
+    }
+
+    /*
+     * Function: onBindViewHolder
+     * Purpose: Bind the row by reading its column values from the cursor window
+     */
+    @SuppressLint("StringFormatMatches")
+    @Override
+    public void onBindViewHolder(@NonNull FoodListAdapter.FoodViewHolder holder, int position) {
+        if (!cursor.moveToPosition(position)) return;
+        long start = Metrics.UI_BIND.begin();
+        try {
+            String expiry = cursor.getString(COL_EXPIRY_DATE);
+            long expiryMillis = ExpiryDates.parseMillis(expiry);
+            long now = System.currentTimeMillis();
+            holder.tvFoodName.setText(cursor.getString(COL_NAME));
+            holder.tvExpiryDate.setText(context.getString(R.string.expiry_date_value, expiry));
+            holder.tvQuantity.setText(context.getString(R.string.quantity_value, cursor.getInt(COL_QUANTITY)));
+            holder.ivFoodIcon.setImageResource(FoodListAdapter.iconRes(
+                    repository.getCategories().getIconKind(cursor.getInt(COL_CATEGORY_ID))));
+            holder.setIndicatorColor(FoodListAdapter.indicatorColor(context, expiryMillis, now));
+            bindCountdown(holder, expiry, expiryMillis, now);
+        } finally {
+            Metrics.UI_BIND.end(start);
+        }
+    }
+
+    /*
+     * Function: onBindViewHolder (payloads)
+     * Purpose: Countdown ticks refresh only the countdown text
+     */
+    @Override
+    public void onBindViewHolder(@NonNull FoodListAdapter.FoodViewHolder holder, int position, @NonNull List<Object> payloads) {
+        boolean countdownOnly = !payloads.isEmpty();
+        for (Object payload : payloads) {
+            if (!FoodListAdapter.PAYLOAD_COUNTDOWN.equals(payload)) countdownOnly = false;
+        }
+        if (!countdownOnly) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        if (!cursor.moveToPosition(position)) return;
+        long start = Metrics.UI_BIND.begin();
+        try {
+            String expiry = cursor.getString(COL_EXPIRY_DATE);
+            bindCountdown(holder, expiry, ExpiryDates.parseMillis(expiry), System.currentTimeMillis());
+        } finally {
+            Metrics.UI_BIND.end(start);
+        }
+    }
+
+    private void bindCountdown(FoodListAdapter.FoodViewHolder holder, String expiry, long expiryMillis, long now) {
+        boolean hasTime = expiryMillis != ExpiryDates.UNKNOWN && ExpiryDates.hasTime(expiry);
+        FoodListAdapter.bindCountdown(context, holder, hasTime, expiryMillis, now);
+    }
+
+    /*
+     * Function: tickCountdowns
+     * Purpose: Refresh countdowns of the visible range first..last
+     */
+    public void tickCountdowns(int first, int last) {
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) return;
+        last = Math.min(last, getItemCount() - 1);
+        if (last < first) return;
+        notifyItemRangeChanged(first, last - first + 1, FoodListAdapter.PAYLOAD_COUNTDOWN);
+    }
+}
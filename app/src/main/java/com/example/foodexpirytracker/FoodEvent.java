@@ -0,0 +1,17 @@
+package com.example.foodexpirytracker;
+
+/*
+ * Function: FoodEvent
+ * Purpose: Kinds of the append-only food_events log behind waste analytics. Unlike food_changes
+ *          (compacted once consumers catch up), events are kept and rolled up into daily totals.
+ */
+public final class FoodEvent {
+    // Quantity taken with the consume action
+    public static final int KIND_CONSUMED = 1;
+    // Item reached its expiry with quantity left; recorded once per item and expiry instant
+    public static final int KIND_EXPIRED = 2;
+    // Item deleted with quantity left before it expired
+    public static final int KIND_DISCARDED = 3;
+
+    private FoodEvent() {}
+}
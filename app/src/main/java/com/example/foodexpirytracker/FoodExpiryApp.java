@@ -2,20 +2,108 @@ package com.example.foodexpirytracker;
 
 import android.app.Application;
 
+import androidx.annotation.NonNull;
+import androidx.work.Configuration;
+
+import com.example.foodexpirytracker.auth.AuthGateway;
+import com.example.foodexpirytracker.auth.FirebaseAuthGateway;
+import com.example.foodexpirytracker.auth.StartupRouter;
 import com.example.foodexpirytracker.notifications.NotificationHelper;
+import com.example.foodexpirytracker.sync.SyncTransport;
+
+import java.util.concurrent.Executors;
 
 /*
  * Function: FoodExpiryApp
  * Purpose: Initialize global app state such as notification channels
  */
-public class FoodExpiryApp extends Application {
+public class FoodExpiryApp extends Application implements Configuration.Provider {
+    // Reminder workers are short; two threads keep WorkManager from competing with UI work
+    private static final int WORK_THREADS = 2;
+
+    private AuthGateway authGateway;
+    private Configuration workConfiguration;
+    private SyncTransport syncTransport;
+
     /*
      * Function: onCreate
-     * Purpose: Create notification channel used by expiry alerts
+     * Purpose: Create notification channel and start background warm-up while login is shown
      */
     @Override
     public void onCreate() {
         super.onCreate();
         NotificationHelper.createChannel(this);
+        StartupInitializer.start(this);
+    }
+
+    /*
+     * Function: getWorkManagerConfiguration
+     * Purpose: On-demand WorkManager setup with a bounded worker executor; built once, so every
+     *          call returns the same configuration and pool
+     */
+    @NonNull
+    @Override
+    public synchronized Configuration getWorkManagerConfiguration() {
+        if (workConfiguration == null) {
+            workConfiguration = new Configuration.Builder()
+                    .setExecutor(Executors.newFixedThreadPool(WORK_THREADS))
+                    .setMinimumLoggingLevel(android.util.Log.INFO)
+                    .build();
+        }
+        return workConfiguration;
+    }
+
+    /*
+     * Function: getAuthGateway
+     * Purpose: Return the app-wide auth provider (Firebase unless replaced for tests)
+     */
+    public synchronized AuthGateway getAuthGateway() {
+        if (authGateway == null) {
+            authGateway = new FirebaseAuthGateway();
+        }
+        return authGateway;
+    }
+
+    /*
+     * Function: setAuthGateway
+     * Purpose: Swap in a local fake auth provider for tests
+     */
+    public synchronized void setAuthGateway(AuthGateway gateway) {
+        this.authGateway = gateway;
+    }
+
+    /*
+     * Function: getSyncTransport
+     * Purpose: Return the sync server transport, or null while no backend is configured (sync stays off)
+     */
+    public synchronized SyncTransport getSyncTransport() {
+        return syncTransport;
+    }
+
+    /*
+     * Function: setSyncTransport
+     * Purpose: Plug in a sync server transport (or an in-process fake for tests)
+     */
+    public synchronized void setSyncTransport(SyncTransport transport) {
+        this.syncTransport = transport;
+    }
+
+    /*
+     * Function: getStartupRouter
+     * Purpose: Build a router over the current auth provider and the force_reverify_ flags
+     */
+    public StartupRouter getStartupRouter() {
+        return new StartupRouter(getAuthGateway(), email ->
+                getSharedPreferences("auth_prefs", MODE_PRIVATE)
+                        .getBoolean("force_reverify_" + email, false), this::onSignedOut);
+    }
+
+    /*
+     * Function: onSignedOut
+     * Purpose: Return the inventory to the local owner after any sign-out so no screen or worker
+     *          keeps reading the departed account's rows
+     */
+    public void onSignedOut() {
+        InventoryRepository.getInstance(this).switchOwner(null);
     }
-}
\ No newline at end of file
+}
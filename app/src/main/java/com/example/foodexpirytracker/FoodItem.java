@@ -12,6 +12,8 @@ public class FoodItem {
     private String expiryDate;
     private int quantity;
     private String notes;
+    // categories.id, or CategoryCatalog.NONE; filled in by the database layer
+    private int categoryId;
 
     /*
      * Function: FoodItem constructor
@@ -34,6 +36,8 @@ public class FoodItem {
     public String getName() { return name; }
     /* Function: getCategory | Purpose: Return item category */
     public String getCategory() { return category; }
+    /* Function: getCategoryId | Purpose: Return the categories.id for grouping, sorting and icons */
+    public int getCategoryId() { return categoryId; }
     /* Function: getPurchaseDate | Purpose: Return purchase date */
     public String getPurchaseDate() { return purchaseDate; }
     /* Function: getExpiryDate | Purpose: Return expiry date */
@@ -49,6 +53,8 @@ public class FoodItem {
     public void setName(String name) { this.name = name; }
     /* Function: setCategory | Purpose: Set item category */
     public void setCategory(String category) { this.category = category; }
+    /* Function: setCategoryId | Purpose: Set the categories.id */
+    public void setCategoryId(int categoryId) { this.categoryId = categoryId; }
     /* Function: setPurchaseDate | Purpose: Set purchase date */
     public void setPurchaseDate(String purchaseDate) { this.purchaseDate = purchaseDate; }
     /* Function: setExpiryDate | Purpose: Set expiry date */
@@ -9,16 +9,20 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 import androidx.annotation.NonNull;
+import androidx.cardview.widget.CardView;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.RecyclerView;
-import androidx.work.WorkManager;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
+import com.example.foodexpirytracker.metrics.Metrics;
+import com.example.foodexpirytracker.notifications.ReminderScheduler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /*
@@ -26,19 +30,60 @@ import java.util.concurrent.TimeUnit;
  * Purpose: Bind FoodItem data to RecyclerView list cards and handle item interactions
  */
 public class FoodListAdapter extends RecyclerView.Adapter<FoodListAdapter.FoodViewHolder> {
+    // Partial-bind payloads: only the named views are refreshed
+    public static final String PAYLOAD_QUANTITY = "quantity";
+    public static final String PAYLOAD_DETAILS = "details";
+    public static final String PAYLOAD_SELECTION = "selection";
+    public static final String PAYLOAD_COUNTDOWN = "countdown";
+
+    // Beyond this many separate removed runs, one full refresh is cheaper than range notifications
+    private static final int MAX_REMOVED_RANGES = 32;
+
+    /*
+     * Function: SelectionListener
+     * Purpose: Notified when the multi-select set changes (0 means selection mode ended)
+     */
+    public interface SelectionListener {
+        void onSelectionChanged(int selectedCount);
+    }
+
     private Context context;
     private List<FoodItem> foodItemList;
-    private DatabaseHelper dbHelper;
+    private InventoryRepository repository;
+    private final Set<Integer> selectedIds = new HashSet<>();
+    // Set by selectAll and cleared by any other selection change; only then can a delete cover everything
+    private boolean allSelected;
+    private SelectionListener selectionListener;
+    // Formatted row text per item id, rebuilt only when the source field changes
+    private final Map<Integer, RowText> rowTexts = new HashMap<>();
 
     /*
      * Function: FoodListAdapter constructor
-     * Purpose: Initialize adapter with context, data list, and database helper
-     * Params: context - activity context; foodItemList - items to display; dbHelper - DB operations
+     * Purpose: Initialize adapter with context, data list, and inventory repository
+     * Params: context - activity context; foodItemList - items to display; repository - async DB operations
      */
-    public FoodListAdapter(Context context, List<FoodItem> foodItemList, DatabaseHelper dbHelper) {
+    public FoodListAdapter(Context context, List<FoodItem> foodItemList, InventoryRepository repository) {
         this.context = context;
         this.foodItemList = foodItemList;
-        this.dbHelper = dbHelper;
+        this.repository = repository;
+        setHasStableIds(true);
+    }
+
+    /*
+     * Function: getItemId
+     * Purpose: Row id as the stable id, so RecyclerView can match views to items across full refreshes
+     */
+    @Override
+    public long getItemId(int position) {
+        return foodItemList.get(position).getId();
+    }
+
+    /*
+     * Function: setSelectionListener
+     * Purpose: Register the host that shows the selection action mode
+     */
+    public void setSelectionListener(SelectionListener listener) {
+        this.selectionListener = listener;
     }
 
     /*
@@ -50,33 +95,214 @@ public class FoodListAdapter extends RecyclerView.Adapter<FoodListAdapter.FoodVi
     @Override
     public FoodViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         View view = LayoutInflater.from(context).inflate(R.layout.item_food, parent, false);
-        return new FoodViewHolder(view);
+        FoodViewHolder holder = new FoodViewHolder(view);
+
+        // One listener pair per holder; the item is looked up when the row is actually tapped
+        holder.itemView.setOnClickListener(v -> {
+            int position = holder.getBindingAdapterPosition();
+            if (position == RecyclerView.NO_POSITION) return;
+            if (isSelecting()) {
+                toggleSelection(position);
+            } else if (context instanceof MainActivity) {
+                ((MainActivity) context).showEditFoodDialog(foodItemList.get(position), position);
+            }
+        });
+        // Long-press starts (or extends) multi-select for bulk delete
+        holder.itemView.setOnLongClickListener(v -> {
+            toggleSelection(holder.getBindingAdapterPosition());
+            return true;
+        });
+        return holder;
     }
 
     /*
      * Function: onBindViewHolder
-     * Purpose: Bind FoodItem values to views and wire interactions
+     * Purpose: Bind every view of the row
      * Params: holder - view holder; position - item index
      */
-    @SuppressLint("StringFormatMatches")
     @Override
     public void onBindViewHolder(@NonNull FoodViewHolder holder, int position) {
-        FoodItem foodItem = foodItemList.get(position);
+        long start = Metrics.UI_BIND.begin();
+        try {
+            FoodItem foodItem = foodItemList.get(position);
+            RowText text = rowText(foodItem);
+            bindDetails(holder, foodItem, text);
+            holder.tvQuantity.setText(text.quantity(foodItem.getQuantity()));
+            bindSelection(holder, foodItem);
+        } finally {
+            Metrics.UI_BIND.end(start);
+        }
+    }
+
+    /*
+     * Function: onBindViewHolder (payloads)
+     * Purpose: Refresh only the views named by payloads; full bind when there are none
+     */
+    @Override
+    public void onBindViewHolder(@NonNull FoodViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        long start = Metrics.UI_BIND.begin();
+        try {
+            FoodItem foodItem = foodItemList.get(position);
+            RowText text = rowText(foodItem);
+            if (payloads.contains(PAYLOAD_DETAILS)) {
+                bindDetails(holder, foodItem, text);
+            }
+            if (payloads.contains(PAYLOAD_DETAILS) || payloads.contains(PAYLOAD_QUANTITY)) {
+                holder.tvQuantity.setText(text.quantity(foodItem.getQuantity()));
+            }
+            if (payloads.contains(PAYLOAD_SELECTION)) {
+                bindSelection(holder, foodItem);
+            }
+            if (payloads.contains(PAYLOAD_COUNTDOWN) && !payloads.contains(PAYLOAD_DETAILS)) {
+                bindCountdown(context, holder, text.hasTime, text.expiryMillis, System.currentTimeMillis());
+            }
+        } finally {
+            Metrics.UI_BIND.end(start);
+        }
+    }
+
+    /*
+     * Function: bindDetails
+     * Purpose: Name, expiry text, category icon and expiry indicator
+     */
+    private void bindDetails(FoodViewHolder holder, FoodItem foodItem, RowText text) {
         holder.tvFoodName.setText(foodItem.getName());
-        holder.tvExpiryDate.setText(context.getString(R.string.expiry_date_value, foodItem.getExpiryDate()));
-        holder.tvQuantity.setText(context.getString(R.string.quantity_value, foodItem.getQuantity()));
-        
-        // Set foodItem category icon
-        setFoodCategoryIcon(holder.ivFoodIcon, foodItem.getCategory());
-        
-        // Set expiry indicator color
-        setExpiryIndicator(holder.expiryIndicator, foodItem.getExpiryDate());
-        
-        // Set long click listener for deleting items
-        holder.itemView.setOnLongClickListener(v -> {
-            showDeleteDialog(foodItem, position);
-            return true;
-        });
+        holder.tvExpiryDate.setText(text.expiry(foodItem.getExpiryDate()));
+        setFoodCategoryIcon(holder.ivFoodIcon, foodItem.getCategoryId());
+        long now = System.currentTimeMillis();
+        holder.setIndicatorColor(indicatorColor(context, text.expiryMillis, now));
+        bindCountdown(context, holder, text.hasTime, text.expiryMillis, now);
+    }
+
+    /*
+     * Function: bindCountdown
+     * Purpose: "Expires in 3h 12m" for items with an HH:mm expiry; hidden otherwise
+     */
+    static void bindCountdown(Context context, FoodViewHolder holder, boolean hasTime, long expiryMillis, long now) {
+        if (!hasTime) {
+            holder.tvCountdown.setVisibility(View.GONE);
+            return;
+        }
+        holder.tvCountdown.setVisibility(View.VISIBLE);
+        long left = expiryMillis - now;
+        holder.tvCountdown.setText(left <= 0
+                ? context.getString(R.string.countdown_expired)
+                : context.getString(R.string.countdown_expires_in, formatDuration(context, left)));
+    }
+
+    private static String formatDuration(Context context, long millis) {
+        // Round up so the last minute reads "1m", never "0m"
+        long minutes = (millis + ExpiryTicker.MINUTE_MILLIS - 1) / ExpiryTicker.MINUTE_MILLIS;
+        long hours = minutes / 60;
+        if (hours >= 24) return context.getString(R.string.duration_days_hours, hours / 24, hours % 24);
+        if (hours > 0) return context.getString(R.string.duration_hours_minutes, hours, minutes % 60);
+        return context.getString(R.string.duration_minutes, minutes);
+    }
+
+    /*
+     * Function: tickCountdowns
+     * Purpose: Rebind the countdown of rows first..last (the visible range) whose text can still change;
+     *          cost is bounded by the screen, not the list
+     */
+    public void tickCountdowns(int first, int last, long now) {
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) return;
+        last = Math.min(last, foodItemList.size() - 1);
+        for (int i = Math.max(first, 0); i <= last; i++) {
+            FoodItem item = foodItemList.get(i);
+            RowText text = rowText(item);
+            text.expiry(item.getExpiryDate());
+            // One extra tick after expiry flips the text to "Expired"; after that it is static
+            if (text.hasTime && text.expiryMillis > now - ExpiryTicker.MINUTE_MILLIS) {
+                notifyItemChanged(i, PAYLOAD_COUNTDOWN);
+            }
+        }
+    }
+
+    private RowText rowText(FoodItem foodItem) {
+        RowText text = rowTexts.get(foodItem.getId());
+        if (text == null) {
+            text = new RowText();
+            rowTexts.put(foodItem.getId(), text);
+        }
+        return text;
+    }
+
+    /*
+     * Function: bindSelection
+     * Purpose: Highlight selected cards
+     */
+    private void bindSelection(FoodViewHolder holder, FoodItem foodItem) {
+        boolean selected = selectedIds.contains(foodItem.getId());
+        holder.itemView.setActivated(selected);
+        ((CardView) holder.itemView).setCardBackgroundColor(selected
+                ? ContextCompat.getColor(context, R.color.selection_highlight)
+                : Color.WHITE);
+    }
+
+    /*
+     * Function: isSelecting
+     * Purpose: True while at least one item is selected
+     */
+    public boolean isSelecting() {
+        return !selectedIds.isEmpty();
+    }
+
+    /*
+     * Function: toggleSelection
+     * Purpose: Flip selection of the item at position and rebind only its highlight
+     */
+    public void toggleSelection(int position) {
+        if (position == RecyclerView.NO_POSITION) return;
+        int id = foodItemList.get(position).getId();
+        allSelected = false;
+        if (!selectedIds.remove(id)) {
+            selectedIds.add(id);
+        }
+        notifyItemChanged(position, PAYLOAD_SELECTION);
+        if (selectionListener != null) selectionListener.onSelectionChanged(selectedIds.size());
+    }
+
+    /*
+     * Function: selectAll
+     * Purpose: Select every visible item
+     */
+    public void selectAll() {
+        for (FoodItem f : foodItemList) selectedIds.add(f.getId());
+        allSelected = true;
+        notifyItemRangeChanged(0, foodItemList.size(), PAYLOAD_SELECTION);
+        if (selectionListener != null) selectionListener.onSelectionChanged(selectedIds.size());
+    }
+
+    /*
+     * Function: clearSelection
+     * Purpose: Leave selection mode, rebinding only rows that were highlighted
+     */
+    public void clearSelection() {
+        allSelected = false;
+        if (selectedIds.isEmpty()) return;
+        for (int i = 0; i < foodItemList.size(); i++) {
+            if (selectedIds.contains(foodItemList.get(i).getId())) {
+                notifyItemChanged(i, PAYLOAD_SELECTION);
+            }
+        }
+        selectedIds.clear();
+        if (selectionListener != null) selectionListener.onSelectionChanged(0);
+    }
+
+    /*
+     * Function: getSelectedItems
+     * Purpose: Return the selected items in list order
+     */
+    public List<FoodItem> getSelectedItems() {
+        List<FoodItem> selected = new ArrayList<>(selectedIds.size());
+        for (FoodItem f : foodItemList) {
+            if (selectedIds.contains(f.getId())) selected.add(f);
+        }
+        return selected;
     }
 
     @Override
@@ -86,108 +312,155 @@ public class FoodListAdapter extends RecyclerView.Adapter<FoodListAdapter.FoodVi
 
     /*
      * Function: showDeleteDialog
-     * Purpose: Confirm and perform deletion of a food item, cancel related reminders
+     * Purpose: Confirm and delete items in one transaction, cancel their reminders in one batch,
+     *          and update the list with coalesced range notifications
      */
-    private void showDeleteDialog(FoodItem foodItem, int position) {
+    public void showDeleteDialog(List<FoodItem> items, Runnable onDeleted) {
+        if (items.isEmpty()) return;
         androidx.appcompat.app.AlertDialog.Builder builder = new androidx.appcompat.app.AlertDialog.Builder(context);
         builder.setTitle(R.string.delete_food_item);
-        builder.setMessage(context.getString(R.string.delete_confirmation, foodItem.getName()));
+        builder.setMessage(items.size() == 1
+                ? context.getString(R.string.delete_confirmation, items.get(0).getName())
+                : context.getString(R.string.delete_confirmation_multi, items.size()));
+        // A select-all over a filtered list is still partial; the repository confirms against the cache
+        final boolean selectAllUsed = allSelected;
         builder.setPositiveButton(R.string.yes, (dialog, which) -> {
-            // Cancel any scheduled one-day-before reminder for this item
-            WorkManager.getInstance(context.getApplicationContext())
-                    .cancelUniqueWork("expiry_reminder_" + foodItem.getId());
-            // Cancel any scheduled expiry-day alert for this item
-            WorkManager.getInstance(context.getApplicationContext())
-                    .cancelUniqueWork("expired_alert_" + foodItem.getId());
-            
-            dbHelper.deleteFood(foodItem.getId());
-            foodItemList.remove(position);
-            notifyItemRemoved(position);
-            notifyItemRangeChanged(position, foodItemList.size());
-            android.widget.Toast.makeText(context, R.string.item_deleted, android.widget.Toast.LENGTH_SHORT).show();
-            
+            boolean wholeInventory = selectAllUsed && repository.isWholeInventory(items);
+            int[] ids = repository.deleteAll(items);
+
+            // Cancel scheduled reminders for all deleted items off the main thread
+            final Context appContext = context.getApplicationContext();
+            AppExecutors.diskIO().execute(() -> ReminderScheduler.cancelAll(appContext, ids, wholeInventory));
+
+            Set<Integer> removed = new HashSet<>(ids.length * 2);
+            for (int id : ids) removed.add(id);
+            selectedIds.removeAll(removed);
+            removeItems(removed);
+
+            android.widget.Toast.makeText(context, items.size() == 1
+                    ? context.getString(R.string.item_deleted)
+                    : context.getString(R.string.items_deleted, items.size()),
+                    android.widget.Toast.LENGTH_SHORT).show();
+
             // Update empty state view
             if (context instanceof MainActivity) {
                 ((MainActivity) context).updateEmptyState();
             }
+            if (onDeleted != null) onDeleted.run();
         });
         builder.setNegativeButton(R.string.no, (dialog, which) -> dialog.dismiss());
         builder.show();
     }
 
     /*
-     * Function: setFoodCategoryIcon
-     * Purpose: Choose an icon based on category keywords
+     * Function: removeItems
+     * Purpose: Remove ids from the visible list in one pass, notifying contiguous runs from the end
      */
-    private void setFoodCategoryIcon(ImageView imageView, String category) {
-        // Set icon based on category
-        if (category == null || category.isEmpty()) {
-            return;
+    void removeItems(Set<Integer> ids) {
+        List<int[]> runs = new ArrayList<>();
+        List<FoodItem> kept = new ArrayList<>(foodItemList.size());
+        int runEnd = -1;
+        for (int i = foodItemList.size() - 1; i >= 0; i--) {
+            boolean gone = ids.contains(foodItemList.get(i).getId());
+            if (gone && runEnd < 0) {
+                runEnd = i;
+            } else if (!gone && runEnd >= 0) {
+                runs.add(new int[]{i + 1, runEnd - i});
+                runEnd = -1;
+            }
+        }
+        if (runEnd >= 0) runs.add(new int[]{0, runEnd + 1});
+        if (runs.isEmpty()) return;
+
+        for (FoodItem f : foodItemList) {
+            if (!ids.contains(f.getId())) kept.add(f);
         }
-        
-        category = category.toLowerCase();
-        
-        if (category.contains("fruit") || category.contains("apple") || 
-            category.contains("banana") || category.contains("orange")) {
-            imageView.setImageResource(android.R.drawable.ic_menu_compass);
-        } else if (category.contains("vegetable") || category.contains("veg")) {
-            imageView.setImageResource(android.R.drawable.ic_menu_crop);
-        } else if (category.contains("meat") || category.contains("chicken") || 
-                 category.contains("beef") || category.contains("pork")) {
-            imageView.setImageResource(android.R.drawable.ic_menu_view);
-        } else if (category.contains("dairy") || category.contains("milk") || 
-                 category.contains("cheese") || category.contains("yogurt")) {
-            imageView.setImageResource(android.R.drawable.ic_menu_slideshow);
+        foodItemList.clear();
+        foodItemList.addAll(kept);
+        rowTexts.keySet().removeAll(ids);
+
+        if (runs.size() > MAX_REMOVED_RANGES) {
+            notifyDataSetChanged();
         } else {
-            imageView.setImageResource(android.R.drawable.ic_menu_gallery);
+            // Runs were collected back-to-front, so earlier positions stay valid
+            for (int[] run : runs) notifyItemRangeRemoved(run[0], run[1]);
         }
     }
-    
+
     /*
-     * Function: setExpiryIndicator
-     * Purpose: Color indicator based on days until expiry
+     * Function: setFoodCategoryIcon
+     * Purpose: Choose an icon from the category's precomputed icon kind
      */
-    private void setExpiryIndicator(View indicator, String expiryDateStr) {
-        try {
-            SimpleDateFormat dateFormat = new SimpleDateFormat(context.getString(R.string.date_format), Locale.getDefault());
-            Date expiryDate = dateFormat.parse(expiryDateStr);
-            Date currentDate = Calendar.getInstance().getTime();
-            
-            if (expiryDate != null) {
-                long diffInMillies = expiryDate.getTime() - currentDate.getTime();
-                long diffInDays = TimeUnit.DAYS.convert(diffInMillies, TimeUnit.MILLISECONDS);
-                
-                GradientDrawable shape = (GradientDrawable) indicator.getBackground();
-                
-                if (diffInDays < 0) {
-                    // Expired
-                    shape.setColor(Color.RED);
-                } else if (diffInDays <= 3) {
-                    // Expiring soon (3 days or less)
-                    shape.setColor(ContextCompat.getColor(context, R.color.orange_warning));
-                } else if (diffInDays <= 7) {
-                    // Expiring within a week
-                    shape.setColor(Color.YELLOW);
-                } else {
-                    // Not expiring soon
-                    shape.setColor(Color.GREEN);
-                }
+    private void setFoodCategoryIcon(ImageView imageView, int categoryId) {
+        imageView.setImageResource(iconRes(repository.getCategories().getIconKind(categoryId)));
+    }
+
+    /* Function: iconRes | Purpose: Return the drawable for a CategoryCatalog icon kind */
+    static int iconRes(int kind) {
+        if (kind == CategoryCatalog.ICON_FRUIT) return android.R.drawable.ic_menu_compass;
+        if (kind == CategoryCatalog.ICON_VEGETABLE) return android.R.drawable.ic_menu_crop;
+        if (kind == CategoryCatalog.ICON_MEAT) return android.R.drawable.ic_menu_view;
+        if (kind == CategoryCatalog.ICON_DAIRY) return android.R.drawable.ic_menu_slideshow;
+        return android.R.drawable.ic_menu_gallery;
+    }
+
+    /*
+     * Function: indicatorColor
+     * Purpose: Indicator color by whole days until expiry (gray when the date is unknown)
+     */
+    static int indicatorColor(Context context, long expiryMillis, long now) {
+        if (expiryMillis == ExpiryDates.UNKNOWN) return Color.GRAY;
+        long diffInDays = TimeUnit.DAYS.convert(expiryMillis - now, TimeUnit.MILLISECONDS);
+        if (diffInDays < 0) return Color.RED;
+        if (diffInDays <= 3) return ContextCompat.getColor(context, R.color.orange_warning);
+        if (diffInDays <= 7) return Color.YELLOW;
+        return Color.GREEN;
+    }
+
+    /*
+     * Function: RowText
+     * Purpose: Formatted strings for one item, kept until the field they were built from changes
+     *          (items are edited in place, so the source value is compared on every bind)
+     */
+    private final class RowText {
+        private String expirySource;
+        private CharSequence expiryText;
+        private long expiryMillis = ExpiryDates.UNKNOWN;
+        private boolean hasTime;
+        private int quantitySource;
+        private CharSequence quantityText;
+
+        CharSequence expiry(String expiryDate) {
+            if (expiryText == null || !Objects.equals(expirySource, expiryDate)) {
+                expirySource = expiryDate;
+                expiryText = context.getString(R.string.expiry_date_value, expiryDate);
+                expiryMillis = ExpiryDates.parseMillis(expiryDate);
+                hasTime = expiryMillis != ExpiryDates.UNKNOWN && ExpiryDates.hasTime(expiryDate);
+            }
+            return expiryText;
+        }
+
+        @SuppressLint("StringFormatMatches")
+        CharSequence quantity(int quantity) {
+            if (quantityText == null || quantitySource != quantity) {
+                quantitySource = quantity;
+                quantityText = context.getString(R.string.quantity_value, quantity);
             }
-        } catch (ParseException e) {
-            // Default to green if date parsing fails
-            GradientDrawable shape = (GradientDrawable) indicator.getBackground();
-            shape.setColor(Color.GRAY);
+            return quantityText;
         }
     }
-    
+
     /*
      * Function: FoodViewHolder
      * Purpose: Cache view references for item_food layout
      */
     public static class FoodViewHolder extends RecyclerView.ViewHolder {
-        TextView tvFoodName, tvExpiryDate, tvQuantity;
+        TextView tvFoodName, tvExpiryDate, tvQuantity, tvCountdown;
         ImageView ivFoodIcon;
         View expiryIndicator;
+        // Mutated copy: the layout's shape drawable state is shared by every row otherwise
+        private final GradientDrawable indicatorShape;
+        private int indicatorColor;
 
         /*
          * Function: FoodViewHolder constructor
@@ -198,8 +471,16 @@ public class FoodListAdapter extends RecyclerView.Adapter<FoodListAdapter.FoodVi
             tvFoodName = itemView.findViewById(R.id.tvFoodName);
             tvExpiryDate = itemView.findViewById(R.id.tvExpiryDate);
             tvQuantity = itemView.findViewById(R.id.tvQuantity);
+            tvCountdown = itemView.findViewById(R.id.tvCountdown);
             ivFoodIcon = itemView.findViewById(R.id.ivFoodIcon);
             expiryIndicator = itemView.findViewById(R.id.expiryIndicator);
+            indicatorShape = (GradientDrawable) expiryIndicator.getBackground().mutate();
+        }
+
+        void setIndicatorColor(int color) {
+            if (color == indicatorColor) return;
+            indicatorColor = color;
+            indicatorShape.setColor(color);
         }
     }
 }
@@ -0,0 +1,89 @@
+package com.example.foodexpirytracker;
+
+/*
+ * Function: FoodPatch
+ * Purpose: Column-level partial update for a food row; null fields are left unchanged
+ */
+public class FoodPatch {
+    private String name;
+    private String category;
+    private String purchaseDate;
+    private String expiryDate;
+    private Integer quantity;
+    private String notes;
+
+    /* Function: setName | Purpose: Change name */
+    public FoodPatch setName(String name) { this.name = name; return this; }
+    /* Function: setCategory | Purpose: Change category */
+    public FoodPatch setCategory(String category) { this.category = category; return this; }
+    /* Function: setPurchaseDate | Purpose: Change purchase date */
+    public FoodPatch setPurchaseDate(String purchaseDate) { this.purchaseDate = purchaseDate; return this; }
+    /* Function: setExpiryDate | Purpose: Change expiry date */
+    public FoodPatch setExpiryDate(String expiryDate) { this.expiryDate = expiryDate; return this; }
+    /* Function: setQuantity | Purpose: Change quantity */
+    public FoodPatch setQuantity(int quantity) { this.quantity = quantity; return this; }
+    /* Function: setNotes | Purpose: Change notes */
+    public FoodPatch setNotes(String notes) { this.notes = notes; return this; }
+
+    /* Function: getName | Purpose: Return new name or null */
+    public String getName() { return name; }
+    /* Function: getCategory | Purpose: Return new category or null */
+    public String getCategory() { return category; }
+    /* Function: getPurchaseDate | Purpose: Return new purchase date or null */
+    public String getPurchaseDate() { return purchaseDate; }
+    /* Function: getExpiryDate | Purpose: Return new expiry date or null */
+    public String getExpiryDate() { return expiryDate; }
+    /* Function: getQuantity | Purpose: Return new quantity or null */
+    public Integer getQuantity() { return quantity; }
+    /* Function: getNotes | Purpose: Return new notes or null */
+    public String getNotes() { return notes; }
+
+    /*
+     * Function: changesExpiry
+     * Purpose: True when the patch moves the expiry date (reminders must be rescheduled)
+     */
+    public boolean changesExpiry() {
+        return expiryDate != null;
+    }
+
+    /*
+     * Function: isEmpty
+     * Purpose: True when no column would change
+     */
+    public boolean isEmpty() {
+        return name == null && category == null && purchaseDate == null
+                && expiryDate == null && quantity == null && notes == null;
+    }
+
+    /*
+     * Function: diff
+     * Purpose: Build a patch holding only the fields of edited that differ from original
+     */
+    public static FoodPatch diff(FoodItem original, FoodItem edited) {
+        FoodPatch patch = new FoodPatch();
+        if (!same(original.getName(), edited.getName())) patch.setName(edited.getName());
+        if (!same(original.getCategory(), edited.getCategory())) patch.setCategory(edited.getCategory());
+        if (!same(original.getPurchaseDate(), edited.getPurchaseDate())) patch.setPurchaseDate(edited.getPurchaseDate());
+        if (!same(original.getExpiryDate(), edited.getExpiryDate())) patch.setExpiryDate(edited.getExpiryDate());
+        if (original.getQuantity() != edited.getQuantity()) patch.setQuantity(edited.getQuantity());
+        if (!same(original.getNotes(), edited.getNotes())) patch.setNotes(edited.getNotes());
+        return patch;
+    }
+
+    /*
+     * Function: applyTo
+     * Purpose: Copy the changed fields onto an in-memory item
+     */
+    public void applyTo(FoodItem item) {
+        if (name != null) item.setName(name);
+        if (category != null) item.setCategory(category);
+        if (purchaseDate != null) item.setPurchaseDate(purchaseDate);
+        if (expiryDate != null) item.setExpiryDate(expiryDate);
+        if (quantity != null) item.setQuantity(quantity);
+        if (notes != null) item.setNotes(notes);
+    }
+
+    private static boolean same(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.foodexpirytracker;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Function: FoodSummary
+ * Purpose: Dashboard counts per urgency bucket and per category, read from the trigger-maintained
+ *          food_summary table. Also defines the buckets and when an item moves to the next one.
+ */
+public final class FoodSummary {
+    public static final int BUCKET_EXPIRED = 0;
+    public static final int BUCKET_TODAY = 1;
+    public static final int BUCKET_SOON = 2;
+    public static final int BUCKET_LATER = 3;
+    public static final int BUCKET_UNKNOWN = 4;
+    public static final int BUCKET_COUNT = 5;
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long SOON_MILLIS = 3 * DAY_MILLIS;
+
+    private final int[] buckets = new int[BUCKET_COUNT];
+    // Categories in descending count order as returned by the query
+    private final Map<String, Integer> categories = new LinkedHashMap<>();
+    private int total;
+
+    /*
+     * Function: bucketFor
+     * Purpose: Urgency bucket for an expiry instant (ExpiryDates.UNKNOWN -> BUCKET_UNKNOWN)
+     */
+    public static int bucketFor(long expiryMillis, long now) {
+        if (expiryMillis == ExpiryDates.UNKNOWN) return BUCKET_UNKNOWN;
+        long left = expiryMillis - now;
+        if (left <= 0) return BUCKET_EXPIRED;
+        if (left <= DAY_MILLIS) return BUCKET_TODAY;
+        if (left <= SOON_MILLIS) return BUCKET_SOON;
+        return BUCKET_LATER;
+    }
+
+    /*
+     * Function: bucketUntil
+     * Purpose: Instant at which an item in the given bucket moves to the next one (Long.MAX_VALUE if never)
+     */
+    public static long bucketUntil(long expiryMillis, int bucket) {
+        switch (bucket) {
+            case BUCKET_LATER: return expiryMillis - SOON_MILLIS;
+            case BUCKET_SOON: return expiryMillis - DAY_MILLIS;
+            case BUCKET_TODAY: return expiryMillis;
+            default: return Long.MAX_VALUE;
+        }
+    }
+
+    /* Function: getBucketCount | Purpose: Return the number of items in a bucket */
+    public int getBucketCount(int bucket) { return buckets[bucket]; }
+    /* Function: getCategoryCounts | Purpose: Return item counts per category, largest first */
+    public Map<String, Integer> getCategoryCounts() { return Collections.unmodifiableMap(categories); }
+    /* Function: getTotal | Purpose: Return the number of items counted */
+    public int getTotal() { return total; }
+
+    void addBucket(int bucket, int count) {
+        if (bucket < 0 || bucket >= BUCKET_COUNT) bucket = BUCKET_UNKNOWN;
+        buckets[bucket] += count;
+        total += count;
+    }
+
+    void addCategory(String category, int count) {
+        categories.put(category, count);
+    }
+}
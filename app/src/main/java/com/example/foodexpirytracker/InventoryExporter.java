@@ -0,0 +1,221 @@
+package com.example.foodexpirytracker;
+
+import android.content.ContentResolver;
+import android.database.Cursor;
+import android.net.Uri;
+import android.provider.DocumentsContract;
+import android.util.JsonWriter;
+import android.util.Log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Function: InventoryExporter
+ * Purpose: Stream the food table from a cursor to a user-picked document as CSV or JSON.
+ *          One row is held in memory at a time, so memory stays flat regardless of table size.
+ */
+public final class InventoryExporter {
+    private static final String TAG = "InventoryExporter";
+    private static final int BUFFER_CHARS = 64 * 1024;
+    // Post progress to the UI every N rows rather than per row
+    private static final int PROGRESS_STEP = 1000;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        JSON("application/json", "json");
+
+        private final String mimeType;
+        private final String extension;
+
+        Format(String mimeType, String extension) {
+            this.mimeType = mimeType;
+            this.extension = extension;
+        }
+
+        /* Function: getMimeType | Purpose: Return the document MIME type */
+        public String getMimeType() { return mimeType; }
+
+        /* Function: getExtension | Purpose: Return the suggested file extension */
+        public String getExtension() { return extension; }
+    }
+
+    /*
+     * Function: Listener
+     * Purpose: Export progress and outcome, delivered on the main thread
+     */
+    public interface Listener {
+        void onProgress(int done, int total);
+        void onFinished(int rows);
+        void onCancelled();
+        void onFailed(Exception e);
+    }
+
+    private final DatabaseHelper dbHelper;
+    private final Executor io;
+    private final Executor main;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+
+    /*
+     * Function: InventoryExporter constructor
+     * Purpose: Wire database and executors
+     */
+    public InventoryExporter(DatabaseHelper dbHelper, Executor io, Executor main) {
+        this.dbHelper = dbHelper;
+        this.io = io;
+        this.main = main;
+    }
+
+    /*
+     * Function: cancel
+     * Purpose: Ask a running export to stop after the current row; the partial document is removed
+     */
+    public void cancel() {
+        cancelled.set(true);
+    }
+
+    /*
+     * Function: export
+     * Purpose: Stream every food row to the document at uri on the disk executor
+     */
+    public void export(ContentResolver resolver, Uri uri, Format format, Listener listener) {
+        cancelled.set(false);
+        io.execute(() -> {
+            int written = 0;
+            try (OutputStream out = resolver.openOutputStream(uri, "w")) {
+                if (out == null) throw new IOException("Cannot open " + uri);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+                int total = dbHelper.countFood();
+                try (Cursor cursor = dbHelper.openFoodCursor()) {
+                    written = format == Format.CSV
+                            ? writeCsv(cursor, writer, total, listener)
+                            : writeJson(cursor, writer, total, listener);
+                }
+                writer.flush();
+            } catch (Exception e) {
+                Log.e(TAG, "export failed", e);
+                deletePartial(resolver, uri);
+                main.execute(() -> listener.onFailed(e));
+                return;
+            }
+
+            if (cancelled.get()) {
+                deletePartial(resolver, uri);
+                main.execute(listener::onCancelled);
+            } else {
+                final int rows = written;
+                main.execute(() -> listener.onFinished(rows));
+            }
+        });
+    }
+
+    /*
+     * Function: writeCsv
+     * Purpose: Write a header and one RFC 4180 line per row
+     * Returns: Number of rows written before completion or cancellation
+     */
+    private int writeCsv(Cursor cursor, Writer w, int total, Listener listener) throws IOException {
+        String[] columns = DatabaseHelper.EXPORT_COLUMNS;
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) w.write(',');
+            w.write(columns[i]);
+        }
+        w.write("\r\n");
+
+        int rows = 0;
+        while (!cancelled.get() && cursor.moveToNext()) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) w.write(',');
+                writeCsvField(w, cursor.getString(i));
+            }
+            w.write("\r\n");
+            rows = reportProgress(rows + 1, total, listener);
+        }
+        return rows;
+    }
+
+    /*
+     * Function: writeCsvField
+     * Purpose: Write one field, quoting only when it contains a delimiter, quote or line break
+     */
+    private static void writeCsvField(Writer w, String value) throws IOException {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            w.write(value);
+            return;
+        }
+        w.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') w.write('"');
+            w.write(c);
+        }
+        w.write('"');
+    }
+
+    /*
+     * Function: writeJson
+     * Purpose: Write a JSON array with one object per row via JsonWriter (no intermediate tree)
+     * Returns: Number of rows written before completion or cancellation
+     */
+    private int writeJson(Cursor cursor, Writer w, int total, Listener listener) throws IOException {
+        String[] columns = DatabaseHelper.EXPORT_COLUMNS;
+        JsonWriter json = new JsonWriter(w);
+        json.beginArray();
+        int rows = 0;
+        while (!cancelled.get() && cursor.moveToNext()) {
+            json.beginObject();
+            for (int i = 0; i < columns.length; i++) {
+                json.name(columns[i]);
+                if (cursor.isNull(i)) {
+                    json.nullValue();
+                } else if (cursor.getType(i) == Cursor.FIELD_TYPE_INTEGER) {
+                    json.value(cursor.getLong(i));
+                } else {
+                    json.value(cursor.getString(i));
+                }
+            }
+            json.endObject();
+            rows = reportProgress(rows + 1, total, listener);
+        }
+        json.endArray();
+        // JsonWriter.close() would close the document stream; the caller owns it
+        json.flush();
+        return rows;
+    }
+
+    /*
+     * Function: reportProgress
+     * Purpose: Post progress every PROGRESS_STEP rows
+     * Returns: rows, unchanged
+     */
+    private int reportProgress(int rows, int total, Listener listener) {
+        if (rows % PROGRESS_STEP == 0) {
+            main.execute(() -> listener.onProgress(rows, total));
+        }
+        return rows;
+    }
+
+    /*
+     * Function: deletePartial
+     * Purpose: Remove a half-written document after failure or cancellation
+     */
+    private static void deletePartial(ContentResolver resolver, Uri uri) {
+        try {
+            DocumentsContract.deleteDocument(resolver, uri);
+        } catch (Exception e) {
+            Log.e(TAG, "could not delete partial export " + uri, e);
+        }
+    }
+}
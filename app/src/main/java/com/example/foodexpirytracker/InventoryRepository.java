@@ -0,0 +1,748 @@
+package com.example.foodexpirytracker;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+import android.util.Log;
+
+import com.example.foodexpirytracker.backup.SnapshotFiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+/*
+ * Function: InventoryRepository
+ * Purpose: Own the in-memory inventory, run every database call on the disk executor and
+ *          deliver results on the main thread
+ */
+public class InventoryRepository {
+
+    /*
+     * Function: Callback
+     * Purpose: Receive an asynchronous result on the main thread
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+
+    private static InventoryRepository instance;
+    private static final int CHANGE_PAGE = 1000;
+    // Cap for expiry range results; the count query reports how many matched in total
+    public static final int RANGE_LIMIT = 500;
+    // Share of query trigrams an item's name or category must contain to count as a fuzzy match
+    public static final float FUZZY_MIN_SIMILARITY = 0.5f;
+
+    private final DatabaseHelper dbHelper;
+    private final Executor io;
+    private final Executor main;
+    // Full inventory as last read from the database; null until loaded
+    private List<FoodItem> cache;
+    // Last change-log entry reflected in the cache
+    private long cacheSeq;
+    // Trigram index over the cache, built on the disk executor for fuzzy mode and then kept in step; null when stale
+    private TrigramIndex<FoodItem> fuzzyIndex;
+    // Cached items in orderMode's ascending SQL order, resolved from an id scan of the mode's index;
+    // null after any write (writes add and move rows). orderVersion counts invalidations.
+    private FoodItem[] order;
+    private SortMode orderMode;
+    private int orderVersion;
+    // Receives dashboard counts after every write; null when no screen is showing them
+    private volatile Callback<FoodSummary> summaryListener;
+
+    /*
+     * Function: getInstance
+     * Purpose: Return the process-wide repository
+     */
+    public static synchronized InventoryRepository getInstance(Context context) {
+        if (instance == null) {
+            instance = new InventoryRepository(DatabaseHelper.getInstance(context),
+                    AppExecutors.diskIO(), AppExecutors.mainThread());
+        }
+        return instance;
+    }
+
+    /*
+     * Function: resetInstance
+     * Purpose: Test hook: drop the process-wide repository (and its cache) so the next getInstance starts cold
+     */
+    static synchronized void resetInstance() {
+        instance = null;
+    }
+
+    /*
+     * Function: InventoryRepository constructor
+     * Purpose: Wire database and executors (tests supply their own)
+     */
+    InventoryRepository(DatabaseHelper dbHelper, Executor io, Executor main) {
+        this.dbHelper = dbHelper;
+        this.io = io;
+        this.main = main;
+    }
+
+    /*
+     * Function: prime
+     * Purpose: Read the inventory on the calling (background) thread so the first screen renders warm
+     */
+    public void prime() {
+        // Read the log position first: changes racing the scan are re-applied later, idempotently
+        long seq = dbHelper.getLatestChangeSeq();
+        // Warm the category catalog too: binding, sorting and the add dialog read it on the main thread
+        dbHelper.getCategories();
+        List<FoodItem> items = dbHelper.getAllFood();
+        synchronized (this) {
+            cache = items;
+            cacheSeq = seq;
+            fuzzyIndex = null;
+            invalidateOrder();
+        }
+    }
+
+    /*
+     * Function: refresh
+     * Purpose: Fold changes made outside this repository (workers, sync, restore) into the cache
+     *          by applying change-log deltas; reports whether anything changed
+     */
+    public void refresh(Callback<Boolean> callback) {
+        io.execute(() -> {
+            boolean changed = applyChanges();
+            main.execute(() -> callback.onResult(changed));
+        });
+    }
+
+    /*
+     * Function: applyChanges
+     * Purpose: Apply change-log entries after cacheSeq to the cache; falls back to one rescan if the
+     *          log was compacted past us. Call on the disk executor.
+     * Returns: true if the cache changed
+     */
+    private boolean applyChanges() {
+        long from;
+        synchronized (this) {
+            if (cache == null) return false;
+            from = cacheSeq;
+        }
+        if (dbHelper.isChangeLogGap(from)) {
+            prime();
+            return true;
+        }
+        boolean changed = false;
+        List<FoodChange> changes;
+        while (!(changes = dbHelper.getChangesSince(from, CHANGE_PAGE)).isEmpty()) {
+            // Latest op per id wins within a page; upserts are re-read, deletes just dropped
+            Map<Integer, FoodChange> latest = new LinkedHashMap<>();
+            for (FoodChange change : changes) latest.put(change.getItemId(), change);
+            int[] upsertIds = new int[latest.size()];
+            int n = 0;
+            for (FoodChange change : latest.values()) {
+                if (!change.isDelete()) upsertIds[n++] = change.getItemId();
+            }
+            List<FoodItem> rows = dbHelper.getFoodByIds(Arrays.copyOf(upsertIds, n));
+            Map<Integer, FoodItem> byId = new HashMap<>(rows.size() * 2);
+            for (FoodItem row : rows) byId.put(row.getId(), row);
+
+            from = changes.get(changes.size() - 1).getSeq();
+            synchronized (this) {
+                if (cache == null) return changed;
+                List<FoodItem> next = new ArrayList<>(cache.size() + byId.size());
+                for (FoodItem item : cache) {
+                    if (latest.containsKey(item.getId())) continue;
+                    next.add(item);
+                }
+                next.addAll(byId.values());
+                cache = next;
+                cacheSeq = from;
+                if (fuzzyIndex != null) {
+                    for (Integer id : latest.keySet()) fuzzyIndex.remove(id);
+                    for (FoodItem row : byId.values()) index(row);
+                }
+                invalidateOrder();
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    /*
+     * Function: switchOwner
+     * Purpose: Scope the inventory to the signed-in account (null after sign-out); the cache is
+     *          dropped and the next load reads only that owner's rows (queued behind the switch on
+     *          the disk executor)
+     */
+    public void switchOwner(String uid) {
+        synchronized (this) {
+            cache = null;
+            fuzzyIndex = null;
+            invalidateOrder();
+        }
+        io.execute(() -> dbHelper.setAccount(uid));
+    }
+
+    /*
+     * Function: load
+     * Purpose: Deliver the full inventory, reading the database only when nothing is cached
+     */
+    public void load(Callback<List<FoodItem>> callback) {
+        List<FoodItem> snapshot = snapshot();
+        if (snapshot != null) {
+            main.execute(() -> callback.onResult(snapshot));
+            return;
+        }
+        io.execute(() -> {
+            prime();
+            List<FoodItem> loaded = snapshot();
+            main.execute(() -> callback.onResult(loaded));
+        });
+    }
+
+    /*
+     * Function: filter
+     * Purpose: Return cached items whose name contains the query (case-insensitive); no database access
+     */
+    public List<FoodItem> filter(String query) {
+        synchronized (this) {
+            if (cache == null) return new ArrayList<>();
+            return filterByName(cache, query);
+        }
+    }
+
+    /*
+     * Function: filterByName
+     * Purpose: Return items whose name contains the query (case-insensitive), in their original order
+     */
+    public static List<FoodItem> filterByName(List<FoodItem> items, String query) {
+        String q = normalizeQuery(query);
+        if (q.isEmpty()) return new ArrayList<>(items);
+        List<FoodItem> result = new ArrayList<>();
+        for (FoodItem item : items) {
+            if (nameMatches(item, q)) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private static String normalizeQuery(String query) {
+        return query == null ? "" : query.trim().toLowerCase(Locale.getDefault());
+    }
+
+    // q as returned by normalizeQuery
+    private static boolean nameMatches(FoodItem item, String q) {
+        if (q.isEmpty()) return true;
+        String name = item.getName() == null ? "" : item.getName().toLowerCase(Locale.getDefault());
+        return name.contains(q);
+    }
+
+    /*
+     * Function: arrange
+     * Purpose: Deliver items whose name contains the query in the SQL order of mode: the whole cache,
+     *          or only the rows of subset (such as range results) when it is non-null. The order is one
+     *          id scan of the mode's index, re-read only after a write; no Java-side sort runs, and
+     *          descending is the ascending order walked backwards.
+     */
+    public void arrange(List<FoodItem> subset, String query, SortMode mode, boolean ascending,
+                        Callback<List<FoodItem>> callback) {
+        FoodItem[] current;
+        synchronized (this) {
+            current = cache != null && mode == orderMode ? order : null;
+        }
+        if (current != null) {
+            List<FoodItem> result = pick(current, subset, query, ascending);
+            main.execute(() -> callback.onResult(result));
+            return;
+        }
+        io.execute(() -> {
+            List<FoodItem> result = pick(loadOrder(mode), subset, query, ascending);
+            main.execute(() -> callback.onResult(result));
+        });
+    }
+
+    /*
+     * Function: loadOrder
+     * Purpose: Read a mode's id order and resolve it against the cache; call on the disk executor
+     */
+    private FoodItem[] loadOrder(SortMode mode) {
+        boolean cold;
+        synchronized (this) {
+            cold = cache == null;
+        }
+        if (cold) prime();
+        int version;
+        synchronized (this) {
+            version = orderVersion;
+        }
+        int[] ids = dbHelper.getSortedFoodIds(mode);
+        synchronized (this) {
+            if (cache == null) return new FoodItem[0];
+            Map<Integer, FoodItem> byId = new HashMap<>(cache.size() * 2);
+            for (FoodItem item : cache) byId.put(item.getId(), item);
+            FoodItem[] resolved = new FoodItem[ids.length];
+            int n = 0;
+            // Rows written elsewhere and not yet folded in by refresh() are skipped until they are
+            for (int id : ids) {
+                FoodItem item = byId.get(id);
+                if (item != null) resolved[n++] = item;
+            }
+            if (n < resolved.length) resolved = Arrays.copyOf(resolved, n);
+            // A write during the scan invalidated it already: serve this result, but do not keep it
+            if (version == orderVersion) {
+                order = resolved;
+                orderMode = mode;
+            }
+            return resolved;
+        }
+    }
+
+    /*
+     * Function: pick
+     * Purpose: Walk the order (backwards when descending) keeping matching rows; subset rows the order
+     *          does not know yet go last, in their given order
+     */
+    private static List<FoodItem> pick(FoodItem[] order, List<FoodItem> subset, String query, boolean ascending) {
+        String q = normalizeQuery(query);
+        Map<Integer, FoodItem> wanted = null;
+        if (subset != null) {
+            wanted = new LinkedHashMap<>(subset.size() * 2);
+            for (FoodItem item : subset) wanted.put(item.getId(), item);
+        }
+        List<FoodItem> result = new ArrayList<>(subset != null ? subset.size() : order.length);
+        for (int i = 0; i < order.length; i++) {
+            FoodItem item = order[ascending ? i : order.length - 1 - i];
+            if (wanted != null) {
+                if (wanted.isEmpty()) break;
+                // Subset rows may be fresher copies than the cached ones; deliver those
+                item = wanted.remove(item.getId());
+                if (item == null) continue;
+            }
+            if (nameMatches(item, q)) result.add(item);
+        }
+        if (wanted != null) {
+            for (FoodItem item : wanted.values()) {
+                if (nameMatches(item, q)) result.add(item);
+            }
+        }
+        return result;
+    }
+
+    // Caller holds the lock
+    private void invalidateOrder() {
+        order = null;
+        orderVersion++;
+    }
+
+    /*
+     * Function: fuzzySearch
+     * Purpose: Deliver cached items whose name or category is trigram-similar to the query (so
+     *          "yoghurt" finds "yogurt"), most similar first, then by time left in the chosen order.
+     *          With the index built this searches it at once; otherwise the index is built on the
+     *          disk executor first. No database access beyond priming a cold cache.
+     */
+    public void fuzzySearch(String query, boolean ascending, Callback<List<FoodItem>> callback) {
+        List<TrigramIndex.Hit<FoodItem>> hits = null;
+        synchronized (this) {
+            if (fuzzyIndex != null) hits = fuzzyIndex.search(query, FUZZY_MIN_SIMILARITY);
+        }
+        if (hits != null) {
+            List<FoodItem> result = rankBySimilarity(hits, ascending);
+            main.execute(() -> callback.onResult(result));
+            return;
+        }
+        io.execute(() -> {
+            buildFuzzyIndex();
+            List<TrigramIndex.Hit<FoodItem>> built;
+            synchronized (this) {
+                // Still null only if the owner was switched during the build
+                built = fuzzyIndex == null ? Collections.emptyList() : fuzzyIndex.search(query, FUZZY_MIN_SIMILARITY);
+            }
+            List<FoodItem> result = rankBySimilarity(built, ascending);
+            main.execute(() -> callback.onResult(result));
+        });
+    }
+
+    /*
+     * Function: warmFuzzyIndex
+     * Purpose: Build the trigram index on the disk executor ahead of the first fuzzy query
+     *          (fuzzy mode switched on or restored); a no-op while the index is current
+     */
+    public void warmFuzzyIndex() {
+        io.execute(this::buildFuzzyIndex);
+    }
+
+    /*
+     * Function: buildFuzzyIndex
+     * Purpose: Index a snapshot of the cache outside the lock so the main thread never waits on the
+     *          build; a write that lands meanwhile discards it and the build starts over. Call on
+     *          the disk executor.
+     */
+    private void buildFuzzyIndex() {
+        boolean cold;
+        synchronized (this) {
+            cold = cache == null;
+        }
+        if (cold) prime();
+        while (true) {
+            List<FoodItem> snapshot;
+            int version;
+            synchronized (this) {
+                if (fuzzyIndex != null || cache == null) return;
+                snapshot = new ArrayList<>(cache);
+                version = orderVersion;
+            }
+            TrigramIndex<FoodItem> built = new TrigramIndex<>();
+            for (FoodItem item : snapshot) built.put(item.getId(), item, item.getName(), item.getCategory());
+            synchronized (this) {
+                // Every cache write bumps orderVersion, so an unchanged version means nothing was missed
+                if (version == orderVersion) {
+                    if (fuzzyIndex == null) fuzzyIndex = built;
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * Function: fuzzyFilter
+     * Purpose: Fuzzy-match a small result list (such as a range query) the way fuzzySearch matches
+     *          the cache, using a throwaway index
+     */
+    public static List<FoodItem> fuzzyFilter(List<FoodItem> items, String query, boolean ascending) {
+        TrigramIndex<FoodItem> index = new TrigramIndex<>();
+        for (FoodItem item : items) index.put(item.getId(), item, item.getName(), item.getCategory());
+        return rankBySimilarity(index.search(query, FUZZY_MIN_SIMILARITY), ascending);
+    }
+
+    /*
+     * Function: rankBySimilarity
+     * Purpose: Order hits by similarity (highest first), then time left until expiry in the chosen order.
+     *          Each distinct expiry string is parsed once, not per comparison.
+     */
+    private static List<FoodItem> rankBySimilarity(List<TrigramIndex.Hit<FoodItem>> hits, boolean ascending) {
+        long now = System.currentTimeMillis();
+        Map<String, Long> timeLeft = new HashMap<>();
+        List<Ranked> ranked = new ArrayList<>(hits.size());
+        for (TrigramIndex.Hit<FoodItem> hit : hits) {
+            String expiry = hit.getValue().getExpiryDate();
+            Long left = timeLeft.get(expiry);
+            if (left == null) timeLeft.put(expiry, left = ExpiryDates.timeLeftMillis(expiry, now));
+            ranked.add(new Ranked(hit.getValue(), hit.getSimilarity(), left));
+        }
+        Collections.sort(ranked, (a, b) -> {
+            int simCmp = Float.compare(b.similarity, a.similarity);
+            if (simCmp != 0) return simCmp;
+            return ascending ? Long.compare(a.timeLeft, b.timeLeft) : Long.compare(b.timeLeft, a.timeLeft);
+        });
+        List<FoodItem> result = new ArrayList<>(ranked.size());
+        for (Ranked r : ranked) result.add(r.item);
+        return result;
+    }
+
+    private static final class Ranked {
+        final FoodItem item;
+        final float similarity;
+        final long timeLeft;
+
+        Ranked(FoodItem item, float similarity, long timeLeft) {
+            this.item = item;
+            this.similarity = similarity;
+            this.timeLeft = timeLeft;
+        }
+    }
+
+    // Caller holds the lock and has checked fuzzyIndex != null
+    private void index(FoodItem item) {
+        fuzzyIndex.put(item.getId(), item, item.getName(), item.getCategory());
+    }
+
+    /*
+     * Function: openCursor
+     * Purpose: Open an item cursor (see DatabaseHelper.openFoodCursor) on the disk executor and hand
+     *          it over on the main thread; the receiver owns it and must close it
+     */
+    public void openCursor(String nameQuery, long[] range, SortMode mode, boolean ascending, Callback<Cursor> callback) {
+        io.execute(() -> {
+            Cursor cursor = dbHelper.openFoodCursor(nameQuery, range, mode, ascending);
+            main.execute(() -> callback.onResult(cursor));
+        });
+    }
+
+    /*
+     * Function: loadExpiring
+     * Purpose: Deliver up to RANGE_LIMIT items expiring in [startMillis, endMillis), soonest first,
+     *          read with an index range query rather than by parsing every cached date
+     */
+    public void loadExpiring(long startMillis, long endMillis, Callback<List<FoodItem>> callback) {
+        io.execute(() -> {
+            List<FoodItem> items = dbHelper.getFoodExpiringBetween(startMillis, endMillis, RANGE_LIMIT);
+            main.execute(() -> callback.onResult(items));
+        });
+    }
+
+    /*
+     * Function: countExpiring
+     * Purpose: Count items in each [ranges[i][0], ranges[i][1]) range in one background hop
+     */
+    public void countExpiring(long[][] ranges, Callback<int[]> callback) {
+        io.execute(() -> {
+            int[] counts = new int[ranges.length];
+            for (int i = 0; i < ranges.length; i++) {
+                counts[i] = dbHelper.countFoodExpiringBetween(ranges[i][0], ranges[i][1]);
+            }
+            main.execute(() -> callback.onResult(counts));
+        });
+    }
+
+    /*
+     * Function: setSummaryListener
+     * Purpose: Register (or clear with null) the receiver of live dashboard counts
+     */
+    public void setSummaryListener(Callback<FoodSummary> listener) {
+        summaryListener = listener;
+    }
+
+    /*
+     * Function: refreshSummary
+     * Purpose: Move items that crossed a day threshold into their new bucket, then publish counts
+     */
+    public void refreshSummary() {
+        io.execute(() -> {
+            dbHelper.rebucket(System.currentTimeMillis());
+            publishSummary();
+        });
+    }
+
+    /*
+     * Function: publishSummary
+     * Purpose: Read the trigger-maintained aggregates and deliver them; call on the disk executor
+     */
+    private void publishSummary() {
+        Callback<FoodSummary> listener = summaryListener;
+        if (listener == null) return;
+        FoodSummary summary = dbHelper.getSummary();
+        main.execute(() -> listener.onResult(summary));
+    }
+
+    /*
+     * Function: getCategories
+     * Purpose: Category catalog as last loaded; safe on the main thread (EMPTY before the first load)
+     */
+    public CategoryCatalog getCategories() {
+        return dbHelper.getLoadedCategories();
+    }
+
+    /*
+     * Function: add
+     * Purpose: Insert in the background, append to the cache and report the new row id (-1 on failure)
+     */
+    public void add(FoodItem item, Callback<Long> callback) {
+        io.execute(() -> {
+            long id = dbHelper.addFood(item);
+            if (id > 0) {
+                item.setId((int) id);
+                synchronized (this) {
+                    if (cache != null) cache.add(item);
+                    if (fuzzyIndex != null) index(item);
+                    invalidateOrder();
+                }
+                publishSummary();
+            }
+            main.execute(() -> callback.onResult(id));
+        });
+    }
+
+    /*
+     * Function: update
+     * Purpose: Persist a partial update in the background, then apply it to the cached item on the main thread
+     *          (under the lock, since background deltas and ordering read the same instances)
+     */
+    public void update(FoodItem item, FoodPatch patch, Callback<Boolean> callback) {
+        final int id = item.getId();
+        io.execute(() -> {
+            boolean ok = dbHelper.updateFood(id, patch);
+            if (ok && (patch.changesExpiry() || patch.getCategory() != null)) publishSummary();
+            CategoryCatalog categories = dbHelper.getCategories();
+            main.execute(() -> {
+                if (ok) {
+                    synchronized (this) {
+                        patch.applyTo(item);
+                        if (patch.getCategory() != null) categories.resolve(item);
+                        // Only the cached instance is indexed; copies (range results) catch up on refresh
+                        boolean renamed = patch.getName() != null || patch.getCategory() != null;
+                        if (renamed && fuzzyIndex != null && fuzzyIndex.get(id) == item) index(item);
+                        invalidateOrder();
+                    }
+                }
+                callback.onResult(ok);
+            });
+        });
+    }
+
+    /*
+     * Function: consume
+     * Purpose: Decrement quantity in the background and mirror it on the cached item
+     */
+    public void consume(FoodItem item, int amount, Callback<Boolean> callback) {
+        final int id = item.getId();
+        io.execute(() -> {
+            boolean ok = dbHelper.consumeFood(id, amount);
+            main.execute(() -> {
+                if (ok) {
+                    synchronized (this) {
+                        item.setQuantity(Math.max(item.getQuantity() - amount, 0));
+                        invalidateOrder();
+                    }
+                }
+                callback.onResult(ok);
+            });
+        });
+    }
+
+    /*
+     * Function: delete
+     * Purpose: Drop from the cache immediately and delete the row in the background
+     */
+    public void delete(FoodItem item) {
+        synchronized (this) {
+            if (cache != null) cache.remove(item);
+            if (fuzzyIndex != null) fuzzyIndex.remove(item.getId());
+            invalidateOrder();
+        }
+        final int id = item.getId();
+        io.execute(() -> {
+            dbHelper.deleteFood(id);
+            publishSummary();
+        });
+    }
+
+    /*
+     * Function: seed
+     * Purpose: Bulk-insert count synthetic items from a fixed seed, then reload the cache
+     */
+    public void seed(int count, long seed, Callback<Integer> callback) {
+        io.execute(() -> {
+            long before = dbHelper.getLatestChangeSeq();
+            int inserted = dbHelper.addFoodBulk(new SyntheticInventory(seed, System.currentTimeMillis(), count));
+            // Load-test rows are not meant to reach change consumers such as reminder scheduling
+            dbHelper.skipChanges(before, dbHelper.getLatestChangeSeq());
+            prime();
+            publishSummary();
+            main.execute(() -> callback.onResult(inserted));
+        });
+    }
+
+    /*
+     * Function: isWholeInventory
+     * Purpose: True when items include every cached item (bulk delete of everything); asked only
+     *          after an explicit select-all, so the id pass is rare
+     */
+    public synchronized boolean isWholeInventory(Collection<FoodItem> items) {
+        if (cache == null || items.size() < cache.size()) return false;
+        Set<Integer> ids = new HashSet<>(items.size() * 2);
+        for (FoodItem item : items) ids.add(item.getId());
+        for (FoodItem f : cache) {
+            if (!ids.contains(f.getId())) return false;
+        }
+        return true;
+    }
+
+    /*
+     * Function: deleteAll
+     * Purpose: Drop many items from the cache at once and delete them in one background transaction
+     * Returns: ids of the removed items
+     */
+    public int[] deleteAll(Collection<FoodItem> items) {
+        final int[] ids = new int[items.size()];
+        Set<Integer> idSet = new HashSet<>(items.size() * 2);
+        int i = 0;
+        for (FoodItem item : items) {
+            ids[i++] = item.getId();
+            idSet.add(item.getId());
+        }
+        synchronized (this) {
+            if (cache != null) {
+                List<FoodItem> kept = new ArrayList<>(Math.max(0, cache.size() - ids.length));
+                for (FoodItem f : cache) {
+                    if (!idSet.contains(f.getId())) kept.add(f);
+                }
+                cache = kept;
+            }
+            if (fuzzyIndex != null) {
+                for (int id : ids) fuzzyIndex.remove(id);
+            }
+            invalidateOrder();
+        }
+        io.execute(() -> {
+            dbHelper.deleteFoods(ids);
+            publishSummary();
+        });
+        return ids;
+    }
+
+    /*
+     * Function: clearAll
+     * Purpose: Wipe app tables in the background and empty the cache
+     */
+    public void clearAll(Runnable done) {
+        io.execute(() -> {
+            dbHelper.clearAllData();
+            synchronized (this) {
+                cache = new ArrayList<>();
+                fuzzyIndex = null;
+                invalidateOrder();
+            }
+            publishSummary();
+            main.execute(done);
+        });
+    }
+
+    /*
+     * Function: backup
+     * Purpose: Write a binary snapshot to the document at uri; reports food rows written (-1 on failure)
+     */
+    public void backup(ContentResolver resolver, Uri uri, boolean includeUsers, Callback<Integer> callback) {
+        io.execute(() -> {
+            int rows;
+            try {
+                rows = SnapshotFiles.backup(resolver, uri, dbHelper, includeUsers);
+            } catch (Exception e) {
+                Log.e("InventoryRepository", "backup failed", e);
+                rows = -1;
+            }
+            final int result = rows;
+            main.execute(() -> callback.onResult(result));
+        });
+    }
+
+    /*
+     * Function: restore
+     * Purpose: Replace the inventory from a binary snapshot and reload the cache (-1 on failure)
+     */
+    public void restore(ContentResolver resolver, Uri uri, Callback<Integer> callback) {
+        io.execute(() -> {
+            int rows;
+            try {
+                rows = SnapshotFiles.restore(resolver, uri, dbHelper);
+                prime();
+                publishSummary();
+            } catch (Exception e) {
+                Log.e("InventoryRepository", "restore failed", e);
+                rows = -1;
+            }
+            final int result = rows;
+            main.execute(() -> callback.onResult(result));
+        });
+    }
+
+    private synchronized List<FoodItem> snapshot() {
+        return cache == null ? null : new ArrayList<>(cache);
+    }
+}
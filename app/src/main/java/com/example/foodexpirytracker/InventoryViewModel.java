@@ -0,0 +1,79 @@
+package com.example.foodexpirytracker;
+
+import android.view.View;
+
+import androidx.lifecycle.SavedStateHandle;
+import androidx.lifecycle.ViewModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Function: InventoryViewModel
+ * Purpose: MainActivity's list state, retained across configuration changes. The visible rows are
+ *          kept in memory so a rotation or theme switch redraws them without touching the database;
+ *          query, sort order, range chip and search mode also go to SavedStateHandle so they survive process death,
+ *          where the rows themselves are reloaded.
+ */
+public class InventoryViewModel extends ViewModel {
+    private static final String KEY_QUERY = "query";
+    private static final String KEY_SORT_ASCENDING = "sort_ascending";
+    private static final String KEY_RANGE_CHIP = "range_chip";
+    private static final String KEY_FUZZY = "fuzzy";
+
+    private final SavedStateHandle state;
+    // Rows currently shown (filtered and sorted); the adapter of each new activity binds this list
+    private final List<FoodItem> items = new ArrayList<>();
+    private boolean loaded;
+
+    /*
+     * Function: InventoryViewModel constructor
+     * Purpose: Created by the default factory with the activity's saved state
+     */
+    public InventoryViewModel(SavedStateHandle state) {
+        this.state = state;
+    }
+
+    /* Function: getItems | Purpose: Return the retained visible rows (mutable, owned by the activity) */
+    public List<FoodItem> getItems() { return items; }
+    /* Function: isLoaded | Purpose: Whether items were filled by this instance (false after process death) */
+    public boolean isLoaded() { return loaded; }
+    /* Function: markLoaded | Purpose: Record that items hold a loaded result */
+    public void markLoaded() { loaded = true; }
+
+    /* Function: getQuery | Purpose: Return the search query ("" when none) */
+    public String getQuery() {
+        String query = state.get(KEY_QUERY);
+        return query == null ? "" : query;
+    }
+
+    /* Function: setQuery | Purpose: Store the search query */
+    public void setQuery(String query) { state.set(KEY_QUERY, query == null ? "" : query); }
+
+    /* Function: isSortAscending | Purpose: Return whether soonest expiry sorts first (default true) */
+    public boolean isSortAscending() {
+        Boolean ascending = state.get(KEY_SORT_ASCENDING);
+        return ascending == null || ascending;
+    }
+
+    /* Function: setSortAscending | Purpose: Store the sort order */
+    public void setSortAscending(boolean ascending) { state.set(KEY_SORT_ASCENDING, ascending); }
+
+    /* Function: getRangeChip | Purpose: Return the checked range chip id, or View.NO_ID */
+    public int getRangeChip() {
+        Integer chip = state.get(KEY_RANGE_CHIP);
+        return chip == null ? View.NO_ID : chip;
+    }
+
+    /* Function: setRangeChip | Purpose: Store the checked range chip id */
+    public void setRangeChip(int chip) { state.set(KEY_RANGE_CHIP, chip); }
+
+    /* Function: isFuzzy | Purpose: Return whether the query is matched by trigram similarity (default false) */
+    public boolean isFuzzy() {
+        Boolean fuzzy = state.get(KEY_FUZZY);
+        return fuzzy != null && fuzzy;
+    }
+
+    /* Function: setFuzzy | Purpose: Store the search mode */
+    public void setFuzzy(boolean fuzzy) { state.set(KEY_FUZZY, fuzzy); }
+}
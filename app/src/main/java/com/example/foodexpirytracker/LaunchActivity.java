@@ -0,0 +1,40 @@
+package com.example.foodexpirytracker;
+
+import android.app.Activity;
+import android.content.Intent;
+import android.os.Bundle;
+
+import com.example.foodexpirytracker.auth.StartupRouter;
+
+/*
+ * Function: LaunchActivity
+ * Purpose: UI-less launcher that routes cold starts using the cached auth session
+ */
+public class LaunchActivity extends Activity {
+
+    /*
+     * Function: onCreate
+     * Purpose: Jump straight to MainActivity for a cached verified user, otherwise to login/register
+     */
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        FoodExpiryApp app = (FoodExpiryApp) getApplication();
+        StartupRouter.Route route = app.getStartupRouter().route();
+
+        Intent intent;
+        if (route == StartupRouter.Route.MAIN) {
+            intent = new Intent(this, MainActivity.class);
+            intent.putExtra(StartupTiming.EXTRA_PATH, StartupTiming.PATH_FAST);
+        } else if (route == StartupRouter.Route.LOGIN) {
+            intent = new Intent(this, LoginActivity.class);
+        } else {
+            intent = new Intent(this, RegisterActivity.class);
+        }
+        // Propagate optional clearDb extra for maintenance runs
+        boolean clearDb = getIntent() != null && getIntent().getBooleanExtra("clearDb", false);
+        intent.putExtra("clearDb", clearDb);
+        startActivity(intent);
+        finish();
+    }
+}
@@ -17,6 +17,7 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
+import com.example.foodexpirytracker.notifications.ReminderScheduler;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthInvalidCredentialsException;
 import com.google.firebase.auth.FirebaseAuthInvalidUserException;
@@ -72,8 +73,10 @@ public class LoginActivity extends AppCompatActivity {
                     return;
                 }
 
+                StartupTiming.markSignInStarted();
                 auth.signInWithEmailAndPassword(email, password)
                         .addOnCompleteListener(task -> {
+                            StartupTiming.markSignInFinished();
                             if (task.isSuccessful()) {
                                 FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
                                 if (user != null) {
@@ -104,15 +107,20 @@ public class LoginActivity extends AppCompatActivity {
                                                     .remove("force_reverify_" + email)
                                                     .apply();
                                             FirebaseAuth.getInstance().signOut();
+                                            ((FoodExpiryApp) getApplication()).onSignedOut();
                                         });
                                         Toast.makeText(LoginActivity.this, R.string.email_not_verified, Toast.LENGTH_SHORT).show();
                                         return; // Skip normal verified/unverified handling
                                     }
                                     if (user.isEmailVerified()) {
+                                        // Switching accounts drops the previous owner's reminders in one call
+                                        ReminderScheduler.onOwnerChanged(getApplicationContext(), user.getUid());
+                                        InventoryRepository.getInstance(LoginActivity.this).switchOwner(user.getUid());
                                         Intent intent = new Intent(LoginActivity.this, MainActivity.class);
                                         // Propagate optional clearDb extra to MainActivity
                                         boolean clearDb = getIntent() != null && getIntent().getBooleanExtra("clearDb", false);
                                         intent.putExtra("clearDb", clearDb);
+                                        intent.putExtra(StartupTiming.EXTRA_PATH, StartupTiming.PATH_LOGIN);
                                         startActivity(intent);
                                         finish();
                                     } else {
@@ -136,6 +144,7 @@ public class LoginActivity extends AppCompatActivity {
                                             }
                                             // Sign out so user must verify before accessing app
                                             FirebaseAuth.getInstance().signOut();
+                                            ((FoodExpiryApp) getApplication()).onSignedOut();
                                         });
                                         Toast.makeText(LoginActivity.this, R.string.email_not_verified, Toast.LENGTH_SHORT).show();
                                     }
@@ -231,6 +240,7 @@ public class LoginActivity extends AppCompatActivity {
                                 }
                             }
                             FirebaseAuth.getInstance().signOut();
+                            ((FoodExpiryApp) getApplication()).onSignedOut();
                         } else {
                             Toast.makeText(LoginActivity.this, R.string.wrong_account_or_password, Toast.LENGTH_SHORT).show();
                         }
@@ -1,43 +1,55 @@
 package com.example.foodexpirytracker;
 
 import android.app.DatePickerDialog;
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
 import android.os.Bundle;
 import android.view.LayoutInflater;
+import android.view.Menu;
+import android.view.MenuItem;
 import android.util.Log;
 import android.view.View;
+import android.widget.ArrayAdapter;
+import android.widget.AutoCompleteTextView;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.ProgressBar;
+import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.activity.EdgeToEdge;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.appcompat.view.ActionMode;
 import androidx.core.graphics.Insets;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.WindowInsetsCompat;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.google.android.material.chip.Chip;
+import com.google.android.material.chip.ChipGroup;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 
 import android.os.Build;
 import android.Manifest;
 import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
-import androidx.work.Data;
-import androidx.work.OneTimeWorkRequest;
-import androidx.work.WorkManager;
-import androidx.work.ExistingWorkPolicy;
-import com.example.foodexpirytracker.notifications.ExpiryNotifierWorker;
-import com.example.foodexpirytracker.notifications.ExpiredNotifierWorker;
+import com.example.foodexpirytracker.backup.SnapshotFiles;
+import com.example.foodexpirytracker.notifications.ReminderChangeConsumer;
+import com.example.foodexpirytracker.notifications.ReminderScheduler;
+import com.example.foodexpirytracker.metrics.Metrics;
 import androidx.appcompat.widget.SearchView;
 
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 /*
  * Function: MainActivity
@@ -46,10 +58,35 @@ import java.util.Locale;
 public class MainActivity extends AppCompatActivity {
     private RecyclerView recyclerView;
     private FoodListAdapter foodListAdapter;
-    private DatabaseHelper dbHelper;
+    // Debug low-heap mode: rows bound straight from a cursor instead of foodItemList; null otherwise
+    private FoodCursorAdapter cursorAdapter;
+    private InventoryRepository repository;
+    // Retained across configuration changes; foodItemList is its item list
+    private InventoryViewModel viewModel;
     private List<FoodItem> foodItemList;
-    private boolean sortAscendingByTimeLeft = true;
-    private String currentQuery = "";
+    // Persisted across launches; the direction lives in the view model
+    private SortMode sortMode;
+    private ActionMode selectionMode;
+    private InventoryExporter exporter;
+    // Minute-aligned countdown refresh for visible rows; runs only while the activity is started
+    private final ExpiryTicker countdownTicker = new ExpiryTicker(this::onCountdownTick);
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int[] RANGE_CHIPS = {R.id.chipExpired, R.id.chipToday, R.id.chip3Days, R.id.chip7Days};
+    private static final int[] RANGE_LABELS = {R.string.range_expired, R.string.range_today,
+            R.string.range_3_days, R.string.range_7_days};
+
+    // One launcher per format: CreateDocument fixes the MIME type at registration
+    private final ActivityResultLauncher<String> exportCsvLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(InventoryExporter.Format.CSV.getMimeType()),
+            uri -> startExport(uri, InventoryExporter.Format.CSV));
+    private final ActivityResultLauncher<String> exportJsonLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(InventoryExporter.Format.JSON.getMimeType()),
+            uri -> startExport(uri, InventoryExporter.Format.JSON));
+    private final ActivityResultLauncher<String> backupLauncher = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(SnapshotFiles.MIME_TYPE), this::startBackup);
+    private final ActivityResultLauncher<String[]> restoreLauncher = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::confirmRestore);
 
     /*
      * Function: onCreate
@@ -66,11 +103,16 @@ public class MainActivity extends AppCompatActivity {
             return insets;
         });
 
-        // Initialize database helper
+        // Rows survive rotation in the view model; query, sort and range also survive process death
+        viewModel = new ViewModelProvider(this).get(InventoryViewModel.class);
+        foodItemList = viewModel.getItems();
+        sortMode = SortMode.load(this);
+
+        // Initialize inventory repository (database work runs on the disk executor)
         try {
-            dbHelper = new DatabaseHelper(this);
+            repository = InventoryRepository.getInstance(this);
         } catch (Exception e) {
-            Log.e("MainActivity", "DatabaseHelper initialization failed", e);
+            Log.e("MainActivity", "InventoryRepository initialization failed", e);
             Toast.makeText(this, "DB init failed: " + (e.getMessage() == null ? e.toString() : e.getMessage()), Toast.LENGTH_LONG).show();
             return;
         }
@@ -98,26 +140,53 @@ public class MainActivity extends AppCompatActivity {
             return;
         }
 
-        // Load food items from database
-        try {
-            loadFoodItems();
-        } catch (Exception e) {
-            Log.e("MainActivity", "loadFoodItems crashed", e);
-            Toast.makeText(this, "Failed to load items: " + (e.getMessage() == null ? e.toString() : e.getMessage()), Toast.LENGTH_LONG).show();
+        // Adapter binds the retained rows; a fresh view model starts empty and items arrive
+        // from the repository on the main thread
+        foodListAdapter = new FoodListAdapter(this, foodItemList, repository);
+        foodListAdapter.setSelectionListener(this::onSelectionChanged);
+        recyclerView.setAdapter(foodListAdapter);
+        // Debug only: --ez cursorList true (no selection mode or in-memory sort in this mode)
+        if (isDebuggable() && getIntent() != null && getIntent().getBooleanExtra("cursorList", false)) {
+            cursorAdapter = new FoodCursorAdapter(this, repository);
+            cursorAdapter.setItemClickListener(this::showEditFoodDialog);
+            recyclerView.setAdapter(cursorAdapter);
         }
 
-        // Optional: handle intent extra to clear database for maintenance
+        // Restored fuzzy mode: build the index in the background before the first query needs it
+        if (viewModel.isFuzzy() && cursorAdapter == null) repository.warmFuzzyIndex();
+
+        // Optional: handle intent extra to clear database for maintenance, then load
         try {
             boolean clearDb = getIntent() != null && getIntent().getBooleanExtra("clearDb", false);
-            if (clearDb) {
-                dbHelper.clearAllData();
-                Toast.makeText(this, "Database cleared", Toast.LENGTH_SHORT).show();
-                // Refresh UI state
-                applyFilter("");
+            int seedItems = isDebuggable() && getIntent() != null ? getIntent().getIntExtra("seedItems", 0) : 0;
+            if (clearDb && savedInstanceState == null) {
+                ReminderScheduler.cancelAllForOwner(getApplicationContext());
+                repository.clearAll(() -> {
+                    Toast.makeText(this, "Database cleared", Toast.LENGTH_SHORT).show();
+                    loadFoodItems(true);
+                });
+            } else if (seedItems > 0 && savedInstanceState == null) {
+                // Debug only: adb shell am start -n <pkg>/.MainActivity --ei seedItems 10000 --el seed 42
+                long seed = getIntent().getLongExtra("seed", 42L);
+                // Register the reminder cursor at the log head first (the disk executor is serial) so
+                // the seed's skipChanges moves it past the new rows instead of a first full pass
+                // later scheduling every one of them
+                catchUpReminders();
+                repository.seed(seedItems, seed, inserted -> {
+                    Toast.makeText(this, "Seeded " + inserted + " items", Toast.LENGTH_SHORT).show();
+                    // Seeded rows are for load testing; do not enqueue reminders for each of them
+                    loadFoodItems(false);
+                });
+            } else if (viewModel.isLoaded() && cursorAdapter == null) {
+                // Configuration change: the retained rows are already bound; no reread, no reminder catch-up
+                updateEmptyState();
+            } else {
+                // First launch, or restore after process death (query/sort/range come from saved state)
+                loadFoodItems(savedInstanceState == null);
             }
         } catch (Exception e) {
-            Log.e("MainActivity", "clearDb extra handling failed", e);
-            Toast.makeText(this, "Failed to clear DB: " + (e.getMessage() == null ? e.toString() : e.getMessage()), Toast.LENGTH_LONG).show();
+            Log.e("MainActivity", "loadFoodItems crashed", e);
+            Toast.makeText(this, "Failed to load items: " + (e.getMessage() == null ? e.toString() : e.getMessage()), Toast.LENGTH_LONG).show();
         }
 
         // Set up FAB for adding new food items
@@ -127,6 +196,24 @@ public class MainActivity extends AppCompatActivity {
         FloatingActionButton fabSort = findViewById(R.id.fabSort);
         fabSort.setOnClickListener(v -> toggleSort());
 
+        // Hidden entry point: long-press the header title to open diagnostics
+        findViewById(R.id.appTitle).setOnLongClickListener(v -> {
+            startActivity(new Intent(this, DiagnosticsActivity.class));
+            return true;
+        });
+
+        // Header counts stay live: the repository publishes them after every write
+        repository.setSummaryListener(this::showSummary);
+
+        ChipGroup rangeChips = findViewById(R.id.rangeChips);
+        rangeChips.setOnCheckedStateChangeListener((group, checkedIds) -> {
+            int chip = checkedIds.isEmpty() ? View.NO_ID : checkedIds.get(0);
+            // View-state restore after rotation re-checks the retained chip; nothing to reload then
+            if (chip == viewModel.getRangeChip()) return;
+            viewModel.setRangeChip(chip);
+            applyFilter(viewModel.getQuery());
+        });
+
         SearchView searchView = findViewById(R.id.searchView);
         searchView.setOnQueryTextListener(new SearchView.OnQueryTextListener() {
             @Override
@@ -136,36 +223,403 @@ public class MainActivity extends AppCompatActivity {
             }
             @Override
             public boolean onQueryTextChange(String newText) {
+                // Restored search text after rotation matches the retained query
+                if (newText.equals(viewModel.getQuery())) return true;
                 applyFilter(newText);
                 return true;
             }
         });
+
+        // Startup instrumentation and background session check for the fast path
+        String startupPath = getIntent() != null ? getIntent().getStringExtra(StartupTiming.EXTRA_PATH) : null;
+        if (savedInstanceState == null && startupPath != null) {
+            findViewById(R.id.main).post(() -> StartupTiming.markFirstFrame(getApplicationContext(), startupPath));
+            if (StartupTiming.PATH_FAST.equals(startupPath)) {
+                revalidateSession();
+            }
+        }
+    }
+
+    /*
+     * Function: onResume
+     * Purpose: Rebucket items that crossed a day threshold, refresh header counts and fold in outside changes
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        if (repository == null) return;
+        repository.refreshSummary();
+        // Pick up rows changed outside this screen (workers, restore) as deltas, not a rescan
+        repository.refresh(changed -> {
+            if (changed && !isDestroyed()) applyFilter(viewModel.getQuery());
+        });
+    }
+
+    /*
+     * Function: onStart
+     * Purpose: Resume the countdown ticker
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (foodListAdapter != null) countdownTicker.start();
+    }
+
+    /*
+     * Function: onStop
+     * Purpose: Pause the countdown ticker while nothing is visible
+     */
+    @Override
+    protected void onStop() {
+        countdownTicker.stop();
+        super.onStop();
+    }
+
+    /*
+     * Function: onCountdownTick
+     * Purpose: Refresh countdown text of the rows on screen only
+     */
+    private void onCountdownTick(long now) {
+        LinearLayoutManager layout = (LinearLayoutManager) recyclerView.getLayoutManager();
+        if (layout == null) return;
+        if (cursorAdapter != null) {
+            cursorAdapter.tickCountdowns(layout.findFirstVisibleItemPosition(), layout.findLastVisibleItemPosition());
+            return;
+        }
+        foodListAdapter.tickCountdowns(layout.findFirstVisibleItemPosition(),
+                layout.findLastVisibleItemPosition(), now);
+    }
+
+    /*
+     * Function: onDestroy
+     * Purpose: Stop receiving summary updates
+     */
+    @Override
+    protected void onDestroy() {
+        if (repository != null) repository.setSummaryListener(null);
+        if (cursorAdapter != null) cursorAdapter.close();
+        super.onDestroy();
+    }
+
+    /*
+     * Function: showSummary
+     * Purpose: Render urgency bucket counts and the largest categories in the header
+     */
+    private void showSummary(FoodSummary summary) {
+        updateRangeCounts();
+        TextView tvSummary = findViewById(R.id.tvSummary);
+        if (tvSummary == null) return;
+        if (summary.getTotal() == 0) {
+            tvSummary.setVisibility(View.GONE);
+            return;
+        }
+        StringBuilder text = new StringBuilder(getString(R.string.summary_buckets,
+                summary.getBucketCount(FoodSummary.BUCKET_EXPIRED),
+                summary.getBucketCount(FoodSummary.BUCKET_TODAY),
+                summary.getBucketCount(FoodSummary.BUCKET_SOON),
+                summary.getBucketCount(FoodSummary.BUCKET_LATER)));
+        int shown = 0;
+        for (Map.Entry<String, Integer> e : summary.getCategoryCounts().entrySet()) {
+            if (shown == 3) break;
+            text.append(shown == 0 ? "\n" : " · ");
+            String category = e.getKey().isEmpty() ? getString(R.string.summary_uncategorized) : e.getKey();
+            text.append(category).append(' ').append(e.getValue());
+            shown++;
+        }
+        tvSummary.setText(text);
+        tvSummary.setVisibility(View.VISIBLE);
+    }
+
+    /*
+     * Function: rangeFor
+     * Purpose: Expiry window [start, end) for a range chip: expired is everything before now, today
+     *          runs to local midnight, the others are rolling windows from now
+     * Returns: {start, end} or null when no range chip is checked
+     */
+    private static long[] rangeFor(int chipId, long now) {
+        if (chipId == R.id.chipExpired) return new long[]{Long.MIN_VALUE, now};
+        if (chipId == R.id.chipToday) {
+            Calendar midnight = Calendar.getInstance();
+            midnight.setTimeInMillis(now);
+            midnight.set(Calendar.HOUR_OF_DAY, 0);
+            midnight.set(Calendar.MINUTE, 0);
+            midnight.set(Calendar.SECOND, 0);
+            midnight.set(Calendar.MILLISECOND, 0);
+            midnight.add(Calendar.DAY_OF_MONTH, 1);
+            return new long[]{now, midnight.getTimeInMillis()};
+        }
+        if (chipId == R.id.chip3Days) return new long[]{now, now + 3 * DAY_MILLIS};
+        if (chipId == R.id.chip7Days) return new long[]{now, now + 7 * DAY_MILLIS};
+        return null;
+    }
+
+    /*
+     * Function: updateRangeCounts
+     * Purpose: Show how many items fall in each expiry range on its chip (index-only counts)
+     */
+    private void updateRangeCounts() {
+        long now = System.currentTimeMillis();
+        long[][] ranges = new long[RANGE_CHIPS.length][];
+        for (int i = 0; i < RANGE_CHIPS.length; i++) ranges[i] = rangeFor(RANGE_CHIPS[i], now);
+        repository.countExpiring(ranges, counts -> {
+            if (isDestroyed()) return;
+            for (int i = 0; i < RANGE_CHIPS.length; i++) {
+                Chip chip = findViewById(RANGE_CHIPS[i]);
+                chip.setText(getString(R.string.range_chip_count, getString(RANGE_LABELS[i]), counts[i]));
+            }
+        });
+    }
+
+    /*
+     * Function: isDebuggable
+     * Purpose: Gate maintenance extras such as seedItems to debug builds
+     */
+    private boolean isDebuggable() {
+        return (getApplicationInfo().flags & android.content.pm.ApplicationInfo.FLAG_DEBUGGABLE) != 0;
+    }
+
+    /*
+     * Function: revalidateSession
+     * Purpose: Refresh token and force_reverify_ state in the background; bounce to login only on failure
+     */
+    private void revalidateSession() {
+        ((FoodExpiryApp) getApplication()).getStartupRouter().revalidate(() -> {
+            if (isFinishing() || isDestroyed()) return;
+            Toast.makeText(this, R.string.session_expired, Toast.LENGTH_SHORT).show();
+            Intent intent = new Intent(this, LoginActivity.class);
+            intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
+            startActivity(intent);
+            finish();
+        });
     }
 
     /*
      * Function: loadFoodItems
-     * Purpose: Fetch items from DB, set adapter, update empty state, and schedule reminders
+     * Purpose: Fetch items (warm cache or background read), show them, and optionally schedule reminders
      */
-    private void loadFoodItems() {
-        foodItemList = dbHelper.getAllFood();
-        foodListAdapter = new FoodListAdapter(this, foodItemList, dbHelper);
-        recyclerView.setAdapter(foodListAdapter);
-        
-        // Show empty state view if no items
-        updateEmptyState();
-        
-        // Schedule reminders for existing items
-        for (FoodItem f : foodItemList) {
-            scheduleExpiryReminder(f);
-            scheduleExpiredAlert(f);
+    private void loadFoodItems(boolean scheduleReminders) {
+        if (cursorAdapter != null) {
+            // Cursor mode never materializes the inventory
+            applyFilter(viewModel.getQuery());
+            if (scheduleReminders) catchUpReminders();
+            return;
         }
+        repository.load(items -> {
+            if (isDestroyed()) return;
+            // Filter, sort and refresh empty state
+            applyFilter(viewModel.getQuery());
+            if (!scheduleReminders) return;
+            catchUpReminders();
+        });
+    }
+
+    /*
+     * Function: catchUpReminders
+     * Purpose: Apply food change-log deltas to reminder work in the background
+     */
+    private void catchUpReminders() {
+        final Context app = getApplicationContext();
+        AppExecutors.diskIO().execute(() -> ReminderChangeConsumer.catchUp(app));
     }
     
+    /*
+     * Function: onCreateOptionsMenu
+     * Purpose: Inflate the overflow menu with the search mode toggle and export actions
+     */
+    @Override
+    public boolean onCreateOptionsMenu(Menu menu) {
+        getMenuInflater().inflate(R.menu.menu_main, menu);
+        menu.findItem(R.id.action_fuzzy_search).setChecked(viewModel.isFuzzy());
+        menu.findItem(sortMenuId(sortMode)).setChecked(true);
+        return true;
+    }
+
+    /*
+     * Function: onOptionsItemSelected
+     * Purpose: Toggle the search mode, or ask for a target document for the chosen export format
+     */
+    @Override
+    public boolean onOptionsItemSelected(MenuItem item) {
+        if (item.getItemId() == R.id.action_fuzzy_search) {
+            viewModel.setFuzzy(!item.isChecked());
+            item.setChecked(viewModel.isFuzzy());
+            if (viewModel.isFuzzy() && cursorAdapter == null) repository.warmFuzzyIndex();
+            applyFilter(viewModel.getQuery());
+            return true;
+        }
+        for (SortMode mode : SortMode.values()) {
+            if (item.getItemId() != sortMenuId(mode)) continue;
+            item.setChecked(true);
+            setSortMode(mode);
+            return true;
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmm", Locale.US).format(new java.util.Date());
+        if (item.getItemId() == R.id.action_export_csv) {
+            exportCsvLauncher.launch("food-inventory-" + stamp + "." + InventoryExporter.Format.CSV.getExtension());
+            return true;
+        }
+        if (item.getItemId() == R.id.action_export_json) {
+            exportJsonLauncher.launch("food-inventory-" + stamp + "." + InventoryExporter.Format.JSON.getExtension());
+            return true;
+        }
+        if (item.getItemId() == R.id.action_backup) {
+            backupLauncher.launch("food-inventory-" + stamp + "." + SnapshotFiles.EXTENSION);
+            return true;
+        }
+        if (item.getItemId() == R.id.action_restore) {
+            restoreLauncher.launch(new String[]{"*/*"});
+            return true;
+        }
+        return super.onOptionsItemSelected(item);
+    }
+
+    /*
+     * Function: startBackup
+     * Purpose: Write a binary snapshot of the food table to the picked document
+     */
+    private void startBackup(Uri uri) {
+        if (uri == null) return;
+        repository.backup(getContentResolver(), uri, false, rows -> {
+            if (rows < 0) {
+                Toast.makeText(this, R.string.backup_failed, Toast.LENGTH_LONG).show();
+            } else {
+                Toast.makeText(this, getString(R.string.backup_done, rows), Toast.LENGTH_SHORT).show();
+            }
+        });
+    }
+
+    /*
+     * Function: confirmRestore
+     * Purpose: Confirm, then replace the inventory from the picked snapshot and reschedule reminders
+     */
+    private void confirmRestore(Uri uri) {
+        if (uri == null) return;
+        new AlertDialog.Builder(this)
+                .setTitle(R.string.restore)
+                .setMessage(R.string.restore_confirmation)
+                .setPositiveButton(R.string.restore, (d, w) -> {
+                    ReminderScheduler.cancelAllForOwner(getApplicationContext());
+                    repository.restore(getContentResolver(), uri, rows -> {
+                        if (isDestroyed()) return;
+                        if (rows < 0) {
+                            Toast.makeText(this, R.string.restore_failed, Toast.LENGTH_LONG).show();
+                        } else {
+                            Toast.makeText(this, getString(R.string.restore_done, rows), Toast.LENGTH_SHORT).show();
+                        }
+                        loadFoodItems(true);
+                    });
+                })
+                .setNegativeButton(android.R.string.cancel, null)
+                .show();
+    }
+
+    /*
+     * Function: startExport
+     * Purpose: Stream the inventory to the picked document with a cancellable progress dialog
+     */
+    private void startExport(Uri uri, InventoryExporter.Format format) {
+        if (uri == null) return; // picker dismissed
+        if (exporter == null) {
+            exporter = new InventoryExporter(DatabaseHelper.getInstance(this),
+                    AppExecutors.diskIO(), AppExecutors.mainThread());
+        }
+
+        ProgressBar progressBar = new ProgressBar(this, null, android.R.attr.progressBarStyleHorizontal);
+        progressBar.setIndeterminate(true);
+        int pad = (int) (24 * getResources().getDisplayMetrics().density);
+        progressBar.setPadding(pad, pad, pad, 0);
+        AlertDialog dialog = new AlertDialog.Builder(this)
+                .setTitle(R.string.export_in_progress)
+                .setView(progressBar)
+                .setCancelable(false)
+                .setNegativeButton(android.R.string.cancel, (d, w) -> exporter.cancel())
+                .show();
+
+        exporter.export(getContentResolver(), uri, format, new InventoryExporter.Listener() {
+            @Override
+            public void onProgress(int done, int total) {
+                if (total <= 0) return;
+                progressBar.setIndeterminate(false);
+                progressBar.setMax(total);
+                progressBar.setProgress(done);
+            }
+
+            @Override
+            public void onFinished(int rows) {
+                dialog.dismiss();
+                Toast.makeText(MainActivity.this, getString(R.string.export_done, rows), Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onCancelled() {
+                dialog.dismiss();
+                Toast.makeText(MainActivity.this, R.string.export_cancelled, Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onFailed(Exception e) {
+                dialog.dismiss();
+                Log.e("MainActivity", "export failed", e);
+                Toast.makeText(MainActivity.this, R.string.export_failed, Toast.LENGTH_LONG).show();
+            }
+        });
+    }
+
+    /*
+     * Function: onSelectionChanged
+     * Purpose: Show, update or finish the multi-select action mode
+     */
+    private void onSelectionChanged(int count) {
+        if (count == 0) {
+            if (selectionMode != null) selectionMode.finish();
+            return;
+        }
+        if (selectionMode == null) {
+            selectionMode = startSupportActionMode(selectionCallback);
+        }
+        if (selectionMode != null) {
+            selectionMode.setTitle(getString(R.string.selection_count, count));
+        }
+    }
+
+    private final ActionMode.Callback selectionCallback = new ActionMode.Callback() {
+        @Override
+        public boolean onCreateActionMode(ActionMode mode, Menu menu) {
+            mode.getMenuInflater().inflate(R.menu.menu_selection, menu);
+            return true;
+        }
+
+        @Override
+        public boolean onPrepareActionMode(ActionMode mode, Menu menu) {
+            return false;
+        }
+
+        @Override
+        public boolean onActionItemClicked(ActionMode mode, MenuItem item) {
+            if (item.getItemId() == R.id.action_select_all) {
+                foodListAdapter.selectAll();
+                return true;
+            }
+            if (item.getItemId() == R.id.action_delete_selected) {
+                foodListAdapter.showDeleteDialog(foodListAdapter.getSelectedItems(), mode::finish);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void onDestroyActionMode(ActionMode mode) {
+            selectionMode = null;
+            foodListAdapter.clearSelection();
+        }
+    };
+
     /*
      * Function: updateEmptyState
      * Purpose: Toggle empty-state visibility based on current list content
      */
     public void updateEmptyState() {
+        Metrics.INVENTORY_SIZE.set(foodItemList.size());
         View emptyStateView = findViewById(R.id.emptyStateView);
         if (foodItemList.isEmpty()) {
             emptyStateView.setVisibility(View.VISIBLE);
@@ -176,6 +630,15 @@ public class MainActivity extends AppCompatActivity {
         }
     }
 
+    /*
+     * Function: bindCategorySuggestions
+     * Purpose: Offer existing category names as the user types (catalog already loaded with the inventory)
+     */
+    private void bindCategorySuggestions(AutoCompleteTextView field) {
+        field.setAdapter(new ArrayAdapter<>(this, android.R.layout.simple_dropdown_item_1line,
+                repository.getCategories().getNames()));
+    }
+
     /*
      * Function: showAddFoodDialog
      * Purpose: Collect new item details, validate, persist, and schedule notifications
@@ -187,7 +650,8 @@ public class MainActivity extends AppCompatActivity {
         builder.setView(dialogView);
 
         final EditText etFoodName = dialogView.findViewById(R.id.etFoodName);
-        final EditText etCategory = dialogView.findViewById(R.id.etCategory);
+        final AutoCompleteTextView etCategory = dialogView.findViewById(R.id.etCategory);
+        bindCategorySuggestions(etCategory);
         final EditText etPurchaseDate = dialogView.findViewById(R.id.etPurchaseDate);
         final EditText etExpiryDate = dialogView.findViewById(R.id.etExpiryDate);
         final EditText etQuantity = dialogView.findViewById(R.id.etQuantity);
@@ -223,28 +687,175 @@ public class MainActivity extends AppCompatActivity {
             // Create foodItem object
             FoodItem foodItem = new FoodItem(0, name, category, purchaseDate, expiryDate, quantity, notes);
 
-            // Save to database
-            long id = dbHelper.addFood(foodItem);
-            if (id > 0) {
-                foodItem.setId((int) id);
-                applyFilter(currentQuery);
-                Toast.makeText(MainActivity.this, R.string.food_added_success, Toast.LENGTH_SHORT).show();
-                
-                // Schedule one-day-before reminder
-                scheduleExpiryReminder(foodItem);
-                
-                // Schedule on-expiry alert
-                scheduleExpiredAlert(foodItem);
-                
+            // Save to database in the background; the repository sets the new id
+            btnSave.setEnabled(false);
+            repository.add(foodItem, id -> {
+                btnSave.setEnabled(true);
+                if (id > 0) {
+                    applyFilter(viewModel.getQuery());
+                    Toast.makeText(MainActivity.this, R.string.food_added_success, Toast.LENGTH_SHORT).show();
+
+                    // Schedule one-day-before reminder and on-expiry alert from the change log
+                    catchUpReminders();
+
+                    dialog.dismiss();
+                } else {
+                    Toast.makeText(MainActivity.this, R.string.food_add_failed, Toast.LENGTH_SHORT).show();
+                }
+            });
+        });
+
+        dialog.show();
+    }
+
+    /*
+     * Function: showEditFoodDialog
+     * Purpose: Edit an item in place or consume one unit; persist only changed columns and
+     *          refresh just that row, or the whole list when the edit moves it
+     */
+    public void showEditFoodDialog(FoodItem foodItem, int position) {
+        if (position == RecyclerView.NO_POSITION) return;
+        AlertDialog.Builder builder = new AlertDialog.Builder(this);
+        View dialogView = getLayoutInflater().inflate(R.layout.dialog_food_add, null);
+        builder.setView(dialogView);
+
+        TextView tvTitle = dialogView.findViewById(R.id.tvDialogTitle);
+        final EditText etFoodName = dialogView.findViewById(R.id.etFoodName);
+        final AutoCompleteTextView etCategory = dialogView.findViewById(R.id.etCategory);
+        bindCategorySuggestions(etCategory);
+        final EditText etPurchaseDate = dialogView.findViewById(R.id.etPurchaseDate);
+        final EditText etExpiryDate = dialogView.findViewById(R.id.etExpiryDate);
+        final EditText etQuantity = dialogView.findViewById(R.id.etQuantity);
+        final EditText etNotes = dialogView.findViewById(R.id.etNotes);
+        Button btnSave = dialogView.findViewById(R.id.btnSave);
+
+        tvTitle.setText(R.string.edit_food);
+        etFoodName.setText(foodItem.getName());
+        etCategory.setText(foodItem.getCategory());
+        etPurchaseDate.setText(foodItem.getPurchaseDate());
+        etExpiryDate.setText(foodItem.getExpiryDate());
+        etQuantity.setText(String.valueOf(foodItem.getQuantity()));
+        etNotes.setText(foodItem.getNotes());
+
+        setupDatePicker(etPurchaseDate);
+        setupDateTimePicker(etExpiryDate);
+
+        builder.setNeutralButton(R.string.consume_one, (d, which) ->
+                repository.consume(foodItem, 1, ok -> {
+                    if (ok) {
+                        refreshEditedRow(foodItem.getId(),
+                                new FoodPatch().setQuantity(foodItem.getQuantity()), FoodListAdapter.PAYLOAD_QUANTITY);
+                    } else {
+                        Toast.makeText(this, R.string.food_update_failed, Toast.LENGTH_SHORT).show();
+                    }
+                }));
+
+        final AlertDialog dialog = builder.create();
+
+        btnSave.setOnClickListener(v -> {
+            if (etFoodName.getText().toString().trim().isEmpty()) {
+                Toast.makeText(MainActivity.this, R.string.error_empty_food_name, Toast.LENGTH_SHORT).show();
+                return;
+            }
+            int quantity = foodItem.getQuantity();
+            try {
+                quantity = Integer.parseInt(etQuantity.getText().toString().trim());
+            } catch (NumberFormatException e) {
+                // Keep current quantity
+            }
+            FoodItem edited = new FoodItem(foodItem.getId(),
+                    etFoodName.getText().toString().trim(),
+                    etCategory.getText().toString().trim(),
+                    etPurchaseDate.getText().toString().trim(),
+                    etExpiryDate.getText().toString().trim(),
+                    quantity,
+                    etNotes.getText().toString().trim());
+            FoodPatch patch = FoodPatch.diff(foodItem, edited);
+            if (patch.isEmpty()) {
                 dialog.dismiss();
-            } else {
-                Toast.makeText(MainActivity.this, R.string.food_add_failed, Toast.LENGTH_SHORT).show();
+                return;
             }
+
+            btnSave.setEnabled(false);
+            repository.update(foodItem, patch, ok -> {
+                btnSave.setEnabled(true);
+                if (!ok) {
+                    Toast.makeText(MainActivity.this, R.string.food_update_failed, Toast.LENGTH_SHORT).show();
+                    return;
+                }
+                // Quantity-only edits rebind one view; anything else rebinds the row
+                boolean quantityOnly = patch.getQuantity() != null && patch.getName() == null
+                        && patch.getCategory() == null && patch.getPurchaseDate() == null
+                        && patch.getExpiryDate() == null && patch.getNotes() == null;
+                refreshEditedRow(foodItem.getId(), patch,
+                        quantityOnly ? FoodListAdapter.PAYLOAD_QUANTITY : FoodListAdapter.PAYLOAD_DETAILS);
+                if (patch.changesExpiry()) {
+                    catchUpReminders();
+                }
+                Toast.makeText(MainActivity.this, R.string.food_updated, Toast.LENGTH_SHORT).show();
+                dialog.dismiss();
+            });
         });
 
         dialog.show();
     }
 
+    /*
+     * Function: refreshEditedRow
+     * Purpose: Re-run the query when the edit can move the row (cursor mode, where rows are not cached,
+     *          always does); otherwise rebind it where it sits now, since the list may have changed
+     *          while the dialog was open
+     */
+    private void refreshEditedRow(int id, FoodPatch patch, String payload) {
+        if (cursorAdapter != null) {
+            cursorAdapter.requery();
+            return;
+        }
+        if (movesRow(patch)) {
+            applyFilter(viewModel.getQuery());
+            return;
+        }
+        for (int i = 0; i < foodItemList.size(); i++) {
+            if (foodItemList.get(i).getId() == id) {
+                foodListAdapter.notifyItemChanged(i, payload);
+                return;
+            }
+        }
+    }
+
+    /*
+     * Function: movesRow
+     * Purpose: True when a patch touches what orders or selects the list: the sort mode's key, the
+     *          expiry a checked range chip filters on, or what the search query matches
+     */
+    private boolean movesRow(FoodPatch patch) {
+        boolean sortKey;
+        switch (sortMode) {
+            case NAME:
+                sortKey = patch.getName() != null;
+                break;
+            case QUANTITY:
+                sortKey = patch.getQuantity() != null;
+                break;
+            case PURCHASE_DATE:
+                sortKey = patch.getPurchaseDate() != null;
+                break;
+            case TIME_LEFT:
+                sortKey = patch.changesExpiry();
+                break;
+            default:
+                sortKey = patch.changesExpiry() || patch.getCategory() != null;
+                break;
+        }
+        if (sortKey) return true;
+        if (patch.changesExpiry() && viewModel.getRangeChip() != View.NO_ID) return true;
+        // Fuzzy results rank by name and category similarity, then time left
+        if (isFuzzyQuery()) {
+            return patch.getName() != null || patch.getCategory() != null || patch.changesExpiry();
+        }
+        return patch.getName() != null && !viewModel.getQuery().trim().isEmpty();
+    }
+
     /*
      * Function: setupDatePicker
      * Purpose: Attach date picker to an EditText and format selected date
@@ -302,38 +913,6 @@ public class MainActivity extends AppCompatActivity {
             datePickerDialog.show();
         });
     }
-    /*
-     * Function: scheduleExpiryReminder
-     * Purpose: Schedule a notification one day before item expiry
-     */
-    private void scheduleExpiryReminder(FoodItem foodItem) {
-        try {
-            java.util.Date expiry = parseDateFlexible(foodItem.getExpiryDate());
-            if (expiry == null) return;
-            long triggerTime = expiry.getTime() - java.util.concurrent.TimeUnit.DAYS.toMillis(1);
-            long delay = triggerTime - System.currentTimeMillis();
-            if (delay <= 0) {
-                // If already within 1 day or past, optionally notify immediately
-                com.example.foodexpirytracker.notifications.NotificationHelper.sendNotification(this,
-                        "FoodItem expiring soon",
-                        foodItem.getName() + " expires tomorrow (" + foodItem.getExpiryDate() + ")");
-                return;
-            }
-            Data input = new Data.Builder()
-                    .putInt(ExpiryNotifierWorker.KEY_FOOD_ID, foodItem.getId())
-                    .putString(ExpiryNotifierWorker.KEY_FOOD_NAME, foodItem.getName())
-                    .putString(ExpiryNotifierWorker.KEY_EXPIRY_DATE, foodItem.getExpiryDate())
-                    .build();
-            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ExpiryNotifierWorker.class)
-                    .setInitialDelay(delay, java.util.concurrent.TimeUnit.MILLISECONDS)
-                    .setInputData(input)
-                    .build();
-            WorkManager.getInstance(getApplicationContext())
-                    .enqueueUniqueWork("expiry_reminder_" + foodItem.getId(), ExistingWorkPolicy.KEEP, request);
-        } catch (java.text.ParseException e) {
-            // ignore parse errors
-        }
-    }
     /*
      * Function: ensureNotificationPermission
      * Purpose: Request POST_NOTIFICATIONS permission on Android 13+
@@ -349,129 +928,131 @@ public class MainActivity extends AppCompatActivity {
         }
     }
     /*
-     * Function: scheduleExpiredAlert
-     * Purpose: Schedule a notification at the exact expiry time
+     * Function: sortMenuId
+     * Purpose: Map a sort mode to its overflow menu item
      */
-    private void scheduleExpiredAlert(FoodItem foodItem) {
-        try {
-            java.util.Date expiry = parseDateFlexible(foodItem.getExpiryDate());
-            if (expiry == null) return;
-            long triggerTime = expiry.getTime();
-            long delay = triggerTime - System.currentTimeMillis();
-            if (delay <= 0) {
-                // Already expired, notify immediately
-                com.example.foodexpirytracker.notifications.NotificationHelper.sendNotification(this,
-                        "FoodItem expired",
-                        foodItem.getName() + " has expired (" + foodItem.getExpiryDate() + ")");
-                return;
-            }
-            Data input = new Data.Builder()
-                    .putInt(ExpiredNotifierWorker.KEY_FOOD_ID, foodItem.getId())
-                    .putString(ExpiredNotifierWorker.KEY_FOOD_NAME, foodItem.getName())
-                    .putString(ExpiredNotifierWorker.KEY_EXPIRY_DATE, foodItem.getExpiryDate())
-                    .build();
-            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ExpiredNotifierWorker.class)
-                    .setInitialDelay(delay, java.util.concurrent.TimeUnit.MILLISECONDS)
-                    .setInputData(input)
-                    .build();
-            WorkManager.getInstance(getApplicationContext())
-                    .enqueueUniqueWork("expired_alert_" + foodItem.getId(), ExistingWorkPolicy.REPLACE, request);
-        } catch (java.text.ParseException e) {
-            // ignore parse errors
-        }
-    }
-    /*
-     * Function: timeLeftMillis
-     * Purpose: Compute milliseconds remaining until expiry; Long.MAX_VALUE on parse errors
-     */
-    private long timeLeftMillis(FoodItem f, SimpleDateFormat dateFormat, long now) {
-        try {
-            java.util.Date expiry = parseDateFlexible(f.getExpiryDate());
-            if (expiry == null) return Long.MAX_VALUE;
-            return expiry.getTime() - now;
-        } catch (java.text.ParseException e) {
-            return Long.MAX_VALUE;
+    private static int sortMenuId(SortMode mode) {
+        switch (mode) {
+            case TIME_LEFT:
+                return R.id.action_sort_time_left;
+            case NAME:
+                return R.id.action_sort_name;
+            case QUANTITY:
+                return R.id.action_sort_quantity;
+            case PURCHASE_DATE:
+                return R.id.action_sort_purchase_date;
+            case CATEGORY_TIME_LEFT:
+            default:
+                return R.id.action_sort_category_time_left;
         }
     }
 
     /*
-     * Function: parseDateFlexible
-     * Purpose: Parse date-time using HH:mm if present, else fallback to date-only
+     * Function: setSortMode
+     * Purpose: Switch the list ordering, remember it for the next launch and reload in that order
      */
-    private java.util.Date parseDateFlexible(String text) throws java.text.ParseException {
-        if (text == null || text.trim().isEmpty()) return null;
-        java.text.SimpleDateFormat dt = new java.text.SimpleDateFormat(getString(R.string.date_time_format), java.util.Locale.getDefault());
-        dt.setLenient(false);
-        try {
-            return dt.parse(text);
-        } catch (java.text.ParseException e) {
-            java.text.SimpleDateFormat d = new java.text.SimpleDateFormat(getString(R.string.date_format), java.util.Locale.getDefault());
-            d.setLenient(false);
-            java.util.Date dateOnly = d.parse(text);
-            // Treat date-only as midnight
-            java.util.Calendar cal = java.util.Calendar.getInstance();
-            cal.setTime(dateOnly);
-            cal.set(java.util.Calendar.HOUR_OF_DAY, 0);
-            cal.set(java.util.Calendar.MINUTE, 0);
-            cal.set(java.util.Calendar.SECOND, 0);
-            cal.set(java.util.Calendar.MILLISECOND, 0);
-            return cal.getTime();
-        }
+    private void setSortMode(SortMode mode) {
+        if (mode == sortMode) return;
+        sortMode = mode;
+        SortMode.save(this, mode);
+        applyFilter(viewModel.getQuery());
     }
 
     /*
-     * Function: applySortByTimeLeft
-     * Purpose: Sort list by time left until expiry in chosen order
+     * Function: toggleSort
+     * Purpose: Flip sort order and reload in it (the SQL order is cached, so no query); show status toast
      */
-    private void applySortByTimeLeft() {
-        long now = System.currentTimeMillis();
-        SimpleDateFormat dateFormat = new SimpleDateFormat(getString(R.string.date_format), Locale.getDefault());
-        Comparator<FoodItem> comparator = (a, b) -> {
-            String ca = a.getCategory() == null ? "" : a.getCategory().toLowerCase(Locale.getDefault());
-            String cb = b.getCategory() == null ? "" : b.getCategory().toLowerCase(Locale.getDefault());
-            int catCmp = ca.compareTo(cb);
-            if (catCmp != 0) return catCmp;
-
-            long ta = timeLeftMillis(a, dateFormat, now);
-            long tb = timeLeftMillis(b, dateFormat, now);
-            return sortAscendingByTimeLeft ? Long.compare(ta, tb) : Long.compare(tb, ta);
-        };
-        Collections.sort(foodItemList, comparator);
-        foodListAdapter.notifyDataSetChanged();
+    private void toggleSort() {
+        viewModel.setSortAscending(!viewModel.isSortAscending());
+        applyFilter(viewModel.getQuery());
+        boolean byTimeLeft = sortMode == SortMode.TIME_LEFT || sortMode == SortMode.CATEGORY_TIME_LEFT;
+        int message;
+        if (byTimeLeft) {
+            message = viewModel.isSortAscending() ? R.string.sort_soonest_first : R.string.sort_furthest_first;
+        } else {
+            message = viewModel.isSortAscending() ? R.string.sort_ascending : R.string.sort_descending;
+        }
+        Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
     }
 
     /*
-     * Function: toggleSort
-     * Purpose: Flip sort order and reapply sorting; show status toast
+     * Function: isFuzzyQuery
+     * Purpose: True when the list shows similarity-ranked results (fuzzy mode, a query, list mode)
      */
-    private void toggleSort() {
-        sortAscendingByTimeLeft = !sortAscendingByTimeLeft;
-        applySortByTimeLeft();
-        Toast.makeText(this,
-                sortAscendingByTimeLeft ? R.string.sort_soonest_first : R.string.sort_furthest_first,
-                Toast.LENGTH_SHORT).show();
+    private boolean isFuzzyQuery() {
+        return viewModel.isFuzzy() && cursorAdapter == null && !viewModel.getQuery().trim().isEmpty();
     }
 
     /*
      * Function: applyFilter
-     * Purpose: Filter items by name substring, resort, and refresh empty state
+     * Purpose: Filter by name substring in the current sort mode's SQL order (or, in fuzzy mode, rank
+     *          by trigram similarity) and refresh empty state. Without a range chip this arranges the
+     *          cache, reading only the mode's id order after a write; with one it re-runs the range
+     *          query in the background. Cursor mode always matches substrings.
      */
     private void applyFilter(String query) {
-        currentQuery = (query == null) ? "" : query;
-        String q = currentQuery.trim().toLowerCase(Locale.getDefault());
-        List<FoodItem> allItems = dbHelper.getAllFood();
-        foodItemList.clear();
-        if (q.isEmpty()) {
-            foodItemList.addAll(allItems);
-        } else {
-            for (FoodItem item : allItems) {
-                String name = item.getName() == null ? "" : item.getName().toLowerCase(Locale.getDefault());
-                if (name.contains(q)) {
-                    foodItemList.add(item);
-                }
-            }
+        viewModel.setQuery(query);
+        final String q = viewModel.getQuery();
+        final int chip = viewModel.getRangeChip();
+        final SortMode mode = sortMode;
+        final boolean ascending = viewModel.isSortAscending();
+        long[] range = rangeFor(chip, System.currentTimeMillis());
+        if (cursorAdapter != null) {
+            cursorAdapter.query(q, range, mode, ascending);
+            return;
+        }
+        final boolean fuzzy = isFuzzyQuery();
+        if (range == null && fuzzy) {
+            // The first query may wait for the index build on the disk executor; timed like arrange
+            long start = System.nanoTime();
+            repository.fuzzySearch(q, ascending, items -> {
+                if (!isCurrent(q, chip, mode, ascending) || !isFuzzyQuery()) return;
+                showItems(items);
+                Metrics.UI_FILTER.recordSince(start);
+            });
+            return;
+        }
+        if (range == null) {
+            // Spans a thread hop, so it is timed without a trace section
+            long start = System.nanoTime();
+            repository.arrange(null, q, mode, ascending, items -> {
+                if (!isCurrent(q, chip, mode, ascending)) return;
+                showItems(items);
+                Metrics.UI_SORT.recordSince(start);
+            });
+            return;
         }
-        applySortByTimeLeft();
+        repository.loadExpiring(range[0], range[1], items -> {
+            if (!isCurrent(q, chip, mode, ascending)) return;
+            if (fuzzy) {
+                showItems(InventoryRepository.fuzzyFilter(items, q, ascending));
+                return;
+            }
+            repository.arrange(items, q, mode, ascending, arranged -> {
+                if (isCurrent(q, chip, mode, ascending)) showItems(arranged);
+            });
+        });
+    }
+
+    /*
+     * Function: isCurrent
+     * Purpose: False once the activity is gone or the query, range, mode or direction has been replaced,
+     *          so late results are dropped
+     */
+    private boolean isCurrent(String q, int chip, SortMode mode, boolean ascending) {
+        return !isDestroyed() && q.equals(viewModel.getQuery()) && chip == viewModel.getRangeChip()
+                && mode == sortMode && ascending == viewModel.isSortAscending();
+    }
+
+    /*
+     * Function: showItems
+     * Purpose: Replace the list contents with already ordered rows and refresh empty state
+     */
+    private void showItems(List<FoodItem> items) {
+        foodItemList.clear();
+        foodItemList.addAll(items);
+        viewModel.markLoaded();
+        foodListAdapter.notifyDataSetChanged();
         updateEmptyState();
     }
 
@@ -0,0 +1,45 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+/*
+ * Function: SortMode
+ * Purpose: Orderings offered for the inventory list. Each is executed in SQL and read straight off
+ *          its own (owner, ...) index on food (see DatabaseHelper.orderBy); the chosen mode is kept
+ *          in shared preferences so it survives relaunches.
+ */
+public enum SortMode {
+    CATEGORY_TIME_LEFT,
+    TIME_LEFT,
+    NAME,
+    QUANTITY,
+    PURCHASE_DATE;
+
+    private static final String PREFS = "list_prefs";
+    private static final String KEY_SORT_MODE = "sort_mode";
+    public static final SortMode DEFAULT = CATEGORY_TIME_LEFT;
+
+    /*
+     * Function: load
+     * Purpose: Return the persisted mode (DEFAULT when none, or when a stored name is no longer known)
+     */
+    public static SortMode load(Context context) {
+        String name = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE).getString(KEY_SORT_MODE, null);
+        if (name == null) return DEFAULT;
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return DEFAULT;
+        }
+    }
+
+    /*
+     * Function: save
+     * Purpose: Persist the chosen mode
+     */
+    public static void save(Context context, SortMode mode) {
+        context.getSharedPreferences(PREFS, Context.MODE_PRIVATE).edit()
+                .putString(KEY_SORT_MODE, mode.name())
+                .apply();
+    }
+}
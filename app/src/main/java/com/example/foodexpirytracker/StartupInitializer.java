@@ -0,0 +1,60 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.work.WorkManager;
+
+import com.example.foodexpirytracker.auth.AuthSession;
+import com.example.foodexpirytracker.maintenance.ArchiveWorker;
+import com.example.foodexpirytracker.maintenance.WasteRollupWorker;
+import com.example.foodexpirytracker.migration.MigrationWorker;
+import com.example.foodexpirytracker.sync.SyncWorker;
+
+/*
+ * Function: StartupInitializer
+ * Purpose: Warm the database, schema migrations, inventory cache and WorkManager off the main thread;
+ *          backfills left over from an upgrade are handed to MigrationWorker
+ */
+public final class StartupInitializer {
+    private static final String TAG = "StartupInitializer";
+    private static boolean started;
+
+    private StartupInitializer() {}
+
+    /*
+     * Function: start
+     * Purpose: Queue warm-up once per process on the disk I/O executor
+     */
+    public static synchronized void start(Context context) {
+        if (started) return;
+        started = true;
+        final Context app = context.getApplicationContext();
+        AppExecutors.diskIO().execute(() -> {
+            long t0 = SystemClock.uptimeMillis();
+            try {
+                // Opening triggers onCreate/onUpgrade, so migrations run here rather than in MainActivity
+                DatabaseHelper db = DatabaseHelper.getInstance(app);
+                db.getWritableDatabase();
+                // Reconcile the remembered owner with the cached account before the cache is primed
+                AuthSession session = ((FoodExpiryApp) app).getAuthGateway().getCachedSession();
+                db.setAccount(session == null ? null : session.getUid());
+                long t1 = SystemClock.uptimeMillis();
+                InventoryRepository.getInstance(app).prime();
+                long t2 = SystemClock.uptimeMillis();
+                WorkManager.getInstance(app);
+                // Data backfills queued by the upgrade finish in the background, chunk by chunk
+                if (!db.getPendingBackfills().isEmpty()) MigrationWorker.schedule(app);
+                ArchiveWorker.schedule(app);
+                WasteRollupWorker.schedule(app);
+                if (((FoodExpiryApp) app).getSyncTransport() != null) SyncWorker.schedule(app);
+                long t3 = SystemClock.uptimeMillis();
+                Log.i(TAG, "warm-up db=" + (t1 - t0) + "ms inventory=" + (t2 - t1) + "ms workManager=" + (t3 - t2) + "ms");
+            } catch (Exception e) {
+                // Never fatal: MainActivity falls back to loading on demand
+                Log.e(TAG, "warm-up failed", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+/*
+ * Function: StartupTiming
+ * Purpose: Measure process start to first inventory frame and compare fast vs login cold-start paths
+ */
+public final class StartupTiming {
+    public static final String EXTRA_PATH = "startupPath";
+    public static final String PATH_FAST = "fast";
+    public static final String PATH_LOGIN = "login";
+
+    private static final String TAG = "StartupTiming";
+    private static final String PREFS = "startup_timing";
+
+    private static long signInStartedAt = -1;
+    private static long signInRoundTripMs = -1;
+
+    private StartupTiming() {}
+
+    /*
+     * Function: markSignInStarted
+     * Purpose: Record when the interactive sign-in request was sent
+     */
+    public static void markSignInStarted() {
+        signInStartedAt = SystemClock.uptimeMillis();
+    }
+
+    /*
+     * Function: markSignInFinished
+     * Purpose: Record the network round-trip of the interactive sign-in
+     */
+    public static void markSignInFinished() {
+        if (signInStartedAt > 0) {
+            signInRoundTripMs = SystemClock.uptimeMillis() - signInStartedAt;
+            signInStartedAt = -1;
+        }
+    }
+
+    /*
+     * Function: markFirstFrame
+     * Purpose: Log and persist elapsed time from process start to MainActivity's first frame
+     * Params: path - PATH_FAST or PATH_LOGIN (null is treated as login)
+     */
+    public static void markFirstFrame(Context context, String path) {
+        String p = PATH_FAST.equals(path) ? PATH_FAST : PATH_LOGIN;
+        long sinceProcessStart = SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+        SharedPreferences prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        long runs = prefs.getLong(p + "_runs", 0) + 1;
+        long total = prefs.getLong(p + "_total_ms", 0) + sinceProcessStart;
+        SharedPreferences.Editor editor = prefs.edit()
+                .putLong(p + "_last_ms", sinceProcessStart)
+                .putLong(p + "_runs", runs)
+                .putLong(p + "_total_ms", total);
+        if (PATH_LOGIN.equals(p) && signInRoundTripMs >= 0) {
+            editor.putLong("login_round_trip_ms", signInRoundTripMs);
+        }
+        editor.apply();
+
+        long otherRuns = prefs.getLong(otherPath(p) + "_runs", 0);
+        long otherAvg = otherRuns == 0 ? -1 : prefs.getLong(otherPath(p) + "_total_ms", 0) / otherRuns;
+        Log.i(TAG, "path=" + p
+                + " firstFrameMs=" + sinceProcessStart
+                + " avgMs=" + (total / runs)
+                + " signInRoundTripMs=" + (PATH_LOGIN.equals(p) ? signInRoundTripMs : 0)
+                + " otherPathAvgMs=" + otherAvg);
+        signInRoundTripMs = -1;
+    }
+
+    private static String otherPath(String path) {
+        return PATH_FAST.equals(path) ? PATH_LOGIN : PATH_FAST;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.foodexpirytracker;
+
+/*
+ * Function: StorageStats
+ * Purpose: Size of the database file and how much of it is free pages (reclaimable by vacuum)
+ */
+public final class StorageStats {
+    private final long pageSize;
+    private final long pageCount;
+    private final long freePages;
+
+    /*
+     * Function: StorageStats constructor
+     * Purpose: Initialize from SQLite's page counters
+     */
+    public StorageStats(long pageSize, long pageCount, long freePages) {
+        this.pageSize = pageSize;
+        this.pageCount = pageCount;
+        this.freePages = freePages;
+    }
+
+    /* Function: getFileBytes | Purpose: Return the main database file size (WAL excluded) */
+    public long getFileBytes() { return pageSize * pageCount; }
+    /* Function: getFreeBytes | Purpose: Return bytes held by free pages */
+    public long getFreeBytes() { return pageSize * freePages; }
+    /* Function: getFreePages | Purpose: Return the free page count */
+    public long getFreePages() { return freePages; }
+}
@@ -0,0 +1,126 @@
+package com.example.foodexpirytracker;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Function: SyntheticInventory
+ * Purpose: Deterministic, seedable generator of realistic food rows for load and soak testing
+ */
+public class SyntheticInventory implements Iterator<FoodItem> {
+
+    // Category, relative weight, typical shelf life in days, sample names
+    private static final String[] CATEGORIES = {
+            "Dairy", "Fruits", "Vegetables", "Meat", "Bakery",
+            "Frozen", "Pantry", "Beverages", "Leftovers", ""
+    };
+    private static final int[] WEIGHTS = {18, 15, 17, 10, 10, 8, 12, 5, 3, 2};
+    private static final int[] SHELF_LIFE_DAYS = {10, 7, 6, 4, 5, 120, 365, 90, 3, 14};
+    private static final String[][] NAMES = {
+            {"Milk", "Yogurt", "Cheddar", "Butter", "Cream", "Mozzarella"},
+            {"Apple", "Banana", "Orange", "Strawberries", "Grapes", "Pear"},
+            {"Carrots", "Spinach", "Broccoli", "Tomatoes", "Lettuce", "Peppers"},
+            {"Chicken breast", "Beef mince", "Pork chops", "Sausages", "Bacon", "Salmon"},
+            {"Bread", "Bagels", "Croissants", "Tortillas", "Muffins", "Pita"},
+            {"Frozen peas", "Ice cream", "Fish fingers", "Frozen pizza", "Dumplings", "Berries mix"},
+            {"Rice", "Pasta", "Canned beans", "Flour", "Cereal", "Peanut butter"},
+            {"Orange juice", "Oat milk", "Soda", "Iced tea", "Kombucha", "Coconut water"},
+            {"Soup", "Curry", "Lasagna", "Stir fry", "Chili", "Fried rice"},
+            {"Snack", "Sauce", "Misc", "Spread", "Dip", "Jam"}
+    };
+    private static final String[] MALFORMED = {
+            "31/12/2025", "tomorrow", "2025-13-45", "2025-02-30", "12-05-2025", "soon", "2025/06/01"
+    };
+
+    private final Random random;
+    private final long now;
+    private final int count;
+    private final int totalWeight;
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat(ExpiryDates.DATE_FORMAT, Locale.US);
+    private final SimpleDateFormat dateTimeFormat = new SimpleDateFormat(ExpiryDates.DATE_TIME_FORMAT, Locale.US);
+    private int produced;
+
+    /*
+     * Function: SyntheticInventory constructor
+     * Params: seed - RNG seed (same seed and now give identical rows); now - reference time in
+     *         millis that expiry offsets are relative to; count - rows to produce
+     */
+    public SyntheticInventory(long seed, long now, int count) {
+        this.random = new Random(seed);
+        this.now = now;
+        this.count = count;
+        int w = 0;
+        for (int weight : WEIGHTS) w += weight;
+        this.totalWeight = w;
+        // Format in UTC so a seed yields the same strings on every machine
+        dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+        dateTimeFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    @Override
+    public boolean hasNext() {
+        return produced < count;
+    }
+
+    /*
+     * Function: next
+     * Purpose: Produce the next item (id 0, ready for insertion)
+     */
+    @Override
+    public FoodItem next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        produced++;
+
+        int c = pickCategory();
+        String[] names = NAMES[c];
+        String name = names[random.nextInt(names.length)];
+        if (random.nextInt(4) == 0) {
+            name = name + " #" + (1 + random.nextInt(50));
+        }
+
+        // Bought within the last 30 days
+        long purchase = now - TimeUnit.DAYS.toMillis(random.nextInt(31));
+        String purchaseDate = dateFormat.format(new Date(purchase));
+
+        String expiryDate = expiry(purchase, SHELF_LIFE_DAYS[c]);
+
+        // Mostly 1-3, occasionally a bulk buy
+        int quantity = random.nextInt(10) < 8 ? 1 + random.nextInt(3) : 4 + random.nextInt(9);
+        String notes = random.nextInt(5) == 0 ? "synthetic" : "";
+        return new FoodItem(0, name, CATEGORIES[c], purchaseDate, expiryDate, quantity, notes);
+    }
+
+    /*
+     * Function: expiry
+     * Purpose: Shelf life with +/-50% spread; 3% empty, 2% malformed, ~35% with HH:mm precision
+     */
+    private String expiry(long purchase, int shelfLifeDays) {
+        int roll = random.nextInt(100);
+        if (roll < 3) return "";
+        if (roll < 5) return MALFORMED[random.nextInt(MALFORMED.length)];
+
+        double spread = 0.5 + random.nextDouble();
+        long days = Math.max(0, Math.round(shelfLifeDays * spread));
+        long at = purchase + TimeUnit.DAYS.toMillis(days);
+        if (roll < 40) {
+            at += TimeUnit.MINUTES.toMillis(random.nextInt(24 * 60));
+            return dateTimeFormat.format(new Date(at));
+        }
+        return dateFormat.format(new Date(at));
+    }
+
+    private int pickCategory() {
+        int r = random.nextInt(totalWeight);
+        for (int i = 0; i < WEIGHTS.length; i++) {
+            r -= WEIGHTS[i];
+            if (r < 0) return i;
+        }
+        return WEIGHTS.length - 1;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.foodexpirytracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Function: TrigramIndex
+ * Purpose: In-memory trigram index over item names and categories for typo-tolerant search.
+ *          Text is lowercased and split into words; each word contributes the trigrams of
+ *          "  word " (pg_trgm style padding), so "yoghurt" and "yogurt" share their start and end.
+ *          Documents live in dense int slots and posting lists are growable int arrays of slots,
+ *          so a query is a few array scans plus one counter per slot. Not thread-safe.
+ */
+public final class TrigramIndex<T> {
+    // Category trigrams are keyed apart from name trigrams so each field is scored on its own
+    private static final long CATEGORY_FIELD = 1L << 48;
+
+    /*
+     * Function: Hit
+     * Purpose: One matching document and its similarity in (0, 1]
+     */
+    public static final class Hit<T> {
+        private final T value;
+        private final float similarity;
+
+        Hit(T value, float similarity) {
+            this.value = value;
+            this.similarity = similarity;
+        }
+
+        /* Function: getValue | Purpose: Return the indexed value */
+        public T getValue() { return value; }
+        /* Function: getSimilarity | Purpose: Return the share of query trigrams found in the best field */
+        public float getSimilarity() { return similarity; }
+    }
+
+    /*
+     * Function: Postings
+     * Purpose: Slots of the documents containing one trigram (unordered, no duplicates)
+     */
+    private static final class Postings {
+        int[] slots = new int[4];
+        int size;
+
+        void add(int slot) {
+            if (size == slots.length) slots = Arrays.copyOf(slots, size + (size >> 1) + 1);
+            slots[size++] = slot;
+        }
+
+        void remove(int slot) {
+            for (int i = 0; i < size; i++) {
+                if (slots[i] == slot) {
+                    slots[i] = slots[--size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+    // Per slot: indexed value and its distinct trigram keys (both fields); null value = free slot
+    private Object[] values = new Object[16];
+    private long[][] keys = new long[16][];
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+    private int slotCount;
+    // Query scratch, sized with the slots and cleared through the touched list after each query
+    private int[] nameHits = new int[16];
+    private int[] categoryHits = new int[16];
+
+    /* Function: size | Purpose: Return the number of indexed documents */
+    public int size() { return slotById.size(); }
+
+    /*
+     * Function: get
+     * Purpose: Return the value indexed under id, or null
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int id) {
+        Integer slot = slotById.get(id);
+        return slot == null ? null : (T) values[slot];
+    }
+
+    /*
+     * Function: put
+     * Purpose: Index (or re-index) a document under id
+     */
+    public void put(int id, T value, String name, String category) {
+        remove(id);
+        int slot = freeCount > 0 ? freeSlots[--freeCount] : slotCount++;
+        if (slot == values.length) grow();
+        long[] docKeys = documentKeys(name, category);
+        values[slot] = value;
+        keys[slot] = docKeys;
+        slotById.put(id, slot);
+        for (long key : docKeys) {
+            Postings list = postings.get(key);
+            if (list == null) postings.put(key, list = new Postings());
+            list.add(slot);
+        }
+    }
+
+    /*
+     * Function: remove
+     * Purpose: Drop the document indexed under id (no-op when absent)
+     */
+    public void remove(int id) {
+        Integer slot = slotById.remove(id);
+        if (slot == null) return;
+        for (long key : keys[slot]) {
+            Postings list = postings.get(key);
+            list.remove(slot);
+            if (list.size == 0) postings.remove(key);
+        }
+        values[slot] = null;
+        keys[slot] = null;
+        if (freeCount == freeSlots.length) freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        freeSlots[freeCount++] = slot;
+    }
+
+    /*
+     * Function: search
+     * Purpose: Documents sharing at least minSimilarity of the query's trigrams with their name or
+     *          category, unordered; similarity is matched query trigrams over query trigrams
+     */
+    @SuppressWarnings("unchecked")
+    public List<Hit<T>> search(String query, float minSimilarity) {
+        long[] queryKeys = trigrams(query, 0);
+        List<Hit<T>> hits = new ArrayList<>();
+        if (queryKeys.length == 0) return hits;
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        for (long key : queryKeys) {
+            for (int field = 0; field < 2; field++) {
+                Postings list = postings.get(field == 0 ? key : key | CATEGORY_FIELD);
+                if (list == null) continue;
+                int[] counts = field == 0 ? nameHits : categoryHits;
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (nameHits[slot] == 0 && categoryHits[slot] == 0) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, touchedCount * 2);
+                        touched[touchedCount++] = slot;
+                    }
+                    counts[slot]++;
+                }
+            }
+        }
+        int needed = (int) Math.ceil(minSimilarity * queryKeys.length);
+        for (int i = 0; i < touchedCount; i++) {
+            int slot = touched[i];
+            int best = Math.max(nameHits[slot], categoryHits[slot]);
+            nameHits[slot] = 0;
+            categoryHits[slot] = 0;
+            if (best >= needed) hits.add(new Hit<>((T) values[slot], (float) best / queryKeys.length));
+        }
+        return hits;
+    }
+
+    private void grow() {
+        int capacity = values.length * 2;
+        values = Arrays.copyOf(values, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        nameHits = Arrays.copyOf(nameHits, capacity);
+        categoryHits = Arrays.copyOf(categoryHits, capacity);
+    }
+
+    private static long[] documentKeys(String name, String category) {
+        long[] nameKeys = trigrams(name, 0);
+        long[] categoryKeys = trigrams(category, CATEGORY_FIELD);
+        long[] all = Arrays.copyOf(nameKeys, nameKeys.length + categoryKeys.length);
+        System.arraycopy(categoryKeys, 0, all, nameKeys.length, categoryKeys.length);
+        return all;
+    }
+
+    /*
+     * Function: trigrams
+     * Purpose: Distinct trigram keys of a text (three 16-bit chars packed into a long, plus field bit)
+     */
+    static long[] trigrams(String text, long field) {
+        if (text == null || text.isEmpty()) return new long[0];
+        long[] out = new long[text.length() * 2 + 4];
+        int n = 0;
+        // Two spaces before and one after each word, as in "  milk "
+        char a = ' ';
+        char b = ' ';
+        boolean inWord = false;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? Character.toLowerCase(text.charAt(i)) : ' ';
+            if (!Character.isLetterOrDigit(c)) {
+                if (!inWord) continue;
+                c = ' ';
+                inWord = false;
+            } else {
+                inWord = true;
+            }
+            if (n + 1 >= out.length) out = Arrays.copyOf(out, out.length * 2);
+            out[n++] = field | ((long) a << 32) | ((long) b << 16) | c;
+            a = b;
+            b = c;
+            if (c == ' ') {
+                a = ' ';
+                b = ' ';
+            }
+        }
+        Arrays.sort(out, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || out[i] != out[distinct - 1]) out[distinct++] = out[i];
+        }
+        return Arrays.copyOf(out, distinct);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.foodexpirytracker;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/*
+ * Function: WasteReport
+ * Purpose: Items and quantity per period, event kind and category, folded from the daily rollups.
+ *          Days are local epoch days (days since 1970-01-01 in the device time zone).
+ */
+public final class WasteReport {
+    public static final int PERIOD_WEEK = 1;
+    public static final int PERIOD_MONTH = 2;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /*
+     * Function: Row
+     * Purpose: Totals of one (period, kind, category)
+     */
+    public static final class Row {
+        private final long periodStartDay;
+        private final int kind;
+        private final int categoryId;
+        private long items;
+        private long quantity;
+
+        Row(long periodStartDay, int kind, int categoryId) {
+            this.periodStartDay = periodStartDay;
+            this.kind = kind;
+            this.categoryId = categoryId;
+        }
+
+        /* Function: getPeriodStartDay | Purpose: Return the local epoch day the week (Monday) or month starts on */
+        public long getPeriodStartDay() { return periodStartDay; }
+        /* Function: getKind | Purpose: Return the event kind (FoodEvent.KIND_*) */
+        public int getKind() { return kind; }
+        /* Function: getCategoryId | Purpose: Return the category id (CategoryCatalog.NONE when uncategorized) */
+        public int getCategoryId() { return categoryId; }
+        /* Function: getItems | Purpose: Return the number of events */
+        public long getItems() { return items; }
+        /* Function: getQuantity | Purpose: Return the summed quantity */
+        public long getQuantity() { return quantity; }
+    }
+
+    private final int period;
+    private final Map<String, Row> rows = new LinkedHashMap<>();
+
+    /*
+     * Function: WasteReport constructor
+     * Purpose: Start an empty report grouped by PERIOD_WEEK or PERIOD_MONTH
+     */
+    public WasteReport(int period) {
+        if (period != PERIOD_WEEK && period != PERIOD_MONTH) throw new IllegalArgumentException("period " + period);
+        this.period = period;
+    }
+
+    /*
+     * Function: addDay
+     * Purpose: Fold one daily rollup row into its period (rows arrive in day order)
+     */
+    void addDay(long day, int kind, int categoryId, long items, long quantity) {
+        long start = period == PERIOD_WEEK ? weekStart(day) : monthStart(day);
+        String key = start + ":" + kind + ":" + categoryId;
+        Row row = rows.get(key);
+        if (row == null) {
+            row = new Row(start, kind, categoryId);
+            rows.put(key, row);
+        }
+        row.items += items;
+        row.quantity += quantity;
+    }
+
+    /* Function: getRows | Purpose: Return rows ordered by period, then first appearance */
+    public List<Row> getRows() { return Collections.unmodifiableList(new ArrayList<>(rows.values())); }
+
+    /*
+     * Function: localEpochDay
+     * Purpose: Local calendar day of an instant as days since the epoch
+     */
+    public static long localEpochDay(long millis, TimeZone zone) {
+        return Math.floorDiv(millis + zone.getOffset(millis), DAY_MILLIS);
+    }
+
+    /* Function: weekStart | Purpose: Return the Monday on or before the given epoch day */
+    static long weekStart(long day) {
+        // 1970-01-01 was a Thursday, so Mondays are days with (day - 4) % 7 == 0
+        return day - Math.floorMod(day - 4, 7);
+    }
+
+    /* Function: monthStart | Purpose: Return the first day of the given epoch day's month */
+    static long monthStart(long day) {
+        return LocalDate.ofEpochDay(day).withDayOfMonth(1).toEpochDay();
+    }
+}
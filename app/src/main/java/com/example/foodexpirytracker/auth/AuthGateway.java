@@ -0,0 +1,48 @@
+package com.example.foodexpirytracker.auth;
+
+/*
+ * Function: AuthGateway
+ * Purpose: Abstract the auth provider so startup routing can run against a local fake
+ */
+public interface AuthGateway {
+
+    /*
+     * Function: Revalidation
+     * Purpose: Outcome of a background token refresh
+     */
+    enum Revalidation {
+        /* Token refreshed and account still verified */
+        VALID,
+        /* Account disabled, deleted, credentials revoked or no longer verified */
+        REJECTED,
+        /* Provider unreachable; keep the cached session */
+        UNREACHABLE
+    }
+
+    /*
+     * Function: Callback
+     * Purpose: Receive the result of revalidate on the caller's thread
+     */
+    interface Callback {
+        void onResult(Revalidation result);
+    }
+
+    /*
+     * Function: getCachedSession
+     * Purpose: Return the locally cached user without any network round-trip
+     * Returns: AuthSession or null when nobody is signed in
+     */
+    AuthSession getCachedSession();
+
+    /*
+     * Function: revalidate
+     * Purpose: Refresh the cached user's token and verified state over the network
+     */
+    void revalidate(Callback callback);
+
+    /*
+     * Function: signOut
+     * Purpose: Drop the cached session
+     */
+    void signOut();
+}
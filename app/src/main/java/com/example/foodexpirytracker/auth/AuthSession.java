@@ -0,0 +1,28 @@
+package com.example.foodexpirytracker.auth;
+
+/*
+ * Function: AuthSession
+ * Purpose: Snapshot of the locally cached signed-in user, independent of the auth provider
+ */
+public class AuthSession {
+    private final String uid;
+    private final String email;
+    private final boolean emailVerified;
+
+    /*
+     * Function: AuthSession constructor
+     * Purpose: Capture uid, email and verified state of the cached user
+     */
+    public AuthSession(String uid, String email, boolean emailVerified) {
+        this.uid = uid;
+        this.email = email;
+        this.emailVerified = emailVerified;
+    }
+
+    /* Function: getUid | Purpose: Return provider user id */
+    public String getUid() { return uid; }
+    /* Function: getEmail | Purpose: Return account email (may be null) */
+    public String getEmail() { return email; }
+    /* Function: isEmailVerified | Purpose: Return cached verified flag */
+    public boolean isEmailVerified() { return emailVerified; }
+}
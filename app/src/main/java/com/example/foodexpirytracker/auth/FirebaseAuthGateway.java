@@ -0,0 +1,69 @@
+package com.example.foodexpirytracker.auth;
+
+import com.google.firebase.FirebaseNetworkException;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthInvalidCredentialsException;
+import com.google.firebase.auth.FirebaseAuthInvalidUserException;
+import com.google.firebase.auth.FirebaseUser;
+
+/*
+ * Function: FirebaseAuthGateway
+ * Purpose: AuthGateway backed by FirebaseAuth's persisted current user
+ */
+public class FirebaseAuthGateway implements AuthGateway {
+
+    /*
+     * Function: getCachedSession
+     * Purpose: Read FirebaseAuth's persisted user; no network access
+     */
+    @Override
+    public AuthSession getCachedSession() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) return null;
+        return new AuthSession(user.getUid(), user.getEmail(), user.isEmailVerified());
+    }
+
+    /*
+     * Function: revalidate
+     * Purpose: Reload the user and force a token refresh; map failures to a Revalidation
+     */
+    @Override
+    public void revalidate(Callback callback) {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        if (user == null) {
+            callback.onResult(Revalidation.REJECTED);
+            return;
+        }
+        user.reload().continueWithTask(reload -> {
+            if (!reload.isSuccessful()) {
+                throw reload.getException();
+            }
+            return user.getIdToken(true);
+        }).addOnCompleteListener(task -> {
+            if (task.isSuccessful()) {
+                FirebaseUser refreshed = FirebaseAuth.getInstance().getCurrentUser();
+                boolean verified = refreshed != null && refreshed.isEmailVerified();
+                callback.onResult(verified ? Revalidation.VALID : Revalidation.REJECTED);
+                return;
+            }
+            Exception e = task.getException();
+            if (e instanceof FirebaseAuthInvalidUserException || e instanceof FirebaseAuthInvalidCredentialsException) {
+                callback.onResult(Revalidation.REJECTED);
+            } else if (e instanceof FirebaseNetworkException) {
+                callback.onResult(Revalidation.UNREACHABLE);
+            } else {
+                // Unknown provider error: do not lock the user out of local data
+                callback.onResult(Revalidation.UNREACHABLE);
+            }
+        });
+    }
+
+    /*
+     * Function: signOut
+     * Purpose: Sign out of FirebaseAuth
+     */
+    @Override
+    public void signOut() {
+        FirebaseAuth.getInstance().signOut();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.foodexpirytracker.auth;
+
+import java.util.function.Predicate;
+
+/*
+ * Function: StartupRouter
+ * Purpose: Decide the cold-start destination from cached auth state and run background revalidation
+ */
+public class StartupRouter {
+
+    /*
+     * Function: Route
+     * Purpose: Cold-start destinations
+     */
+    public enum Route {
+        /* Cached, verified user: open the inventory immediately */
+        MAIN,
+        /* Cached user that still needs an interactive sign-in */
+        LOGIN,
+        /* Nobody signed in on this device */
+        REGISTER
+    }
+
+    /*
+     * Function: Listener
+     * Purpose: Notified when background revalidation decides the session must end
+     */
+    public interface Listener {
+        void onSessionRejected();
+    }
+
+    private final AuthGateway gateway;
+    private final Predicate<String> forceReverify;
+    private final Runnable onSignedOut;
+
+    /*
+     * Function: StartupRouter constructor
+     * Params: gateway - auth provider; forceReverify - true when an email is flagged for re-verification
+     */
+    public StartupRouter(AuthGateway gateway, Predicate<String> forceReverify) {
+        this(gateway, forceReverify, () -> { });
+    }
+
+    /*
+     * Function: StartupRouter constructor
+     * Params: gateway - auth provider; forceReverify - true when an email is flagged for re-verification;
+     *         onSignedOut - run after revalidation signs the user out, before the listener is told
+     */
+    public StartupRouter(AuthGateway gateway, Predicate<String> forceReverify, Runnable onSignedOut) {
+        this.gateway = gateway;
+        this.forceReverify = forceReverify;
+        this.onSignedOut = onSignedOut;
+    }
+
+    /*
+     * Function: route
+     * Purpose: Pick a destination using only the cached session (no network, no prefs I/O)
+     * Returns: Route
+     */
+    public Route route() {
+        AuthSession session = gateway.getCachedSession();
+        if (session == null) return Route.REGISTER;
+        return session.isEmailVerified() ? Route.MAIN : Route.LOGIN;
+    }
+
+    /*
+     * Function: revalidate
+     * Purpose: Check force_reverify flag and refresh the token; sign out and notify only on failure
+     */
+    public void revalidate(Listener listener) {
+        AuthSession session = gateway.getCachedSession();
+        if (session == null) {
+            listener.onSessionRejected();
+            return;
+        }
+        String email = session.getEmail();
+        if (email != null && forceReverify.test(email)) {
+            // Password was reset: the interactive login flow re-sends verification
+            gateway.signOut();
+            onSignedOut.run();
+            listener.onSessionRejected();
+            return;
+        }
+        gateway.revalidate(result -> {
+            if (result == AuthGateway.Revalidation.REJECTED) {
+                gateway.signOut();
+                onSignedOut.run();
+                listener.onSessionRejected();
+            }
+        });
+    }
+}
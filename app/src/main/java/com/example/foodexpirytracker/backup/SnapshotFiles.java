@@ -0,0 +1,83 @@
+package com.example.foodexpirytracker.backup;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/*
+ * Function: SnapshotFiles
+ * Purpose: Move snapshots between the database and documents through file channels.
+ *          Blocking; call from the disk executor.
+ */
+public final class SnapshotFiles {
+    public static final String MIME_TYPE = "application/octet-stream";
+    public static final String EXTENSION = "fets";
+
+    private SnapshotFiles() {}
+
+    /*
+     * Function: backup
+     * Purpose: Write a snapshot of the food table (plus users if asked) to the document at uri
+     * Returns: number of food rows written
+     */
+    public static int backup(ContentResolver resolver, Uri uri, DatabaseHelper db, boolean includeUsers) throws IOException {
+        try (ParcelFileDescriptor pfd = open(resolver, uri, "wt");
+             FileOutputStream out = new FileOutputStream(pfd.getFileDescriptor());
+             FileChannel channel = out.getChannel()) {
+            SnapshotWriter writer = new SnapshotWriter(channel, includeUsers);
+            db.writeSnapshot(writer);
+            writer.finish();
+            return writer.getFoodCount();
+        }
+    }
+
+    /*
+     * Function: restore
+     * Purpose: Memory-map the document at uri and replace the tables in one transaction
+     * Returns: number of food rows restored
+     */
+    public static int restore(ContentResolver resolver, Uri uri, DatabaseHelper db) throws IOException {
+        try (ParcelFileDescriptor pfd = open(resolver, uri, "r");
+             FileInputStream in = new FileInputStream(pfd.getFileDescriptor());
+             FileChannel channel = in.getChannel()) {
+            return db.restoreSnapshot(new SnapshotReader(map(channel)));
+        }
+    }
+
+    /*
+     * Function: map
+     * Purpose: Map the whole channel read-only; providers backed by pipes cannot be mapped, so copy those
+     */
+    private static ByteBuffer map(FileChannel channel) throws IOException {
+        try {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException | UnsupportedOperationException e) {
+            ByteBuffer copy = ByteBuffer.allocate(64 * 1024);
+            while (channel.read(copy) >= 0) {
+                if (!copy.hasRemaining()) {
+                    ByteBuffer bigger = ByteBuffer.allocate(copy.capacity() * 2);
+                    copy.flip();
+                    bigger.put(copy);
+                    copy = bigger;
+                }
+            }
+            copy.flip();
+            return copy;
+        }
+    }
+
+    private static ParcelFileDescriptor open(ContentResolver resolver, Uri uri, String mode) throws IOException {
+        ParcelFileDescriptor pfd = resolver.openFileDescriptor(uri, mode);
+        if (pfd == null) throw new FileNotFoundException("Cannot open " + uri);
+        return pfd;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.foodexpirytracker.backup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+
+/*
+ * Function: SnapshotFormat
+ * Purpose: Constants and primitive encodings shared by SnapshotWriter and SnapshotReader.
+ *
+ * Layout (big-endian):
+ *   header   magic "FETS" (4) | version (1) | flags (1)
+ *   records  varint length | type (1) | payload ...   (repeated)
+ *   end      varint 0
+ *   trailer  CRC32 of every preceding byte (4)
+ *
+ * Food payload: zigzag id delta, name, category ref, purchase date, expiry date, zigzag quantity, notes.
+ * Strings are varint (byteLength + 1) then UTF-8, 0 meaning null. Category refs are 0 = null,
+ * 1 = new string follows and joins the dictionary, n >= 2 = dictionary[n - 2].
+ * Dates are a kind byte then, for DAY/MINUTE, a zigzag delta in epoch minutes from the previous
+ * dated value of the same column; anything that does not round-trip exactly is stored RAW.
+ * Readers skip unknown record types and trailing payload bytes, so fields can be appended.
+ */
+final class SnapshotFormat {
+    static final int MAGIC = 0x46455453; // "FETS"
+    static final int VERSION = 1;
+    static final int FLAG_USERS = 1;
+    static final int HEADER_BYTES = 6;
+    static final int TRAILER_BYTES = 4;
+
+    static final int RECORD_FOOD = 1;
+    static final int RECORD_USER = 2;
+
+    static final int DATE_NULL = 0;
+    static final int DATE_DAY = 1;
+    static final int DATE_MINUTE = 2;
+    static final int DATE_RAW = 3;
+
+    static final int CATEGORY_NULL = 0;
+    static final int CATEGORY_NEW = 1;
+    static final int CATEGORY_BASE = 2;
+
+    private static final long MINUTES_PER_DAY = 24 * 60;
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ofPattern("uuuu-MM-dd")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter MINUTE = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private SnapshotFormat() {}
+
+    static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /*
+     * Function: dateKind
+     * Purpose: Classify a stored date string as DAY, MINUTE or RAW (null -> DATE_NULL)
+     */
+    static int dateKind(String value) {
+        if (value == null) return DATE_NULL;
+        if (value.length() == 10) return toEpochMinutes(value, DATE_DAY) == Long.MIN_VALUE ? DATE_RAW : DATE_DAY;
+        if (value.length() == 16) return toEpochMinutes(value, DATE_MINUTE) == Long.MIN_VALUE ? DATE_RAW : DATE_MINUTE;
+        return DATE_RAW;
+    }
+
+    /*
+     * Function: toEpochMinutes
+     * Purpose: Parse a DAY or MINUTE string (UTC wall clock); Long.MIN_VALUE unless it re-formats identically
+     */
+    static long toEpochMinutes(String value, int kind) {
+        try {
+            if (kind == DATE_DAY) {
+                LocalDate d = LocalDate.parse(value, DAY);
+                return DAY.format(d).equals(value) ? d.toEpochDay() * MINUTES_PER_DAY : Long.MIN_VALUE;
+            }
+            LocalDateTime t = LocalDateTime.parse(value, MINUTE);
+            return MINUTE.format(t).equals(value) ? t.toEpochSecond(ZoneOffset.UTC) / 60 : Long.MIN_VALUE;
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /*
+     * Function: fromEpochMinutes
+     * Purpose: Inverse of toEpochMinutes
+     */
+    static String fromEpochMinutes(long minutes, int kind) {
+        if (kind == DATE_DAY) {
+            return DAY.format(LocalDate.ofEpochDay(Math.floorDiv(minutes, MINUTES_PER_DAY)));
+        }
+        return MINUTE.format(LocalDateTime.ofEpochSecond(minutes * 60, 0, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.foodexpirytracker.backup;
+
+import com.example.foodexpirytracker.FoodItem;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/*
+ * Function: SnapshotReader
+ * Purpose: Validate and decode a snapshot held in a ByteBuffer (typically memory-mapped).
+ *          The constructor checks magic, version and CRC before any record is handed out.
+ */
+public final class SnapshotReader {
+
+    /*
+     * Function: Visitor
+     * Purpose: Receive decoded rows in file order
+     */
+    public interface Visitor {
+        void onFood(FoodItem item);
+        void onUser(UserRecord user);
+    }
+
+    private final ByteBuffer buffer;
+    private final boolean hasUsers;
+    private final List<String> categories = new ArrayList<>();
+    private byte[] scratch = new byte[256];
+
+    /*
+     * Function: SnapshotReader constructor
+     * Purpose: Verify header and checksum
+     * Throws: IOException when the data is truncated, corrupt or from a newer format version
+     */
+    public SnapshotReader(ByteBuffer source) throws IOException {
+        ByteBuffer buf = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int limit = buf.limit();
+        if (limit - buf.position() < SnapshotFormat.HEADER_BYTES + 1 + SnapshotFormat.TRAILER_BYTES) {
+            throw new IOException("Snapshot truncated");
+        }
+        ByteBuffer body = buf.duplicate();
+        body.limit(limit - SnapshotFormat.TRAILER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != buf.getInt(limit - SnapshotFormat.TRAILER_BYTES)) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        if (buf.getInt() != SnapshotFormat.MAGIC) throw new IOException("Not a snapshot file");
+        int version = buf.get() & 0xFF;
+        if (version > SnapshotFormat.VERSION) throw new IOException("Unsupported snapshot version " + version);
+        hasUsers = (buf.get() & SnapshotFormat.FLAG_USERS) != 0;
+        buf.limit(limit - SnapshotFormat.TRAILER_BYTES);
+        this.buffer = buf;
+    }
+
+    /* Function: hasUsers | Purpose: Whether the snapshot carries a users section */
+    public boolean hasUsers() { return hasUsers; }
+
+    /*
+     * Function: read
+     * Purpose: Decode every record into the visitor; may be called once
+     */
+    public void read(Visitor visitor) throws IOException {
+        int lastFoodId = 0;
+        int lastUserId = 0;
+        long lastPurchase = 0;
+        long lastExpiry = 0;
+        long[] date = new long[1];
+        try {
+            while (true) {
+                int length = (int) getVarLong();
+                if (length == 0) return;
+                int end = buffer.position() + length;
+                int type = buffer.get() & 0xFF;
+                if (type == SnapshotFormat.RECORD_FOOD) {
+                    lastFoodId += (int) SnapshotFormat.unzigzag(getVarLong());
+                    String name = getString();
+                    String category = getCategory();
+                    date[0] = lastPurchase;
+                    String purchase = getDate(date);
+                    lastPurchase = date[0];
+                    date[0] = lastExpiry;
+                    String expiry = getDate(date);
+                    lastExpiry = date[0];
+                    int quantity = (int) SnapshotFormat.unzigzag(getVarLong());
+                    String notes = getString();
+                    visitor.onFood(new FoodItem(lastFoodId, name, category, purchase, expiry, quantity, notes));
+                } else if (type == SnapshotFormat.RECORD_USER) {
+                    lastUserId += (int) SnapshotFormat.unzigzag(getVarLong());
+                    String email = getString();
+                    String hash = getString();
+                    String salt = getString();
+                    Long createdAt = buffer.get() == 0 ? null : SnapshotFormat.unzigzag(getVarLong());
+                    visitor.onUser(new UserRecord(lastUserId, email, hash, salt, createdAt));
+                }
+                // Skip unknown record types and any fields appended by newer writers
+                buffer.position(end);
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("Snapshot record malformed", e);
+        }
+    }
+
+    private String getCategory() {
+        int ref = (int) getVarLong();
+        if (ref == SnapshotFormat.CATEGORY_NULL) return null;
+        if (ref == SnapshotFormat.CATEGORY_NEW) {
+            String category = getString();
+            categories.add(category);
+            return category;
+        }
+        return categories.get(ref - SnapshotFormat.CATEGORY_BASE);
+    }
+
+    private String getDate(long[] previous) {
+        int kind = buffer.get() & 0xFF;
+        if (kind == SnapshotFormat.DATE_NULL) return null;
+        if (kind == SnapshotFormat.DATE_RAW) return getString();
+        long minutes = previous[0] + SnapshotFormat.unzigzag(getVarLong());
+        previous[0] = minutes;
+        return SnapshotFormat.fromEpochMinutes(minutes, kind);
+    }
+
+    private String getString() {
+        int n = (int) getVarLong();
+        if (n == 0) return null;
+        n -= 1;
+        if (n > scratch.length) scratch = new byte[Math.max(n, scratch.length * 2)];
+        buffer.get(scratch, 0, n);
+        return new String(scratch, 0, n, StandardCharsets.UTF_8);
+    }
+
+    private long getVarLong() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return result;
+        }
+        throw new IllegalArgumentException("Varint too long");
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.foodexpirytracker.backup;
+
+import com.example.foodexpirytracker.FoodItem;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/*
+ * Function: SnapshotWriter
+ * Purpose: Encode food (and optionally user) rows into the snapshot format described in
+ *          SnapshotFormat, buffering into a direct ByteBuffer that is drained to a channel.
+ *          Call finish() once after the last record; the writer does not close the channel.
+ */
+public final class SnapshotWriter {
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final boolean includeUsers;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+    private final Map<String, Integer> categories = new HashMap<>();
+
+    // Record under construction; grown on demand and reused
+    private byte[] record = new byte[256];
+    private int recordLength;
+
+    private int lastFoodId;
+    private int lastUserId;
+    private long lastPurchase;
+    private long lastExpiry;
+    private int foodCount;
+    private int userCount;
+    private boolean finished;
+
+    /*
+     * Function: SnapshotWriter constructor
+     * Purpose: Write the header; includeUsers marks the snapshot as carrying a users section
+     */
+    public SnapshotWriter(WritableByteChannel channel, boolean includeUsers) throws IOException {
+        this.channel = channel;
+        this.includeUsers = includeUsers;
+        out.putInt(SnapshotFormat.MAGIC);
+        out.put((byte) SnapshotFormat.VERSION);
+        out.put((byte) (includeUsers ? SnapshotFormat.FLAG_USERS : 0));
+    }
+
+    /* Function: includesUsers | Purpose: Whether user rows belong in this snapshot */
+    public boolean includesUsers() { return includeUsers; }
+
+    /* Function: getFoodCount | Purpose: Return food records written so far */
+    public int getFoodCount() { return foodCount; }
+
+    /* Function: getUserCount | Purpose: Return user records written so far */
+    public int getUserCount() { return userCount; }
+
+    /*
+     * Function: writeFood
+     * Purpose: Append one food record
+     */
+    public void writeFood(FoodItem item) throws IOException {
+        recordLength = 0;
+        putByte(SnapshotFormat.RECORD_FOOD);
+        putVarLong(SnapshotFormat.zigzag((long) item.getId() - lastFoodId));
+        lastFoodId = item.getId();
+        putString(item.getName());
+        putCategory(item.getCategory());
+        lastPurchase = putDate(item.getPurchaseDate(), lastPurchase);
+        lastExpiry = putDate(item.getExpiryDate(), lastExpiry);
+        putVarLong(SnapshotFormat.zigzag(item.getQuantity()));
+        putString(item.getNotes());
+        emitRecord();
+        foodCount++;
+    }
+
+    /*
+     * Function: writeUser
+     * Purpose: Append one user record; only valid when the snapshot includes users
+     */
+    public void writeUser(UserRecord user) throws IOException {
+        if (!includeUsers) throw new IllegalStateException("Snapshot was opened without users");
+        recordLength = 0;
+        putByte(SnapshotFormat.RECORD_USER);
+        putVarLong(SnapshotFormat.zigzag((long) user.getId() - lastUserId));
+        lastUserId = user.getId();
+        putString(user.getEmail());
+        putString(user.getPasswordHash());
+        putString(user.getSalt());
+        if (user.getCreatedAt() == null) {
+            putByte(0);
+        } else {
+            putByte(1);
+            putVarLong(SnapshotFormat.zigzag(user.getCreatedAt()));
+        }
+        emitRecord();
+        userCount++;
+    }
+
+    /*
+     * Function: finish
+     * Purpose: Write the end marker and CRC trailer and drain everything to the channel
+     */
+    public void finish() throws IOException {
+        if (finished) return;
+        finished = true;
+        ensureRoom(1);
+        out.put((byte) 0);
+        drain();
+        out.putInt((int) crc.getValue());
+        out.flip();
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    private void emitRecord() throws IOException {
+        ensureRoom(5 + recordLength);
+        putVarIntTo(out, recordLength);
+        if (recordLength > out.remaining()) {
+            // Oversized record (very long notes): send the buffered prefix, then the record itself
+            drain();
+            ByteBuffer big = ByteBuffer.wrap(record, 0, recordLength);
+            crc.update(big.duplicate());
+            while (big.hasRemaining()) channel.write(big);
+            return;
+        }
+        out.put(record, 0, recordLength);
+    }
+
+    private void ensureRoom(int bytes) throws IOException {
+        if (out.remaining() < bytes) drain();
+    }
+
+    private void drain() throws IOException {
+        out.flip();
+        crc.update(out.duplicate());
+        while (out.hasRemaining()) channel.write(out);
+        out.clear();
+    }
+
+    private void putCategory(String category) {
+        if (category == null) {
+            putByte(SnapshotFormat.CATEGORY_NULL);
+            return;
+        }
+        Integer index = categories.get(category);
+        if (index != null) {
+            putVarLong(SnapshotFormat.CATEGORY_BASE + index);
+            return;
+        }
+        categories.put(category, categories.size());
+        putByte(SnapshotFormat.CATEGORY_NEW);
+        putString(category);
+    }
+
+    private long putDate(String value, long previous) {
+        int kind = SnapshotFormat.dateKind(value);
+        putByte(kind);
+        if (kind == SnapshotFormat.DATE_NULL) return previous;
+        if (kind == SnapshotFormat.DATE_RAW) {
+            putString(value);
+            return previous;
+        }
+        long minutes = SnapshotFormat.toEpochMinutes(value, kind);
+        putVarLong(SnapshotFormat.zigzag(minutes - previous));
+        return minutes;
+    }
+
+    private void putString(String value) {
+        if (value == null) {
+            putByte(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarLong(bytes.length + 1L);
+        grow(bytes.length);
+        System.arraycopy(bytes, 0, record, recordLength, bytes.length);
+        recordLength += bytes.length;
+    }
+
+    private void putVarLong(long v) {
+        grow(10);
+        while ((v & ~0x7FL) != 0) {
+            record[recordLength++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        record[recordLength++] = (byte) v;
+    }
+
+    private void putByte(int b) {
+        grow(1);
+        record[recordLength++] = (byte) b;
+    }
+
+    private void grow(int extra) {
+        if (recordLength + extra > record.length) {
+            record = Arrays.copyOf(record, Math.max(record.length * 2, recordLength + extra));
+        }
+    }
+
+    private static void putVarIntTo(ByteBuffer buffer, int v) {
+        while ((v & ~0x7F) != 0) {
+            buffer.put((byte) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.foodexpirytracker.backup;
+
+/*
+ * Function: UserRecord
+ * Purpose: One row of the local users table as carried in a snapshot
+ */
+public final class UserRecord {
+    private final int id;
+    private final String email;
+    private final String passwordHash;
+    private final String salt;
+    private final Long createdAt;
+
+    /*
+     * Function: UserRecord constructor
+     * Purpose: Initialize all columns; createdAt may be null
+     */
+    public UserRecord(int id, String email, String passwordHash, String salt, Long createdAt) {
+        this.id = id;
+        this.email = email;
+        this.passwordHash = passwordHash;
+        this.salt = salt;
+        this.createdAt = createdAt;
+    }
+
+    /* Function: getId | Purpose: Return user id */
+    public int getId() { return id; }
+    /* Function: getEmail | Purpose: Return email */
+    public String getEmail() { return email; }
+    /* Function: getPasswordHash | Purpose: Return stored password hash */
+    public String getPasswordHash() { return passwordHash; }
+    /* Function: getSalt | Purpose: Return stored salt */
+    public String getSalt() { return salt; }
+    /* Function: getCreatedAt | Purpose: Return creation time in millis, or null */
+    public Long getCreatedAt() { return createdAt; }
+}
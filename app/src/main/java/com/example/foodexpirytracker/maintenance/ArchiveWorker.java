@@ -0,0 +1,107 @@
+package com.example.foodexpirytracker.maintenance;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+import com.example.foodexpirytracker.StorageStats;
+import com.example.foodexpirytracker.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Function: ArchiveWorker
+ * Purpose: Daily maintenance while the device is idle and charging: archive items expired for
+ *          more than RETENTION_DAYS, release free pages with incremental vacuum and refresh planner
+ *          statistics. File size and hot-query latency are logged before and after each run.
+ */
+public class ArchiveWorker extends Worker {
+    private static final String TAG = "ArchiveWorker";
+    private static final String WORK_NAME = "archive_maintenance";
+    static final int RETENTION_DAYS = 30;
+    // Rows per archive transaction and pages per vacuum step; the stop signal is checked between them
+    private static final int ARCHIVE_BATCH = 500;
+    private static final int VACUUM_PAGES = 1024;
+
+    /*
+     * Function: constructor
+     * Purpose: Initialize worker with app context and parameters
+     */
+    public ArchiveWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /*
+     * Function: schedule
+     * Purpose: Enqueue the daily run once; later calls keep the existing schedule
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresCharging(true)
+                .setRequiresDeviceIdle(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(ArchiveWorker.class, 1, TimeUnit.DAYS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    /*
+     * Function: doWork
+     * Purpose: Archive every owner's long-expired rows, then vacuum and analyze the database
+     * Returns: Result.success when finished, Result.retry when stopped part way (progress is kept)
+     */
+    public Result doWork() {
+        DatabaseHelper db = DatabaseHelper.getInstance(getApplicationContext());
+        try {
+            StorageStats before = db.getStorageStats();
+            long hotBefore = hotQueryMicros(db);
+
+            long cutoff = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(RETENTION_DAYS);
+            long archived = 0;
+            int rows;
+            while (!isStopped() && (rows = db.archiveExpired(cutoff, ARCHIVE_BATCH)) > 0) archived += rows;
+            long released = 0;
+            long pages;
+            while (!isStopped() && (pages = db.incrementalVacuum(VACUUM_PAGES)) > 0) released += pages;
+            if (isStopped()) return Result.retry();
+            db.analyze();
+
+            StorageStats after = db.getStorageStats();
+            long hotAfter = hotQueryMicros(db);
+            Metrics.DB_FILE_BYTES.set(after.getFileBytes());
+            Metrics.DB_FREE_BYTES.set(after.getFreeBytes());
+            Metrics.DB_HOT_QUERY_MICROS.set(hotAfter);
+            Log.i(TAG, "archived=" + archived + " releasedPages=" + released
+                    + " file=" + before.getFileBytes() / 1024 + "->" + after.getFileBytes() / 1024 + "KiB"
+                    + " free=" + before.getFreeBytes() / 1024 + "->" + after.getFreeBytes() / 1024 + "KiB"
+                    + " hotQuery=" + hotBefore + "->" + hotAfter + "us");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "maintenance failed", e);
+            return Result.retry();
+        }
+    }
+
+    /*
+     * Function: hotQueryMicros
+     * Purpose: Time the reads every launch pays for: the full list load and the dashboard summary
+     */
+    private static long hotQueryMicros(DatabaseHelper db) {
+        long start = System.nanoTime();
+        db.getAllFood();
+        db.getSummary();
+        return (System.nanoTime() - start) / 1000;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.foodexpirytracker.maintenance;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Function: WasteRollupWorker
+ * Purpose: Fold new consumption/expiry events into daily totals so waste reports read rollups
+ *          instead of raw events. Runs a few times a day; each batch is its own transaction.
+ */
+public class WasteRollupWorker extends Worker {
+    private static final String TAG = "WasteRollupWorker";
+    private static final String WORK_NAME = "waste_rollup";
+    private static final long INTERVAL_HOURS = 6;
+    private static final int BATCH = 5000;
+
+    /*
+     * Function: constructor
+     * Purpose: Initialize worker with app context and parameters
+     */
+    public WasteRollupWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /*
+     * Function: schedule
+     * Purpose: Enqueue the periodic rollup once; later calls keep the existing schedule
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiresBatteryNotLow(true)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(WasteRollupWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    /*
+     * Function: doWork
+     * Purpose: Roll up every pending event in batches
+     * Returns: Result.success when caught up, Result.retry when stopped part way (the watermark is kept)
+     */
+    public Result doWork() {
+        DatabaseHelper db = DatabaseHelper.getInstance(getApplicationContext());
+        TimeZone zone = TimeZone.getDefault();
+        try {
+            long events = 0;
+            int rows;
+            while ((rows = db.rollUpEvents(BATCH, zone)) > 0) {
+                events += rows;
+                if (isStopped()) return Result.retry();
+            }
+            Log.i(TAG, "rolled up " + events + " events");
+            return Result.success();
+        } catch (Exception e) {
+            Log.e(TAG, "rollup failed", e);
+            return Result.retry();
+        }
+    }
+}
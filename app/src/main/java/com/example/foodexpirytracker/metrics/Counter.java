@@ -0,0 +1,27 @@
+package com.example.foodexpirytracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Function: Counter
+ * Purpose: Monotonic event counter
+ */
+public final class Counter {
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+
+    Counter(String name) {
+        this.name = name;
+    }
+
+    /* Function: inc | Purpose: Add one */
+    public void inc() { value.incrementAndGet(); }
+    /* Function: add | Purpose: Add n */
+    public void add(long n) { value.addAndGet(n); }
+    /* Function: get | Purpose: Return current count */
+    public long get() { return value.get(); }
+    /* Function: getName | Purpose: Return metric name */
+    public String getName() { return name; }
+
+    void reset() { value.set(0); }
+}
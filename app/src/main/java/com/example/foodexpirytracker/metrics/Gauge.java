@@ -0,0 +1,25 @@
+package com.example.foodexpirytracker.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Function: Gauge
+ * Purpose: Last observed value of a quantity (e.g. list size)
+ */
+public final class Gauge {
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+
+    Gauge(String name) {
+        this.name = name;
+    }
+
+    /* Function: set | Purpose: Record current value */
+    public void set(long v) { value.set(v); }
+    /* Function: get | Purpose: Return last value */
+    public long get() { return value.get(); }
+    /* Function: getName | Purpose: Return metric name */
+    public String getName() { return name; }
+
+    void reset() { value.set(0); }
+}
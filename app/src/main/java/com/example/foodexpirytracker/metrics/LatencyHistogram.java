@@ -0,0 +1,114 @@
+package com.example.foodexpirytracker.metrics;
+
+import android.os.Trace;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Function: LatencyHistogram
+ * Purpose: Fixed-bucket latency histogram with android.os.Trace sections; recording never allocates
+ */
+public final class LatencyHistogram {
+    // Upper bounds in microseconds; the last bucket catches everything slower
+    static final long[] BOUNDS_US = {
+            50, 100, 250, 500,
+            1_000, 2_500, 5_000, 10_000,
+            16_000, 25_000, 50_000, 100_000,
+            250_000, 500_000, 1_000_000, Long.MAX_VALUE
+    };
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BOUNDS_US.length);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalUs = new AtomicLong();
+    private final AtomicLong maxUs = new AtomicLong();
+
+    LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /*
+     * Function: begin
+     * Purpose: Open a trace section and return the start timestamp for end()
+     * Returns: System.nanoTime() at start
+     */
+    public long begin() {
+        Trace.beginSection(name);
+        return System.nanoTime();
+    }
+
+    /*
+     * Function: end
+     * Purpose: Close the trace section opened by begin() and record the elapsed time
+     */
+    public void end(long startNanos) {
+        try {
+            recordSince(startNanos);
+        } finally {
+            Trace.endSection();
+        }
+    }
+
+    /*
+     * Function: recordSince
+     * Purpose: Record the time since a System.nanoTime() start without touching trace sections, for
+     *          spans that hop threads (a section must end on the thread and in the frame it began)
+     */
+    public void recordSince(long startNanos) {
+        record((System.nanoTime() - startNanos) / 1_000);
+    }
+
+    /*
+     * Function: record
+     * Purpose: Add one observation in microseconds
+     */
+    public void record(long micros) {
+        int i = 0;
+        while (micros > BOUNDS_US[i]) i++;
+        buckets.incrementAndGet(i);
+        count.incrementAndGet();
+        totalUs.addAndGet(micros);
+        long prev = maxUs.get();
+        while (micros > prev && !maxUs.compareAndSet(prev, micros)) {
+            prev = maxUs.get();
+        }
+    }
+
+    /*
+     * Function: percentile
+     * Purpose: Estimate a percentile as the upper bound of the bucket containing it
+     * Params: p - 0..100
+     * Returns: microseconds (max observed for the overflow bucket), 0 when empty
+     */
+    public long percentile(double p) {
+        long n = count.get();
+        if (n == 0) return 0;
+        // p0 is the smallest observation, not the first (possibly empty) bucket
+        long rank = Math.max(1, (long) Math.ceil(n * p / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BOUNDS_US.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return BOUNDS_US[i] == Long.MAX_VALUE ? maxUs.get() : Math.min(BOUNDS_US[i], maxUs.get());
+            }
+        }
+        return maxUs.get();
+    }
+
+    /* Function: getCount | Purpose: Return number of observations */
+    public long getCount() { return count.get(); }
+    /* Function: getMeanMicros | Purpose: Return mean latency in microseconds */
+    public long getMeanMicros() { long n = count.get(); return n == 0 ? 0 : totalUs.get() / n; }
+    /* Function: getMaxMicros | Purpose: Return slowest observation in microseconds */
+    public long getMaxMicros() { return maxUs.get(); }
+    /* Function: getName | Purpose: Return metric name */
+    public String getName() { return name; }
+
+    void reset() {
+        for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+        count.set(0);
+        totalUs.set(0);
+        maxUs.set(0);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.foodexpirytracker.metrics;
+
+import java.util.Locale;
+
+/*
+ * Function: Metrics
+ * Purpose: Process-wide registry of hot-path counters, gauges and latency histograms
+ */
+public final class Metrics {
+    // Database
+    public static final LatencyHistogram DB_READ = new LatencyHistogram("db.read");
+    public static final LatencyHistogram DB_WRITE = new LatencyHistogram("db.write");
+    public static final Counter DB_QUERIES = new Counter("db.queries");
+    public static final Counter DB_ROWS_READ = new Counter("db.rows_read");
+    public static final Counter DB_WRITES = new Counter("db.writes");
+    public static final Counter DB_TRANSACTIONS = new Counter("db.transactions");
+    public static final Counter DB_ARCHIVED = new Counter("db.archived_rows");
+    // Set by ArchiveWorker after each maintenance run
+    public static final Gauge DB_FILE_BYTES = new Gauge("db.file_bytes");
+    public static final Gauge DB_FREE_BYTES = new Gauge("db.free_bytes");
+    public static final Gauge DB_HOT_QUERY_MICROS = new Gauge("db.hot_query_us");
+
+    // UI
+    public static final LatencyHistogram UI_FILTER = new LatencyHistogram("ui.applyFilter");
+    // From a list request to its rows delivered in SQL sort order (InventoryRepository.arrange)
+    public static final LatencyHistogram UI_SORT = new LatencyHistogram("ui.arrange");
+    public static final LatencyHistogram UI_BIND = new LatencyHistogram("ui.onBindViewHolder");
+    public static final Gauge INVENTORY_SIZE = new Gauge("inventory.size");
+
+    // Reminders
+    public static final LatencyHistogram WORK_SCHEDULE = new LatencyHistogram("work.schedule");
+    public static final LatencyHistogram NOTIFY_POST = new LatencyHistogram("notify.post");
+    public static final Counter NOTIFY_POSTED = new Counter("notify.posted");
+
+    private static final LatencyHistogram[] HISTOGRAMS = {
+            DB_READ, DB_WRITE, UI_FILTER, UI_SORT, UI_BIND, WORK_SCHEDULE, NOTIFY_POST
+    };
+    private static final Counter[] COUNTERS = {
+            DB_QUERIES, DB_ROWS_READ, DB_WRITES, DB_TRANSACTIONS, DB_ARCHIVED, NOTIFY_POSTED
+    };
+    private static final Gauge[] GAUGES = {
+            INVENTORY_SIZE, DB_FILE_BYTES, DB_FREE_BYTES, DB_HOT_QUERY_MICROS
+    };
+
+    private Metrics() {}
+
+    /*
+     * Function: snapshot
+     * Purpose: Render all metrics as plain text for the diagnostics screen and exported reports
+     */
+    public static String snapshot() {
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("# latency (us): count mean p50 p90 p99 max\n");
+        for (LatencyHistogram h : HISTOGRAMS) {
+            sb.append(String.format(Locale.US, "%-26s %8d %8d %8d %8d %8d %8d%n",
+                    h.getName(), h.getCount(), h.getMeanMicros(),
+                    h.percentile(50), h.percentile(90), h.percentile(99), h.getMaxMicros()));
+        }
+        sb.append("\n# counters\n");
+        for (Counter c : COUNTERS) {
+            sb.append(String.format(Locale.US, "%-26s %d%n", c.getName(), c.get()));
+        }
+        sb.append("\n# gauges\n");
+        for (Gauge g : GAUGES) {
+            sb.append(String.format(Locale.US, "%-26s %d%n", g.getName(), g.get()));
+        }
+        return sb.toString();
+    }
+
+    /*
+     * Function: reset
+     * Purpose: Zero every metric (diagnostics screen and tests)
+     */
+    public static void reset() {
+        for (LatencyHistogram h : HISTOGRAMS) h.reset();
+        for (Counter c : COUNTERS) c.reset();
+        for (Gauge g : GAUGES) g.reset();
+    }
+}
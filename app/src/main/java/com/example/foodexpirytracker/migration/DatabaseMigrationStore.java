@@ -0,0 +1,27 @@
+package com.example.foodexpirytracker.migration;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+
+import java.util.List;
+
+/*
+ * Function: DatabaseMigrationStore
+ * Purpose: MigrationStore over the app database; checkpoints live in schema_migrations
+ */
+public final class DatabaseMigrationStore implements MigrationStore {
+    private final DatabaseHelper db;
+
+    /*
+     * Function: DatabaseMigrationStore constructor
+     * Purpose: Wrap the app database
+     */
+    public DatabaseMigrationStore(DatabaseHelper db) {
+        this.db = db;
+    }
+
+    @Override
+    public List<String> getPendingBackfills() { return db.getPendingBackfills(); }
+
+    @Override
+    public int runBackfillChunk(String name, int limit) { return db.runBackfillChunk(name, limit); }
+}
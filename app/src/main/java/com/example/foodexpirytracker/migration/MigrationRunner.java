@@ -0,0 +1,70 @@
+package com.example.foodexpirytracker.migration;
+
+import java.util.function.BooleanSupplier;
+
+/*
+ * Function: MigrationRunner
+ * Purpose: Drive pending backfills chunk by chunk until they finish, the time budget runs out or
+ *          the caller asks to stop. Chunks are short transactions, so foreground reads and writes
+ *          interleave with a running backfill instead of waiting behind one long migration.
+ *          Not thread-safe: run one at a time per store.
+ */
+public final class MigrationRunner {
+    public static final int DEFAULT_CHUNK_ROWS = 2000;
+
+    /*
+     * Function: Result
+     * Purpose: What one run processed
+     */
+    public static final class Result {
+        private boolean complete;
+        private long rows;
+        private int chunks;
+        private long maxChunkNanos;
+
+        /* Function: isComplete | Purpose: Whether no backfill is left pending */
+        public boolean isComplete() { return complete; }
+        /* Function: getRows | Purpose: Return rows processed across all backfills */
+        public long getRows() { return rows; }
+        /* Function: getChunks | Purpose: Return chunk transactions committed */
+        public int getChunks() { return chunks; }
+        /* Function: getMaxChunkMillis | Purpose: Return the longest single chunk (write lock hold time) */
+        public long getMaxChunkMillis() { return maxChunkNanos / 1_000_000; }
+    }
+
+    private final MigrationStore store;
+    private final int chunkRows;
+
+    /*
+     * Function: MigrationRunner constructor
+     * Purpose: Wire the store and the rows per chunk transaction
+     */
+    public MigrationRunner(MigrationStore store, int chunkRows) {
+        if (chunkRows <= 0) throw new IllegalArgumentException("chunkRows must be positive");
+        this.store = store;
+        this.chunkRows = chunkRows;
+    }
+
+    /*
+     * Function: run
+     * Purpose: Run backfills in order; the budget and stop signal are checked between chunks
+     * Returns: progress, with isComplete() false when interrupted before the end
+     */
+    public Result run(long budgetMillis, BooleanSupplier stopped) {
+        Result result = new Result();
+        long deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        for (String name : store.getPendingBackfills()) {
+            while (true) {
+                if (stopped.getAsBoolean() || System.nanoTime() - deadline >= 0) return result;
+                long start = System.nanoTime();
+                int rows = store.runBackfillChunk(name, chunkRows);
+                result.maxChunkNanos = Math.max(result.maxChunkNanos, System.nanoTime() - start);
+                if (rows == 0) break;
+                result.rows += rows;
+                result.chunks++;
+            }
+        }
+        result.complete = store.getPendingBackfills().isEmpty();
+        return result;
+    }
+}
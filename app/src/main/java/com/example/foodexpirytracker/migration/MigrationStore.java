@@ -0,0 +1,21 @@
+package com.example.foodexpirytracker.migration;
+
+import java.util.List;
+
+/*
+ * Function: MigrationStore
+ * Purpose: Database side of chunked backfills: which backfills are unfinished and a way to advance
+ *          one of them by a bounded chunk. Each chunk commits its rows together with the new
+ *          checkpoint, so a run killed at any point resumes where the last chunk ended.
+ */
+public interface MigrationStore {
+    /* Function: getPendingBackfills | Purpose: Return unfinished backfills in schema-version order */
+    List<String> getPendingBackfills();
+
+    /*
+     * Function: runBackfillChunk
+     * Purpose: Process up to limit rows after the stored checkpoint in one transaction
+     * Returns: rows processed; 0 once the backfill is complete (it is then no longer pending)
+     */
+    int runBackfillChunk(String name, int limit);
+}
@@ -0,0 +1,68 @@
+package com.example.foodexpirytracker.migration;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Function: MigrationWorker
+ * Purpose: Finish data backfills queued by schema upgrades in the background. Progress is
+ *          checkpointed per chunk, so a stopped or killed run is simply retried and resumes.
+ */
+public class MigrationWorker extends Worker {
+    private static final String TAG = "MigrationWorker";
+    private static final String WORK_NAME = "schema_backfill";
+    // Well inside WorkManager's 10 minute execution limit
+    private static final long BUDGET_MILLIS = TimeUnit.MINUTES.toMillis(4);
+
+    /*
+     * Function: constructor
+     * Purpose: Initialize worker with app context and parameters
+     */
+    public MigrationWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /*
+     * Function: schedule
+     * Purpose: Enqueue the backfill run once; a run already queued or running is kept
+     */
+    public static void schedule(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(MigrationWorker.class)
+                .setBackoffCriteria(BackoffPolicy.LINEAR, 10, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context).enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    /*
+     * Function: doWork
+     * Purpose: Run pending backfills until done, stopped or out of budget
+     * Returns: Result.success when nothing is left, Result.retry to continue in a later run
+     */
+    public Result doWork() {
+        DatabaseHelper db = DatabaseHelper.getInstance(getApplicationContext());
+        try {
+            MigrationRunner.Result result = new MigrationRunner(new DatabaseMigrationStore(db),
+                    MigrationRunner.DEFAULT_CHUNK_ROWS).run(BUDGET_MILLIS, this::isStopped);
+            Log.i(TAG, "rows=" + result.getRows() + " chunks=" + result.getChunks()
+                    + " maxChunk=" + result.getMaxChunkMillis() + "ms complete=" + result.isComplete());
+            return result.isComplete() ? Result.success() : Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "backfill failed", e);
+            return Result.retry();
+        }
+    }
+}
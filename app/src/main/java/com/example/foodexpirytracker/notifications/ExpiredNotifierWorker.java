@@ -5,6 +5,7 @@ import androidx.annotation.NonNull;
 import androidx.work.Data;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
+import com.example.foodexpirytracker.DatabaseHelper;
 
 /*
  * Function: ExpiredNotifierWorker
@@ -27,8 +28,8 @@ public class ExpiredNotifierWorker extends Worker {
     @Override
     /*
      * Function: doWork
-     * Purpose: Build and send the "expired" notification
-     * Returns: Result.success or failure on missing input
+     * Purpose: Log the expiry for waste reports, then build and send the "expired" notification
+     * Returns: Result.success (also when the item was deleted meanwhile) or failure on missing input
      */
     public Result doWork() {
         String foodName = getInputData().getString(KEY_FOOD_NAME);
@@ -40,6 +41,15 @@ public class ExpiredNotifierWorker extends Worker {
                     .build());
         }
 
+        // The row may have been deleted after scheduling; drop the job silently
+        int foodId = getInputData().getInt(KEY_FOOD_ID, -1);
+        DatabaseHelper db = DatabaseHelper.getInstance(getApplicationContext());
+        if (foodId >= 0 && !db.foodExists(foodId)) {
+            return Result.success();
+        }
+        // Waste history: what was left when the item expired
+        if (foodId >= 0) db.recordExpired(foodId);
+
         String title = "FoodItem expired";
         String message = foodName + " has expired" + (expiryDate != null ? " (" + expiryDate + ")" : "");
         NotificationHelper.sendNotification(getApplicationContext(), title, message);
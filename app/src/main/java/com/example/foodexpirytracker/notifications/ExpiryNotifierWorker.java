@@ -5,6 +5,7 @@ import androidx.annotation.NonNull;
 import androidx.work.Data;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
+import com.example.foodexpirytracker.DatabaseHelper;
 
 /*
  * Function: ExpiryNotifierWorker
@@ -28,7 +29,7 @@ public class ExpiryNotifierWorker extends Worker {
     /*
      * Function: doWork
      * Purpose: Build and send the "expiring tomorrow" notification
-     * Returns: Result.success or failure on missing input
+     * Returns: Result.success (also when the item was deleted meanwhile) or failure on missing input
      */
     public Result doWork() {
         String foodName = getInputData().getString(KEY_FOOD_NAME);
@@ -40,6 +41,12 @@ public class ExpiryNotifierWorker extends Worker {
                     .build());
         }
 
+        // The row may have been deleted after scheduling; drop the job silently
+        int foodId = getInputData().getInt(KEY_FOOD_ID, -1);
+        if (foodId >= 0 && !DatabaseHelper.getInstance(getApplicationContext()).foodExists(foodId)) {
+            return Result.success();
+        }
+
         String title = "FoodItem expiring tomorrow";
         String message = foodName + " expires tomorrow (" + (expiryDate != null ? expiryDate : "") + ")";
         NotificationHelper.sendNotification(getApplicationContext(), title, message);
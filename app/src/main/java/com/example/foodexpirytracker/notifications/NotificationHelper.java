@@ -13,6 +13,7 @@ import androidx.core.content.ContextCompat;
 
 import com.example.foodexpirytracker.MainActivity;
 import com.example.foodexpirytracker.R;
+import com.example.foodexpirytracker.metrics.Metrics;
 
 /*
  * Function: NotificationHelper
@@ -47,6 +48,19 @@ public class NotificationHelper {
      * Purpose: Build and dispatch a notification to open MainActivity
      */
     public static void sendNotification(Context context, String title, String message, int notificationId) {
+        long start = Metrics.NOTIFY_POST.begin();
+        try {
+            post(context, title, message, notificationId);
+        } finally {
+            Metrics.NOTIFY_POST.end(start);
+        }
+    }
+
+    /*
+     * Function: post
+     * Purpose: Build and post the notification if permission allows
+     */
+    private static void post(Context context, String title, String message, int notificationId) {
         Intent intent = new Intent(context, MainActivity.class);
         intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TOP);
         PendingIntent pendingIntent = PendingIntent.getActivity(
@@ -74,6 +88,7 @@ public class NotificationHelper {
         }
 
         NotificationManagerCompat.from(context).notify(notificationId, builder.build());
+        Metrics.NOTIFY_POSTED.inc();
     }
 
     /*
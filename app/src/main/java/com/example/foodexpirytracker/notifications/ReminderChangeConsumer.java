@@ -0,0 +1,83 @@
+package com.example.foodexpirytracker.notifications;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+import com.example.foodexpirytracker.FoodChange;
+import com.example.foodexpirytracker.FoodItem;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Function: ReminderChangeConsumer
+ * Purpose: Keep reminder work in step with the food table by applying change-log deltas instead
+ *          of rescheduling every item on each launch. Blocking; call from the disk executor.
+ */
+public final class ReminderChangeConsumer {
+    public static final String CONSUMER = "reminders";
+    private static final String TAG = "ReminderChangeConsumer";
+    private static final int PAGE = 500;
+
+    private ReminderChangeConsumer() {}
+
+    /*
+     * Function: catchUp
+     * Purpose: Schedule inserts, reschedule expiry edits, then advance the cursor and compact the log.
+     *          Deletes need no work here: delete paths cancel by tag and workers drop jobs for gone rows.
+     * Returns: number of items (re)scheduled
+     */
+    public static int catchUp(Context context) {
+        DatabaseHelper db = DatabaseHelper.getInstance(context);
+        // Cursors are per device, reminders per owner: keep one cursor per owner
+        String consumer = CONSUMER + ":" + db.getOwner();
+        long cursor = db.getChangeCursor(consumer);
+        int scheduled = 0;
+
+        if (cursor < 0 || db.isChangeLogGap(cursor)) {
+            // First run for this owner, or we fell behind a compaction: one full pass
+            long seq = db.getLatestChangeSeq();
+            for (FoodItem item : db.getAllFood()) {
+                ReminderScheduler.schedule(context, item);
+                scheduled++;
+            }
+            db.saveChangeCursor(consumer, seq);
+            Log.i(TAG, "full pass scheduled " + scheduled);
+            return scheduled;
+        }
+
+        List<FoodChange> changes;
+        while (!(changes = db.getChangesSince(cursor, PAGE)).isEmpty()) {
+            Map<Integer, FoodChange> latest = new LinkedHashMap<>();
+            Set<Integer> expiryChanged = new HashSet<>();
+            for (FoodChange change : changes) {
+                latest.put(change.getItemId(), change);
+                if (change.getOp() == FoodChange.OP_EXPIRY) expiryChanged.add(change.getItemId());
+            }
+            List<Integer> ids = new ArrayList<>();
+            for (FoodChange change : latest.values()) {
+                boolean relevant = change.getOp() == FoodChange.OP_INSERT || expiryChanged.contains(change.getItemId());
+                if (!change.isDelete() && relevant) ids.add(change.getItemId());
+            }
+            int[] idArray = new int[ids.size()];
+            for (int i = 0; i < idArray.length; i++) idArray[i] = ids.get(i);
+            for (FoodItem item : db.getFoodByIds(idArray)) {
+                if (expiryChanged.contains(item.getId())) {
+                    ReminderScheduler.reschedule(context, item);
+                } else {
+                    ReminderScheduler.schedule(context, item);
+                }
+                scheduled++;
+            }
+            cursor = changes.get(changes.size() - 1).getSeq();
+            db.saveChangeCursor(consumer, cursor);
+        }
+        db.compactChanges();
+        return scheduled;
+    }
+}
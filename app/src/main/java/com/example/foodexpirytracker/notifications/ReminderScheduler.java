@@ -0,0 +1,235 @@
+package com.example.foodexpirytracker.notifications;
+
+import android.content.Context;
+
+import androidx.work.Data;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.WorkQuery;
+
+import com.example.foodexpirytracker.ExpiryDates;
+import com.example.foodexpirytracker.DatabaseHelper;
+import com.example.foodexpirytracker.FoodItem;
+import com.example.foodexpirytracker.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Function: ReminderScheduler
+ * Purpose: Enqueue and cancel the per-item "expiring tomorrow" and "expired" WorkManager jobs
+ */
+public final class ReminderScheduler {
+    static final String EXPIRY_REMINDER_PREFIX = "expiry_reminder_";
+    static final String EXPIRED_ALERT_PREFIX = "expired_alert_";
+
+    // Tags let clear, bulk delete and owner switches cancel with one call
+    public static final String TAG_ALL = "reminder";
+    public static final String TAG_KIND_EXPIRY = "reminder_kind_expiry";
+    public static final String TAG_KIND_EXPIRED = "reminder_kind_expired";
+    private static final String TAG_ITEM_PREFIX = "reminder_item_";
+    private static final String TAG_OWNER_PREFIX = "reminder_owner_";
+
+    private static final String PREFS = "reminder_prefs";
+    private static final String KEY_LAST_OWNER = "last_owner";
+    // Item tags per pending-work lookup; keeps the IN (...) list under SQLite's argument limit
+    private static final int TAG_QUERY_CHUNK = 500;
+    private static final List<WorkInfo.State> PENDING_STATES =
+            Arrays.asList(WorkInfo.State.ENQUEUED, WorkInfo.State.BLOCKED, WorkInfo.State.RUNNING);
+
+    private ReminderScheduler() {}
+
+    /*
+     * Function: schedule
+     * Purpose: Schedule both reminders for an item, keeping an already-queued day-before reminder
+     */
+    public static void schedule(Context context, FoodItem foodItem) {
+        scheduleExpiryReminder(context, foodItem, ExistingWorkPolicy.KEEP);
+        scheduleExpiredAlert(context, foodItem);
+    }
+
+    /*
+     * Function: reschedule
+     * Purpose: Replace both reminders after the item's expiry date changed; the old pair is cancelled
+     *          first because a cleared, unparseable or imminent expiry enqueues nothing to replace it
+     */
+    public static void reschedule(Context context, FoodItem foodItem) {
+        cancel(context, foodItem.getId());
+        scheduleExpiryReminder(context, foodItem, ExistingWorkPolicy.REPLACE);
+        scheduleExpiredAlert(context, foodItem);
+    }
+
+    /*
+     * Function: cancel
+     * Purpose: Cancel both reminders for an item id with one tag-based call
+     */
+    public static void cancel(Context context, int foodId) {
+        WorkManager.getInstance(context.getApplicationContext()).cancelAllWorkByTag(itemTag(foodId));
+    }
+
+    /*
+     * Function: cancelAll
+     * Purpose: Cancel reminders for many items; call from a background thread
+     * Params: wholeInventory - true when the ids are every item of the current owner, which
+     *         collapses to a single owner-tag cancel
+     */
+    public static void cancelAll(Context context, int[] foodIds, boolean wholeInventory) {
+        WorkManager wm = WorkManager.getInstance(context.getApplicationContext());
+        if (wholeInventory) {
+            wm.cancelAllWorkByTag(ownerTag(currentOwner(context)));
+            return;
+        }
+        // WorkManager has no multi-tag cancel: one lookup per chunk finds the items that still have
+        // pending jobs, and only those are cancelled (bulk deletes are mostly already-expired items)
+        for (String tag : pendingItemTags(wm, foodIds)) {
+            wm.cancelAllWorkByTag(tag);
+        }
+    }
+
+    /*
+     * Function: pendingItemTags
+     * Purpose: Item tags among foodIds that still have enqueued, blocked or running reminder work;
+     *          blocking, call from a background thread
+     */
+    private static Set<String> pendingItemTags(WorkManager wm, int[] foodIds) {
+        Set<String> pending = new HashSet<>();
+        for (int from = 0; from < foodIds.length; from += TAG_QUERY_CHUNK) {
+            int to = Math.min(foodIds.length, from + TAG_QUERY_CHUNK);
+            List<String> tags = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) tags.add(itemTag(foodIds[i]));
+            WorkQuery query = WorkQuery.Builder.fromTags(tags).addStates(PENDING_STATES).build();
+            try {
+                for (WorkInfo info : wm.getWorkInfos(query).get()) {
+                    for (String tag : info.getTags()) {
+                        if (tag.startsWith(TAG_ITEM_PREFIX)) pending.add(tag);
+                    }
+                }
+            } catch (ExecutionException | InterruptedException e) {
+                if (e instanceof InterruptedException) Thread.currentThread().interrupt();
+                // Lookup failed: cancel the whole chunk rather than leave reminders behind
+                pending.addAll(tags);
+            }
+        }
+        return pending;
+    }
+
+    /*
+     * Function: cancelAllForOwner
+     * Purpose: Cancel every pending reminder of the current owner with one call (clear, restore)
+     */
+    public static void cancelAllForOwner(Context context) {
+        WorkManager.getInstance(context.getApplicationContext()).cancelAllWorkByTag(ownerTag(currentOwner(context)));
+    }
+
+    /*
+     * Function: onOwnerChanged
+     * Purpose: On sign-in as a different account, cancel the previous owner's reminders in one call
+     */
+    public static void onOwnerChanged(Context context, String newOwner) {
+        String owner = newOwner == null ? DatabaseHelper.LOCAL_OWNER : newOwner;
+        android.content.SharedPreferences prefs = context.getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        String previous = prefs.getString(KEY_LAST_OWNER, null);
+        if (previous != null && !previous.equals(owner)) {
+            WorkManager.getInstance(context.getApplicationContext()).cancelAllWorkByTag(ownerTag(previous));
+        }
+        prefs.edit().putString(KEY_LAST_OWNER, owner).apply();
+    }
+
+    /*
+     * Function: currentOwner
+     * Purpose: Owner id used to tag reminders; same partition key the inventory is scoped to
+     */
+    static String currentOwner(Context context) {
+        return DatabaseHelper.getInstance(context).getOwner();
+    }
+
+    private static String itemTag(int foodId) {
+        return TAG_ITEM_PREFIX + foodId;
+    }
+
+    private static String ownerTag(String owner) {
+        return TAG_OWNER_PREFIX + owner;
+    }
+
+    /*
+     * Function: scheduleExpiryReminder
+     * Purpose: Schedule a notification one day before item expiry
+     */
+    private static void scheduleExpiryReminder(Context context, FoodItem foodItem, ExistingWorkPolicy policy) {
+        long start = Metrics.WORK_SCHEDULE.begin();
+        try {
+            long expiry = ExpiryDates.parseMillis(foodItem.getExpiryDate());
+            if (expiry == ExpiryDates.UNKNOWN) return;
+            long triggerTime = expiry - TimeUnit.DAYS.toMillis(1);
+            long delay = triggerTime - System.currentTimeMillis();
+            if (delay <= 0) {
+                // If already within 1 day or past, optionally notify immediately
+                NotificationHelper.sendNotification(context,
+                        "FoodItem expiring soon",
+                        foodItem.getName() + " expires tomorrow (" + foodItem.getExpiryDate() + ")");
+                return;
+            }
+            Data input = new Data.Builder()
+                    .putInt(ExpiryNotifierWorker.KEY_FOOD_ID, foodItem.getId())
+                    .putString(ExpiryNotifierWorker.KEY_FOOD_NAME, foodItem.getName())
+                    .putString(ExpiryNotifierWorker.KEY_EXPIRY_DATE, foodItem.getExpiryDate())
+                    .build();
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ExpiryNotifierWorker.class)
+                    .setInitialDelay(delay, TimeUnit.MILLISECONDS)
+                    .setInputData(input)
+                    .addTag(TAG_ALL)
+                    .addTag(TAG_KIND_EXPIRY)
+                    .addTag(itemTag(foodItem.getId()))
+                    .addTag(ownerTag(currentOwner(context)))
+                    .build();
+            WorkManager.getInstance(context.getApplicationContext())
+                    .enqueueUniqueWork(EXPIRY_REMINDER_PREFIX + foodItem.getId(), policy, request);
+        } finally {
+            Metrics.WORK_SCHEDULE.end(start);
+        }
+    }
+
+    /*
+     * Function: scheduleExpiredAlert
+     * Purpose: Schedule a notification at the exact expiry time
+     */
+    private static void scheduleExpiredAlert(Context context, FoodItem foodItem) {
+        long start = Metrics.WORK_SCHEDULE.begin();
+        try {
+            long expiry = ExpiryDates.parseMillis(foodItem.getExpiryDate());
+            if (expiry == ExpiryDates.UNKNOWN) return;
+            long delay = expiry - System.currentTimeMillis();
+            if (delay <= 0) {
+                // Already expired, notify immediately
+                NotificationHelper.sendNotification(context,
+                        "FoodItem expired",
+                        foodItem.getName() + " has expired (" + foodItem.getExpiryDate() + ")");
+                return;
+            }
+            Data input = new Data.Builder()
+                    .putInt(ExpiredNotifierWorker.KEY_FOOD_ID, foodItem.getId())
+                    .putString(ExpiredNotifierWorker.KEY_FOOD_NAME, foodItem.getName())
+                    .putString(ExpiredNotifierWorker.KEY_EXPIRY_DATE, foodItem.getExpiryDate())
+                    .build();
+            OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(ExpiredNotifierWorker.class)
+                    .setInitialDelay(delay, TimeUnit.MILLISECONDS)
+                    .setInputData(input)
+                    .addTag(TAG_ALL)
+                    .addTag(TAG_KIND_EXPIRED)
+                    .addTag(itemTag(foodItem.getId()))
+                    .addTag(ownerTag(currentOwner(context)))
+                    .build();
+            WorkManager.getInstance(context.getApplicationContext())
+                    .enqueueUniqueWork(EXPIRED_ALERT_PREFIX + foodItem.getId(), ExistingWorkPolicy.REPLACE, request);
+        } finally {
+            Metrics.WORK_SCHEDULE.end(start);
+        }
+    }
+}
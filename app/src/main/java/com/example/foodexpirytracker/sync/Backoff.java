@@ -0,0 +1,67 @@
+package com.example.foodexpirytracker.sync;
+
+import java.util.Random;
+
+/*
+ * Function: Backoff
+ * Purpose: Exponential backoff with full jitter for transport retries. The sleeper is
+ *          injectable so tests do not actually wait.
+ */
+public final class Backoff {
+    /*
+     * Function: Sleeper
+     * Purpose: Wait between attempts
+     */
+    public interface Sleeper {
+        void sleep(long millis) throws InterruptedException;
+    }
+
+    public static final Sleeper THREAD_SLEEPER = Thread::sleep;
+
+    private final long baseMillis;
+    private final long maxMillis;
+    private final int maxAttempts;
+    private final Sleeper sleeper;
+    private final Random random;
+
+    /*
+     * Function: Backoff constructor
+     * Purpose: Delay before retry n is uniform in [0, min(maxMillis, baseMillis * 2^n)]
+     */
+    public Backoff(long baseMillis, long maxMillis, int maxAttempts, Sleeper sleeper, Random random) {
+        this.baseMillis = baseMillis;
+        this.maxMillis = maxMillis;
+        this.maxAttempts = maxAttempts;
+        this.sleeper = sleeper;
+        this.random = random;
+    }
+
+    /*
+     * Function: defaults
+     * Purpose: 500 ms base, 30 s cap, 5 attempts, real sleeps
+     */
+    public static Backoff defaults() {
+        return new Backoff(500, 30_000, 5, THREAD_SLEEPER, new Random());
+    }
+
+    /* Function: getMaxAttempts | Purpose: Return attempts allowed per call, including the first */
+    public int getMaxAttempts() { return maxAttempts; }
+
+    /*
+     * Function: delayFor
+     * Purpose: Jittered delay before the given retry (0-based)
+     */
+    public long delayFor(int retry) {
+        long ceiling = baseMillis << Math.min(retry, 20);
+        if (ceiling <= 0 || ceiling > maxMillis) ceiling = maxMillis;
+        return (long) (random.nextDouble() * (ceiling + 1));
+    }
+
+    /*
+     * Function: pause
+     * Purpose: Sleep before the given retry
+     */
+    public void pause(int retry) throws InterruptedException {
+        sleeper.sleep(delayFor(retry));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.foodexpirytracker.sync;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+
+import java.util.List;
+
+/*
+ * Function: DatabaseSyncStore
+ * Purpose: SyncStore over the food table: pending changes come from the change log, the push
+ *          cursor lives in change_cursors ("sync:<owner>") and the pull watermark in sync_state
+ */
+public final class DatabaseSyncStore implements SyncStore {
+    private final DatabaseHelper db;
+
+    /*
+     * Function: DatabaseSyncStore constructor
+     * Purpose: Wrap the app database; the owner is whatever DatabaseHelper is scoped to
+     */
+    public DatabaseSyncStore(DatabaseHelper db) {
+        this.db = db;
+    }
+
+    @Override
+    public String getOwner() { return db.getOwner(); }
+
+    @Override
+    public SyncBatch readPending(int limit) { return db.readSyncPending(limit); }
+
+    @Override
+    public void markPushed(SyncBatch batch) { db.markSyncPushed(batch); }
+
+    @Override
+    public int applyRemote(List<SyncRecord> records) { return db.applySyncRecords(records); }
+
+    @Override
+    public long getPullWatermark() { return db.getSyncWatermark(); }
+
+    @Override
+    public void setPullWatermark(long watermark) { db.saveSyncWatermark(watermark); }
+}
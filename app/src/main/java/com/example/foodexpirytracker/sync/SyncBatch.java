@@ -0,0 +1,27 @@
+package com.example.foodexpirytracker.sync;
+
+import java.util.List;
+
+/*
+ * Function: SyncBatch
+ * Purpose: Records to exchange plus the position they bring the reader to: the local change-log
+ *          sequence for pushes, the server watermark for pulls
+ */
+public final class SyncBatch {
+    private final List<SyncRecord> records;
+    private final long position;
+
+    /*
+     * Function: SyncBatch constructor
+     * Purpose: Initialize records and the position reached after them
+     */
+    public SyncBatch(List<SyncRecord> records, long position) {
+        this.records = records;
+        this.position = position;
+    }
+
+    /* Function: getRecords | Purpose: Return the records in this batch */
+    public List<SyncRecord> getRecords() { return records; }
+    /* Function: getPosition | Purpose: Return the sequence/watermark reached after this batch */
+    public long getPosition() { return position; }
+}
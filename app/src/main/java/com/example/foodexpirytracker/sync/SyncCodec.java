@@ -0,0 +1,109 @@
+package com.example.foodexpirytracker.sync;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Function: SyncCodec
+ * Purpose: Gzip-compressed binary payload for a SyncBatch. Layout inside the gzip stream:
+ *          magic "FESY", version byte, position (long), record count (int), then per record
+ *          flags byte (bit 0 = tombstone), syncId, version, updatedAt and, for live rows,
+ *          name, category, purchase date, expiry date, quantity, notes. Strings are an int
+ *          byte length (-1 for null) followed by UTF-8 bytes.
+ */
+public final class SyncCodec {
+    static final int MAGIC = 0x46455359; // "FESY"
+    static final int VERSION = 1;
+    private static final int FLAG_DELETED = 1;
+
+    private SyncCodec() {}
+
+    /*
+     * Function: encode
+     * Purpose: Serialize and compress a batch
+     */
+    public static byte[] encode(SyncBatch batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + batch.getRecords().size() * 48);
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes, 8192))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(batch.getPosition());
+            out.writeInt(batch.getRecords().size());
+            for (SyncRecord r : batch.getRecords()) {
+                out.writeByte(r.isDeleted() ? FLAG_DELETED : 0);
+                writeString(out, r.getSyncId());
+                out.writeLong(r.getVersion());
+                out.writeLong(r.getUpdatedAt());
+                if (r.isDeleted()) continue;
+                writeString(out, r.getName());
+                writeString(out, r.getCategory());
+                writeString(out, r.getPurchaseDate());
+                writeString(out, r.getExpiryDate());
+                out.writeInt(r.getQuantity());
+                writeString(out, r.getNotes());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /*
+     * Function: decode
+     * Purpose: Decompress and parse a payload produced by encode
+     * Throws: IOException when the payload is corrupt or from a newer version
+     */
+    public static SyncBatch decode(byte[] payload) throws IOException {
+        try (DataInputStream in = new DataInputStream(new GZIPInputStream(new ByteArrayInputStream(payload), 8192))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a sync payload");
+            int version = in.readUnsignedByte();
+            if (version > VERSION) throw new IOException("Unsupported sync payload version " + version);
+            long position = in.readLong();
+            int count = in.readInt();
+            if (count < 0) throw new IOException("Sync payload malformed");
+            List<SyncRecord> records = new ArrayList<>(Math.min(count, 4096));
+            for (int i = 0; i < count; i++) {
+                int flags = in.readUnsignedByte();
+                String syncId = readString(in);
+                long rowVersion = in.readLong();
+                long updatedAt = in.readLong();
+                if ((flags & FLAG_DELETED) != 0) {
+                    records.add(SyncRecord.tombstone(syncId, rowVersion, updatedAt));
+                    continue;
+                }
+                String name = readString(in);
+                String category = readString(in);
+                String purchase = readString(in);
+                String expiry = readString(in);
+                int quantity = in.readInt();
+                String notes = readString(in);
+                records.add(new SyncRecord(syncId, rowVersion, updatedAt, name, category, purchase, expiry, quantity, notes));
+            }
+            return new SyncBatch(records, position);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) return null;
+        byte[] bytes = new byte[n];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
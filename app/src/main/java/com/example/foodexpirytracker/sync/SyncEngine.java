@@ -0,0 +1,130 @@
+package com.example.foodexpirytracker.sync;
+
+import java.io.IOException;
+import java.util.List;
+
+/*
+ * Function: SyncEngine
+ * Purpose: Delta sync between a SyncStore and a server. Each run pushes every pending local
+ *          change in compressed batches, then pulls server changes since the stored watermark.
+ *          Conflicts resolve last-writer-wins on the per-row version on both sides, so
+ *          re-sending a batch after a failed acknowledgement is harmless. Not thread-safe:
+ *          run one sync at a time per store.
+ */
+public final class SyncEngine {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    /*
+     * Function: Result
+     * Purpose: What one sync run moved
+     */
+    public static final class Result {
+        private int pushed;
+        private int pulled;
+        private int applied;
+        private int batches;
+        private int retries;
+        private long bytesSent;
+        private long bytesReceived;
+
+        /* Function: getPushed | Purpose: Return records sent to the server */
+        public int getPushed() { return pushed; }
+        /* Function: getPulled | Purpose: Return records received from the server, conflicts included */
+        public int getPulled() { return pulled; }
+        /* Function: getApplied | Purpose: Return local rows changed by remote records */
+        public int getApplied() { return applied; }
+        /* Function: getBatches | Purpose: Return payloads exchanged */
+        public int getBatches() { return batches; }
+        /* Function: getRetries | Purpose: Return transport calls retried after a failure */
+        public int getRetries() { return retries; }
+        /* Function: getBytesSent | Purpose: Return compressed bytes pushed */
+        public long getBytesSent() { return bytesSent; }
+        /* Function: getBytesReceived | Purpose: Return compressed bytes pulled */
+        public long getBytesReceived() { return bytesReceived; }
+    }
+
+    private interface Call {
+        byte[] run() throws IOException;
+    }
+
+    private final SyncStore store;
+    private final SyncTransport transport;
+    private final Backoff backoff;
+    private final int batchSize;
+
+    /*
+     * Function: SyncEngine constructor
+     * Purpose: Wire store, transport and retry policy
+     */
+    public SyncEngine(SyncStore store, SyncTransport transport, Backoff backoff, int batchSize) {
+        this.store = store;
+        this.transport = transport;
+        this.backoff = backoff;
+        this.batchSize = batchSize;
+    }
+
+    /*
+     * Function: sync
+     * Purpose: Push then pull until both sides are caught up
+     * Throws: IOException when a transport call still fails after all retries; batches completed
+     *         before the failure stay acknowledged, so the next run resumes from there
+     */
+    public Result sync() throws IOException, InterruptedException {
+        Result result = new Result();
+        push(result);
+        pull(result);
+        return result;
+    }
+
+    private void push(Result result) throws IOException, InterruptedException {
+        String owner = store.getOwner();
+        while (true) {
+            SyncBatch batch = store.readPending(batchSize);
+            if (!batch.getRecords().isEmpty()) {
+                byte[] payload = SyncCodec.encode(batch);
+                byte[] response = call(() -> transport.push(owner, payload), result);
+                result.bytesSent += payload.length;
+                result.bytesReceived += response.length;
+                result.batches++;
+                result.pushed += batch.getRecords().size();
+                // Records the server kept instead of ours; apply them so both sides agree
+                List<SyncRecord> losers = SyncCodec.decode(response).getRecords();
+                if (!losers.isEmpty()) {
+                    result.pulled += losers.size();
+                    result.applied += store.applyRemote(losers);
+                }
+            }
+            // Advances the cursor even for an empty batch, which may have skipped
+            // change-log entries that needed no upload
+            store.markPushed(batch);
+            if (batch.getRecords().isEmpty()) return;
+        }
+    }
+
+    private void pull(Result result) throws IOException, InterruptedException {
+        String owner = store.getOwner();
+        while (true) {
+            long watermark = store.getPullWatermark();
+            byte[] response = call(() -> transport.pull(owner, watermark, batchSize), result);
+            SyncBatch batch = SyncCodec.decode(response);
+            result.bytesReceived += response.length;
+            result.batches++;
+            result.pulled += batch.getRecords().size();
+            if (!batch.getRecords().isEmpty()) result.applied += store.applyRemote(batch.getRecords());
+            if (batch.getPosition() > watermark) store.setPullWatermark(batch.getPosition());
+            if (batch.getRecords().size() < batchSize) return;
+        }
+    }
+
+    private byte[] call(Call call, Result result) throws IOException, InterruptedException {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return call.run();
+            } catch (IOException e) {
+                if (attempt + 1 >= backoff.getMaxAttempts()) throw e;
+                result.retries++;
+                backoff.pause(attempt);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.foodexpirytracker.sync;
+
+/*
+ * Function: SyncRecord
+ * Purpose: Wire form of one food row (or its tombstone), identified across devices by syncId
+ */
+public final class SyncRecord {
+    private final String syncId;
+    private final long version;
+    private final long updatedAt;
+    private final boolean deleted;
+    private final String name;
+    private final String category;
+    private final String purchaseDate;
+    private final String expiryDate;
+    private final int quantity;
+    private final String notes;
+
+    /*
+     * Function: SyncRecord constructor
+     * Purpose: Initialize a live row
+     */
+    public SyncRecord(String syncId, long version, long updatedAt, String name, String category,
+                      String purchaseDate, String expiryDate, int quantity, String notes) {
+        this(syncId, version, updatedAt, false, name, category, purchaseDate, expiryDate, quantity, notes);
+    }
+
+    private SyncRecord(String syncId, long version, long updatedAt, boolean deleted, String name, String category,
+                       String purchaseDate, String expiryDate, int quantity, String notes) {
+        this.syncId = syncId;
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.deleted = deleted;
+        this.name = name;
+        this.category = category;
+        this.purchaseDate = purchaseDate;
+        this.expiryDate = expiryDate;
+        this.quantity = quantity;
+        this.notes = notes;
+    }
+
+    /*
+     * Function: tombstone
+     * Purpose: Record that the row was deleted at the given version
+     */
+    public static SyncRecord tombstone(String syncId, long version, long deletedAt) {
+        return new SyncRecord(syncId, version, deletedAt, true, null, null, null, null, 0, null);
+    }
+
+    /*
+     * Function: wins
+     * Purpose: Last-writer-wins: true if this record should replace other (higher version, then later
+     *          update time; exact ties keep other, so re-delivery is a no-op)
+     */
+    public boolean wins(SyncRecord other) {
+        return other == null || wins(other.version, other.updatedAt);
+    }
+
+    /*
+     * Function: wins
+     * Purpose: Same rule against a row known only by its version and update time
+     */
+    public boolean wins(long otherVersion, long otherUpdatedAt) {
+        if (version != otherVersion) return version > otherVersion;
+        return updatedAt > otherUpdatedAt;
+    }
+
+    /* Function: getSyncId | Purpose: Return the cross-device row id */
+    public String getSyncId() { return syncId; }
+    /* Function: getVersion | Purpose: Return the per-row version, bumped on every local change */
+    public long getVersion() { return version; }
+    /* Function: getUpdatedAt | Purpose: Return the wall-clock time of the change (tie-breaker) */
+    public long getUpdatedAt() { return updatedAt; }
+    /* Function: isDeleted | Purpose: True for tombstones */
+    public boolean isDeleted() { return deleted; }
+    /* Function: getName | Purpose: Return item name */
+    public String getName() { return name; }
+    /* Function: getCategory | Purpose: Return item category */
+    public String getCategory() { return category; }
+    /* Function: getPurchaseDate | Purpose: Return purchase date */
+    public String getPurchaseDate() { return purchaseDate; }
+    /* Function: getExpiryDate | Purpose: Return expiry date */
+    public String getExpiryDate() { return expiryDate; }
+    /* Function: getQuantity | Purpose: Return quantity */
+    public int getQuantity() { return quantity; }
+    /* Function: getNotes | Purpose: Return notes */
+    public String getNotes() { return notes; }
+}
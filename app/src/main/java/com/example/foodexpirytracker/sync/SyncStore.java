@@ -0,0 +1,39 @@
+package com.example.foodexpirytracker.sync;
+
+import java.util.List;
+
+/*
+ * Function: SyncStore
+ * Purpose: Local side of sync: pending changes since the push cursor, LWW application of remote
+ *          records and the pull watermark. Implementations scope everything to the current owner.
+ */
+public interface SyncStore {
+    /* Function: getOwner | Purpose: Return the account whose rows are synced */
+    String getOwner();
+
+    /*
+     * Function: readPending
+     * Purpose: Next batch of rows changed since the push cursor that the server has not seen
+     * Returns: empty batch when nothing is pending
+     */
+    SyncBatch readPending(int limit);
+
+    /*
+     * Function: markPushed
+     * Purpose: Record that the batch reached the server and advance the push cursor past it
+     */
+    void markPushed(SyncBatch batch);
+
+    /*
+     * Function: applyRemote
+     * Purpose: Apply records that win last-writer-wins against local rows, in one transaction
+     * Returns: number of local rows inserted, updated or deleted
+     */
+    int applyRemote(List<SyncRecord> records);
+
+    /* Function: getPullWatermark | Purpose: Return the server position pulled through */
+    long getPullWatermark();
+
+    /* Function: setPullWatermark | Purpose: Persist the server position pulled through */
+    void setPullWatermark(long watermark);
+}
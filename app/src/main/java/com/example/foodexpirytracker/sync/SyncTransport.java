@@ -0,0 +1,24 @@
+package com.example.foodexpirytracker.sync;
+
+import java.io.IOException;
+
+/*
+ * Function: SyncTransport
+ * Purpose: Moves gzip-compressed SyncCodec payloads to and from a sync server. Implementations
+ *          throw IOException for failures worth retrying.
+ */
+public interface SyncTransport {
+    /*
+     * Function: push
+     * Purpose: Offer local changes; the server keeps each record only if it wins last-writer-wins
+     * Returns: payload of the server's records that beat pushed ones (conflicts we lost)
+     */
+    byte[] push(String owner, byte[] payload) throws IOException;
+
+    /*
+     * Function: pull
+     * Purpose: Fetch up to limit records the server changed after watermark
+     * Returns: payload whose position is the new watermark
+     */
+    byte[] pull(String owner, long watermark, int limit) throws IOException;
+}
@@ -0,0 +1,85 @@
+package com.example.foodexpirytracker.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+import com.example.foodexpirytracker.FoodExpiryApp;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Function: SyncWorker
+ * Purpose: Periodic background sync of the signed-in owner's inventory. Short transport hiccups
+ *          are retried inside SyncEngine; a run that still fails is retried by WorkManager with
+ *          exponential backoff.
+ */
+public class SyncWorker extends Worker {
+    private static final String TAG = "SyncWorker";
+    private static final String WORK_NAME = "inventory_sync";
+    private static final long INTERVAL_HOURS = 1;
+
+    /*
+     * Function: constructor
+     * Purpose: Initialize worker with app context and parameters
+     */
+    public SyncWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /*
+     * Function: schedule
+     * Purpose: Enqueue the periodic sync once; later calls keep the existing schedule
+     */
+    public static void schedule(Context context) {
+        Constraints constraints = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+        PeriodicWorkRequest request = new PeriodicWorkRequest.Builder(SyncWorker.class, INTERVAL_HOURS, TimeUnit.HOURS)
+                .setConstraints(constraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context)
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    /*
+     * Function: doWork
+     * Purpose: Run one push/pull cycle for the current owner
+     * Returns: Result.success when caught up or nothing to do, Result.retry on transport failure or
+     *          while pre-v7 rows are still being given sync ids
+     */
+    public Result doWork() {
+        SyncTransport transport = ((FoodExpiryApp) getApplicationContext()).getSyncTransport();
+        DatabaseHelper db = DatabaseHelper.getInstance(getApplicationContext());
+        // Signed-out inventories stay on the device
+        if (transport == null || DatabaseHelper.LOCAL_OWNER.equals(db.getOwner())) return Result.success();
+        // Rows still waiting for a sync id cannot be pushed yet; MigrationWorker is assigning them
+        if (!db.isSyncReady()) return Result.retry();
+        try {
+            SyncEngine.Result result = new SyncEngine(new DatabaseSyncStore(db), transport,
+                    Backoff.defaults(), SyncEngine.DEFAULT_BATCH_SIZE).sync();
+            Log.i(TAG, "pushed=" + result.getPushed() + " pulled=" + result.getPulled()
+                    + " applied=" + result.getApplied() + " bytes=" + result.getBytesSent() + "/" + result.getBytesReceived());
+            return Result.success();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        } catch (Exception e) {
+            Log.e(TAG, "sync failed", e);
+            return Result.retry();
+        }
+    }
+}
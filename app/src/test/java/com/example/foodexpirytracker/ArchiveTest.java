@@ -0,0 +1,120 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: ArchiveTest
+ * Purpose: Retention moves long-expired rows to food_archive in batches without syncing a delete,
+ *          and compaction releases the space they leave behind
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ArchiveTest {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private DatabaseHelper dbHelper;
+    private long cutoff;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+        long now = System.currentTimeMillis();
+        cutoff = now - 30 * DAY;
+        String recent = new SimpleDateFormat(ExpiryDates.DATE_FORMAT, Locale.getDefault()).format(new Date(now - 10 * DAY));
+        for (int i = 0; i < 5; i++) {
+            dbHelper.addFood(new FoodItem(0, "Old " + i, "Dairy", "1999-12-01", "2000-01-0" + (i + 1), 1, ""));
+        }
+        dbHelper.addFood(new FoodItem(0, "Recent", "Dairy", "2025-01-01", recent, 1, ""));
+        dbHelper.addFood(new FoodItem(0, "Fresh", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        dbHelper.addFood(new FoodItem(0, "Undated", "Dairy", "2025-01-01", "", 1, ""));
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void archiveExpired_movesOnlyRowsPastRetention_inBatches() {
+        assertEquals(2, dbHelper.archiveExpired(cutoff, 2));
+        assertEquals(2, dbHelper.archiveExpired(cutoff, 2));
+        assertEquals(1, dbHelper.archiveExpired(cutoff, 2));
+        assertEquals(0, dbHelper.archiveExpired(cutoff, 2));
+
+        List<FoodItem> left = dbHelper.getAllFood();
+        assertEquals(3, left.size());
+        for (FoodItem item : left) assertFalse(item.getName().startsWith("Old"));
+        assertEquals(5, dbHelper.getArchivedCount());
+        assertEquals(3, dbHelper.getSummary().getTotal());
+    }
+
+    @Test
+    public void archiveExpired_coversEveryOwner_notJustTheSignedInOne() {
+        dbHelper.setOwner("bob");
+        dbHelper.addFood(new FoodItem(0, "Bob old", "Dairy", "1999-12-01", "2000-01-09", 1, ""));
+        dbHelper.addFood(new FoodItem(0, "Bob fresh", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        dbHelper.setOwner(null);
+
+        // One batch spans both partitions; the worker runs with whichever owner is scoped
+        assertEquals(6, dbHelper.archiveExpired(cutoff, 100));
+        assertEquals(0, dbHelper.archiveExpired(cutoff, 100));
+        assertEquals(5, dbHelper.getArchivedCount());
+
+        dbHelper.setOwner("bob");
+        assertEquals(1, dbHelper.getArchivedCount());
+        List<FoodItem> left = dbHelper.getAllFood();
+        assertEquals(1, left.size());
+        assertEquals("Bob fresh", left.get(0).getName());
+        assertEquals(1, dbHelper.getSummary().getTotal());
+    }
+
+    @Test
+    public void archiving_evictsFromCacheButIsNotASyncDelete() {
+        String consumer = "sync:" + dbHelper.getOwner();
+        long seq = dbHelper.getLatestChangeSeq();
+        dbHelper.saveChangeCursor(consumer, seq);
+
+        dbHelper.archiveExpired(cutoff, 100);
+
+        List<FoodChange> changes = dbHelper.getChangesSince(seq, 100);
+        assertEquals(5, changes.size());
+        for (FoodChange change : changes) {
+            assertEquals(FoodChange.OP_ARCHIVE, change.getOp());
+            assertTrue(change.isDelete());
+        }
+        assertTrue(dbHelper.readSyncPending(100).getRecords().isEmpty());
+    }
+
+    @Test
+    public void incrementalVacuum_releasesFreePages() {
+        dbHelper.addFoodBulk(new SyntheticInventory(47, System.currentTimeMillis(), 2000));
+        dbHelper.clearAllData();
+        assertTrue(dbHelper.getStorageStats().getFreePages() > 0);
+
+        long released = 0;
+        long pages;
+        while ((pages = dbHelper.incrementalVacuum(64)) > 0) released += pages;
+
+        assertTrue(released > 0);
+        assertEquals(0, dbHelper.getStorageStats().getFreePages());
+        dbHelper.analyze();
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: BulkDeleteTest
+ * Purpose: Multi-select delete removes any number of rows in chunked IN (...) lists inside one
+ *          transaction, drops them from the cache in one pass and notifies the list per removed run
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class BulkDeleteTest {
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void deleteFoods_spansSeveralArgumentChunks() {
+        // More ids than three chunks of SQL arguments, plus ids that do not exist
+        dbHelper.addFoodBulk(new SyntheticInventory(7, System.currentTimeMillis(), 1300));
+        List<FoodItem> all = dbHelper.getAllFood();
+        int[] ids = new int[1205];
+        for (int i = 0; i < 1200; i++) ids[i] = all.get(i).getId();
+        for (int i = 1200; i < ids.length; i++) ids[i] = 100_000 + i;
+        long before = dbHelper.getLatestChangeSeq();
+
+        assertEquals(1200, dbHelper.deleteFoods(ids));
+        assertEquals(100, dbHelper.countFood());
+        List<FoodChange> changes = dbHelper.getChangesSince(before, 5000);
+        assertEquals(1200, changes.size());
+        for (FoodChange change : changes) assertEquals(FoodChange.OP_DELETE, change.getOp());
+        assertEquals(0, dbHelper.deleteFoods(new int[0]));
+    }
+
+    @Test
+    public void repositoryDeleteAll_dropsFromCacheAndDatabase() {
+        List<Runnable> queue = new ArrayList<>();
+        Executor direct = Runnable::run;
+        InventoryRepository repository = new InventoryRepository(dbHelper, queue::add, direct);
+        for (int i = 0; i < 5; i++) {
+            dbHelper.addFood(new FoodItem(0, "Item " + i, "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        }
+        repository.prime();
+        List<FoodItem> cached = repository.filter("");
+        List<FoodItem> doomed = Arrays.asList(cached.get(1), cached.get(3));
+
+        int[] ids = repository.deleteAll(doomed);
+        assertArrayEquals(new int[]{cached.get(1).getId(), cached.get(3).getId()}, ids);
+        // The cache changes at once; the rows go when the disk executor runs
+        assertEquals(3, repository.filter("").size());
+        assertEquals(5, dbHelper.countFood());
+        while (!queue.isEmpty()) queue.remove(0).run();
+        assertEquals(3, dbHelper.countFood());
+        assertTrue(dbHelper.getFoodByIds(ids).isEmpty());
+    }
+
+    @Test
+    public void isWholeInventory_matchesIdsNotCounts() {
+        Executor direct = Runnable::run;
+        InventoryRepository repository = new InventoryRepository(dbHelper, direct, direct);
+        for (int i = 0; i < 3; i++) {
+            dbHelper.addFood(new FoodItem(0, "Item " + i, "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        }
+        repository.prime();
+        List<FoodItem> cached = repository.filter("");
+
+        assertTrue(repository.isWholeInventory(cached));
+        assertFalse(repository.isWholeInventory(cached.subList(0, 2)));
+        // As many items as the cache holds, but one is not in it (a stale row from another screen)
+        List<FoodItem> stale = new ArrayList<>(cached.subList(0, 2));
+        stale.add(new FoodItem(999, "Gone", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        assertFalse(repository.isWholeInventory(stale));
+    }
+
+    @Test
+    public void removeItems_notifiesEachRunBackToFront() {
+        FoodListAdapter adapter = adapterWith(10);
+        List<String> events = observe(adapter);
+
+        adapter.removeItems(new HashSet<>(Arrays.asList(2, 3, 7, 10)));
+        // Ids are 1..10 at positions 0..9: runs [9], [6] and [1, 2], removed from the end first
+        assertEquals(Arrays.asList("removed 9+1", "removed 6+1", "removed 1+2"), events);
+        assertEquals(6, adapter.getItemCount());
+    }
+
+    @Test
+    public void removeItems_fragmentedSelection_fallsBackToOneRefresh() {
+        FoodListAdapter adapter = adapterWith(100);
+        List<String> events = observe(adapter);
+        Set<Integer> everyOther = new HashSet<>();
+        for (int id = 1; id <= 100; id += 2) everyOther.add(id);
+
+        adapter.removeItems(everyOther);
+        assertEquals(Arrays.asList("changed"), events);
+        assertEquals(50, adapter.getItemCount());
+    }
+
+    @Test
+    public void removeItems_unknownIds_notifyNothing() {
+        FoodListAdapter adapter = adapterWith(3);
+        List<String> events = observe(adapter);
+        adapter.removeItems(new HashSet<>(Arrays.asList(42)));
+        assertTrue(events.isEmpty());
+        assertEquals(3, adapter.getItemCount());
+    }
+
+    private FoodListAdapter adapterWith(int count) {
+        List<FoodItem> items = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            items.add(new FoodItem(id, "Item " + id, "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        }
+        Executor direct = Runnable::run;
+        Context context = new ContextThemeWrapper(ApplicationProvider.getApplicationContext(),
+                R.style.Theme_FoodExpiryTracker);
+        return new FoodListAdapter(context, items, new InventoryRepository(dbHelper, direct, direct));
+    }
+
+    private static List<String> observe(FoodListAdapter adapter) {
+        List<String> events = new ArrayList<>();
+        adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                events.add("changed");
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                events.add("removed " + positionStart + "+" + itemCount);
+            }
+        });
+        return events;
+    }
+}
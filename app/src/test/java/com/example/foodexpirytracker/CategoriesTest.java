@@ -0,0 +1,113 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: CategoriesTest
+ * Purpose: Free-text categories resolve to one normalized row each, and grouping, sorting and icons use its id
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class CategoriesTest {
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    private FoodItem add(String name, String category) {
+        FoodItem item = new FoodItem(0, name, category, "2025-01-01", "2030-01-01", 1, "");
+        item.setId((int) dbHelper.addFood(item));
+        return item;
+    }
+
+    @Test
+    public void spellings_shareOneCategoryAndCanonicalName() {
+        FoodItem milk = add("Milk", "Dairy");
+        FoodItem cheese = add("Cheese", "dairy ");
+        FoodItem yogurt = add("Yogurt", "  DAIRY");
+
+        assertNotEquals(CategoryCatalog.NONE, milk.getCategoryId());
+        assertEquals(milk.getCategoryId(), cheese.getCategoryId());
+        assertEquals(milk.getCategoryId(), yogurt.getCategoryId());
+        assertEquals("Dairy", yogurt.getCategory());
+        assertEquals(Arrays.asList("Dairy"), dbHelper.getCategories().getNames());
+        for (FoodItem stored : dbHelper.getAllFood()) {
+            assertEquals("Dairy", stored.getCategory());
+            assertEquals(milk.getCategoryId(), stored.getCategoryId());
+        }
+    }
+
+    @Test
+    public void blankCategory_hasNoId() {
+        FoodItem item = add("Mystery", "   ");
+        assertEquals(CategoryCatalog.NONE, item.getCategoryId());
+        assertEquals(CategoryCatalog.NONE, dbHelper.getAllFood().get(0).getCategoryId());
+        assertTrue(dbHelper.getCategories().getNames().isEmpty());
+    }
+
+    @Test
+    public void iconKind_isClassifiedOnceOnCreate() {
+        int fruit = add("Apple", "Fresh fruit").getCategoryId();
+        int milk = add("Milk", "Milk & cheese").getCategoryId();
+        int snacks = add("Crisps", "Snacks").getCategoryId();
+        CategoryCatalog categories = dbHelper.getCategories();
+        assertEquals(CategoryCatalog.ICON_FRUIT, categories.getIconKind(fruit));
+        assertEquals(CategoryCatalog.ICON_DAIRY, categories.getIconKind(milk));
+        assertEquals(CategoryCatalog.ICON_OTHER, categories.getIconKind(snacks));
+        assertEquals(CategoryCatalog.ICON_OTHER, categories.getIconKind(CategoryCatalog.NONE));
+    }
+
+    @Test
+    public void sortKeys_areAlphabeticalAndDriveSorting() {
+        int steak = add("Steak", "Meat").getId();
+        int bread = add("Bread", "bakery").getId();
+        int milk = add("Milk", "Dairy").getId();
+        int mystery = add("Mystery", null).getId();
+        assertEquals(Arrays.asList("bakery", "Dairy", "Meat"), dbHelper.getCategories().getNames());
+
+        assertArrayEquals(new int[]{mystery, bread, milk, steak},
+                dbHelper.getSortedFoodIds(SortMode.CATEGORY_TIME_LEFT));
+    }
+
+    @Test
+    public void summaryAndUpdates_groupById() {
+        FoodItem apple = add("Apple", "Fruit");
+        add("Pear", "fruit");
+        FoodItem milk = add("Milk", "Dairy");
+        assertEquals(Integer.valueOf(2), dbHelper.getSummary().getCategoryCounts().get("Fruit"));
+
+        // Respelling an existing category is a move to the same id; the summary does not change
+        assertTrue(dbHelper.updateFood(apple.getId(), new FoodPatch().setCategory("FRUIT")));
+        assertEquals(Integer.valueOf(2), dbHelper.getSummary().getCategoryCounts().get("Fruit"));
+
+        assertTrue(dbHelper.updateFood(milk.getId(), new FoodPatch().setCategory("fruit")));
+        FoodSummary summary = dbHelper.getSummary();
+        assertEquals(Integer.valueOf(3), summary.getCategoryCounts().get("Fruit"));
+        assertNull(summary.getCategoryCounts().get("Dairy"));
+        for (FoodItem stored : dbHelper.getFoodByIds(new int[]{apple.getId(), milk.getId()})) {
+            assertEquals("Fruit", stored.getCategory());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: ExpiryRangeTest
+ * Purpose: Expiry range queries return the right rows and run as index range scans
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ExpiryRangeTest {
+    private static final long HOUR = 60L * 60 * 1000;
+    private static final long DAY = 24 * HOUR;
+
+    private DatabaseHelper dbHelper;
+    private long now;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+        // Whole minutes, so stored "yyyy-MM-dd HH:mm" values round-trip exactly
+        now = System.currentTimeMillis() / 60_000 * 60_000;
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    private long add(String name, String expiry) {
+        return dbHelper.addFood(new FoodItem(0, name, "Dairy", "2025-01-01", expiry, 1, ""));
+    }
+
+    private static String at(long millis) {
+        return new SimpleDateFormat(ExpiryDates.DATE_TIME_FORMAT, Locale.getDefault()).format(new Date(millis));
+    }
+
+    private static List<String> names(List<FoodItem> items) {
+        List<String> names = new ArrayList<>();
+        for (FoodItem item : items) names.add(item.getName());
+        return names;
+    }
+
+    @Test
+    public void range_returnsMatchingRowsSoonestFirst() {
+        add("Expired", at(now - 2 * DAY));
+        add("Later", at(now + 10 * DAY));
+        add("TwoDays", at(now + 2 * DAY));
+        add("Tonight", at(now + HOUR));
+        add("NoDate", "");
+        add("Garbage", "not a date");
+        dbHelper.setOwner("someone-else");
+        add("OtherOwner", at(now + HOUR));
+        dbHelper.setOwner(null);
+
+        List<FoodItem> soon = dbHelper.getFoodExpiringBetween(now, now + 3 * DAY, 100);
+        assertEquals(2, soon.size());
+        assertEquals("Tonight", soon.get(0).getName());
+        assertEquals("TwoDays", soon.get(1).getName());
+        assertEquals(2, dbHelper.countFoodExpiringBetween(now, now + 3 * DAY));
+
+        assertEquals(1, dbHelper.countFoodExpiringBetween(Long.MIN_VALUE, now));
+        assertEquals("Expired", dbHelper.getFoodExpiringBetween(Long.MIN_VALUE, now, 100).get(0).getName());
+        // Unparseable expiries are never in a range
+        assertEquals(4, dbHelper.countFoodExpiringBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(1, dbHelper.getFoodExpiringBetween(now, now + 3 * DAY, 1).size());
+    }
+
+    @Test
+    public void editsAndBulkInserts_keepExpiryMillisCurrent() {
+        long id = add("Milk", at(now + 10 * DAY));
+        dbHelper.updateFood((int) id, new FoodPatch().setExpiryDate(at(now + HOUR)));
+        List<FoodItem> bulk = new ArrayList<>();
+        bulk.add(new FoodItem(0, "Bulk", "Dairy", "2025-01-01", at(now + 2 * HOUR), 1, ""));
+        dbHelper.addFoodBulk(bulk.iterator());
+
+        assertEquals(java.util.Arrays.asList("Milk", "Bulk"),
+                names(dbHelper.getFoodExpiringBetween(now, now + DAY, 10)));
+    }
+
+    @Test
+    public void rangeQueries_useTheExpiryIndex() {
+        for (int i = 0; i < 200; i++) add("Item " + i, at(now + i * HOUR));
+        String[] args = {DatabaseHelper.LOCAL_OWNER, String.valueOf(now), String.valueOf(now + DAY)};
+
+        String select = plan(DatabaseHelper.SQL_FOOD_EXPIRING_BETWEEN,
+                new String[]{args[0], args[1], args[2], "50"});
+        assertTrue(select, select.contains("SEARCH") && select.contains("idx_food_owner_expiry_millis"));
+        // ORDER BY is satisfied by the index, so there is no temp B-tree sort either
+        assertFalse(select, select.contains("SCAN") || select.contains("TEMP B-TREE"));
+
+        String count = plan(DatabaseHelper.SQL_COUNT_EXPIRING_BETWEEN, args);
+        assertTrue(count, count.contains("COVERING INDEX idx_food_owner_expiry_millis"));
+        assertFalse(count, count.contains("SCAN"));
+    }
+
+    private String plan(String sql, String[] args) {
+        StringBuilder detail = new StringBuilder();
+        try (Cursor c = dbHelper.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + sql, args)) {
+            int column = c.getColumnIndexOrThrow("detail");
+            while (c.moveToNext()) detail.append(c.getString(column)).append('\n');
+        }
+        return detail.toString();
+    }
+}
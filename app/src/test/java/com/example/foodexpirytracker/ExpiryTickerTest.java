@@ -0,0 +1,48 @@
+package com.example.foodexpirytracker;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/*
+ * Function: ExpiryTickerTest
+ * Purpose: Ticks land on minute boundaries and stop while the ticker is stopped
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ExpiryTickerTest {
+
+    @Test
+    public void delay_alignsToNextMinute() {
+        assertEquals(60_000, ExpiryTicker.delayToNextMinute(120_000));
+        assertEquals(1, ExpiryTicker.delayToNextMinute(119_999));
+        assertEquals(45_000, ExpiryTicker.delayToNextMinute(75_000));
+    }
+
+    @Test
+    public void ticks_onceNowThenEachMinute_untilStopped() {
+        List<Long> ticks = new ArrayList<>();
+        ExpiryTicker ticker = new ExpiryTicker(ticks::add);
+        ticker.start();
+        ticker.start();
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMinutes(3));
+        assertEquals(4, ticks.size());
+        for (int i = 1; i < ticks.size(); i++) {
+            assertEquals(0, ticks.get(i) % ExpiryTicker.MINUTE_MILLIS);
+        }
+
+        ticker.stop();
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMinutes(5));
+        assertEquals(4, ticks.size());
+    }
+}
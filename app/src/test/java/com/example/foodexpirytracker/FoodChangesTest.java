@@ -0,0 +1,102 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: FoodChangesTest
+ * Purpose: Change-log triggers, cursors, compaction and delta application to the inventory cache
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class FoodChangesTest {
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void writes_areLoggedInOrderWithOps() {
+        long id = dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, ""));
+        dbHelper.consumeFood((int) id, 1);
+        dbHelper.updateFood((int) id, new FoodPatch().setExpiryDate("2030-02-01"));
+        dbHelper.rebucket(System.currentTimeMillis() + 365L * 24 * 60 * 60 * 1000 * 10);
+        dbHelper.deleteFood((int) id);
+
+        List<FoodChange> changes = dbHelper.getChangesSince(0, 100);
+        int[] ops = new int[changes.size()];
+        for (int i = 0; i < ops.length; i++) {
+            ops[i] = changes.get(i).getOp();
+            assertEquals(id, changes.get(i).getItemId());
+            if (i > 0) assertTrue(changes.get(i).getSeq() > changes.get(i - 1).getSeq());
+        }
+        // The rebucket only touches derived columns and is not logged
+        assertArrayEquals(new int[]{FoodChange.OP_INSERT, FoodChange.OP_UPDATE,
+                FoodChange.OP_EXPIRY, FoodChange.OP_DELETE}, ops);
+        assertEquals(changes.get(3).getSeq(), dbHelper.getLatestChangeSeq());
+    }
+
+    @Test
+    public void compaction_keepsWhatSlowestConsumerNeeds() {
+        for (int i = 0; i < 10; i++) {
+            dbHelper.addFood(new FoodItem(0, "Item " + i, "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        }
+        dbHelper.saveChangeCursor("fast", 10);
+        dbHelper.saveChangeCursor("slow", 4);
+        dbHelper.compactChanges();
+
+        assertFalse(dbHelper.isChangeLogGap(4));
+        assertTrue(dbHelper.isChangeLogGap(2));
+        assertEquals(6, dbHelper.getChangesSince(4, 100).size());
+        assertEquals(10, dbHelper.getLatestChangeSeq());
+    }
+
+    @Test
+    public void repositoryRefresh_appliesOutsideWritesAsDeltas() {
+        List<Runnable> queue = new ArrayList<>();
+        InventoryRepository repository = new InventoryRepository(dbHelper, queue::add, Runnable::run);
+        long kept = dbHelper.addFood(new FoodItem(0, "Kept", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        long gone = dbHelper.addFood(new FoodItem(0, "Gone", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        repository.prime();
+
+        // Simulate another writer (worker, restore, sync) touching the table directly
+        dbHelper.updateFood((int) kept, new FoodPatch().setName("Renamed"));
+        dbHelper.deleteFood((int) gone);
+        dbHelper.addFood(new FoodItem(0, "New", "Fruit", "2025-01-01", "2030-01-01", 1, ""));
+
+        AtomicReference<Boolean> changed = new AtomicReference<>();
+        repository.refresh(changed::set);
+        while (!queue.isEmpty()) queue.remove(0).run();
+
+        assertEquals(Boolean.TRUE, changed.get());
+        List<FoodItem> items = repository.filter("");
+        assertEquals(2, items.size());
+        List<String> names = new ArrayList<>();
+        for (FoodItem f : items) names.add(f.getName());
+        assertTrue(names.contains("Renamed"));
+        assertTrue(names.contains("New"));
+    }
+}
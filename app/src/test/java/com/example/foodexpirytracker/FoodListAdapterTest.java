@@ -0,0 +1,124 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+import android.widget.FrameLayout;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: FoodListAdapterTest
+ * Purpose: The bind path reuses formatted text and per-row drawables, honours partial-bind payloads
+ *          and shows countdowns only for timed expiries
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class FoodListAdapterTest {
+    private DatabaseHelper dbHelper;
+    private List<FoodItem> items;
+    private FoodListAdapter adapter;
+    private FrameLayout parent;
+
+    @Before
+    public void setUp() {
+        Context app = ApplicationProvider.getApplicationContext();
+        app.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(app);
+        Executor direct = Runnable::run;
+        InventoryRepository repository = new InventoryRepository(dbHelper, direct, direct);
+        Context context = new ContextThemeWrapper(app, R.style.Theme_FoodExpiryTracker);
+
+        items = new ArrayList<>();
+        items.add(new FoodItem(7, "Milk", "Dairy", "2025-01-01", "2030-01-01 08:00", 2, ""));
+        items.add(new FoodItem(9, "Apple", "Fruit", "2025-01-01", "2000-01-01", 5, ""));
+        adapter = new FoodListAdapter(context, items, repository);
+        parent = new FrameLayout(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void stableIds_comeFromItemIds() {
+        assertTrue(adapter.hasStableIds());
+        assertEquals(7, adapter.getItemId(0));
+        assertEquals(9, adapter.getItemId(1));
+    }
+
+    @Test
+    public void rebind_reusesFormattedText() {
+        FoodListAdapter.FoodViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+        adapter.onBindViewHolder(holder, 0);
+        CharSequence expiry = holder.tvExpiryDate.getText();
+        CharSequence quantity = holder.tvQuantity.getText();
+
+        adapter.onBindViewHolder(holder, 1);
+        adapter.onBindViewHolder(holder, 0);
+        assertEquals(expiry.toString(), holder.tvExpiryDate.getText().toString());
+        assertEquals(quantity.toString(), holder.tvQuantity.getText().toString());
+
+        // Edits in place are picked up on the next bind
+        items.get(0).setQuantity(1);
+        adapter.onBindViewHolder(holder, 0, Collections.singletonList(FoodListAdapter.PAYLOAD_QUANTITY));
+        assertNotEquals(quantity.toString(), holder.tvQuantity.getText().toString());
+    }
+
+    @Test
+    public void quantityPayload_leavesOtherViewsAlone() {
+        FoodListAdapter.FoodViewHolder holder = adapter.onCreateViewHolder(parent, 0);
+        adapter.onBindViewHolder(holder, 0);
+        holder.tvFoodName.setText("sentinel");
+
+        adapter.onBindViewHolder(holder, 0, Collections.singletonList(FoodListAdapter.PAYLOAD_QUANTITY));
+        assertEquals("sentinel", holder.tvFoodName.getText().toString());
+
+        adapter.onBindViewHolder(holder, 0, Collections.singletonList(FoodListAdapter.PAYLOAD_DETAILS));
+        assertEquals("Milk", holder.tvFoodName.getText().toString());
+    }
+
+    @Test
+    public void rows_ownTheirIndicatorDrawable() {
+        FoodListAdapter.FoodViewHolder first = adapter.onCreateViewHolder(parent, 0);
+        FoodListAdapter.FoodViewHolder second = adapter.onCreateViewHolder(parent, 0);
+        adapter.onBindViewHolder(first, 0);
+        adapter.onBindViewHolder(second, 1);
+        assertNotSame(first.expiryIndicator.getBackground(), second.expiryIndicator.getBackground());
+        assertNotSame(first.expiryIndicator.getBackground().getConstantState(),
+                second.expiryIndicator.getBackground().getConstantState());
+    }
+
+    @Test
+    public void countdown_showsOnlyForTimedExpiry() {
+        long expiresAt = (System.currentTimeMillis() / 60_000 + 3 * 60 + 12) * 60_000;
+        String at = new SimpleDateFormat(ExpiryDates.DATE_TIME_FORMAT, Locale.getDefault()).format(new Date(expiresAt));
+        items.get(0).setExpiryDate(at);
+        FoodListAdapter.FoodViewHolder timed = adapter.onCreateViewHolder(parent, 0);
+        FoodListAdapter.FoodViewHolder dateOnly = adapter.onCreateViewHolder(parent, 0);
+        adapter.onBindViewHolder(timed, 0);
+        adapter.onBindViewHolder(dateOnly, 1);
+
+        assertEquals(View.VISIBLE, timed.tvCountdown.getVisibility());
+        assertEquals("Expires in 3h 12m", timed.tvCountdown.getText().toString());
+        assertEquals(View.GONE, dateOnly.tvCountdown.getVisibility());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: FoodPatchTest
+ * Purpose: Edits diff to the changed columns only, updates and consumption touch just those columns
+ *          of one row, and the repository mirrors them on the cached item
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class FoodPatchTest {
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void diff_keepsOnlyChangedFields() {
+        FoodItem original = new FoodItem(1, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, "");
+        FoodItem edited = new FoodItem(1, "Oat milk", "Dairy", "2025-01-01", "2030-01-01", 3, "");
+        FoodPatch patch = FoodPatch.diff(original, edited);
+
+        assertEquals("Oat milk", patch.getName());
+        assertEquals(Integer.valueOf(3), patch.getQuantity());
+        assertNull(patch.getCategory());
+        assertNull(patch.getPurchaseDate());
+        assertNull(patch.getExpiryDate());
+        assertNull(patch.getNotes());
+        assertFalse(patch.changesExpiry());
+        assertFalse(patch.isEmpty());
+    }
+
+    @Test
+    public void diff_ofUnchangedItem_isEmpty_andNullEqualsNull() {
+        FoodItem original = new FoodItem(1, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, null);
+        FoodItem edited = new FoodItem(1, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, null);
+        assertTrue(FoodPatch.diff(original, edited).isEmpty());
+
+        // Clearing a field is a change, not "unchanged"
+        edited.setNotes("");
+        assertEquals("", FoodPatch.diff(original, edited).getNotes());
+    }
+
+    @Test
+    public void diff_expiryEdit_changesExpiry() {
+        FoodItem original = new FoodItem(1, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, "");
+        FoodItem edited = new FoodItem(1, "Milk", "Dairy", "2025-01-01", "2030-02-01 08:00", 2, "");
+        FoodPatch patch = FoodPatch.diff(original, edited);
+        assertTrue(patch.changesExpiry());
+        assertEquals("2030-02-01 08:00", patch.getExpiryDate());
+    }
+
+    @Test
+    public void updateFood_writesOnlyPatchedColumns() {
+        int id = (int) dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, "cold"));
+        assertTrue(dbHelper.updateFood(id, new FoodPatch().setName("Oat milk").setQuantity(5)));
+
+        FoodItem row = only(dbHelper.getFoodByIds(new int[]{id}));
+        assertEquals("Oat milk", row.getName());
+        assertEquals(5, row.getQuantity());
+        assertEquals("Dairy", row.getCategory());
+        assertEquals("2025-01-01", row.getPurchaseDate());
+        assertEquals("2030-01-01", row.getExpiryDate());
+        assertEquals("cold", row.getNotes());
+        assertEquals(FoodChange.OP_UPDATE, lastChange().getOp());
+    }
+
+    @Test
+    public void updateFood_expiryAndCategory_areResolvedAndLogged() {
+        int id = (int) dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, ""));
+        dbHelper.addFood(new FoodItem(0, "Apple", "Fruit", "2025-01-01", "2030-01-01", 1, ""));
+        assertTrue(dbHelper.updateFood(id, new FoodPatch().setCategory("fruit").setExpiryDate("2030-03-01")));
+
+        FoodItem row = only(dbHelper.getFoodByIds(new int[]{id}));
+        // The existing catalog entry wins over the typed spelling
+        assertEquals("Fruit", row.getCategory());
+        assertEquals("Fruit", dbHelper.getCategories().getName(row.getCategoryId()));
+        assertEquals("2030-03-01", row.getExpiryDate());
+        assertEquals(FoodChange.OP_EXPIRY, lastChange().getOp());
+    }
+
+    @Test
+    public void updateFood_emptyPatchOrMissingRow_returnsFalse() {
+        int id = (int) dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, ""));
+        long seq = dbHelper.getLatestChangeSeq();
+        assertFalse(dbHelper.updateFood(id, new FoodPatch()));
+        assertFalse(dbHelper.updateFood(id + 100, new FoodPatch().setName("Ghost")));
+        assertEquals(seq, dbHelper.getLatestChangeSeq());
+    }
+
+    @Test
+    public void consumeFood_decrementsAndClampsAtZero() {
+        int id = (int) dbHelper.addFood(new FoodItem(0, "Eggs", "Dairy", "2025-01-01", "2030-01-01", 3, ""));
+        assertTrue(dbHelper.consumeFood(id, 1));
+        assertEquals(2, only(dbHelper.getFoodByIds(new int[]{id})).getQuantity());
+
+        assertTrue(dbHelper.consumeFood(id, 5));
+        assertEquals(0, only(dbHelper.getFoodByIds(new int[]{id})).getQuantity());
+
+        // The row still exists at zero; a missing row reports false
+        assertTrue(dbHelper.consumeFood(id, 1));
+        assertEquals(0, only(dbHelper.getFoodByIds(new int[]{id})).getQuantity());
+        assertFalse(dbHelper.consumeFood(id + 100, 1));
+    }
+
+    @Test
+    public void repository_mirrorsUpdateAndConsumeOnCachedItem() {
+        Executor direct = Runnable::run;
+        InventoryRepository repository = new InventoryRepository(dbHelper, direct, direct);
+        dbHelper.addFood(new FoodItem(0, "Eggs", "Dairy", "2025-01-01", "2030-01-01", 3, ""));
+        repository.prime();
+        FoodItem cached = only(repository.filter(""));
+
+        AtomicReference<Boolean> updated = new AtomicReference<>();
+        repository.update(cached, new FoodPatch().setName("Duck eggs").setCategory("Poultry"), updated::set);
+        AtomicReference<Boolean> consumed = new AtomicReference<>();
+        repository.consume(cached, 2, consumed::set);
+
+        assertEquals(Boolean.TRUE, updated.get());
+        assertEquals(Boolean.TRUE, consumed.get());
+        assertSame(cached, only(repository.filter("duck")));
+        assertEquals("Poultry", cached.getCategory());
+        assertEquals("Poultry", dbHelper.getCategories().getName(cached.getCategoryId()));
+        assertEquals(1, cached.getQuantity());
+    }
+
+    private FoodChange lastChange() {
+        List<FoodChange> changes = dbHelper.getChangesSince(0, 100);
+        return changes.get(changes.size() - 1);
+    }
+
+    private static FoodItem only(List<FoodItem> items) {
+        assertEquals(1, items.size());
+        return items.get(0);
+    }
+}
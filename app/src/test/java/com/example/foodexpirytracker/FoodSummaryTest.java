@@ -0,0 +1,135 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: FoodSummaryTest
+ * Purpose: Trigger-maintained aggregates must always equal a full recount of the owner's rows
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class FoodSummaryTest {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+
+    private DatabaseHelper dbHelper;
+    private long now;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+        now = System.currentTimeMillis();
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void insertUpdateDelete_keepSummaryExact() {
+        long a = dbHelper.addFood(item("Milk", "Dairy", at(now - DAY)));
+        dbHelper.addFood(item("Yogurt", "Dairy", at(now + 2 * DAY)));
+        long c = dbHelper.addFood(item("Apple", "Fruit", at(now + 10 * DAY)));
+        dbHelper.addFood(item("Mystery", null, ""));
+        assertMatchesRecount();
+
+        dbHelper.updateFood((int) c, new FoodPatch().setExpiryDate(at(now + 12 * 60 * 60 * 1000L)));
+        dbHelper.updateFood((int) a, new FoodPatch().setCategory("Fruit"));
+        dbHelper.consumeFood((int) c, 1);
+        assertMatchesRecount();
+
+        dbHelper.deleteFood((int) a);
+        dbHelper.deleteFoods(new int[]{(int) c});
+        assertMatchesRecount();
+
+        dbHelper.clearAllData();
+        assertEquals(0, dbHelper.getSummary().getTotal());
+    }
+
+    @Test
+    public void bulkInsert_countsEveryRow() {
+        dbHelper.addFoodBulk(new SyntheticInventory(5, now, 2_000));
+        FoodSummary summary = dbHelper.getSummary();
+        assertEquals(2_000, summary.getTotal());
+        assertMatchesRecount();
+    }
+
+    @Test
+    public void rebucket_movesOnlyItemsPastTheirThreshold() {
+        dbHelper.addFood(item("Soon", "Dairy", at(now + 2 * DAY)));
+        dbHelper.addFood(item("Later", "Dairy", at(now + 30 * DAY)));
+        assertEquals(1, dbHelper.getSummary().getBucketCount(FoodSummary.BUCKET_SOON));
+
+        // Three days on, the first item has expired and the second is still far away
+        assertEquals(1, dbHelper.rebucket(now + 3 * DAY));
+        FoodSummary summary = dbHelper.getSummary();
+        assertEquals(1, summary.getBucketCount(FoodSummary.BUCKET_EXPIRED));
+        assertEquals(1, summary.getBucketCount(FoodSummary.BUCKET_LATER));
+        assertEquals(0, dbHelper.rebucket(now + 3 * DAY));
+    }
+
+    @Test
+    public void owners_seeOnlyTheirOwnRowsAndCounts() {
+        dbHelper.setOwner("alice");
+        long a = dbHelper.addFood(item("Milk", "Dairy", at(now + 10 * DAY)));
+        dbHelper.setOwner("bob");
+        dbHelper.addFood(item("Apple", "Fruit", at(now + 10 * DAY)));
+        dbHelper.addFood(item("Pear", "Fruit", at(now + 10 * DAY)));
+
+        assertEquals(2, dbHelper.getAllFood().size());
+        assertEquals(2, dbHelper.getSummary().getTotal());
+        // Bob cannot touch Alice's row by id
+        dbHelper.deleteFood((int) a);
+        dbHelper.clearAllData();
+        assertEquals(0, dbHelper.getSummary().getTotal());
+
+        dbHelper.setOwner("alice");
+        assertEquals(1, dbHelper.getAllFood().size());
+        assertMatchesRecount();
+    }
+
+    private void assertMatchesRecount() {
+        List<FoodItem> all = dbHelper.getAllFood();
+        int[] buckets = new int[FoodSummary.BUCKET_COUNT];
+        Map<String, Integer> categories = new HashMap<>();
+        for (FoodItem f : all) {
+            buckets[FoodSummary.bucketFor(ExpiryDates.parseMillis(f.getExpiryDate()), now)]++;
+            String key = f.getCategory() == null ? "" : f.getCategory();
+            categories.merge(key, 1, Integer::sum);
+        }
+        FoodSummary summary = dbHelper.getSummary();
+        assertEquals(all.size(), summary.getTotal());
+        for (int b = 0; b < FoodSummary.BUCKET_COUNT; b++) {
+            assertEquals("bucket " + b, buckets[b], summary.getBucketCount(b));
+        }
+        assertEquals(categories, new HashMap<>(summary.getCategoryCounts()));
+    }
+
+    private static FoodItem item(String name, String category, String expiry) {
+        return new FoodItem(0, name, category, "2025-01-01", expiry, 2, "");
+    }
+
+    private static String at(long millis) {
+        return new SimpleDateFormat(ExpiryDates.DATE_TIME_FORMAT, Locale.US).format(new Date(millis));
+    }
+}
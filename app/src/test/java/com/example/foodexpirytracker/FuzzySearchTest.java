@@ -0,0 +1,129 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: FuzzySearchTest
+ * Purpose: Repository fuzzy search ranks by similarity then time left, builds its index off the
+ *          calling thread and follows adds, edits and deletes without a rebuild
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class FuzzySearchTest {
+    private DatabaseHelper dbHelper;
+    private InventoryRepository repository;
+
+    @Before
+    public void setUp() {
+        Context app = ApplicationProvider.getApplicationContext();
+        app.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(app);
+        Executor direct = Runnable::run;
+        repository = new InventoryRepository(dbHelper, direct, direct);
+        dbHelper.addFood(new FoodItem(0, "Yoghurt", "Dairy", "2025-01-01", "2030-06-01", 1, ""));
+        dbHelper.addFood(new FoodItem(0, "Yogurt", "Dairy", "2025-01-01", "2030-09-01", 1, ""));
+        dbHelper.addFood(new FoodItem(0, "Yogurt", "Dairy", "2025-01-01", "2030-03-01", 1, ""));
+        dbHelper.addFood(new FoodItem(0, "Bread", "Bakery", "2025-01-01", "2030-01-01", 1, ""));
+        repository.prime();
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void ranksBySimilarityThenTimeLeft() {
+        List<FoodItem> hits = search("yogurt", true);
+        assertEquals(3, hits.size());
+        assertEquals("2030-03-01", hits.get(0).getExpiryDate());
+        assertEquals("2030-09-01", hits.get(1).getExpiryDate());
+        assertEquals("Yoghurt", hits.get(2).getName());
+
+        hits = search("yogurt", false);
+        assertEquals("2030-09-01", hits.get(0).getExpiryDate());
+        assertEquals("Yoghurt", hits.get(2).getName());
+
+        // Substring filtering still misses the variant spelling
+        assertEquals(0, repository.filter("yoghurt").size());
+        assertEquals(3, search("yoghurt", true).size());
+        assertEquals(1, search("bakery", true).size());
+    }
+
+    @Test
+    public void followsAddUpdateAndDelete() {
+        assertEquals(0, search("cheddar", true).size());
+
+        FoodItem cheese = new FoodItem(0, "Chedar", "Dairy", "2025-01-01", "2030-01-01", 1, "");
+        repository.add(cheese, id -> assertTrue(id > 0));
+        assertEquals(Collections.singletonList(cheese), search("cheddar", true));
+
+        FoodPatch rename = new FoodPatch().setName("Brie");
+        repository.update(cheese, rename, ok -> assertTrue(ok));
+        assertEquals(0, search("cheddar", true).size());
+        assertEquals(Collections.singletonList(cheese), search("brie", true));
+
+        repository.delete(cheese);
+        assertEquals(0, search("brie", true).size());
+
+        List<FoodItem> yogurts = new ArrayList<>(search("yogurt", true));
+        repository.deleteAll(yogurts.subList(0, 2));
+        assertEquals(1, search("yogurt", true).size());
+    }
+
+    @Test
+    public void firstSearch_buildsIndexOnDiskExecutor() {
+        List<Runnable> disk = new ArrayList<>();
+        InventoryRepository queued = new InventoryRepository(dbHelper, disk::add, Runnable::run);
+        queued.prime();
+        AtomicReference<List<FoodItem>> hits = new AtomicReference<>();
+
+        queued.fuzzySearch("yogurt", true, hits::set);
+        // Nothing is built or delivered on the calling thread
+        assertNull(hits.get());
+        assertEquals(1, disk.size());
+        disk.remove(0).run();
+        assertEquals(3, hits.get().size());
+
+        // Once built, searches answer at once
+        queued.fuzzySearch("bakery", true, hits::set);
+        assertTrue(disk.isEmpty());
+        assertEquals(1, hits.get().size());
+    }
+
+    @Test
+    public void fuzzyFilter_ranksGivenItems() {
+        List<FoodItem> items = new ArrayList<>();
+        items.add(new FoodItem(1, "Yoghurt", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        items.add(new FoodItem(2, "Yogurt", "Dairy", "2025-01-01", "2031-01-01", 1, ""));
+        items.add(new FoodItem(3, "Bread", "Bakery", "2025-01-01", "2030-01-01", 1, ""));
+
+        List<FoodItem> hits = InventoryRepository.fuzzyFilter(items, "yogurt", true);
+        assertEquals(2, hits.size());
+        assertEquals(2, hits.get(0).getId());
+        assertEquals(1, hits.get(1).getId());
+    }
+
+    private List<FoodItem> search(String query, boolean ascending) {
+        AtomicReference<List<FoodItem>> hits = new AtomicReference<>();
+        repository.fuzzySearch(query, ascending, hits::set);
+        return hits.get();
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.foodexpirytracker;
+
+import android.content.ContentProvider;
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.net.Uri;
+import android.os.Bundle;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/*
+ * Function: InventoryExporterTest
+ * Purpose: CSV fields are quoted per RFC 4180, JSON has one typed object per row, progress reports
+ *          the real total, and a cancelled export removes its partial document
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class InventoryExporterTest {
+    private static final String AUTHORITY = "com.example.foodexpirytracker.exporttest";
+    private static final Uri DOCUMENT = Uri.parse("content://" + AUTHORITY + "/document/export");
+
+    private DatabaseHelper dbHelper;
+    private ContentResolver resolver;
+    private ByteArrayOutputStream document;
+    private InventoryExporter exporter;
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+        resolver = context.getContentResolver();
+        document = new ByteArrayOutputStream();
+        shadowOf(resolver).registerOutputStream(DOCUMENT, document);
+        Documents.deleted.clear();
+        Robolectric.setupContentProvider(Documents.class, AUTHORITY);
+
+        Executor direct = Runnable::run;
+        exporter = new InventoryExporter(dbHelper, direct, direct);
+        events = new ArrayList<>();
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void csv_quotesDelimitersQuotesAndLineBreaks() {
+        dbHelper.addFood(new FoodItem(0, "Milk, \"whole\"", "Dairy", "2025-01-01", "2030-01-01", 2, "line1\nline2"));
+        dbHelper.addFood(new FoodItem(0, "Plain", "Fruit", "2025-01-01", "2030-01-02", 1, null));
+
+        exporter.export(resolver, DOCUMENT, InventoryExporter.Format.CSV, recorder());
+
+        assertEquals(Collections.singletonList("finished 2"), events);
+        assertEquals("id,name,category,purchase_date,expiry_date,quantity,notes\r\n"
+                        + "1,\"Milk, \"\"whole\"\"\",Dairy,2025-01-01,2030-01-01,2,\"line1\nline2\"\r\n"
+                        + "2,Plain,Fruit,2025-01-01,2030-01-02,1,\r\n",
+                written());
+    }
+
+    @Test
+    public void json_isOneTypedObjectPerRow() throws Exception {
+        dbHelper.addFood(new FoodItem(0, "Milk, \"whole\"", "Dairy", "2025-01-01", "2030-01-01", 2, "line1\nline2"));
+        dbHelper.addFood(new FoodItem(0, "Plain", "Fruit", "2025-01-01", "2030-01-02", 1, null));
+
+        exporter.export(resolver, DOCUMENT, InventoryExporter.Format.JSON, recorder());
+
+        assertEquals(Collections.singletonList("finished 2"), events);
+        JSONArray rows = new JSONArray(written());
+        assertEquals(2, rows.length());
+        JSONObject first = rows.getJSONObject(0);
+        assertEquals(DatabaseHelper.EXPORT_COLUMNS.length, first.length());
+        for (String column : DatabaseHelper.EXPORT_COLUMNS) assertTrue(column, first.has(column));
+        assertEquals(1, first.get("id"));
+        assertEquals("Milk, \"whole\"", first.getString("name"));
+        assertEquals(2, first.get("quantity"));
+        assertEquals("line1\nline2", first.getString("notes"));
+        assertTrue(rows.getJSONObject(1).isNull("notes"));
+    }
+
+    @Test
+    public void progress_reportsRealTotalEveryStep() {
+        dbHelper.addFoodBulk(new SyntheticInventory(3, System.currentTimeMillis(), 2500));
+
+        exporter.export(resolver, DOCUMENT, InventoryExporter.Format.CSV, recorder());
+
+        assertEquals(Arrays.asList("progress 1000/2500", "progress 2000/2500", "finished 2500"), events);
+        // Header plus one CRLF-terminated line per row
+        assertEquals(2501, written().split("\r\n", -1).length - 1);
+        assertTrue(Documents.deleted.isEmpty());
+    }
+
+    @Test
+    public void cancel_midStream_removesPartialDocument() {
+        dbHelper.addFoodBulk(new SyntheticInventory(3, System.currentTimeMillis(), 2500));
+
+        exporter.export(resolver, DOCUMENT, InventoryExporter.Format.JSON, new Recorder() {
+            @Override
+            public void onProgress(int done, int total) {
+                super.onProgress(done, total);
+                exporter.cancel();
+            }
+        });
+
+        assertEquals(Arrays.asList("progress 1000/2500", "cancelled"), events);
+        assertEquals(Collections.singletonList(DOCUMENT), Documents.deleted);
+    }
+
+    private Recorder recorder() {
+        return new Recorder();
+    }
+
+    private String written() {
+        return new String(document.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Function: Recorder
+     * Purpose: Log listener callbacks in delivery order
+     */
+    private class Recorder implements InventoryExporter.Listener {
+        @Override
+        public void onProgress(int done, int total) {
+            events.add("progress " + done + "/" + total);
+        }
+
+        @Override
+        public void onFinished(int rows) {
+            events.add("finished " + rows);
+        }
+
+        @Override
+        public void onCancelled() {
+            events.add("cancelled");
+        }
+
+        @Override
+        public void onFailed(Exception e) {
+            events.add("failed " + e);
+        }
+    }
+
+    /*
+     * Function: Documents
+     * Purpose: Stand-in documents provider that records DocumentsContract.deleteDocument calls
+     */
+    public static class Documents extends ContentProvider {
+        static final List<Uri> deleted = new ArrayList<>();
+
+        @Override
+        public Bundle call(String method, String arg, Bundle extras) {
+            if (method.endsWith("deleteDocument")) deleted.add(extras.getParcelable("uri"));
+            return null;
+        }
+
+        @Override
+        public boolean onCreate() {
+            return true;
+        }
+
+        @Override
+        public Cursor query(Uri uri, String[] projection, String selection, String[] selectionArgs, String sortOrder) {
+            return null;
+        }
+
+        @Override
+        public String getType(Uri uri) {
+            return null;
+        }
+
+        @Override
+        public Uri insert(Uri uri, ContentValues values) {
+            return null;
+        }
+
+        @Override
+        public int delete(Uri uri, String selection, String[] selectionArgs) {
+            return 0;
+        }
+
+        @Override
+        public int update(Uri uri, ContentValues values, String selection, String[] selectionArgs) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.foodexpirytracker;
+
+import android.view.View;
+
+import androidx.lifecycle.SavedStateHandle;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: InventoryViewModelTest
+ * Purpose: List state lives in saved state (survives process death) while rows are only retained in memory
+ */
+public class InventoryViewModelTest {
+
+    @Test
+    public void freshState_hasDefaults() {
+        InventoryViewModel vm = new InventoryViewModel(new SavedStateHandle());
+        assertEquals("", vm.getQuery());
+        assertTrue(vm.isSortAscending());
+        assertEquals(View.NO_ID, vm.getRangeChip());
+        assertFalse(vm.isFuzzy());
+        assertFalse(vm.isLoaded());
+        assertTrue(vm.getItems().isEmpty());
+    }
+
+    @Test
+    public void processDeath_restoresQuerySortAndRangeButReloadsRows() {
+        SavedStateHandle handle = new SavedStateHandle();
+        InventoryViewModel vm = new InventoryViewModel(handle);
+        vm.setQuery("milk");
+        vm.setSortAscending(false);
+        vm.setRangeChip(42);
+        vm.setFuzzy(true);
+        vm.getItems().add(new FoodItem(1, "Milk", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        vm.markLoaded();
+
+        // The framework persists the handle's values and hands them to a new instance
+        Map<String, Object> saved = new HashMap<>();
+        for (String key : handle.keys()) saved.put(key, handle.get(key));
+        InventoryViewModel restored = new InventoryViewModel(new SavedStateHandle(saved));
+
+        assertEquals("milk", restored.getQuery());
+        assertFalse(restored.isSortAscending());
+        assertEquals(42, restored.getRangeChip());
+        assertTrue(restored.isFuzzy());
+        assertFalse(restored.isLoaded());
+        assertTrue(restored.getItems().isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: OwnerScopeTest
+ * Purpose: The signed-in account survives a cold process, sign-out returns to the local owner, and
+ *          only a real account claims rows left unowned by the v5 migration
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class OwnerScopeTest {
+    private Context context;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        context.getSharedPreferences("owner_prefs", Context.MODE_PRIVATE).edit().clear().commit();
+        dbHelper = new DatabaseHelper(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void account_isRestoredByTheNextProcess() {
+        dbHelper.setAccount("uid-1");
+        assertEquals("uid-1", reopen().getOwner());
+
+        dbHelper.setAccount(null);
+        assertEquals(DatabaseHelper.LOCAL_OWNER, dbHelper.getOwner());
+        assertEquals(DatabaseHelper.LOCAL_OWNER, reopen().getOwner());
+    }
+
+    @Test
+    public void setOwner_isNotRemembered() {
+        dbHelper.setAccount("uid-1");
+        dbHelper.setOwner("benchmark:x");
+        assertEquals("benchmark:x", dbHelper.getOwner());
+        assertEquals("uid-1", reopen().getOwner());
+    }
+
+    @Test
+    public void legacyRows_areClaimedOnlyByARealAccount() {
+        dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        // As the v5 migration leaves rows written before owners existed
+        dbHelper.getWritableDatabase().execSQL("UPDATE food SET owner = NULL");
+
+        dbHelper.setOwner("benchmark:x");
+        dbHelper.clearAllData();
+        dbHelper.setAccount(null);
+        assertEquals(0, dbHelper.countFood());
+
+        dbHelper.setAccount("uid-1");
+        assertEquals(1, dbHelper.countFood());
+        assertEquals("Milk", dbHelper.getAllFood().get(0).getName());
+    }
+
+    private DatabaseHelper reopen() {
+        DatabaseHelper cold = new DatabaseHelper(context);
+        cold.close();
+        return cold;
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.foodexpirytracker;
+
+import android.app.Dialog;
+import android.content.Context;
+import android.os.Looper;
+import android.view.View;
+import android.widget.EditText;
+
+import androidx.appcompat.app.AlertDialog;
+import androidx.appcompat.widget.SearchView;
+import androidx.lifecycle.ViewModelProvider;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.core.app.ActivityScenario;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.foodexpirytracker.notifications.ReminderChangeConsumer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowDialog;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/*
+ * Function: QueryBudgetTest
+ * Purpose: Enforce per-action query budgets (query_budgets.properties) and no DB access on the main looper,
+ *          driving MainActivity the way a user does: launch, search, sort, add, edit and delete
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class QueryBudgetTest {
+    static final int SEED_ITEMS = 50;
+
+    private ActivityScenario<MainActivity> scenario;
+    private QueryCounter counter;
+    private Properties budgets;
+
+    @Before
+    public void setUp() throws Exception {
+        Context context = ApplicationProvider.getApplicationContext();
+        // Let the application's warm-up finish before swapping the singletons it uses
+        waitForDisk();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context,
+                new Configuration.Builder().setExecutor(new SynchronousExecutor()).build());
+        InventoryRepository.resetInstance();
+        DatabaseHelper.resetInstance();
+        context.deleteDatabase("food_tracker.db");
+
+        DatabaseHelper dbHelper = DatabaseHelper.getInstance(context);
+        for (int i = 0; i < SEED_ITEMS; i++) {
+            dbHelper.addFood(new FoodItem(0, "Item " + i, i % 2 == 0 ? "Dairy" : "Fruit",
+                    "2025-01-01", "2030-01-" + String.format("%02d", 1 + i % 28), 1, ""));
+        }
+        // A returning user: reminders for the seeded rows were scheduled on an earlier launch
+        dbHelper.saveChangeCursor(ReminderChangeConsumer.CONSUMER + ":" + dbHelper.getOwner(),
+                dbHelper.getLatestChangeSeq());
+
+        budgets = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("query_budgets.properties")) {
+            assertNotNull("query_budgets.properties missing", in);
+            budgets.load(in);
+        }
+
+        counter = new QueryCounter();
+        DatabaseHelper.setQueryObserver(counter);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (scenario != null) scenario.close();
+        DatabaseHelper.setQueryObserver(null);
+        waitForDisk();
+        InventoryRepository.resetInstance();
+        DatabaseHelper.resetInstance();
+    }
+
+    @Test
+    public void launch_readsInventoryOnceOffMainThread() throws Exception {
+        launch();
+        assertEquals(SEED_ITEMS, visibleRows());
+        counter.assertWithin(budgets, "launch");
+    }
+
+    @Test
+    public void typingQuery_doesNotTouchDatabase() throws Exception {
+        launch();
+        counter.reset();
+        for (String q : new String[]{"i", "it", "ite", "item 1"}) {
+            scenario.onActivity(a -> ((SearchView) a.findViewById(R.id.searchView)).setQuery(q, false));
+            drain();
+        }
+        // Item 1 and Item 10..19
+        assertEquals(11, visibleRows());
+        counter.assertWithin(budgets, "type_query");
+    }
+
+    @Test
+    public void sortToggle_doesNotTouchDatabase() throws Exception {
+        launch();
+        String first = rowName(0);
+        counter.reset();
+        scenario.onActivity(a -> a.findViewById(R.id.fabSort).performClick());
+        drain();
+        assertEquals(SEED_ITEMS, visibleRows());
+        assertEquals(first, rowName(SEED_ITEMS - 1));
+        counter.assertWithin(budgets, "sort_toggle");
+    }
+
+    @Test
+    public void sortModeSwitch_isOneIndexScan() throws Exception {
+        launch();
+        counter.reset();
+        scenario.onActivity(a -> shadowOf(a).clickMenuItem(R.id.action_sort_name));
+        drain();
+        assertEquals(SEED_ITEMS, visibleRows());
+        assertEquals("Item 0", rowName(0));
+        counter.assertWithin(budgets, "sort_mode");
+    }
+
+    @Test
+    public void add_isSingleBackgroundWrite() throws Exception {
+        launch();
+        counter.reset();
+        scenario.onActivity(a -> a.findViewById(R.id.fabAdd).performClick());
+        Dialog dialog = ShadowDialog.getLatestDialog();
+        ((EditText) dialog.findViewById(R.id.etFoodName)).setText("Milk");
+        ((EditText) dialog.findViewById(R.id.etCategory)).setText("Dairy");
+        ((EditText) dialog.findViewById(R.id.etPurchaseDate)).setText("2025-01-01");
+        ((EditText) dialog.findViewById(R.id.etExpiryDate)).setText("2030-02-01 08:00");
+        ((EditText) dialog.findViewById(R.id.etQuantity)).setText("1");
+        dialog.findViewById(R.id.btnSave).performClick();
+        drain();
+        assertEquals(SEED_ITEMS + 1, visibleRows());
+        counter.assertWithin(budgets, "add");
+    }
+
+    @Test
+    public void edit_isSingleBackgroundWrite() throws Exception {
+        launch();
+        String name = rowName(0);
+        counter.reset();
+        scenario.onActivity(a -> rowView(a, 0).performClick());
+        Dialog dialog = ShadowDialog.getLatestDialog();
+        ((EditText) dialog.findViewById(R.id.etFoodName)).setText(name + " (opened)");
+        dialog.findViewById(R.id.btnSave).performClick();
+        drain();
+        assertEquals(name + " (opened)", rowName(0));
+        counter.assertWithin(budgets, "edit");
+    }
+
+    @Test
+    public void editOfSortKey_reordersFromTheIndex() throws Exception {
+        launch();
+        scenario.onActivity(a -> shadowOf(a).clickMenuItem(R.id.action_sort_name));
+        drain();
+        counter.reset();
+        scenario.onActivity(a -> rowView(a, 0).performClick());
+        Dialog dialog = ShadowDialog.getLatestDialog();
+        ((EditText) dialog.findViewById(R.id.etFoodName)).setText("Zucchini");
+        dialog.findViewById(R.id.btnSave).performClick();
+        drain();
+        assertEquals("Item 1", rowName(0));
+        assertEquals("Zucchini", rowName(SEED_ITEMS - 1));
+        counter.assertWithin(budgets, "edit_sort_key");
+    }
+
+    @Test
+    public void delete_isSingleBackgroundWrite() throws Exception {
+        launch();
+        counter.reset();
+        scenario.onActivity(a -> {
+            rowView(a, 0).performLongClick();
+            FoodListAdapter adapter = (FoodListAdapter) recycler(a).getAdapter();
+            // Same call the selection action mode's delete item makes
+            adapter.showDeleteDialog(adapter.getSelectedItems(), null);
+        });
+        ((AlertDialog) ShadowDialog.getLatestDialog()).getButton(AlertDialog.BUTTON_POSITIVE).performClick();
+        drain();
+        assertEquals(SEED_ITEMS - 1, visibleRows());
+        counter.assertWithin(budgets, "delete");
+    }
+
+    /*
+     * Function: launch
+     * Purpose: Start MainActivity cold and wait for the first screen (load, ordering, header counts)
+     */
+    private void launch() throws Exception {
+        counter.reset();
+        scenario = ActivityScenario.launch(MainActivity.class);
+        drain();
+    }
+
+    private int visibleRows() {
+        int[] count = new int[1];
+        scenario.onActivity(a -> count[0] = recycler(a).getAdapter().getItemCount());
+        return count[0];
+    }
+
+    private String rowName(int position) {
+        String[] name = new String[1];
+        scenario.onActivity(a -> {
+            List<FoodItem> rows = new ViewModelProvider(a).get(InventoryViewModel.class).getItems();
+            name[0] = rows.get(position).getName();
+        });
+        return name[0];
+    }
+
+    private static RecyclerView recycler(MainActivity activity) {
+        return activity.findViewById(R.id.recyclerView);
+    }
+
+    /*
+     * Function: rowView
+     * Purpose: Lay the list out and return the row view at position, as a tap would find it
+     */
+    private static View rowView(MainActivity activity, int position) {
+        RecyclerView list = recycler(activity);
+        list.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        list.layout(0, 0, 1080, 1920);
+        RecyclerView.ViewHolder holder = list.findViewHolderForAdapterPosition(position);
+        assertNotNull("row " + position + " not laid out", holder);
+        return holder.itemView;
+    }
+
+    /*
+     * Function: drain
+     * Purpose: Alternate between queued disk work and main-looper callbacks until both are quiet
+     */
+    private void drain() throws Exception {
+        ShadowLooper main = shadowOf(Looper.getMainLooper());
+        for (int round = 0; round < 20; round++) {
+            waitForDisk();
+            // Disk work is only queued from the main looper, so an idle looper means nothing is left
+            if (main.isIdle()) return;
+            main.idle();
+        }
+        assertTrue("disk executor and main looper did not settle", main.isIdle());
+    }
+
+    private static void waitForDisk() throws Exception {
+        AppExecutors.diskIO().submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.foodexpirytracker;
+
+import android.os.Looper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertTrue;
+
+/*
+ * Function: QueryCounter
+ * Purpose: DatabaseHelper observer that counts work per user action and flags main-looper access
+ */
+public class QueryCounter implements DatabaseHelper.QueryObserver {
+    private int queries;
+    private int rowsRead;
+    private int writes;
+    private int transactions;
+    private final List<String> mainThreadCalls = new ArrayList<>();
+
+    @Override
+    public synchronized void onRead(int rows) {
+        queries++;
+        rowsRead += rows;
+        checkThread("read");
+    }
+
+    @Override
+    public synchronized void onWrite() {
+        writes++;
+        checkThread("write");
+    }
+
+    @Override
+    public synchronized void onTransaction() {
+        transactions++;
+        checkThread("transaction");
+    }
+
+    /*
+     * Function: reset
+     * Purpose: Start counting a new action
+     */
+    public synchronized void reset() {
+        queries = 0;
+        rowsRead = 0;
+        writes = 0;
+        transactions = 0;
+        mainThreadCalls.clear();
+    }
+
+    /*
+     * Function: assertWithin
+     * Purpose: Fail if the action exceeded any checked-in budget or touched the DB on the main looper
+     */
+    public synchronized void assertWithin(Properties budgets, String action) {
+        assertTrue(action + " ran database calls on the main looper: " + mainThreadCalls, mainThreadCalls.isEmpty());
+        check(budgets, action, "queries", queries);
+        check(budgets, action, "rows_read", rowsRead);
+        check(budgets, action, "writes", writes);
+        check(budgets, action, "transactions", transactions);
+    }
+
+    private static void check(Properties budgets, String action, String metric, int actual) {
+        String key = action + "." + metric;
+        String value = budgets.getProperty(key);
+        assertTrue("missing budget " + key, value != null);
+        int budget = Integer.parseInt(value.trim());
+        assertTrue(key + " = " + actual + " exceeds budget " + budget, actual <= budget);
+    }
+
+    private void checkThread(String kind) {
+        if (Looper.getMainLooper().isCurrentThread()) {
+            mainThreadCalls.add(kind);
+        }
+    }
+}
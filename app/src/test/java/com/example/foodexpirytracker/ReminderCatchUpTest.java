@@ -0,0 +1,74 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.WorkManager;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.foodexpirytracker.notifications.ReminderChangeConsumer;
+import com.example.foodexpirytracker.notifications.ReminderScheduler;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: ReminderCatchUpTest
+ * Purpose: A reminder cursor registered before a bulk seed is moved past the seeded rows, so no
+ *          catch-up (including the first full pass) schedules reminders for them
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReminderCatchUpTest {
+    private Context context;
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context,
+                new Configuration.Builder().setExecutor(new SynchronousExecutor()).build());
+        DatabaseHelper.resetInstance();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    @After
+    public void tearDown() {
+        DatabaseHelper.resetInstance();
+    }
+
+    @Test
+    public void seedAfterRegistration_isNeverScheduled() throws Exception {
+        dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        // First run: the full pass schedules the real item and registers the cursor at the head
+        assertEquals(1, ReminderChangeConsumer.catchUp(context));
+
+        long before = dbHelper.getLatestChangeSeq();
+        dbHelper.addFoodBulk(new SyntheticInventory(5, System.currentTimeMillis(), 500));
+        dbHelper.skipChanges(before, dbHelper.getLatestChangeSeq());
+
+        assertEquals(0, ReminderChangeConsumer.catchUp(context));
+        // Two jobs (day-before and day-of) for Milk only
+        assertEquals(2, WorkManager.getInstance(context).getWorkInfosByTag(ReminderScheduler.TAG_ALL).get().size());
+    }
+
+    @Test
+    public void writesAfterSeed_areStillScheduled() {
+        ReminderChangeConsumer.catchUp(context);
+        long before = dbHelper.getLatestChangeSeq();
+        dbHelper.addFoodBulk(new SyntheticInventory(5, System.currentTimeMillis(), 500));
+        dbHelper.skipChanges(before, dbHelper.getLatestChangeSeq());
+
+        dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        assertEquals(1, ReminderChangeConsumer.catchUp(context));
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.foodexpirytracker.migration.DatabaseMigrationStore;
+import com.example.foodexpirytracker.migration.MigrationRunner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: SchemaMigrationTest
+ * Purpose: A downgrade keeps food and accounts, and the backfills it queues run in resumable chunks
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class SchemaMigrationTest {
+    private static final long DAY = 24L * 60 * 60 * 1000;
+    private static final int ROWS = 7;
+
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+        SimpleDateFormat dates = new SimpleDateFormat(ExpiryDates.DATE_FORMAT, Locale.getDefault());
+        for (int i = 0; i < ROWS; i++) {
+            dbHelper.addFood(new FoodItem(0, "Item " + i, i % 2 == 0 ? "Dairy" : "", "2025-01-01",
+                    i == 0 ? "not a date" : dates.format(new Date(System.currentTimeMillis() + (i + 1) * DAY)), i + 1, "n" + i));
+        }
+        dbHelper.addUser("a@example.com", "secret-pass");
+        // Stand-in for a newer schema: an extra column, index and trigger this version does not know
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.execSQL("ALTER TABLE food ADD COLUMN future_rating INTEGER");
+        db.execSQL("CREATE INDEX idx_food_future ON food(future_rating)");
+        db.execSQL("CREATE TRIGGER trg_future AFTER INSERT ON food BEGIN SELECT 1; END");
+        db.beginTransaction();
+        try {
+            dbHelper.onDowngrade(db, 11, 10);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void downgrade_keepsRowsAndAccounts() {
+        List<FoodItem> items = dbHelper.getAllFood();
+        assertEquals(ROWS, items.size());
+        int dairy = 0;
+        for (FoodItem item : items) {
+            int i = Integer.parseInt(item.getName().substring(5));
+            assertEquals(i + 1, item.getQuantity());
+            assertEquals("n" + i, item.getNotes());
+            if ("Dairy".equals(item.getCategory())) {
+                assertNotEquals(CategoryCatalog.NONE, item.getCategoryId());
+                dairy++;
+            }
+        }
+        assertEquals(4, dairy);
+        assertTrue(dbHelper.verifyUser("a@example.com", "secret-pass"));
+        // Copied rows are not edits
+        assertEquals(0, dbHelper.getLatestChangeSeq());
+    }
+
+    @Test
+    public void backfills_resumeFromCheckpointAcrossRunners() {
+        assertEquals(Arrays.asList(DatabaseHelper.BACKFILL_BUCKETS, DatabaseHelper.BACKFILL_EXPIRY_MILLIS),
+                dbHelper.getPendingBackfills());
+        long now = System.currentTimeMillis();
+        assertEquals(ROWS, dbHelper.getSummary().getBucketCount(FoodSummary.BUCKET_UNKNOWN));
+        assertTrue(dbHelper.getFoodExpiringBetween(now, now + 30 * DAY, 100).isEmpty());
+
+        // A run stopped after two chunks leaves its checkpoint behind
+        int[] chunks = {0};
+        MigrationRunner.Result first = new MigrationRunner(new DatabaseMigrationStore(dbHelper), 3)
+                .run(60_000, () -> chunks[0]++ >= 2);
+        assertFalse(first.isComplete());
+        assertEquals(6, first.getRows());
+        // The unparseable date plus the one row not reached yet
+        assertEquals(2, dbHelper.getSummary().getBucketCount(FoodSummary.BUCKET_UNKNOWN));
+
+        MigrationRunner.Result second = new MigrationRunner(new DatabaseMigrationStore(dbHelper), 3)
+                .run(60_000, () -> false);
+        assertTrue(second.isComplete());
+        assertEquals(1 + ROWS, second.getRows());
+        assertTrue(dbHelper.getPendingBackfills().isEmpty());
+        // Only the unparseable date stays unknown
+        assertEquals(1, dbHelper.getSummary().getBucketCount(FoodSummary.BUCKET_UNKNOWN));
+        assertEquals(ROWS - 1, dbHelper.getFoodExpiringBetween(now, now + 30 * DAY, 100).size());
+        assertEquals(0, dbHelper.runBackfillChunk(DatabaseHelper.BACKFILL_BUCKETS, 3));
+    }
+
+    @Test
+    public void syncIdBackfill_holdsSyncUntilEveryRowHasAnId() {
+        // Rows as the v7 step finds them: no identity yet
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.execSQL("UPDATE food SET sync_id = NULL");
+        dbHelper.restartBackfill(DatabaseHelper.BACKFILL_SYNC_IDS);
+        assertFalse(dbHelper.isSyncReady());
+
+        assertTrue(new MigrationRunner(new DatabaseMigrationStore(dbHelper), 3).run(60_000, () -> false).isComplete());
+        assertTrue(dbHelper.isSyncReady());
+        assertEquals(ROWS, DatabaseUtils.longForQuery(db, "SELECT COUNT(DISTINCT sync_id) FROM food", null));
+        // Identity is not an edit
+        assertEquals(0, dbHelper.getLatestChangeSeq());
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: SortModeTest
+ * Purpose: Every sort mode is read off its own index in both directions (no SQL sort, no Java sort),
+ *          orders rows as documented, and is remembered across launches
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class SortModeTest {
+    private Context app;
+    private DatabaseHelper dbHelper;
+    private InventoryRepository repository;
+    private final int[] ids = new int[5];
+
+    @Before
+    public void setUp() {
+        app = ApplicationProvider.getApplicationContext();
+        app.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(app);
+        ids[0] = add("banana", "Fruit", 3, "2025-03-01", "2030-01-05");
+        ids[1] = add("Apple", "Dairy", 1, "2025-01-15", "2030-01-10");
+        ids[2] = add("cherry", "Fruit", 2, "2025-02-01", "");
+        ids[3] = add("apple pie", "Dairy", 1, "2025-01-15", "2030-01-01");
+        ids[4] = add("Zucchini", "", 5, "2024-12-31", "2030-02-01");
+        Executor direct = Runnable::run;
+        repository = new InventoryRepository(dbHelper, direct, direct);
+        repository.prime();
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    @Test
+    public void name_usesItsIndex() {
+        assertServedByIndex(SortMode.NAME);
+    }
+
+    @Test
+    public void quantity_usesItsIndex() {
+        assertServedByIndex(SortMode.QUANTITY);
+    }
+
+    @Test
+    public void purchaseDate_usesItsIndex() {
+        assertServedByIndex(SortMode.PURCHASE_DATE);
+    }
+
+    @Test
+    public void timeLeft_usesItsIndex() {
+        assertServedByIndex(SortMode.TIME_LEFT);
+    }
+
+    @Test
+    public void categoryTimeLeft_usesItsIndex() {
+        assertServedByIndex(SortMode.CATEGORY_TIME_LEFT);
+    }
+
+    @Test
+    public void modes_orderRowsAsDocumented() {
+        // Case-insensitive names; ties broken by id
+        assertArrayEquals(order(1, 3, 0, 2, 4), dbHelper.getSortedFoodIds(SortMode.NAME));
+        assertArrayEquals(order(1, 3, 2, 0, 4), dbHelper.getSortedFoodIds(SortMode.QUANTITY));
+        assertArrayEquals(order(4, 1, 3, 2, 0), dbHelper.getSortedFoodIds(SortMode.PURCHASE_DATE));
+        // Unknown expiry last, as ExpiryDates.UNKNOWN sorts
+        assertArrayEquals(order(3, 0, 1, 4, 2), dbHelper.getSortedFoodIds(SortMode.TIME_LEFT));
+        // No category first, then alphabetical categories, then time left
+        assertArrayEquals(order(4, 3, 1, 0, 2), dbHelper.getSortedFoodIds(SortMode.CATEGORY_TIME_LEFT));
+    }
+
+    @Test
+    public void categoryTimeLeft_listFollowsTheIndexOrder() {
+        // Descending is the ascending order walked backwards
+        assertArrayEquals(order(4, 3, 1, 0, 2), ids(arrange(null, "", SortMode.CATEGORY_TIME_LEFT, true)));
+        assertArrayEquals(order(2, 0, 1, 3, 4), ids(arrange(null, "", SortMode.CATEGORY_TIME_LEFT, false)));
+    }
+
+    @Test
+    public void arrange_walksTheOrderInEitherDirection() {
+        List<FoodItem> ascending = arrange(null, "", SortMode.QUANTITY, true);
+        List<FoodItem> descending = arrange(null, "", SortMode.QUANTITY, false);
+        assertEquals(5, ascending.size());
+        Collections.reverse(descending);
+        assertEquals(ascending, descending);
+
+        // Descending flips the id tie-break too, matching the SQL DESC order
+        List<FoodItem> byName = arrange(null, "APPLE", SortMode.NAME, false);
+        assertEquals(Arrays.asList("apple pie", "Apple"), names(byName));
+
+        // A subset (range results) keeps only its own rows, in the mode's order
+        List<FoodItem> subset = new ArrayList<>();
+        for (FoodItem item : dbHelper.getAllFood()) {
+            if (item.getId() != ids[1]) subset.add(item);
+        }
+        assertEquals(Arrays.asList("Zucchini", "cherry", "banana", "apple pie"),
+                names(arrange(subset, "", SortMode.NAME, false)));
+    }
+
+    @Test
+    public void arrange_followsWrites() {
+        assertEquals("Apple", arrange(null, "", SortMode.NAME, true).get(0).getName());
+        repository.add(new FoodItem(0, "Aubergine", "Vegetables", "2025-01-01", "2030-01-01", 1, ""), id -> { });
+        assertEquals("Aubergine", arrange(null, "", SortMode.NAME, true).get(2).getName());
+
+        FoodItem pie = arrange(null, "pie", SortMode.NAME, true).get(0);
+        repository.update(pie, new FoodPatch().setName("Zebra cake"), ok -> assertTrue(ok));
+        List<FoodItem> names = arrange(null, "", SortMode.NAME, false);
+        assertEquals("Zucchini", names.get(0).getName());
+        assertEquals("Zebra cake", names.get(1).getName());
+    }
+
+    @Test
+    public void mode_persistsAcrossLaunches() {
+        assertEquals(SortMode.DEFAULT, SortMode.load(app));
+        SortMode.save(app, SortMode.PURCHASE_DATE);
+        assertEquals(SortMode.PURCHASE_DATE, SortMode.load(app));
+
+        // A mode removed in a later version falls back to the default
+        app.getSharedPreferences("list_prefs", Context.MODE_PRIVATE).edit()
+                .putString("sort_mode", "EXPIRED_FIRST").commit();
+        assertEquals(SortMode.DEFAULT, SortMode.load(app));
+    }
+
+    private void assertServedByIndex(SortMode mode) {
+        String index = DatabaseHelper.sortIndex(mode);
+        String owner = DatabaseHelper.LOCAL_OWNER;
+
+        String idScan = plan(DatabaseHelper.sqlSortedFoodIds(mode), owner);
+        assertTrue(idScan, idScan.contains("COVERING INDEX " + index));
+        assertFalse(idScan, idScan.contains("SCAN") || idScan.contains("TEMP B-TREE"));
+
+        for (boolean ascending : new boolean[]{true, false}) {
+            String rows = plan(DatabaseHelper.sqlFoodCursor(false, false, mode, ascending), owner);
+            assertTrue(rows, rows.contains("INDEX " + index));
+            assertFalse(rows, rows.contains("SCAN") || rows.contains("TEMP B-TREE"));
+
+            String named = plan(DatabaseHelper.sqlFoodCursor(false, true, mode, ascending), owner, "app");
+            assertTrue(named, named.contains("INDEX " + index));
+            assertFalse(named, named.contains("TEMP B-TREE"));
+        }
+    }
+
+    private String plan(String sql, String... args) {
+        StringBuilder detail = new StringBuilder();
+        try (Cursor c = dbHelper.getReadableDatabase().rawQuery("EXPLAIN QUERY PLAN " + sql, args)) {
+            int column = c.getColumnIndexOrThrow("detail");
+            while (c.moveToNext()) detail.append(c.getString(column)).append('\n');
+        }
+        return detail.toString();
+    }
+
+    private List<FoodItem> arrange(List<FoodItem> subset, String query, SortMode mode, boolean ascending) {
+        AtomicReference<List<FoodItem>> result = new AtomicReference<>();
+        repository.arrange(subset, query, mode, ascending, result::set);
+        assertNotNull(result.get());
+        return result.get();
+    }
+
+    private int add(String name, String category, int quantity, String purchase, String expiry) {
+        return (int) dbHelper.addFood(new FoodItem(0, name, category, purchase, expiry, quantity, ""));
+    }
+
+    // Seeded ids in the given positions
+    private int[] order(int... positions) {
+        int[] expected = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) expected[i] = ids[positions[i]];
+        return expected;
+    }
+
+    private static int[] ids(List<FoodItem> items) {
+        int[] ids = new int[items.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = items.get(i).getId();
+        return ids;
+    }
+
+    private static List<String> names(List<FoodItem> items) {
+        List<String> names = new ArrayList<>();
+        for (FoodItem item : items) names.add(item.getName());
+        return names;
+    }
+}
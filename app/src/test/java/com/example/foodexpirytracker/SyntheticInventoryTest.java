@@ -0,0 +1,59 @@
+package com.example.foodexpirytracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SyntheticInventoryTest {
+    private static final long NOW = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+    @Test
+    public void sameSeed_producesIdenticalRows() {
+        List<FoodItem> a = drain(new SyntheticInventory(7, NOW, 500));
+        List<FoodItem> b = drain(new SyntheticInventory(7, NOW, 500));
+        assertEquals(500, a.size());
+        for (int i = 0; i < a.size(); i++) {
+            assertEquals(a.get(i).getName(), b.get(i).getName());
+            assertEquals(a.get(i).getCategory(), b.get(i).getCategory());
+            assertEquals(a.get(i).getExpiryDate(), b.get(i).getExpiryDate());
+            assertEquals(a.get(i).getQuantity(), b.get(i).getQuantity());
+        }
+    }
+
+    @Test
+    public void differentSeed_producesDifferentRows() {
+        List<FoodItem> a = drain(new SyntheticInventory(1, NOW, 100));
+        List<FoodItem> b = drain(new SyntheticInventory(2, NOW, 100));
+        boolean differs = false;
+        for (int i = 0; i < a.size() && !differs; i++) {
+            differs = !a.get(i).getName().equals(b.get(i).getName());
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    public void distribution_includesEdgeCases() {
+        int empty = 0, malformed = 0, withTime = 0, positiveQty = 0;
+        List<FoodItem> items = drain(new SyntheticInventory(42, NOW, 10_000));
+        for (FoodItem f : items) {
+            String e = f.getExpiryDate();
+            if (e.isEmpty()) empty++;
+            else if (ExpiryDates.parseMillis(e) == ExpiryDates.UNKNOWN) malformed++;
+            else if (ExpiryDates.hasTime(e)) withTime++;
+            if (f.getQuantity() > 0) positiveQty++;
+        }
+        assertTrue("empty " + empty, empty > 100 && empty < 600);
+        assertTrue("malformed " + malformed, malformed > 50);
+        assertTrue("withTime " + withTime, withTime > 2_500);
+        assertEquals(items.size(), positiveQty);
+    }
+
+    private static List<FoodItem> drain(SyntheticInventory inventory) {
+        List<FoodItem> out = new ArrayList<>();
+        while (inventory.hasNext()) out.add(inventory.next());
+        return out;
+    }
+}
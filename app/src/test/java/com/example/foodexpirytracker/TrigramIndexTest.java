@@ -0,0 +1,104 @@
+package com.example.foodexpirytracker;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: TrigramIndexTest
+ * Purpose: Fuzzy matching tolerates spelling variants, scores names and categories separately and
+ *          stays correct as documents are added, replaced and removed
+ */
+public class TrigramIndexTest {
+    private static final float MIN = 0.5f;
+
+    @Test
+    public void spellingVariant_matches() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "yogurt", "Greek Yogurt", "Dairy");
+        index.put(2, "bread", "Sourdough Bread", "Bakery");
+
+        assertEquals(list("yogurt"), values(index.search("yoghurt", MIN)));
+        assertEquals(list("yogurt"), values(index.search("YOGURT", MIN)));
+        assertTrue(index.search("chocolate", MIN).isEmpty());
+        assertTrue(index.search("  ", MIN).isEmpty());
+    }
+
+    @Test
+    public void category_matchesOnItsOwn() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "milk", "Milk", "Dairy");
+        index.put(2, "apple", "Apple", "Fruit");
+
+        assertEquals(list("milk"), values(index.search("dairy", MIN)));
+        // Name and category trigrams are not pooled: half of "milk" plus half of "dairy" is no match
+        assertTrue(index.search("mi da", 0.6f).isEmpty());
+    }
+
+    @Test
+    public void similarity_isShareOfQueryTrigrams() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "exact", "Yogurt", null);
+        index.put(2, "variant", "Yoghurt", null);
+
+        List<TrigramIndex.Hit<String>> hits = index.search("yogurt", MIN);
+        assertEquals(2, hits.size());
+        for (TrigramIndex.Hit<String> hit : hits) {
+            if (hit.getValue().equals("exact")) {
+                assertEquals(1f, hit.getSimilarity(), 0f);
+            } else {
+                // "  y", " yo", "yog", "urt", "rt " of 7 query trigrams
+                assertEquals(5f / 7f, hit.getSimilarity(), 1e-6f);
+            }
+        }
+    }
+
+    @Test
+    public void putAndRemove_updateIncrementally() {
+        TrigramIndex<String> index = new TrigramIndex<>();
+        index.put(1, "a", "Cheddar", "Dairy");
+        index.put(2, "b", "Cheddar", "Dairy");
+        assertEquals(2, index.search("cheddar", MIN).size());
+
+        index.remove(1);
+        assertEquals(list("b"), values(index.search("cheddar", MIN)));
+        assertNull(index.get(1));
+
+        // Re-putting an id replaces its text; the freed slot is reused
+        index.put(2, "b2", "Brie", "Dairy");
+        assertTrue(index.search("cheddar", MIN).isEmpty());
+        assertEquals(list("b2"), values(index.search("brie", MIN)));
+        index.put(3, "c", "Cheddar", "Dairy");
+        assertEquals(list("c"), values(index.search("cheddar", MIN)));
+        assertEquals(2, index.size());
+
+        index.remove(42);
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void manyDocuments_growStorage() {
+        TrigramIndex<Integer> index = new TrigramIndex<>();
+        for (int i = 0; i < 1000; i++) index.put(i, i, "Item " + i, i % 2 == 0 ? "Even" : "Odd");
+        for (int i = 0; i < 1000; i += 3) index.remove(i);
+
+        assertEquals(666, index.size());
+        assertEquals(list(7), values(index.search("item 7", 1f)));
+        assertEquals(333, index.search("odd", MIN).size());
+    }
+
+    private static <T> List<T> list(T value) {
+        List<T> list = new ArrayList<>();
+        list.add(value);
+        return list;
+    }
+
+    private static <T> List<T> values(List<TrigramIndex.Hit<T>> hits) {
+        List<T> values = new ArrayList<>();
+        for (TrigramIndex.Hit<T> hit : hits) values.add(hit.getValue());
+        return values;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.foodexpirytracker;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: WasteReportTest
+ * Purpose: Consume, expire and delete paths log events once, and reports fold the daily rollups
+ *          into weeks and months per kind and category
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class WasteReportTest {
+    private final TimeZone zone = TimeZone.getDefault();
+    private DatabaseHelper dbHelper;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    private int add(String name, String category, String expiry, int quantity) {
+        return (int) dbHelper.addFood(new FoodItem(0, name, category, "1999-12-01", expiry, quantity, ""));
+    }
+
+    private static long day(int year, int month, int dayOfMonth) {
+        return LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+
+    @Test
+    public void events_areLoggedOnceAndRolledUpByPeriod() {
+        int milk = add("Milk", "Dairy", "2000-01-03", 3);
+        int cheese = add("Cheese", "Dairy", "2000-01-05", 2);
+        int apple = add("Apple", "Fruit", "2030-01-01", 4);
+        int dairy = dbHelper.getCategories().idFor("Dairy");
+        int fruit = dbHelper.getCategories().idFor("Fruit");
+
+        assertTrue(dbHelper.recordExpired(milk));
+        assertFalse(dbHelper.recordExpired(milk));
+        assertFalse(dbHelper.recordExpired(apple));
+        dbHelper.consumeFood(milk, 1);
+        // Already logged as expired with the quantity it had at expiry
+        dbHelper.deleteFood(milk);
+        dbHelper.deleteFoods(new int[]{cheese, apple});
+
+        assertEquals(2, dbHelper.rollUpEvents(2, zone));
+        assertEquals(2, dbHelper.rollUpEvents(100, zone));
+        assertEquals(0, dbHelper.rollUpEvents(100, zone));
+
+        List<WasteReport.Row> weeks = dbHelper.getWasteReport(day(2000, 1, 1), day(2000, 1, 31),
+                WasteReport.PERIOD_WEEK).getRows();
+        assertEquals(1, weeks.size());
+        assertEquals(day(2000, 1, 3), weeks.get(0).getPeriodStartDay());
+        assertEquals(FoodEvent.KIND_EXPIRED, weeks.get(0).getKind());
+        assertEquals(dairy, weeks.get(0).getCategoryId());
+        assertEquals(2, weeks.get(0).getItems());
+        assertEquals(5, weeks.get(0).getQuantity());
+
+        long today = WasteReport.localEpochDay(System.currentTimeMillis(), zone);
+        List<WasteReport.Row> months = dbHelper.getWasteReport(0, today, WasteReport.PERIOD_MONTH).getRows();
+        assertEquals(3, months.size());
+        assertEquals(day(2000, 1, 1), months.get(0).getPeriodStartDay());
+        long thisMonth = LocalDate.ofEpochDay(today).withDayOfMonth(1).toEpochDay();
+        for (WasteReport.Row row : months.subList(1, 3)) {
+            assertEquals(thisMonth, row.getPeriodStartDay());
+            if (row.getKind() == FoodEvent.KIND_CONSUMED) {
+                assertEquals(dairy, row.getCategoryId());
+                assertEquals(1, row.getQuantity());
+            } else {
+                assertEquals(FoodEvent.KIND_DISCARDED, row.getKind());
+                assertEquals(fruit, row.getCategoryId());
+                assertEquals(4, row.getQuantity());
+            }
+        }
+
+        dbHelper.clearAllData();
+        assertTrue(dbHelper.getWasteReport(0, today, WasteReport.PERIOD_MONTH).getRows().isEmpty());
+    }
+
+    @Test
+    public void periods_startOnMondayAndFirstOfMonth() {
+        // 2024-01-07 was a Sunday
+        assertEquals(day(2024, 1, 1), WasteReport.weekStart(day(2024, 1, 7)));
+        assertEquals(day(2024, 1, 8), WasteReport.weekStart(day(2024, 1, 8)));
+        assertEquals(day(1969, 12, 29), WasteReport.weekStart(day(1970, 1, 1)));
+        assertEquals(day(2024, 2, 1), WasteReport.monthStart(day(2024, 2, 29)));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.foodexpirytracker.auth;
+
+/*
+ * Function: FakeAuthGateway
+ * Purpose: In-memory AuthGateway that answers revalidation synchronously
+ */
+public class FakeAuthGateway implements AuthGateway {
+    AuthSession session;
+    Revalidation nextRevalidation = Revalidation.VALID;
+    int revalidateCalls;
+    int signOutCalls;
+
+    @Override
+    public AuthSession getCachedSession() {
+        return session;
+    }
+
+    @Override
+    public void revalidate(Callback callback) {
+        revalidateCalls++;
+        callback.onResult(nextRevalidation);
+    }
+
+    @Override
+    public void signOut() {
+        signOutCalls++;
+        session = null;
+    }
+}
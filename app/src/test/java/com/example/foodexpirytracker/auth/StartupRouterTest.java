@@ -0,0 +1,83 @@
+package com.example.foodexpirytracker.auth;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class StartupRouterTest {
+    private FakeAuthGateway gateway;
+    private Set<String> flagged;
+    private StartupRouter router;
+    private int rejections;
+    private int signOuts;
+
+    @Before
+    public void setUp() {
+        gateway = new FakeAuthGateway();
+        flagged = new HashSet<>();
+        router = new StartupRouter(gateway, flagged::contains, () -> signOuts++);
+        rejections = 0;
+        signOuts = 0;
+    }
+
+    @Test
+    public void noCachedUser_routesToRegister() {
+        assertEquals(StartupRouter.Route.REGISTER, router.route());
+        assertEquals(0, gateway.revalidateCalls);
+    }
+
+    @Test
+    public void cachedUnverifiedUser_routesToLogin() {
+        gateway.session = new AuthSession("uid", "a@b.c", false);
+        assertEquals(StartupRouter.Route.LOGIN, router.route());
+    }
+
+    @Test
+    public void cachedVerifiedUser_skipsNetwork() {
+        gateway.session = new AuthSession("uid", "a@b.c", true);
+        assertEquals(StartupRouter.Route.MAIN, router.route());
+        assertEquals(0, gateway.revalidateCalls);
+    }
+
+    @Test
+    public void validRevalidation_keepsSession() {
+        gateway.session = new AuthSession("uid", "a@b.c", true);
+        router.revalidate(() -> rejections++);
+        assertEquals(1, gateway.revalidateCalls);
+        assertEquals(0, rejections);
+        assertEquals(0, gateway.signOutCalls);
+        assertEquals(0, signOuts);
+    }
+
+    @Test
+    public void offlineRevalidation_keepsSession() {
+        gateway.session = new AuthSession("uid", "a@b.c", true);
+        gateway.nextRevalidation = AuthGateway.Revalidation.UNREACHABLE;
+        router.revalidate(() -> rejections++);
+        assertEquals(0, rejections);
+    }
+
+    @Test
+    public void rejectedRevalidation_signsOutAndBounces() {
+        gateway.session = new AuthSession("uid", "a@b.c", true);
+        gateway.nextRevalidation = AuthGateway.Revalidation.REJECTED;
+        router.revalidate(() -> rejections++);
+        assertEquals(1, rejections);
+        assertEquals(1, gateway.signOutCalls);
+        assertEquals(1, signOuts);
+    }
+
+    @Test
+    public void forceReverifyFlag_bouncesWithoutNetwork() {
+        gateway.session = new AuthSession("uid", "a@b.c", true);
+        flagged.add("a@b.c");
+        router.revalidate(() -> rejections++);
+        assertEquals(1, rejections);
+        assertEquals(0, gateway.revalidateCalls);
+        assertEquals(1, signOuts);
+    }
+}
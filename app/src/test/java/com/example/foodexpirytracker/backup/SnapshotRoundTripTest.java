@@ -0,0 +1,138 @@
+package com.example.foodexpirytracker.backup;
+
+import com.example.foodexpirytracker.FoodItem;
+import com.example.foodexpirytracker.SyntheticInventory;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SnapshotRoundTripTest {
+    private static final long NOW = 1_735_689_600_000L; // 2025-01-01T00:00:00Z
+
+    @Test
+    public void foodAndUsers_roundTripExactly() throws IOException {
+        List<FoodItem> food = synthetic(5_000);
+        // Edge cases the synthetic generator does not produce
+        food.add(new FoodItem(900_000, null, null, null, null, -3, null));
+        food.add(new FoodItem(12, "Cr\u00e8me fra\u00eeche, \"light\"", "Dairy", "2024-02-29", "2024-02-30", 0, "line1\nline2"));
+        food.add(new FoodItem(13, "", "", "", "1969-12-31 23:59", Integer.MAX_VALUE, ""));
+        List<UserRecord> users = Arrays.asList(
+                new UserRecord(1, "a@example.com", "hash", "salt", 1_700_000_000_000L),
+                new UserRecord(7, "b@example.com", "hash2", "salt2", null));
+
+        byte[] bytes = write(food, users, true);
+        List<FoodItem> readFood = new ArrayList<>();
+        List<UserRecord> readUsers = new ArrayList<>();
+        SnapshotReader reader = new SnapshotReader(ByteBuffer.wrap(bytes));
+        assertTrue(reader.hasUsers());
+        reader.read(new SnapshotReader.Visitor() {
+            @Override public void onFood(FoodItem item) { readFood.add(item); }
+            @Override public void onUser(UserRecord user) { readUsers.add(user); }
+        });
+
+        assertEquals(food.size(), readFood.size());
+        for (int i = 0; i < food.size(); i++) {
+            assertFoodEquals(food.get(i), readFood.get(i));
+        }
+        assertEquals(users.size(), readUsers.size());
+        for (int i = 0; i < users.size(); i++) {
+            assertEquals(users.get(i).getId(), readUsers.get(i).getId());
+            assertEquals(users.get(i).getEmail(), readUsers.get(i).getEmail());
+            assertEquals(users.get(i).getPasswordHash(), readUsers.get(i).getPasswordHash());
+            assertEquals(users.get(i).getSalt(), readUsers.get(i).getSalt());
+            assertEquals(users.get(i).getCreatedAt(), readUsers.get(i).getCreatedAt());
+        }
+    }
+
+    @Test
+    public void oversizedRecord_spansBuffer() throws IOException {
+        char[] notes = new char[200_000];
+        Arrays.fill(notes, 'x');
+        List<FoodItem> food = synthetic(10);
+        food.add(5, new FoodItem(99, "Big", "Other", "2025-01-01", "2025-01-02", 1, new String(notes)));
+
+        List<FoodItem> read = readFood(write(food, new ArrayList<>(), false));
+        assertEquals(food.size(), read.size());
+        assertFoodEquals(food.get(5), read.get(5));
+        assertFoodEquals(food.get(10), read.get(10));
+    }
+
+    @Test
+    public void encoding_isCompact() throws IOException {
+        List<FoodItem> food = synthetic(10_000);
+        int rawChars = 0;
+        for (FoodItem f : food) {
+            rawChars += length(f.getName()) + length(f.getCategory()) + length(f.getPurchaseDate())
+                    + length(f.getExpiryDate()) + length(f.getNotes()) + 8;
+        }
+        byte[] bytes = write(food, new ArrayList<>(), false);
+        assertTrue("snapshot " + bytes.length + " vs raw " + rawChars, bytes.length < rawChars * 0.6);
+    }
+
+    @Test(expected = IOException.class)
+    public void flippedByte_failsChecksum() throws IOException {
+        byte[] bytes = write(synthetic(100), new ArrayList<>(), false);
+        bytes[bytes.length / 2] ^= 0x10;
+        new SnapshotReader(ByteBuffer.wrap(bytes));
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedFile_isRejected() throws IOException {
+        byte[] bytes = write(synthetic(100), new ArrayList<>(), false);
+        new SnapshotReader(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length - 7)));
+    }
+
+    private static List<FoodItem> synthetic(int count) {
+        List<FoodItem> items = new ArrayList<>();
+        SyntheticInventory it = new SyntheticInventory(42, NOW, count);
+        int id = 1;
+        while (it.hasNext()) {
+            FoodItem f = it.next();
+            f.setId(id);
+            id += 1 + (id % 3); // gaps, as after deletes
+            items.add(f);
+        }
+        return items;
+    }
+
+    private static byte[] write(List<FoodItem> food, List<UserRecord> users, boolean includeUsers) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SnapshotWriter writer = new SnapshotWriter(Channels.newChannel(out), includeUsers);
+        for (FoodItem f : food) writer.writeFood(f);
+        for (UserRecord u : users) writer.writeUser(u);
+        writer.finish();
+        return out.toByteArray();
+    }
+
+    private static List<FoodItem> readFood(byte[] bytes) throws IOException {
+        List<FoodItem> items = new ArrayList<>();
+        new SnapshotReader(ByteBuffer.wrap(bytes)).read(new SnapshotReader.Visitor() {
+            @Override public void onFood(FoodItem item) { items.add(item); }
+            @Override public void onUser(UserRecord user) { fail("unexpected user"); }
+        });
+        return items;
+    }
+
+    private static void assertFoodEquals(FoodItem expected, FoodItem actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getCategory(), actual.getCategory());
+        assertEquals(expected.getPurchaseDate(), actual.getPurchaseDate());
+        assertEquals(expected.getExpiryDate(), actual.getExpiryDate());
+        assertEquals(expected.getQuantity(), actual.getQuantity());
+        assertEquals(expected.getNotes(), actual.getNotes());
+    }
+
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.foodexpirytracker.metrics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: LatencyHistogramTest
+ * Purpose: Percentiles land on the right bucket at its edges and never exceed the slowest observation
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void empty_isZero() {
+        LatencyHistogram h = new LatencyHistogram("test");
+        assertEquals(0, h.percentile(50));
+        assertEquals(0, h.getMeanMicros());
+    }
+
+    @Test
+    public void valueOnABound_staysInThatBucket() {
+        LatencyHistogram h = new LatencyHistogram("test");
+        h.record(100);
+        h.record(100);
+        assertEquals(100, h.percentile(50));
+        assertEquals(100, h.percentile(100));
+
+        // One past the bound moves up a bucket, capped by the observed max
+        h.record(101);
+        assertEquals(100, h.percentile(66));
+        assertEquals(101, h.percentile(67));
+        assertEquals(101, h.percentile(100));
+    }
+
+    @Test
+    public void rank_roundsUp() {
+        LatencyHistogram h = new LatencyHistogram("test");
+        for (int i = 0; i < 99; i++) h.record(40);
+        h.record(5_000);
+        assertEquals(50, h.percentile(99));
+        // 99.5% of 100 is rank 100: the slow observation
+        assertEquals(5_000, h.percentile(99.5));
+        assertEquals(5_000, h.percentile(100));
+    }
+
+    @Test
+    public void p0_isTheLowestOccupiedBucket() {
+        LatencyHistogram h = new LatencyHistogram("test");
+        h.record(900);
+        h.record(20_000);
+        assertEquals(1_000, h.percentile(0));
+        assertEquals(1_000, h.percentile(50));
+        assertEquals(20_000, h.percentile(51));
+    }
+
+    @Test
+    public void overflowBucket_reportsMax() {
+        LatencyHistogram h = new LatencyHistogram("test");
+        // The last finite bound still has its own bucket
+        h.record(1_000_000);
+        assertEquals(1_000_000, h.percentile(100));
+        h.record(3_000_000);
+        assertEquals(1_000_000, h.percentile(50));
+        assertEquals(3_000_000, h.percentile(51));
+        assertEquals(3_000_000, h.getMaxMicros());
+        assertEquals(2_000_000, h.getMeanMicros());
+    }
+}
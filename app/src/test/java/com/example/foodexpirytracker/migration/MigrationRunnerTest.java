@@ -0,0 +1,93 @@
+package com.example.foodexpirytracker.migration;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: MigrationRunnerTest
+ * Purpose: Backfills advance in bounded chunks, in order, and a stopped run resumes from its checkpoint
+ */
+public class MigrationRunnerTest {
+
+    /*
+     * Function: InMemoryMigrationStore
+     * Purpose: Backfills over a fixed row count with per-backfill checkpoints
+     */
+    private static final class InMemoryMigrationStore implements MigrationStore {
+        final Map<String, Integer> remaining = new LinkedHashMap<>();
+        final List<String> calls = new ArrayList<>();
+
+        @Override
+        public List<String> getPendingBackfills() {
+            List<String> names = new ArrayList<>();
+            for (Map.Entry<String, Integer> e : remaining.entrySet()) {
+                if (e.getValue() >= 0) names.add(e.getKey());
+            }
+            return names;
+        }
+
+        @Override
+        public int runBackfillChunk(String name, int limit) {
+            calls.add(name);
+            int left = remaining.get(name);
+            if (left <= 0) {
+                // Empty chunk marks the backfill done
+                remaining.put(name, -1);
+                return 0;
+            }
+            int rows = Math.min(left, limit);
+            remaining.put(name, left - rows);
+            return rows;
+        }
+    }
+
+    @Test
+    public void run_processesEveryBackfillInChunks() {
+        InMemoryMigrationStore store = new InMemoryMigrationStore();
+        store.remaining.put("v4_buckets", 25);
+        store.remaining.put("v8_expiry_millis", 10);
+
+        MigrationRunner.Result result = new MigrationRunner(store, 10).run(60_000, () -> false);
+
+        assertTrue(result.isComplete());
+        assertEquals(35, result.getRows());
+        assertEquals(4, result.getChunks());
+        assertEquals(Arrays.asList("v4_buckets", "v4_buckets", "v4_buckets", "v4_buckets",
+                "v8_expiry_millis", "v8_expiry_millis"), store.calls);
+    }
+
+    @Test
+    public void stoppedRun_resumesInANewRunner() {
+        InMemoryMigrationStore store = new InMemoryMigrationStore();
+        store.remaining.put("v4_buckets", 25);
+        int[] chunks = {0};
+
+        MigrationRunner.Result first = new MigrationRunner(store, 10).run(60_000, () -> chunks[0]++ >= 1);
+        assertFalse(first.isComplete());
+        assertEquals(10, first.getRows());
+
+        MigrationRunner.Result second = new MigrationRunner(store, 10).run(60_000, () -> false);
+        assertTrue(second.isComplete());
+        assertEquals(15, second.getRows());
+        assertTrue(store.getPendingBackfills().isEmpty());
+    }
+
+    @Test
+    public void exhaustedBudget_stopsBeforeTheNextChunk() {
+        InMemoryMigrationStore store = new InMemoryMigrationStore();
+        store.remaining.put("v4_buckets", 25);
+
+        MigrationRunner.Result result = new MigrationRunner(store, 10).run(0, () -> false);
+
+        assertFalse(result.isComplete());
+        assertEquals(0, result.getChunks());
+        assertEquals(25, (int) store.remaining.get("v4_buckets"));
+    }
+}
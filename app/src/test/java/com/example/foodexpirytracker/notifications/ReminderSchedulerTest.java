@@ -0,0 +1,68 @@
+package com.example.foodexpirytracker.notifications;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+import androidx.work.Configuration;
+import androidx.work.WorkInfo;
+import androidx.work.WorkManager;
+import androidx.work.testing.SynchronousExecutor;
+import androidx.work.testing.WorkManagerTestInitHelper;
+
+import com.example.foodexpirytracker.FoodItem;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: ReminderSchedulerTest
+ * Purpose: Bulk cancels reach exactly the deleted items' pending reminders, and a whole-inventory
+ *          delete collapses to the owner tag
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class ReminderSchedulerTest {
+    private Context context;
+    private WorkManager wm;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        WorkManagerTestInitHelper.initializeTestWorkManager(context,
+                new Configuration.Builder().setExecutor(new SynchronousExecutor()).build());
+        wm = WorkManager.getInstance(context);
+        for (int id = 1; id <= 3; id++) {
+            ReminderScheduler.schedule(context, new FoodItem(id, "Item " + id, "Dairy", "2025-01-01", "2030-01-01", 1, ""));
+        }
+    }
+
+    @Test
+    public void cancelAll_cancelsOnlyTheGivenItems() throws Exception {
+        // 99 never had reminders; it must not disturb the lookup
+        ReminderScheduler.cancelAll(context, new int[]{1, 2, 99}, false);
+
+        assertAllInState(1, WorkInfo.State.CANCELLED);
+        assertAllInState(2, WorkInfo.State.CANCELLED);
+        assertAllInState(3, WorkInfo.State.ENQUEUED);
+    }
+
+    @Test
+    public void cancelAll_wholeInventory_usesTheOwnerTag() throws Exception {
+        ReminderScheduler.cancelAll(context, new int[]{1}, true);
+
+        for (int id = 1; id <= 3; id++) assertAllInState(id, WorkInfo.State.CANCELLED);
+    }
+
+    private void assertAllInState(int id, WorkInfo.State state) throws Exception {
+        List<WorkInfo> infos = wm.getWorkInfosByTag("reminder_item_" + id).get();
+        assertEquals(2, infos.size());
+        for (WorkInfo info : infos) assertEquals("item " + id, state, info.getState());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.foodexpirytracker.sync;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.foodexpirytracker.DatabaseHelper;
+import com.example.foodexpirytracker.FoodItem;
+import com.example.foodexpirytracker.FoodPatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: DatabaseSyncStoreTest
+ * Purpose: Change-log driven push, version bumps, echo suppression and LWW apply on the real schema
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34)
+public class DatabaseSyncStoreTest {
+    private static final String OWNER = "uid-1";
+
+    private DatabaseHelper dbHelper;
+    private DatabaseSyncStore store;
+    private final FakeSyncServer server = new FakeSyncServer();
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase("food_tracker.db");
+        dbHelper = new DatabaseHelper(context);
+        dbHelper.setOwner(OWNER);
+        store = new DatabaseSyncStore(dbHelper);
+    }
+
+    @After
+    public void tearDown() {
+        dbHelper.close();
+    }
+
+    private SyncEngine.Result sync(SyncStore s) throws Exception {
+        Backoff backoff = new Backoff(1, 1, 3, millis -> { }, new Random(1));
+        return new SyncEngine(s, server, backoff, SyncEngine.DEFAULT_BATCH_SIZE).sync();
+    }
+
+    @Test
+    public void localWrites_arePushedOnceWithBumpedVersions() throws Exception {
+        long milk = dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, ""));
+        long jam = dbHelper.addFood(new FoodItem(0, "Jam", "Pantry", "2025-01-01", "2030-01-01", 1, ""));
+        // Rows written before the first sync are found by the fallback scan
+        assertEquals(2, sync(store).getPushed());
+        assertTrue(store.readPending(100).getRecords().isEmpty());
+
+        dbHelper.consumeFood((int) milk, 1);
+        dbHelper.updateFood((int) milk, new FoodPatch().setNotes("opened"));
+        dbHelper.deleteFood((int) jam);
+        SyncBatch pending = store.readPending(100);
+        assertEquals(2, pending.getRecords().size());
+
+        sync(store);
+        InMemorySyncStore phone = new InMemorySyncStore(OWNER, 0);
+        sync(phone);
+        assertEquals(1, phone.size());
+        assertEquals(1, server.liveCount(OWNER));
+        SyncRecord pushed = phone.get(pending.getRecords().get(0).getSyncId());
+        assertEquals(3, pushed.getVersion());
+        assertEquals(1, pushed.getQuantity());
+        assertEquals("opened", pushed.getNotes());
+    }
+
+    @Test
+    public void remoteRecords_areAppliedAndNotPushedBack() throws Exception {
+        InMemorySyncStore phone = new InMemorySyncStore(OWNER, System.currentTimeMillis() + 60_000);
+        String eggs = phone.add("Eggs", 12);
+        sync(phone);
+
+        SyncEngine.Result pulled = sync(store);
+        assertEquals(1, pulled.getApplied());
+        assertEquals(1, dbHelper.getAllFood().size());
+        assertEquals(1, dbHelper.getSummary().getTotal());
+        // The insert is in the change log but already in sync
+        assertTrue(store.readPending(100).getRecords().isEmpty());
+
+        phone.setQuantity(eggs, 6);
+        sync(phone);
+        sync(store);
+        assertEquals(6, dbHelper.getAllFood().get(0).getQuantity());
+
+        phone.delete(eggs);
+        sync(phone);
+        sync(store);
+        assertEquals(0, dbHelper.countFood());
+        // The tombstone's local delete is logged, but not as something to push back
+        assertTrue(store.readPending(100).getRecords().isEmpty());
+        assertEquals(0, sync(store).getPushed());
+    }
+
+    @Test
+    public void staleRemoteRecord_losesToNewerLocalEdit() throws Exception {
+        long id = dbHelper.addFood(new FoodItem(0, "Milk", "Dairy", "2025-01-01", "2030-01-01", 2, ""));
+        String syncId = store.readPending(10).getRecords().get(0).getSyncId();
+        sync(store);
+        dbHelper.updateFood((int) id, new FoodPatch().setQuantity(5));
+        dbHelper.updateFood((int) id, new FoodPatch().setQuantity(4));
+
+        // Version 2 loses to the local version 3 however late it claims to be
+        SyncRecord stale = new SyncRecord(syncId, 2, Long.MAX_VALUE, "Milk", "Dairy", "2025-01-01", "2030-01-01", 9, "");
+        assertEquals(0, store.applyRemote(Collections.singletonList(stale)));
+        assertEquals(4, dbHelper.getAllFood().get(0).getQuantity());
+        assertEquals(1, store.readPending(10).getRecords().size());
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.foodexpirytracker.sync;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Function: FakeSyncServer
+ * Purpose: In-process stand-in for the sync backend: keeps the winning record per syncId and a
+ *          server sequence per write, speaks SyncCodec payloads and can fail on demand
+ */
+final class FakeSyncServer implements SyncTransport {
+
+    private static final class Account {
+        final Map<String, SyncRecord> rows = new HashMap<>();
+        final Map<String, Long> seqOf = new HashMap<>();
+        final TreeMap<Long, String> bySeq = new TreeMap<>();
+    }
+
+    private final Map<String, Account> accounts = new HashMap<>();
+    private long seq;
+    private int failNext;
+    int pushCalls;
+    int pullCalls;
+
+    /*
+     * Function: failNext
+     * Purpose: Make the next n calls throw IOException before touching any state
+     */
+    synchronized void failNext(int n) {
+        failNext = n;
+    }
+
+    /* Function: get | Purpose: Return the server's record for a syncId, or null */
+    synchronized SyncRecord get(String owner, String syncId) {
+        return account(owner).rows.get(syncId);
+    }
+
+    /* Function: liveCount | Purpose: Return the owner's records that are not tombstones */
+    synchronized int liveCount(String owner) {
+        int n = 0;
+        for (SyncRecord r : account(owner).rows.values()) if (!r.isDeleted()) n++;
+        return n;
+    }
+
+    @Override
+    public synchronized byte[] push(String owner, byte[] payload) throws IOException {
+        failIfAsked();
+        pushCalls++;
+        Account account = account(owner);
+        List<SyncRecord> losers = new ArrayList<>();
+        for (SyncRecord r : SyncCodec.decode(payload).getRecords()) {
+            SyncRecord current = account.rows.get(r.getSyncId());
+            if (r.wins(current)) {
+                account.rows.put(r.getSyncId(), r);
+                Long previous = account.seqOf.put(r.getSyncId(), ++seq);
+                if (previous != null) account.bySeq.remove(previous);
+                account.bySeq.put(seq, r.getSyncId());
+            } else if (current.wins(r)) {
+                losers.add(current);
+            }
+        }
+        return SyncCodec.encode(new SyncBatch(losers, seq));
+    }
+
+    @Override
+    public synchronized byte[] pull(String owner, long watermark, int limit) throws IOException {
+        failIfAsked();
+        pullCalls++;
+        Account account = account(owner);
+        List<SyncRecord> records = new ArrayList<>();
+        long position = watermark;
+        for (Map.Entry<Long, String> e : account.bySeq.tailMap(watermark, false).entrySet()) {
+            if (records.size() == limit) break;
+            records.add(account.rows.get(e.getValue()));
+            position = e.getKey();
+        }
+        return SyncCodec.encode(new SyncBatch(records, position));
+    }
+
+    private void failIfAsked() throws IOException {
+        if (failNext > 0) {
+            failNext--;
+            throw new IOException("injected failure");
+        }
+    }
+
+    private Account account(String owner) {
+        Account account = accounts.get(owner);
+        if (account == null) {
+            account = new Account();
+            accounts.put(owner, account);
+        }
+        return account;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.foodexpirytracker.sync;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Function: InMemorySyncStore
+ * Purpose: A simulated device for engine tests, following the same rules as the database store:
+ *          local edits bump the version and become pending, applied remote records do not
+ */
+final class InMemorySyncStore implements SyncStore {
+    private final String owner;
+    private final Map<String, SyncRecord> rows = new HashMap<>();
+    // Pending changes in change order; the latest record per syncId, tombstones included
+    private final LinkedHashMap<String, SyncRecord> pending = new LinkedHashMap<>();
+    private long watermark;
+    private long clock;
+
+    InMemorySyncStore(String owner, long clockStart) {
+        this.owner = owner;
+        this.clock = clockStart;
+    }
+
+    /* Function: add | Purpose: Insert a new local row and return its syncId */
+    String add(String name, int quantity) {
+        String id = UUID.randomUUID().toString().replace("-", "");
+        write(new SyncRecord(id, 1, ++clock, name, "Dairy", "2025-01-01", "2030-01-01", quantity, ""));
+        return id;
+    }
+
+    /* Function: setQuantity | Purpose: Edit a local row */
+    void setQuantity(String syncId, int quantity) {
+        SyncRecord r = rows.get(syncId);
+        write(new SyncRecord(syncId, r.getVersion() + 1, ++clock, r.getName(), r.getCategory(),
+                r.getPurchaseDate(), r.getExpiryDate(), quantity, r.getNotes()));
+    }
+
+    /* Function: delete | Purpose: Delete a local row */
+    void delete(String syncId) {
+        SyncRecord r = rows.remove(syncId);
+        pending.remove(syncId);
+        pending.put(syncId, SyncRecord.tombstone(syncId, r.getVersion() + 1, ++clock));
+    }
+
+    /* Function: get | Purpose: Return the live row, or null */
+    SyncRecord get(String syncId) { return rows.get(syncId); }
+
+    /* Function: size | Purpose: Return the number of live rows */
+    int size() { return rows.size(); }
+
+    /* Function: pendingCount | Purpose: Return changes not yet acknowledged by the server */
+    int pendingCount() { return pending.size(); }
+
+    private void write(SyncRecord r) {
+        rows.put(r.getSyncId(), r);
+        pending.remove(r.getSyncId());
+        pending.put(r.getSyncId(), r);
+    }
+
+    @Override
+    public String getOwner() { return owner; }
+
+    @Override
+    public SyncBatch readPending(int limit) {
+        List<SyncRecord> batch = new ArrayList<>(Math.min(limit, pending.size()));
+        for (SyncRecord r : pending.values()) {
+            if (batch.size() == limit) break;
+            batch.add(r);
+        }
+        return new SyncBatch(batch, -1);
+    }
+
+    @Override
+    public void markPushed(SyncBatch batch) {
+        for (SyncRecord r : batch.getRecords()) {
+            SyncRecord current = pending.get(r.getSyncId());
+            // Edited again meanwhile: the newer version stays pending
+            if (current != null && current.getVersion() == r.getVersion()) pending.remove(r.getSyncId());
+        }
+    }
+
+    @Override
+    public int applyRemote(List<SyncRecord> records) {
+        int applied = 0;
+        for (SyncRecord remote : records) {
+            SyncRecord local = rows.get(remote.getSyncId());
+            if (local != null && !remote.wins(local)) continue;
+            if (remote.isDeleted()) {
+                if (local != null) {
+                    rows.remove(remote.getSyncId());
+                    applied++;
+                }
+            } else {
+                rows.put(remote.getSyncId(), remote);
+                applied++;
+            }
+            pending.remove(remote.getSyncId());
+        }
+        return applied;
+    }
+
+    @Override
+    public long getPullWatermark() { return watermark; }
+
+    @Override
+    public void setPullWatermark(long watermark) { this.watermark = watermark; }
+}
@@ -0,0 +1,180 @@
+package com.example.foodexpirytracker.sync;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/*
+ * Function: SyncEngineTest
+ * Purpose: Delta push/pull, last-writer-wins and retries between simulated devices and the in-process server
+ */
+public class SyncEngineTest {
+    private static final String OWNER = "uid-1";
+
+    private final FakeSyncServer server = new FakeSyncServer();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    private SyncEngine engine(SyncStore store, int maxAttempts) {
+        Backoff backoff = new Backoff(100, 1000, maxAttempts, sleeps::add, new Random(7));
+        return new SyncEngine(store, server, backoff, SyncEngine.DEFAULT_BATCH_SIZE);
+    }
+
+    @Test
+    public void codec_roundTripsRowsAndTombstones() throws IOException {
+        List<SyncRecord> records = Arrays.asList(
+                new SyncRecord("a", 3, 1000, "Cr\u00e8me fra\u00eeche", null, "2025-01-01", null, 2, "line1\nline2"),
+                SyncRecord.tombstone("b", 5, 2000));
+        SyncBatch decoded = SyncCodec.decode(SyncCodec.encode(new SyncBatch(records, 42)));
+
+        assertEquals(42, decoded.getPosition());
+        SyncRecord a = decoded.getRecords().get(0);
+        assertEquals("Cr\u00e8me fra\u00eeche", a.getName());
+        assertNull(a.getCategory());
+        assertNull(a.getExpiryDate());
+        assertEquals(2, a.getQuantity());
+        assertEquals("line1\nline2", a.getNotes());
+        assertEquals(3, a.getVersion());
+        SyncRecord b = decoded.getRecords().get(1);
+        assertTrue(b.isDeleted());
+        assertEquals(5, b.getVersion());
+    }
+
+    @Test
+    public void twoDevices_convergeOnInsertsEditsAndDeletes() throws Exception {
+        InMemorySyncStore phoneA = new InMemorySyncStore(OWNER, 0);
+        InMemorySyncStore phoneB = new InMemorySyncStore(OWNER, 1_000_000);
+        String milk = phoneA.add("Milk", 1);
+        String eggs = phoneA.add("Eggs", 12);
+        String jam = phoneA.add("Jam", 1);
+        engine(phoneA, 3).sync();
+
+        SyncEngine.Result first = engine(phoneB, 3).sync();
+        assertEquals(3, first.getApplied());
+        assertEquals(3, phoneB.size());
+
+        phoneB.setQuantity(eggs, 6);
+        phoneB.delete(jam);
+        SyncEngine.Result second = engine(phoneB, 3).sync();
+        // Only the two changed rows travel
+        assertEquals(2, second.getPushed());
+
+        engine(phoneA, 3).sync();
+        assertEquals(2, phoneA.size());
+        assertEquals(6, phoneA.get(eggs).getQuantity());
+        assertNull(phoneA.get(jam));
+        assertEquals(1, phoneA.get(milk).getQuantity());
+        assertEquals(0, phoneA.pendingCount());
+        assertEquals(0, phoneB.pendingCount());
+    }
+
+    @Test
+    public void conflicts_resolveByVersionThenUpdateTime() throws Exception {
+        InMemorySyncStore phoneA = new InMemorySyncStore(OWNER, 0);
+        InMemorySyncStore phoneB = new InMemorySyncStore(OWNER, 1_000_000);
+        String milk = phoneA.add("Milk", 1);
+        String bread = phoneA.add("Bread", 1);
+        engine(phoneA, 3).sync();
+        engine(phoneB, 3).sync();
+
+        // Same version on both: the later edit (B's clock is ahead) wins
+        phoneA.setQuantity(milk, 5);
+        phoneB.setQuantity(milk, 7);
+        // Two edits beat one, whatever the clocks say
+        phoneA.setQuantity(bread, 2);
+        phoneA.setQuantity(bread, 3);
+        phoneB.setQuantity(bread, 9);
+
+        engine(phoneA, 3).sync();
+        SyncEngine.Result b = engine(phoneB, 3).sync();
+        engine(phoneA, 3).sync();
+
+        // B's push of bread lost and came back in the push response
+        assertTrue(b.getApplied() >= 1);
+        assertEquals(7, phoneA.get(milk).getQuantity());
+        assertEquals(7, phoneB.get(milk).getQuantity());
+        assertEquals(3, phoneA.get(bread).getQuantity());
+        assertEquals(3, phoneB.get(bread).getQuantity());
+        assertEquals(3, server.get(OWNER, bread).getVersion());
+    }
+
+    @Test
+    public void transientFailures_areRetriedWithBackoff() throws Exception {
+        InMemorySyncStore phone = new InMemorySyncStore(OWNER, 0);
+        phone.add("Milk", 1);
+        server.failNext(2);
+
+        SyncEngine.Result result = engine(phone, 5).sync();
+
+        assertEquals(2, result.getRetries());
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(0) <= 100);
+        assertTrue(sleeps.get(1) <= 200);
+        assertEquals(1, server.liveCount(OWNER));
+        assertEquals(0, phone.pendingCount());
+    }
+
+    @Test
+    public void exhaustedRetries_failAndNextRunResumes() throws Exception {
+        InMemorySyncStore phone = new InMemorySyncStore(OWNER, 0);
+        for (int i = 0; i < 1200; i++) phone.add("Item " + i, 1);
+        // Let the first batch through, then fail the rest of this run
+        SyncStore failAfterFirst = new SyncStore() {
+            private int batches;
+            @Override public String getOwner() { return phone.getOwner(); }
+            @Override public SyncBatch readPending(int limit) {
+                if (batches++ == 1) server.failNext(2);
+                return phone.readPending(limit);
+            }
+            @Override public void markPushed(SyncBatch batch) { phone.markPushed(batch); }
+            @Override public int applyRemote(List<SyncRecord> records) { return phone.applyRemote(records); }
+            @Override public long getPullWatermark() { return phone.getPullWatermark(); }
+            @Override public void setPullWatermark(long watermark) { phone.setPullWatermark(watermark); }
+        };
+        try {
+            engine(failAfterFirst, 2).sync();
+            fail("expected the run to give up");
+        } catch (IOException expected) {
+            // first batch acknowledged, the rest still pending
+        }
+        assertEquals(SyncEngine.DEFAULT_BATCH_SIZE, server.liveCount(OWNER));
+        assertEquals(1200 - SyncEngine.DEFAULT_BATCH_SIZE, phone.pendingCount());
+
+        engine(phone, 2).sync();
+        assertEquals(1200, server.liveCount(OWNER));
+        assertEquals(0, phone.pendingCount());
+    }
+
+    @Test
+    public void throughput_tenThousandPendingChanges() throws Exception {
+        int n = 10_000;
+        InMemorySyncStore phoneA = new InMemorySyncStore(OWNER, 0);
+        InMemorySyncStore phoneB = new InMemorySyncStore(OWNER, 1_000_000);
+        for (int i = 0; i < n; i++) phoneA.add("Item " + i, 1 + i % 5);
+
+        long t0 = System.nanoTime();
+        SyncEngine.Result push = engine(phoneA, 3).sync();
+        long t1 = System.nanoTime();
+        SyncEngine.Result pull = engine(phoneB, 3).sync();
+        long t2 = System.nanoTime();
+
+        assertEquals(n, push.getPushed());
+        assertEquals(n, server.liveCount(OWNER));
+        assertEquals(n, phoneB.size());
+        assertEquals(n, pull.getApplied());
+        // Pending changes travel in DEFAULT_BATCH_SIZE batches
+        assertEquals(n / SyncEngine.DEFAULT_BATCH_SIZE, server.pushCalls);
+        // Compressed batches stay well under 40 bytes a row (about 28 today) each way
+        assertTrue("push bytes " + push.getBytesSent(), push.getBytesSent() < 40L * n);
+        assertTrue("pull bytes " + pull.getBytesReceived(), pull.getBytesReceived() < 40L * n);
+        // Generous wall-clock ceiling: catches a per-row round trip, not machine-to-machine noise
+        assertTrue("push took " + (t1 - t0) / 1_000_000 + " ms", t1 - t0 < TimeUnit.SECONDS.toNanos(30));
+        assertTrue("pull took " + (t2 - t1) / 1_000_000 + " ms", t2 - t1 < TimeUnit.SECONDS.toNanos(30));
+    }
+}